@@ -2,6 +2,7 @@ package br.com.fiap.oficina.auth.config;
 
 import br.com.fiap.oficina.shared.security.JwtAuthenticationFilter;
 import br.com.fiap.oficina.shared.security.JwtTokenProvider;
+import br.com.fiap.oficina.shared.security.PapelServico;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -50,7 +51,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, PUBLIC_POST).permitAll()
                         .requestMatchers(HttpMethod.GET, PUBLIC_GET).permitAll()
                         .requestMatchers("/api/usuarios/**").hasRole(ADMIN)
-                        .anyRequest().authenticated()
+                        .anyRequest().access(PapelServico.usuarioAutenticado())
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
@@ -2,6 +2,7 @@ package br.com.fiap.oficina.budget.config;
 
 import br.com.fiap.oficina.shared.security.JwtAuthenticationFilter;
 import br.com.fiap.oficina.shared.security.JwtTokenProvider;
+import br.com.fiap.oficina.shared.security.PapelServico;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -44,7 +45,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.GET, PUBLIC_GET).permitAll()
                         // .requestMatchers("/api/orcamentos/**").permitAll()  // Orçamentos são PÚBLICOS
-                        .anyRequest().authenticated()
+                        .anyRequest().access(PapelServico.usuarioAutenticado())
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
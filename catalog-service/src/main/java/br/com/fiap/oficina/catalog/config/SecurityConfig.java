@@ -2,6 +2,7 @@ package br.com.fiap.oficina.catalog.config;
 
 import br.com.fiap.oficina.shared.security.JwtAuthenticationFilter;
 import br.com.fiap.oficina.shared.security.JwtTokenProvider;
+import br.com.fiap.oficina.shared.security.PapelServico;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -49,15 +50,15 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, PUBLIC_GET).permitAll()
                         // Produtos do Catálogo - /api/catalogo-produtos
                         .requestMatchers(HttpMethod.POST, "/api/catalogo-produtos/**").hasRole(ADMIN)
-                        .requestMatchers(HttpMethod.GET, "/api/catalogo-produtos/**").hasAnyRole(ADMIN, ATENDENTE, MECANICO)
+                        .requestMatchers(HttpMethod.GET, "/api/catalogo-produtos/**").hasAnyRole(ADMIN, ATENDENTE, MECANICO, PapelServico.SERVICO)
                         .requestMatchers(HttpMethod.PUT, "/api/catalogo-produtos/**").hasRole(ADMIN)
                         .requestMatchers(HttpMethod.DELETE, "/api/catalogo-produtos/**").hasRole(ADMIN)
                         // Serviços - /api/servicos
                         .requestMatchers(HttpMethod.POST, "/api/servicos/**").hasAnyRole(ADMIN, ATENDENTE)
-                        .requestMatchers(HttpMethod.GET, "/api/servicos/**").hasAnyRole(ADMIN, ATENDENTE, MECANICO)
+                        .requestMatchers(HttpMethod.GET, "/api/servicos/**").hasAnyRole(ADMIN, ATENDENTE, MECANICO, PapelServico.SERVICO)
                         .requestMatchers(HttpMethod.PUT, "/api/servicos/**").hasAnyRole(ADMIN, ATENDENTE)
                         .requestMatchers(HttpMethod.DELETE, "/api/servicos/**").hasAnyRole(ADMIN, ATENDENTE)
-                        .anyRequest().authenticated()
+                        .anyRequest().access(PapelServico.usuarioAutenticado())
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
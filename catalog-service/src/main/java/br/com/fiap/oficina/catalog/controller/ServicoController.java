@@ -91,6 +91,17 @@ public class ServicoController {
         return ResponseEntity.ok(servicos);
     }
 
+    @GetMapping(params = "ids")
+    @Operation(
+            summary = "Buscar serviços por uma lista de IDs.",
+            description = "Retorna, em uma única chamada, os serviços correspondentes aos IDs informados. IDs inexistentes são ignorados.",
+            operationId = "buscarServicosPorIds"
+    )
+    @ApiResponse(responseCode = "200", description = "Serviços encontrados com sucesso.", content = @Content(mediaType = "application/json"))
+    public ResponseEntity<List<ServicoResponseDTO>> buscarPorIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(servicoService.buscarPorIds(ids));
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Buscar serviço por ID.",
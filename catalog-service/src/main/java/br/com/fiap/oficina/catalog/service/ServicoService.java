@@ -14,6 +14,8 @@ public interface ServicoService {
 
     ServicoResponseDTO buscarPorId(Long id);
 
+    List<ServicoResponseDTO> buscarPorIds(List<Long> ids);
+
     List<ServicoResponseDTO> listarTodos();
 
     List<ServicoResponseDTO> listarAtivos();
@@ -50,6 +50,11 @@ public class ServicoServiceImpl implements ServicoService {
         return servicoMapper.toDTO(getServico(id));
     }
 
+    @Override
+    public List<ServicoResponseDTO> buscarPorIds(List<Long> ids) {
+        return servicoMapper.toDTO(servicoRepository.findAllById(ids));
+    }
+
     @Override
     public List<ServicoResponseDTO> listarTodos() {
         return servicoMapper.toDTO(servicoRepository.findAll());
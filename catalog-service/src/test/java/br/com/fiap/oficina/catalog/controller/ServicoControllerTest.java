@@ -113,6 +113,28 @@ class ServicoControllerTest {
         verify(servicoService, times(1)).buscarPorId(1L);
     }
 
+    @Test
+    @DisplayName("Deve buscar serviços por lista de IDs")
+    void deveBuscarServicosPorIds() throws Exception {
+        ServicoResponseDTO servico1 = new ServicoResponseDTO();
+        servico1.setId(1L);
+        servico1.setNome("Troca de óleo");
+
+        ServicoResponseDTO servico2 = new ServicoResponseDTO();
+        servico2.setId(2L);
+        servico2.setNome("Alinhamento");
+
+        when(servicoService.buscarPorIds(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(servico1, servico2));
+
+        mockMvc.perform(get("/api/servicos").param("ids", "1", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].nome").value("Alinhamento"));
+
+        verify(servicoService, times(1)).buscarPorIds(Arrays.asList(1L, 2L));
+        verify(servicoService, never()).listarTodos();
+    }
+
     @Test
     @DisplayName("Deve retornar 404 quando serviço não encontrado")
     void deveRetornar404QuandoServicoNaoEncontrado() throws Exception {
@@ -87,6 +87,31 @@ class ServicoServiceImplTest {
         verify(servicoRepository, times(1)).findById(id);
     }
 
+    @Test
+    @DisplayName("Deve buscar serviços por lista de IDs em uma única consulta")
+    void deveBuscarServicosPorIds() {
+        List<Long> ids = Arrays.asList(1L, 2L);
+        Servico servico1 = new Servico();
+        servico1.setId(1L);
+        Servico servico2 = new Servico();
+        servico2.setId(2L);
+        List<Servico> servicos = Arrays.asList(servico1, servico2);
+
+        ServicoResponseDTO dto1 = new ServicoResponseDTO();
+        dto1.setId(1L);
+        ServicoResponseDTO dto2 = new ServicoResponseDTO();
+        dto2.setId(2L);
+
+        when(servicoRepository.findAllById(ids)).thenReturn(servicos);
+        when(servicoMapper.toDTO(servicos)).thenReturn(Arrays.asList(dto1, dto2));
+
+        List<ServicoResponseDTO> result = servicoService.buscarPorIds(ids);
+
+        assertEquals(2, result.size());
+        verify(servicoRepository, times(1)).findAllById(ids);
+        verify(servicoRepository, never()).findById(any());
+    }
+
     @Test
     @DisplayName("Deve lançar exceção quando serviço não encontrado")
     void deveLancarExcecaoQuandoServicoNaoEncontrado() {
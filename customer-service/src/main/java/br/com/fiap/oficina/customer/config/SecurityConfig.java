@@ -2,6 +2,7 @@ package br.com.fiap.oficina.customer.config;
 
 import br.com.fiap.oficina.shared.security.JwtAuthenticationFilter;
 import br.com.fiap.oficina.shared.security.JwtTokenProvider;
+import br.com.fiap.oficina.shared.security.PapelServico;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -50,9 +51,11 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, PUBLIC_POST).permitAll()
                         .requestMatchers(HttpMethod.GET, PUBLIC_GET).permitAll()
-                        .requestMatchers("/api/clientes/**").authenticated()  // GET, PUT, DELETE protegidos
-                        .requestMatchers("/api/veiculos/**").authenticated()  // GET, PUT, DELETE protegidos
-                        .anyRequest().authenticated()
+                        // Consultas também liberadas ao token de serviço do work-order-service
+                        .requestMatchers(HttpMethod.GET, "/api/clientes/**", "/api/veiculos/**").authenticated()
+                        .requestMatchers("/api/clientes/**").access(PapelServico.usuarioAutenticado())  // PUT, DELETE protegidos
+                        .requestMatchers("/api/veiculos/**").access(PapelServico.usuarioAutenticado())  // PUT, DELETE protegidos
+                        .anyRequest().access(PapelServico.usuarioAutenticado())
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
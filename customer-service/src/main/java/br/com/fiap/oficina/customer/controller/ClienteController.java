@@ -60,6 +60,18 @@ public class ClienteController {
         return ResponseEntity.ok(clientes);
     }
 
+    @GetMapping(params = "ids")
+    @Operation(
+            summary = "Busca clientes por uma lista de IDs.",
+            description = "Retorna, em uma única chamada, os clientes correspondentes aos IDs informados. IDs inexistentes são ignorados.",
+            operationId = "buscarClientesPorIds",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponse(responseCode = "200", description = "Clientes encontrados.", content = @Content(mediaType = "application/json"))
+    public ResponseEntity<List<ClienteResponseDTO>> buscarPorIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(clienteService.buscarPorIds(ids));
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Busca cliente por ID.",
@@ -57,6 +57,18 @@ public class VeiculoController {
         return ResponseEntity.ok(veiculoService.listarTodos());
     }
 
+    @GetMapping(params = "ids")
+    @Operation(
+            summary = "Buscar veículos por uma lista de IDs",
+            description = "Retorna, em uma única chamada, os veículos correspondentes aos IDs informados. IDs inexistentes são ignorados.",
+            operationId = "buscarVeiculosPorIds",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponse(responseCode = "200", description = "Veículos encontrados.", content = @Content(mediaType = "application/json"))
+    public ResponseEntity<List<VeiculoResponseDTO>> buscarPorIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(veiculoService.buscarPorIds(ids));
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Buscar veículo por ID",
@@ -14,6 +14,8 @@ public interface ClienteService {
 
     ClienteResponseDTO buscarPorId(Long id);
 
+    List<ClienteResponseDTO> buscarPorIds(List<Long> ids);
+
     List<ClienteResponseDTO> buscarPorNome(String nome);
 
     ClienteResponseDTO buscarPorCpf(String cpf);
@@ -14,6 +14,8 @@ public interface VeiculoService {
 
     VeiculoResponseDTO buscarPorId(Long id);
 
+    List<VeiculoResponseDTO> buscarPorIds(List<Long> ids);
+
     VeiculoResponseDTO buscarPorPlaca(String placa);
 
     List<VeiculoResponseDTO> buscarPorCliente(Long clienteId);
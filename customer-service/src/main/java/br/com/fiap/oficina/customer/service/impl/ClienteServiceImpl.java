@@ -51,6 +51,11 @@ public class ClienteServiceImpl implements ClienteService {
         return clienteMapper.toDTO(getCliente(id));
     }
 
+    @Override
+    public List<ClienteResponseDTO> buscarPorIds(List<Long> ids) {
+        return clienteMapper.toDTO(clienteRepository.findAllById(ids));
+    }
+
     @Override
     public List<ClienteResponseDTO> buscarPorNome(String nome) {
         List<Cliente> clientes = clienteRepository.findByNomeContainingIgnoreCase(nome.toLowerCase());
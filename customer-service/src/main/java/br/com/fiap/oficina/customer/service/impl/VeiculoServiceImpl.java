@@ -56,6 +56,11 @@ public class VeiculoServiceImpl implements VeiculoService {
         return veiculoMapper.toDTO(getVeiculo(id));
     }
 
+    @Override
+    public List<VeiculoResponseDTO> buscarPorIds(List<Long> ids) {
+        return veiculoMapper.toDTOList(veiculoRepository.findAllById(ids));
+    }
+
     @Override
     public VeiculoResponseDTO atualizar(Long id, VeiculoRequesDTO request) {
         Veiculo veiculo = getVeiculo(id);
@@ -143,6 +143,30 @@ class ClienteControllerTest {
         verify(clienteService, times(1)).buscarPorId(1L);
     }
 
+    @Test
+    @DisplayName("Deve buscar clientes por lista de IDs")
+    void deveBuscarClientesPorIds() throws Exception {
+        // Arrange
+        ClienteResponseDTO cliente1 = new ClienteResponseDTO();
+        cliente1.setId(1L);
+        cliente1.setNome("João Silva");
+
+        ClienteResponseDTO cliente2 = new ClienteResponseDTO();
+        cliente2.setId(2L);
+        cliente2.setNome("Maria Santos");
+
+        when(clienteService.buscarPorIds(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(cliente1, cliente2));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/clientes").param("ids", "1", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].nome").value("Maria Santos"));
+
+        verify(clienteService, times(1)).buscarPorIds(Arrays.asList(1L, 2L));
+        verify(clienteService, never()).listarClientes();
+    }
+
     @Test
     @DisplayName("Deve retornar 404 quando cliente não encontrado")
     void deveRetornar404QuandoClienteNaoEncontrado() throws Exception {
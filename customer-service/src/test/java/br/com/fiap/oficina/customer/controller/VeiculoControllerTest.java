@@ -131,6 +131,30 @@ class VeiculoControllerTest {
         verify(veiculoService, times(1)).buscarPorId(1L);
     }
 
+    @Test
+    @DisplayName("Deve buscar veículos por lista de IDs")
+    void deveBuscarVeiculosPorIds() throws Exception {
+        // Arrange
+        VeiculoResponseDTO veiculo1 = new VeiculoResponseDTO();
+        veiculo1.setId(1L);
+        veiculo1.setPlaca("ABC1D23");
+
+        VeiculoResponseDTO veiculo2 = new VeiculoResponseDTO();
+        veiculo2.setId(2L);
+        veiculo2.setPlaca("XYZ9W87");
+
+        when(veiculoService.buscarPorIds(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(veiculo1, veiculo2));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/veiculos").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].placa").value("ABC1D23"));
+
+        verify(veiculoService, times(1)).buscarPorIds(Arrays.asList(1L, 2L));
+        verify(veiculoService, never()).listarTodos();
+    }
+
     @Test
     @DisplayName("Deve retornar 404 quando veículo não encontrado")
     void deveRetornar404QuandoVeiculoNaoEncontrado() throws Exception {
@@ -100,6 +100,34 @@ class ClienteServiceImplTest {
         verify(clienteRepository, times(1)).findById(id);
     }
 
+    @Test
+    @DisplayName("Deve buscar clientes por lista de IDs em uma única consulta")
+    void deveBuscarClientesPorIds() {
+        // Arrange
+        List<Long> ids = Arrays.asList(1L, 2L);
+        Cliente cliente1 = new Cliente();
+        cliente1.setId(1L);
+        Cliente cliente2 = new Cliente();
+        cliente2.setId(2L);
+        List<Cliente> clientes = Arrays.asList(cliente1, cliente2);
+
+        ClienteResponseDTO dto1 = new ClienteResponseDTO();
+        dto1.setId(1L);
+        ClienteResponseDTO dto2 = new ClienteResponseDTO();
+        dto2.setId(2L);
+
+        when(clienteRepository.findAllById(ids)).thenReturn(clientes);
+        when(clienteMapper.toDTO(clientes)).thenReturn(Arrays.asList(dto1, dto2));
+
+        // Act
+        List<ClienteResponseDTO> result = clienteService.buscarPorIds(ids);
+
+        // Assert
+        assertEquals(2, result.size());
+        verify(clienteRepository, times(1)).findAllById(ids);
+        verify(clienteRepository, never()).findById(any());
+    }
+
     @Test
     @DisplayName("Deve lançar exceção quando cliente não encontrado por ID")
     void deveLancarExcecaoQuandoClienteNaoEncontradoPorId() {
@@ -168,6 +168,34 @@ class VeiculoServiceImplTest {
         verify(veiculoRepository, times(1)).findById(id);
     }
 
+    @Test
+    @DisplayName("Deve buscar veículos por lista de IDs em uma única consulta")
+    void deveBuscarVeiculosPorIds() {
+        // Arrange
+        List<Long> ids = Arrays.asList(1L, 2L);
+        Veiculo veiculo1 = new Veiculo();
+        veiculo1.setId(1L);
+        Veiculo veiculo2 = new Veiculo();
+        veiculo2.setId(2L);
+        List<Veiculo> veiculos = Arrays.asList(veiculo1, veiculo2);
+
+        VeiculoResponseDTO dto1 = new VeiculoResponseDTO();
+        dto1.setId(1L);
+        VeiculoResponseDTO dto2 = new VeiculoResponseDTO();
+        dto2.setId(2L);
+
+        when(veiculoRepository.findAllById(ids)).thenReturn(veiculos);
+        when(veiculoMapper.toDTOList(veiculos)).thenReturn(Arrays.asList(dto1, dto2));
+
+        // Act
+        List<VeiculoResponseDTO> result = veiculoService.buscarPorIds(ids);
+
+        // Assert
+        assertEquals(2, result.size());
+        verify(veiculoRepository, times(1)).findAllById(ids);
+        verify(veiculoRepository, never()).findById(any());
+    }
+
     @Test
     @DisplayName("Deve lançar exceção quando veículo não encontrado por ID")
     void deveLancarExcecaoQuandoVeiculoNaoEncontradoPorId() {
@@ -0,0 +1,124 @@
+package br.com.fiap.oficina.shared.config;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Agrupa chamadas GET idênticas feitas ao mesmo tempo por clientes Feign (single-flight).
+ * <p>
+ * A primeira chamada para uma chave é executada; as que chegam enquanto ela está em andamento
+ * aguardam e recebem uma cópia da mesma resposta (ou do mesmo erro). A chave é o método HTTP e a
+ * URL, que já contém os argumentos do método Feign, mais o header Authorization: respostas só
+ * são compartilhadas entre chamadas feitas com a mesma credencial. Nada é guardado depois que a
+ * chamada termina.
+ * <p>
+ * As chamadas são contadas em {@code feign.coalescencia.chamadas}, com {@code resultado=executada}
+ * ou {@code resultado=compartilhada} e as tags {@code cliente} e {@code metodo}.
+ */
+public class CoalescenciaFeignCapability implements Capability {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, CompletableFuture<RespostaCompartilhada>> emAndamento =
+            new ConcurrentHashMap<>();
+
+    public CoalescenciaFeignCapability(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("feign.coalescencia.em-andamento", emAndamento, ConcurrentHashMap::size)
+                .description("Chamadas GET em andamento que podem ser compartilhadas")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> executar(client, request, options);
+    }
+
+    private Response executar(Client client, Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return client.execute(request, options);
+        }
+
+        String chave = chave(request);
+        CompletableFuture<RespostaCompartilhada> nova = new CompletableFuture<>();
+        CompletableFuture<RespostaCompartilhada> existente = emAndamento.putIfAbsent(chave, nova);
+        if (existente != null) {
+            contar(request, "compartilhada");
+            return aguardar(existente).para(request);
+        }
+
+        contar(request, "executada");
+        try {
+            RespostaCompartilhada resposta = RespostaCompartilhada.de(client.execute(request, options));
+            nova.complete(resposta);
+            return resposta.para(request);
+        } catch (IOException | RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, nova);
+        }
+    }
+
+    private static RespostaCompartilhada aguardar(CompletableFuture<RespostaCompartilhada> future)
+            throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido aguardando chamada compartilhada");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Falha na chamada compartilhada", e.getCause());
+        }
+    }
+
+    private static String chave(Request request) {
+        Collection<String> authorization = request.headers().get("Authorization");
+        return request.httpMethod() + " " + request.url() + " " + (authorization != null ? authorization : "");
+    }
+
+    private void contar(Request request, String resultado) {
+        String cliente = request.requestTemplate() != null && request.requestTemplate().feignTarget() != null
+                ? request.requestTemplate().feignTarget().name() : "desconhecido";
+        String metodo = request.requestTemplate() != null && request.requestTemplate().methodMetadata() != null
+                ? request.requestTemplate().methodMetadata().configKey() : "desconhecido";
+        meterRegistry.counter("feign.coalescencia.chamadas",
+                "cliente", cliente, "metodo", metodo, "resultado", resultado).increment();
+    }
+
+    /**
+     * Resposta com o corpo já lido, para que cada chamada agrupada receba seu próprio stream.
+     */
+    private record RespostaCompartilhada(Response original, byte[] corpo) {
+
+        static RespostaCompartilhada de(Response response) throws IOException {
+            if (response.body() == null) {
+                return new RespostaCompartilhada(response, null);
+            }
+            try (response; InputStream in = response.body().asInputStream()) {
+                return new RespostaCompartilhada(response, in.readAllBytes());
+            }
+        }
+
+        Response para(Request request) {
+            return original.toBuilder().request(request).body(corpo).build();
+        }
+    }
+}
@@ -1,11 +1,9 @@
 package br.com.fiap.oficina.shared.config;
 
+import br.com.fiap.oficina.shared.security.AuthorizationContext;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.stereotype.Component;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
 /**
  * Interceptor para propagar o token JWT para chamadas Feign entre microserviços
@@ -13,20 +11,14 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 @Component
 public class FeignClientInterceptor implements RequestInterceptor {
 
-    private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
     @Override
     public void apply(RequestTemplate template) {
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        String authorizationHeader = AuthorizationContext.current();
 
-        if (attributes != null) {
-            HttpServletRequest request = attributes.getRequest();
-            String authorizationHeader = request.getHeader(AUTHORIZATION_HEADER);
-
-            if (authorizationHeader != null && authorizationHeader.startsWith(BEARER_PREFIX)) {
-                template.header(AUTHORIZATION_HEADER, authorizationHeader);
-            }
+        if (authorizationHeader != null && authorizationHeader.startsWith(BEARER_PREFIX)) {
+            template.header(AuthorizationContext.AUTHORIZATION_HEADER, authorizationHeader);
         }
     }
 }
@@ -1,5 +1,8 @@
 package br.com.fiap.oficina.shared.config;
+import feign.Capability;
 import feign.RequestInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,4 +16,14 @@ public class FeignConfig {
     public RequestInterceptor requestInterceptor() {
         return new FeignClientInterceptor();
     }
+
+    /**
+     * Chamadas GET idênticas e simultâneas compartilham uma única requisição.
+     * Desative com {@code oficina.feign.coalescencia.habilitada=false}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "oficina.feign.coalescencia.habilitada", havingValue = "true", matchIfMissing = true)
+    public Capability coalescenciaFeignCapability(MeterRegistry meterRegistry) {
+        return new CoalescenciaFeignCapability(meterRegistry);
+    }
 }
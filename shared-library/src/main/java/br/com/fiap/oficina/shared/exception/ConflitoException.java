@@ -0,0 +1,16 @@
+package br.com.fiap.oficina.shared.exception;
+
+/**
+ * O recurso foi alterado por outra operação entre a leitura e a escrita; o cliente deve
+ * recarregá-lo e repetir a operação.
+ */
+public class ConflitoException extends RuntimeException {
+
+    public ConflitoException(String message) {
+        super(message);
+    }
+
+    public ConflitoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
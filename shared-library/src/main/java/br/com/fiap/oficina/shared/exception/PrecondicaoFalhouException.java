@@ -0,0 +1,12 @@
+package br.com.fiap.oficina.shared.exception;
+
+/**
+ * A versão informada pelo cliente em {@code If-Match} não é a versão atual do recurso; o
+ * cliente deve recarregá-lo antes de alterá-lo.
+ */
+public class PrecondicaoFalhouException extends RuntimeException {
+
+    public PrecondicaoFalhouException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.fiap.oficina.shared.exception;
+
+/**
+ * Um microserviço do qual a operação depende não respondeu dentro do prazo; a requisição
+ * pode ser repetida mais tarde.
+ */
+public class TempoEsgotadoException extends RuntimeException {
+
+    public TempoEsgotadoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
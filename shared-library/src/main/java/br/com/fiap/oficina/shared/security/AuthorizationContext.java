@@ -0,0 +1,70 @@
+package br.com.fiap.oficina.shared.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.function.Supplier;
+
+/**
+ * Mantém o header Authorization disponível para chamadas Feign feitas fora da thread da
+ * requisição HTTP (executores, virtual threads, jobs agendados).
+ * <p>
+ * O valor é capturado no momento em que a tarefa é criada, e não como referência à
+ * requisição, porque ela pode ser finalizada antes da tarefa terminar.
+ */
+public final class AuthorizationContext {
+
+    public static final String AUTHORIZATION_HEADER = "Authorization";
+
+    private static final ThreadLocal<String> HEADER = new ThreadLocal<>();
+
+    private AuthorizationContext() {
+    }
+
+    /**
+     * Retorna o header Authorization da requisição corrente ou, na ausência dela, o valor
+     * propagado para a thread atual.
+     */
+    public static String current() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            HttpServletRequest request = attributes.getRequest();
+            String header = request.getHeader(AUTHORIZATION_HEADER);
+            if (header != null) {
+                return header;
+            }
+        }
+        return HEADER.get();
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        String header = current();
+        return () -> callWith(header, task);
+    }
+
+    public static Runnable propagate(Runnable task) {
+        String header = current();
+        return () -> callWith(header, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executa a tarefa com o header informado, restaurando o valor anterior ao final.
+     */
+    public static <T> T callWith(String header, Supplier<T> task) {
+        String anterior = HEADER.get();
+        HEADER.set(header);
+        try {
+            return task.get();
+        } finally {
+            if (anterior != null) {
+                HEADER.set(anterior);
+            } else {
+                HEADER.remove();
+            }
+        }
+    }
+}
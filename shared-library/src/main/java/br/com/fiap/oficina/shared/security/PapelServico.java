@@ -0,0 +1,29 @@
+package br.com.fiap.oficina.shared.security;
+
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
+
+/**
+ * Papel dos tokens que um microserviço emite para si mesmo em rotinas em segundo plano.
+ * Não é um {@link br.com.fiap.oficina.shared.enums.Role} de usuário: vale apenas nas
+ * consultas que cada serviço libera explicitamente com {@link #SERVICO}, e
+ * {@link #usuarioAutenticado()} o recusa nas demais rotas.
+ */
+public final class PapelServico {
+
+    public static final String SERVICO = "SERVICO";
+    public static final String ROLE_SERVICO = "ROLE_" + SERVICO;
+
+    private PapelServico() {
+    }
+
+    /**
+     * Qualquer usuário autenticado, exceto tokens de serviço.
+     */
+    public static <T> AuthorizationManager<T> usuarioAutenticado() {
+        return AuthorizationManagers.allOf(AuthenticatedAuthorizationManager.authenticated(),
+                AuthorizationManagers.not(AuthorityAuthorizationManager.hasRole(SERVICO)));
+    }
+}
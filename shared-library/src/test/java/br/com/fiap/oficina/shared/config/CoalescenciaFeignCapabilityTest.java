@@ -0,0 +1,195 @@
+package br.com.fiap.oficina.shared.config;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescenciaFeignCapabilityTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescenciaFeignCapability capability;
+    private ExecutorService executor;
+
+    private final AtomicInteger chamadas = new AtomicInteger();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        capability = new CoalescenciaFeignCapability(meterRegistry);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única vez chamadas GET idênticas simultâneas")
+    void deveCompartilharGetsIdenticos() throws Exception {
+        // Arrange
+        Client client = capability.enrich(clienteBloqueado(null));
+        Future<Response> primeira = executor.submit(() -> client.execute(get("Bearer a"), opcoes()));
+        aguardarChamadas(1);
+        Future<Response> segunda = executor.submit(() -> client.execute(get("Bearer a"), opcoes()));
+        aguardarCompartilhadas(1);
+
+        // Act
+        liberar.countDown();
+
+        // Assert
+        assertEquals("ok", corpo(primeira.get(5, TimeUnit.SECONDS)));
+        assertEquals("ok", corpo(segunda.get(5, TimeUnit.SECONDS)));
+        assertEquals(1, chamadas.get());
+        assertEquals(0, emAndamento());
+    }
+
+    @Test
+    @DisplayName("Não deve compartilhar respostas entre credenciais diferentes")
+    void naoDeveCompartilharEntreCredenciais() throws Exception {
+        // Arrange
+        Client client = capability.enrich(clienteBloqueado(null));
+
+        // Act
+        Future<Response> primeira = executor.submit(() -> client.execute(get("Bearer a"), opcoes()));
+        Future<Response> segunda = executor.submit(() -> client.execute(get("Bearer b"), opcoes()));
+
+        // Assert
+        aguardarChamadas(2);
+        liberar.countDown();
+        assertEquals("ok", corpo(primeira.get(5, TimeUnit.SECONDS)));
+        assertEquals("ok", corpo(segunda.get(5, TimeUnit.SECONDS)));
+        assertEquals(0, compartilhadas());
+    }
+
+    @Test
+    @DisplayName("Deve repassar ao cliente chamadas que não são GET")
+    void deveRepassarChamadasQueNaoSaoGet() throws Exception {
+        // Arrange
+        Client client = capability.enrich(clienteBloqueado(null));
+        Request post = requisicao(Request.HttpMethod.POST, "Bearer a");
+
+        // Act
+        Future<Response> primeira = executor.submit(() -> client.execute(post, opcoes()));
+        Future<Response> segunda = executor.submit(() -> client.execute(post, opcoes()));
+
+        // Assert
+        aguardarChamadas(2);
+        liberar.countDown();
+        primeira.get(5, TimeUnit.SECONDS);
+        segunda.get(5, TimeUnit.SECONDS);
+        assertEquals(0, compartilhadas());
+        assertEquals(0, meterRegistry.find("feign.coalescencia.chamadas").counters().size());
+    }
+
+    @Test
+    @DisplayName("Deve propagar a falha a todas as chamadas agrupadas e liberar a chave")
+    void devePropagarFalhaELiberarChave() throws Exception {
+        // Arrange
+        Client client = capability.enrich(clienteBloqueado(new IOException("Conexão recusada")));
+        Future<Response> primeira = executor.submit(() -> client.execute(get("Bearer a"), opcoes()));
+        aguardarChamadas(1);
+        Future<Response> segunda = executor.submit(() -> client.execute(get("Bearer a"), opcoes()));
+        aguardarCompartilhadas(1);
+
+        // Act
+        liberar.countDown();
+
+        // Assert
+        ExecutionException falhaPrimeira = assertThrows(ExecutionException.class,
+                () -> primeira.get(5, TimeUnit.SECONDS));
+        ExecutionException falhaSegunda = assertThrows(ExecutionException.class,
+                () -> segunda.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, falhaPrimeira.getCause());
+        assertSame(falhaPrimeira.getCause(), falhaSegunda.getCause());
+        assertEquals(0, emAndamento());
+        assertThrows(IOException.class, () -> client.execute(get("Bearer a"), opcoes()));
+        assertEquals(2, chamadas.get());
+    }
+
+    /**
+     * Cliente que conta as chamadas e só responde (ou falha) depois de {@link #liberar}.
+     */
+    private Client clienteBloqueado(IOException falha) {
+        return (request, options) -> {
+            chamadas.incrementAndGet();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (falha != null) {
+                throw falha;
+            }
+            return Response.builder()
+                    .status(200)
+                    .reason("OK")
+                    .request(request)
+                    .headers(Map.of())
+                    .body("ok", StandardCharsets.UTF_8)
+                    .build();
+        };
+    }
+
+    private void aguardarChamadas(int esperadas) throws InterruptedException {
+        aguardar(() -> chamadas.get() >= esperadas);
+    }
+
+    private void aguardarCompartilhadas(int esperadas) throws InterruptedException {
+        aguardar(() -> compartilhadas() >= esperadas);
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "Tempo esgotado aguardando as chamadas");
+            Thread.sleep(5);
+        }
+    }
+
+    private double compartilhadas() {
+        return meterRegistry.find("feign.coalescencia.chamadas").tag("resultado", "compartilhada")
+                .counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private double emAndamento() {
+        return meterRegistry.get("feign.coalescencia.em-andamento").gauge().value();
+    }
+
+    private static Request get(String authorization) {
+        return requisicao(Request.HttpMethod.GET, authorization);
+    }
+
+    private static Request requisicao(Request.HttpMethod metodo, String authorization) {
+        Map<String, Collection<String>> headers = Map.of("Authorization", List.of(authorization));
+        return Request.create(metodo, "http://customer-service/api/clientes/1", headers,
+                null, StandardCharsets.UTF_8, null);
+    }
+
+    private static Request.Options opcoes() {
+        return new Request.Options();
+    }
+
+    private static String corpo(Response response) throws IOException {
+        return new String(response.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+}
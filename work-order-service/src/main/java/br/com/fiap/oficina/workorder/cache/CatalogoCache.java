@@ -0,0 +1,111 @@
+package br.com.fiap.oficina.workorder.cache;
+
+import br.com.fiap.oficina.shared.security.AuthorizationContext;
+import br.com.fiap.oficina.workorder.client.ProdutoCatalogoClient;
+import br.com.fiap.oficina.workorder.client.ServicoClient;
+import br.com.fiap.oficina.workorder.dto.response.ProdutoCatalogoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Near-cache dos serviços e produtos do catálogo.
+ * <p>
+ * Os dados do catálogo mudam raramente, então as entradas são recarregadas em segundo
+ * plano após {@code refresh} enquanto o valor antigo continua sendo servido; se o
+ * catalog-service falhar na recarga, o valor antigo permanece até expirar em {@code ttl}.
+ * Hits, misses e evictions são exportados como métricas {@code cache.*} com as tags
+ * {@code cache=catalogo.servicos} e {@code cache=catalogo.produtos}.
+ */
+@Component
+@Slf4j
+public class CatalogoCache {
+
+    private final LoadingCache<Long, ServicoResponseDTO> servicos;
+    private final LoadingCache<Long, ProdutoCatalogoResponseDTO> produtos;
+
+    public CatalogoCache(ServicoClient servicoClient,
+                         ProdutoCatalogoClient produtoClient,
+                         @Qualifier("enriquecimentoExecutor") ExecutorService executor,
+                         MeterRegistry meterRegistry,
+                         @Value("${workorder.cache.catalogo.ttl:30m}") Duration ttl,
+                         @Value("${workorder.cache.catalogo.refresh:5m}") Duration refresh,
+                         @Value("${workorder.cache.catalogo.tamanho-maximo:10000}") long tamanhoMaximo) {
+        // A recarga roda fora da thread da requisição: propaga o token de quem a disparou
+        Executor recarga = tarefa -> executor.execute(AuthorizationContext.propagate(tarefa));
+
+        this.servicos = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refresh)
+                .executor(recarga)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public ServicoResponseDTO load(Long id) {
+                        return servicoClient.getServico(id);
+                    }
+
+                    @Override
+                    public Map<Long, ServicoResponseDTO> loadAll(Set<? extends Long> ids) {
+                        return servicoClient.getServicos(new ArrayList<>(ids)).stream()
+                                .collect(Collectors.toMap(ServicoResponseDTO::getId, servico -> servico));
+                    }
+                });
+
+        this.produtos = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refresh)
+                .executor(recarga)
+                .recordStats()
+                .build(produtoClient::getProduto);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, servicos, "catalogo.servicos");
+        CaffeineCacheMetrics.monitor(meterRegistry, produtos, "catalogo.produtos");
+    }
+
+    public ServicoResponseDTO getServico(Long id) {
+        return servicos.get(id);
+    }
+
+    /**
+     * Busca vários serviços; apenas os IDs ausentes no cache geram uma chamada em lote
+     * ao catalog-service. IDs inexistentes são omitidos.
+     */
+    public List<ServicoResponseDTO> getServicos(List<Long> ids) {
+        return new ArrayList<>(servicos.getAll(ids).values());
+    }
+
+    public ProdutoCatalogoResponseDTO getProduto(Long id) {
+        return produtos.get(id);
+    }
+
+    public void invalidar() {
+        log.info("Invalidando near-cache do catálogo ({} serviços, {} produtos)",
+                servicos.estimatedSize(), produtos.estimatedSize());
+        servicos.invalidateAll();
+        produtos.invalidateAll();
+    }
+
+    public void invalidarServico(Long id) {
+        servicos.invalidate(id);
+    }
+
+    public void invalidarProduto(Long id) {
+        produtos.invalidate(id);
+    }
+}
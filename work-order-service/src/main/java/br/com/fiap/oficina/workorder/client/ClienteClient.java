@@ -4,10 +4,16 @@ import br.com.fiap.oficina.workorder.dto.response.ClienteResponseDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "customer-service", contextId = "cliente-client")
+import java.util.List;
+
+@FeignClient(name = "customer-service", contextId = "cliente-client", primary = false, qualifiers = "clienteFeignClient")
 public interface ClienteClient {
 
     @GetMapping("/api/clientes/{id}")
     ClienteResponseDTO getCliente(@PathVariable("id") Long id);
+
+    @GetMapping("/api/clientes")
+    List<ClienteResponseDTO> getClientes(@RequestParam("ids") List<Long> ids);
 }
@@ -0,0 +1,57 @@
+package br.com.fiap.oficina.workorder.client;
+
+import br.com.fiap.oficina.workorder.dto.response.ClienteResponseDTO;
+import br.com.fiap.oficina.workorder.resiliencia.UltimoValorConhecido;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@link ClienteClient} protegido pelo circuit breaker, bulkhead e retry {@code cliente} do
+ * Resilience4j, com fallback para o último cliente obtido. É o bean injetado por padrão no lugar
+ * do cliente Feign.
+ */
+@Component
+@Primary
+public class ClienteClientResiliente implements ClienteClient {
+
+    private final ClienteClient delegate;
+    private final UltimoValorConhecido<ClienteResponseDTO> ultimos;
+
+    public ClienteClientResiliente(@Qualifier("clienteFeignClient") ClienteClient delegate,
+                                   UltimoValorConhecido.Limites limites,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ultimos = new UltimoValorConhecido<>("cliente", ClienteResponseDTO::getId, limites, meterRegistry);
+    }
+
+    @Override
+    @Retry(name = "cliente", fallbackMethod = "ultimoCliente")
+    @CircuitBreaker(name = "cliente")
+    @Bulkhead(name = "cliente")
+    public ClienteResponseDTO getCliente(Long id) {
+        return ultimos.guardar(delegate.getCliente(id));
+    }
+
+    @Override
+    @Retry(name = "cliente", fallbackMethod = "ultimosClientes")
+    @CircuitBreaker(name = "cliente")
+    @Bulkhead(name = "cliente")
+    public List<ClienteResponseDTO> getClientes(List<Long> ids) {
+        return ultimos.guardarTodos(delegate.getClientes(ids));
+    }
+
+    private ClienteResponseDTO ultimoCliente(Long id, Throwable erro) throws Throwable {
+        return ultimos.servir(id, erro);
+    }
+
+    private List<ClienteResponseDTO> ultimosClientes(List<Long> ids, Throwable erro) throws Throwable {
+        return ultimos.servirTodos(ids, erro);
+    }
+}
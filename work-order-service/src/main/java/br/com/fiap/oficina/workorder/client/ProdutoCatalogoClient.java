@@ -5,7 +5,7 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
-@FeignClient(name = "catalog-service", contextId = "produto-catalogo-client")
+@FeignClient(name = "catalog-service", contextId = "produto-catalogo-client", primary = false, qualifiers = "produtoCatalogoFeignClient")
 public interface ProdutoCatalogoClient {
 
     @GetMapping("/api/catalogo-produtos/{id}")
@@ -0,0 +1,42 @@
+package br.com.fiap.oficina.workorder.client;
+
+import br.com.fiap.oficina.workorder.dto.response.ProdutoCatalogoResponseDTO;
+import br.com.fiap.oficina.workorder.resiliencia.UltimoValorConhecido;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link ProdutoCatalogoClient} protegido pelo circuit breaker, bulkhead e retry {@code produto}
+ * do Resilience4j, com fallback para o último produto obtido.
+ */
+@Component
+@Primary
+public class ProdutoCatalogoClientResiliente implements ProdutoCatalogoClient {
+
+    private final ProdutoCatalogoClient delegate;
+    private final UltimoValorConhecido<ProdutoCatalogoResponseDTO> ultimos;
+
+    public ProdutoCatalogoClientResiliente(@Qualifier("produtoCatalogoFeignClient") ProdutoCatalogoClient delegate,
+                                           UltimoValorConhecido.Limites limites,
+                                           MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ultimos = new UltimoValorConhecido<>("produto", ProdutoCatalogoResponseDTO::getId, limites, meterRegistry);
+    }
+
+    @Override
+    @Retry(name = "produto", fallbackMethod = "ultimoProduto")
+    @CircuitBreaker(name = "produto")
+    @Bulkhead(name = "produto")
+    public ProdutoCatalogoResponseDTO getProduto(Long id) {
+        return ultimos.guardar(delegate.getProduto(id));
+    }
+
+    private ProdutoCatalogoResponseDTO ultimoProduto(Long id, Throwable erro) throws Throwable {
+        return ultimos.servir(id, erro);
+    }
+}
@@ -4,10 +4,16 @@ import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "catalog-service", contextId = "servico-client")
+import java.util.List;
+
+@FeignClient(name = "catalog-service", contextId = "servico-client", primary = false, qualifiers = "servicoFeignClient")
 public interface ServicoClient {
 
     @GetMapping("/api/servicos/{id}")
     ServicoResponseDTO getServico(@PathVariable("id") Long id);
+
+    @GetMapping("/api/servicos")
+    List<ServicoResponseDTO> getServicos(@RequestParam("ids") List<Long> ids);
 }
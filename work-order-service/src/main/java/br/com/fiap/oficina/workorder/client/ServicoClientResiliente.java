@@ -0,0 +1,57 @@
+package br.com.fiap.oficina.workorder.client;
+
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.resiliencia.UltimoValorConhecido;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@link ServicoClient} protegido pelo circuit breaker, bulkhead e retry {@code servico} do
+ * Resilience4j, com fallback para o último serviço obtido. Fica abaixo do near-cache do
+ * catálogo, que também segue servindo o valor antigo quando a recarga falha.
+ */
+@Component
+@Primary
+public class ServicoClientResiliente implements ServicoClient {
+
+    private final ServicoClient delegate;
+    private final UltimoValorConhecido<ServicoResponseDTO> ultimos;
+
+    public ServicoClientResiliente(@Qualifier("servicoFeignClient") ServicoClient delegate,
+                                   UltimoValorConhecido.Limites limites,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ultimos = new UltimoValorConhecido<>("servico", ServicoResponseDTO::getId, limites, meterRegistry);
+    }
+
+    @Override
+    @Retry(name = "servico", fallbackMethod = "ultimoServico")
+    @CircuitBreaker(name = "servico")
+    @Bulkhead(name = "servico")
+    public ServicoResponseDTO getServico(Long id) {
+        return ultimos.guardar(delegate.getServico(id));
+    }
+
+    @Override
+    @Retry(name = "servico", fallbackMethod = "ultimosServicos")
+    @CircuitBreaker(name = "servico")
+    @Bulkhead(name = "servico")
+    public List<ServicoResponseDTO> getServicos(List<Long> ids) {
+        return ultimos.guardarTodos(delegate.getServicos(ids));
+    }
+
+    private ServicoResponseDTO ultimoServico(Long id, Throwable erro) throws Throwable {
+        return ultimos.servir(id, erro);
+    }
+
+    private List<ServicoResponseDTO> ultimosServicos(List<Long> ids, Throwable erro) throws Throwable {
+        return ultimos.servirTodos(ids, erro);
+    }
+}
@@ -4,10 +4,16 @@ import br.com.fiap.oficina.workorder.dto.response.VeiculoResponseDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "customer-service", contextId = "veiculo-client")
+import java.util.List;
+
+@FeignClient(name = "customer-service", contextId = "veiculo-client", primary = false, qualifiers = "veiculoFeignClient")
 public interface VeiculoClient {
 
     @GetMapping("/api/veiculos/{id}")
     VeiculoResponseDTO getVeiculo(@PathVariable("id") Long id);
+
+    @GetMapping("/api/veiculos")
+    List<VeiculoResponseDTO> getVeiculos(@RequestParam("ids") List<Long> ids);
 }
@@ -0,0 +1,56 @@
+package br.com.fiap.oficina.workorder.client;
+
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResponseDTO;
+import br.com.fiap.oficina.workorder.resiliencia.UltimoValorConhecido;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@link VeiculoClient} protegido pelo circuit breaker, bulkhead e retry {@code veiculo} do
+ * Resilience4j, com fallback para o último veículo obtido.
+ */
+@Component
+@Primary
+public class VeiculoClientResiliente implements VeiculoClient {
+
+    private final VeiculoClient delegate;
+    private final UltimoValorConhecido<VeiculoResponseDTO> ultimos;
+
+    public VeiculoClientResiliente(@Qualifier("veiculoFeignClient") VeiculoClient delegate,
+                                   UltimoValorConhecido.Limites limites,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ultimos = new UltimoValorConhecido<>("veiculo", VeiculoResponseDTO::getId, limites, meterRegistry);
+    }
+
+    @Override
+    @Retry(name = "veiculo", fallbackMethod = "ultimoVeiculo")
+    @CircuitBreaker(name = "veiculo")
+    @Bulkhead(name = "veiculo")
+    public VeiculoResponseDTO getVeiculo(Long id) {
+        return ultimos.guardar(delegate.getVeiculo(id));
+    }
+
+    @Override
+    @Retry(name = "veiculo", fallbackMethod = "ultimosVeiculos")
+    @CircuitBreaker(name = "veiculo")
+    @Bulkhead(name = "veiculo")
+    public List<VeiculoResponseDTO> getVeiculos(List<Long> ids) {
+        return ultimos.guardarTodos(delegate.getVeiculos(ids));
+    }
+
+    private VeiculoResponseDTO ultimoVeiculo(Long id, Throwable erro) throws Throwable {
+        return ultimos.servir(id, erro);
+    }
+
+    private List<VeiculoResponseDTO> ultimosVeiculos(List<Long> ids, Throwable erro) throws Throwable {
+        return ultimos.servirTodos(ids, erro);
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.fiap.oficina.workorder.config;
 
+import br.com.fiap.oficina.shared.security.AuthorizationContext;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -18,6 +19,7 @@ public class AsyncConfig implements AsyncConfigurer {
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("async-event-");
+        executor.setTaskDecorator(AuthorizationContext::propagate);
         executor.initialize();
         return executor;
     }
@@ -0,0 +1,20 @@
+package br.com.fiap.oficina.workorder.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class EnriquecimentoConfig {
+
+    /**
+     * Executor das consultas aos demais microserviços durante o enriquecimento das ordens.
+     * As chamadas são bloqueantes (Feign), por isso cada uma roda em sua própria virtual thread.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService enriquecimentoExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("enriquecimento-", 0).factory());
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.fiap.oficina.workorder.config;
+
+import br.com.fiap.oficina.shared.exception.BusinessException;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Erros de validação viram {@code BAD_REQUEST} com a mensagem original. Falhas ou prazo
+ * esgotado ao buscar um cadastro remoto deixam só aquele campo nulo, com um erro que indica
+ * a dependência; o restante da resposta é preservado.
+ */
+@Component
+public class ErrosGraphQLResolver extends DataFetcherExceptionResolverAdapter {
+
+    private static final Set<String> DEPENDENCIAS = Set.of("cliente", "veiculo", "servicos", "produto");
+
+    @Override
+    protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+        if (ex instanceof BusinessException) {
+            return GraphqlErrorBuilder.newError(env)
+                    .errorType(ErrorType.BAD_REQUEST)
+                    .message(ex.getMessage())
+                    .build();
+        }
+        String campo = env.getField().getName();
+        if (DEPENDENCIAS.contains(campo)) {
+            return GraphqlErrorBuilder.newError(env)
+                    .errorType(ErrorType.INTERNAL_ERROR)
+                    .message("Dependência indisponível: " + campo)
+                    .extensions(Map.of("dependencia", campo))
+                    .build();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.fiap.oficina.workorder.config;
+
+import br.com.fiap.oficina.workorder.service.OrdemServicoGraphQLService;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GraphQLConfig {
+
+    @Bean
+    public MaxQueryDepthInstrumentation profundidadeMaximaGraphQL(
+            @Value("${workorder.graphql.profundidade-maxima:8}") int profundidadeMaxima) {
+        return new MaxQueryDepthInstrumentation(profundidadeMaxima);
+    }
+
+    /**
+     * O custo estima quantos valores a consulta resolve: cada campo custa 1 mais os subcampos,
+     * e {@code ordensServico} multiplica o custo da seleção pelo {@code limite}. Aliases que
+     * repetem campos raiz somam seus custos.
+     */
+    @Bean
+    public MaxQueryComplexityInstrumentation complexidadeMaximaGraphQL(
+            @Value("${workorder.graphql.complexidade-maxima:5000}") int complexidadeMaxima) {
+        return new MaxQueryComplexityInstrumentation(complexidadeMaxima, GraphQLConfig::custo);
+    }
+
+    static int custo(FieldComplexityEnvironment env, int custoSubcampos) {
+        if (env.getField().getName().equals("ordensServico")) {
+            Object limite = env.getArguments().get("limite");
+            int ordens = limite instanceof Number numero ? Math.max(numero.intValue(), 1)
+                    : OrdemServicoGraphQLService.LIMITE_PADRAO;
+            return ordens * Math.max(custoSubcampos, 1);
+        }
+        return 1 + custoSubcampos;
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.fiap.oficina.workorder.config;
+
+import br.com.fiap.oficina.workorder.resiliencia.UltimoValorConhecido;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ResilienciaConfig {
+
+    /**
+     * Retenção do fallback de último valor de cada cliente Feign. Circuit breaker, bulkhead e
+     * retentativas ficam em {@code resilience4j.*}, por cliente; os timeouts de conexão e
+     * leitura em {@code spring.cloud.openfeign.client.config}.
+     */
+    @Bean
+    public UltimoValorConhecido.Limites limitesUltimoValor(
+            @Value("${workorder.resiliencia.ultimo-valor.retencao:24h}") Duration retencao,
+            @Value("${workorder.resiliencia.ultimo-valor.tamanho-maximo:10000}") long tamanhoMaximo) {
+        return new UltimoValorConhecido.Limites(retencao, tamanhoMaximo);
+    }
+}
@@ -2,6 +2,8 @@ package br.com.fiap.oficina.workorder.config;
 
 import br.com.fiap.oficina.shared.security.JwtAuthenticationFilter;
 import br.com.fiap.oficina.shared.security.JwtTokenProvider;
+import br.com.fiap.oficina.shared.security.PapelServico;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -49,9 +51,15 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .headers(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Despachos assíncronos (SSE, streaming) continuam uma requisição já autorizada
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.GET, PUBLIC_GET).permitAll()
                         // Ordens de Serviço - /api/ordens-servico
                         .requestMatchers(HttpMethod.POST, "/api/ordens-servico").hasAnyRole(ADMIN, ATENDENTE)
+                        .requestMatchers(HttpMethod.POST, "/api/ordens-servico/lote").hasAnyRole(ADMIN, ATENDENTE)
+                        .requestMatchers(HttpMethod.POST, "/api/ordens-servico/graphql").hasAnyRole(ADMIN, ATENDENTE, MECANICO)
+                        .requestMatchers("/api/ordens-servico/sincronizacao/**").hasAnyRole(ADMIN, MECANICO)
+                        .requestMatchers(HttpMethod.GET, "/api/ordens-servico/eventos").hasAnyRole(ADMIN, ATENDENTE, MECANICO)
                         .requestMatchers(HttpMethod.GET, "/api/ordens-servico/**").hasAnyRole(ADMIN, ATENDENTE, MECANICO, CLIENTE)
                         .requestMatchers(HttpMethod.PUT, "/api/ordens-servico/*/atribuir-mecanico").hasAnyRole(ADMIN, ATENDENTE)
                         .requestMatchers(HttpMethod.PUT, "/api/ordens-servico/*/diagnosticar").hasAnyRole(ADMIN, ATENDENTE, MECANICO)
@@ -64,7 +72,12 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.DELETE, "/api/ordens-servico/*/servicos").hasAnyRole(ADMIN, ATENDENTE)
                         .requestMatchers(HttpMethod.POST, "/api/ordens-servico/*/produtos").hasAnyRole(ADMIN, ATENDENTE)
                         .requestMatchers(HttpMethod.DELETE, "/api/ordens-servico/*/produtos").hasAnyRole(ADMIN, ATENDENTE)
-                        .anyRequest().authenticated()
+                        .requestMatchers(HttpMethod.PUT, "/api/ordens-servico/*/servicos/*").hasAnyRole(ADMIN, ATENDENTE)
+                        .requestMatchers(HttpMethod.DELETE, "/api/ordens-servico/*/servicos/*").hasAnyRole(ADMIN, ATENDENTE)
+                        .requestMatchers("/api/ordens-servico/*/itens/**").hasAnyRole(ADMIN, ATENDENTE)
+                        // Administração - /api/admin
+                        .requestMatchers("/api/admin/**").hasRole(ADMIN)
+                        .anyRequest().access(PapelServico.usuarioAutenticado())
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
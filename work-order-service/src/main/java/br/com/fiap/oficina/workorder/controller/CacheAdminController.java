@@ -0,0 +1,61 @@
+package br.com.fiap.oficina.workorder.controller;
+
+import br.com.fiap.oficina.workorder.cache.CatalogoCache;
+import br.com.fiap.oficina.workorder.service.OrdemServicoProjecaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/cache/catalogo")
+@RequiredArgsConstructor
+@Tag(name = "Administração de Cache", description = "Invalidação do cache local de dados do catálogo")
+@SecurityRequirement(name = "bearerAuth")
+public class CacheAdminController {
+
+    private final CatalogoCache catalogoCache;
+    private final OrdemServicoProjecaoService projecaoService;
+
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Invalidar cache do catálogo", description = "Remove todos os serviços e produtos do cache local")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Cache invalidado com sucesso")
+    })
+    public ResponseEntity<Void> invalidar() {
+        catalogoCache.invalidar();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/servicos/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Invalidar serviço no cache", description = "Remove um serviço específico do cache local e reprojeta as ordens que o contêm")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Serviço removido do cache")
+    })
+    public ResponseEntity<Void> invalidarServico(
+            @Parameter(description = "ID do serviço") @PathVariable Long id) {
+        catalogoCache.invalidarServico(id);
+        projecaoService.atualizarPorServico(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/produtos/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Invalidar produto no cache", description = "Remove um produto específico do cache local")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Produto removido do cache")
+    })
+    public ResponseEntity<Void> invalidarProduto(
+            @Parameter(description = "ID do produto") @PathVariable Long id) {
+        catalogoCache.invalidarProduto(id);
+        return ResponseEntity.noContent().build();
+    }
+}
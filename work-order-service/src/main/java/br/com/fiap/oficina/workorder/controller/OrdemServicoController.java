@@ -1,13 +1,34 @@
 package br.com.fiap.oficina.workorder.controller;
 
 import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.shared.exception.PrecondicaoFalhouException;
+import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoAtualizacaoDTO;
 import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoDTO;
 import br.com.fiap.oficina.workorder.dto.request.OsRequestDTO;
+import br.com.fiap.oficina.workorder.dto.request.RecepcaoLoteRequestDTO;
+import br.com.fiap.oficina.workorder.dto.request.TransicaoLoteRequestDTO;
+import br.com.fiap.oficina.workorder.dto.response.BuscaOrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ItemOrdemServicoResponseDTO;
 import br.com.fiap.oficina.workorder.dto.response.OrcamentoResumoDTO;
 import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
 import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResumoDTO;
 import br.com.fiap.oficina.workorder.dto.response.OsItemDTO;
+import br.com.fiap.oficina.workorder.dto.response.RecepcaoLoteResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.TempoStatusPercentisDTO;
+import br.com.fiap.oficina.workorder.dto.response.TransicaoLoteResponseDTO;
+import br.com.fiap.oficina.workorder.selecao.SelecaoCampos;
+import br.com.fiap.oficina.workorder.service.IdempotenciaService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoBuscaService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoExportacaoService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoExportacaoService.Formato;
+import br.com.fiap.oficina.workorder.service.OrdemServicoItemService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoMetricasService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoMetricasService.Agrupamento;
+import br.com.fiap.oficina.workorder.service.OrdemServicoRecepcaoService;
 import br.com.fiap.oficina.workorder.service.OrdemServicoService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoService.Ordenacao;
+import br.com.fiap.oficina.workorder.service.StatusOrdemServicoStreamService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,11 +37,21 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
+import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
 
 @RestController
@@ -31,6 +62,13 @@ import java.util.List;
 public class OrdemServicoController {
 
     private final OrdemServicoService service;
+    private final OrdemServicoExportacaoService exportacaoService;
+    private final OrdemServicoMetricasService metricasService;
+    private final IdempotenciaService idempotenciaService;
+    private final OrdemServicoBuscaService buscaService;
+    private final StatusOrdemServicoStreamService streamService;
+    private final OrdemServicoItemService itemService;
+    private final OrdemServicoRecepcaoService recepcaoService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE')")
@@ -38,35 +76,164 @@ public class OrdemServicoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Ordem de serviço criada com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos"),
-            @ApiResponse(responseCode = "404", description = "Cliente ou veículo não encontrado")
+            @ApiResponse(responseCode = "404", description = "Cliente ou veículo não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key já utilizada com outro pedido")
     })
-    public ResponseEntity<OrdemServicoResponseDTO> criar(@RequestBody @Valid OsRequestDTO request) {
-        OrdemServicoResponseDTO response = service.criar(request);
+    public ResponseEntity<OrdemServicoResponseDTO> criar(
+            @RequestBody @Valid OsRequestDTO request,
+            @Parameter(description = "Chave para repetir a requisição sem criar outra ordem")
+            @RequestHeader(value = IdempotenciaService.HEADER, required = false) String chaveIdempotencia) {
+        IdempotenciaService.Resultado<OrdemServicoResponseDTO> resultado = idempotenciaService.executar(
+                chaveIdempotencia, IdempotenciaService.OPERACAO_CRIAR_ORDEM, request,
+                new TypeReference<>() {
+                }, () -> service.criar(request));
+        OrdemServicoResponseDTO response = resultado.corpo();
         URI location = URI.create("/api/ordens-servico/" + response.getId());
-        return ResponseEntity.created(location).body(response);
+        return ResponseEntity.created(location)
+                .headers(cabecalhoRepetida(resultado.repetida()))
+                .body(response);
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE', 'MECANICO', 'CLIENTE')")
-    @Operation(summary = "Listar todas as ordens de serviço", description = "Lista todas as ordens de serviço, com filtro opcional por status")
+    @Operation(summary = "Listar todas as ordens de serviço", description = "Lista todas as ordens de serviço, com filtros opcionais por status, placa, cliente e modelo, ordenação e seleção de campos com fields/expand")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso")
     })
     public ResponseEntity<List<OrdemServicoResponseDTO>> listarTodos(
-            @Parameter(description = "Lista de status para filtrar") @RequestParam(required = false) List<StatusOrdemServico> status) {
-        return ResponseEntity.ok(service.listarTodos(status));
+            @Parameter(description = "Lista de status para filtrar") @RequestParam(required = false) List<StatusOrdemServico> status,
+            @Parameter(description = "Início da placa do veículo") @RequestParam(required = false) String placa,
+            @Parameter(description = "Trecho do nome do cliente") @RequestParam(required = false) String cliente,
+            @Parameter(description = "Trecho do modelo do veículo") @RequestParam(required = false) String modelo,
+            @Parameter(description = "Campo de ordenação: DATA_CRIACAO, PLACA, CLIENTE, MODELO ou STATUS") @RequestParam(required = false) Ordenacao ordenarPor,
+            @Parameter(description = "Direção da ordenação (ASC ou DESC)") @RequestParam(required = false) Sort.Direction direcao,
+            @Parameter(description = "Campos a devolver, separados por vírgula (ex.: id,status,cliente.nome)") @RequestParam(name = SelecaoCampos.PARAMETRO_CAMPOS, required = false) String campos,
+            @Parameter(description = "Relações a incluir: cliente, veiculo, servicos, itens") @RequestParam(name = SelecaoCampos.PARAMETRO_EXPANDIR, required = false) String expandir) {
+        // Valida a seleção antes da consulta; o recorte do JSON é feito por SelecaoCamposAdvice
+        SelecaoCampos.de(campos, expandir);
+        return ResponseEntity.ok(service.listar(status, placa, cliente, modelo, ordenarPor, direcao));
+    }
+
+    @GetMapping("/exportar")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE')")
+    @Operation(summary = "Exportar ordens de serviço", description = "Exporta as ordens de serviço em NDJSON ou CSV, transmitindo as linhas à medida que são lidas do banco")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação iniciada com sucesso")
+    })
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @Parameter(description = "Formato da exportação (NDJSON ou CSV)") @RequestParam(defaultValue = "NDJSON") Formato formato,
+            @Parameter(description = "Lista de status para filtrar") @RequestParam(required = false) List<StatusOrdemServico> status,
+            @Parameter(description = "Data de criação inicial (inclusiva)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data de criação final (inclusiva)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "ID do mecânico") @RequestParam(required = false) Long mecanicoId,
+            WebRequest request) {
+        // Prazo próprio da exportação, aplicado só a esta requisição assíncrona
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest()
+                .setTimeout(exportacaoService.getTimeout().toMillis());
+        StreamingResponseBody body = out ->
+                exportacaoService.exportar(formato, status, dataInicio, dataFim, mecanicoId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"ordens-servico." + formato.getExtensao() + "\"")
+                .body(body);
+    }
+
+    @PostMapping("/lote")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE')")
+    @Operation(summary = "Receber veículos em lote", description = "Abre uma ordem de serviço para cada veículo, tipicamente de um cliente de frota, validando clientes, veículos e serviços em lote e gravando todas as ordens em uma transação. Retorna o resultado de cada veículo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; consulte o resultado de cada veículo"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key já utilizada com outro pedido")
+    })
+    public ResponseEntity<RecepcaoLoteResponseDTO> receberEmLote(
+            @RequestBody @Valid RecepcaoLoteRequestDTO request,
+            @Parameter(description = "Chave para repetir a requisição sem criar as ordens novamente")
+            @RequestHeader(value = IdempotenciaService.HEADER, required = false) String chaveIdempotencia) {
+        IdempotenciaService.Resultado<RecepcaoLoteResponseDTO> resultado = idempotenciaService.executar(
+                chaveIdempotencia, IdempotenciaService.OPERACAO_RECEPCAO_LOTE, request,
+                new TypeReference<>() {
+                }, () -> recepcaoService.receber(request));
+        return ResponseEntity.ok().headers(cabecalhoRepetida(resultado.repetida())).body(resultado.corpo());
+    }
+
+    @PostMapping("/transicoes")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE')")
+    @Operation(summary = "Transicionar ordens de serviço em lote", description = "Altera o status de várias ordens de serviço de uma vez e retorna o resultado de cada uma. As ordens completas só são incluídas com detalhar=true")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; consulte o resultado de cada ordem"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos")
+    })
+    public ResponseEntity<TransicaoLoteResponseDTO> transicionarEmLote(
+            @RequestBody @Valid TransicaoLoteRequestDTO request,
+            @Parameter(description = "Incluir a ordem de serviço completa nas transições aplicadas") @RequestParam(defaultValue = "false") boolean detalhar) {
+        return ResponseEntity.ok(service.transicionarEmLote(request, detalhar));
+    }
+
+    @GetMapping("/metricas/tempo-status")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Percentis de tempo em status", description = "Calcula p50/p90/p99 do tempo em fila, diagnóstico, execução e retirada para os trechos encerrados no período, opcionalmente por mecânico ou categoria de serviço")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Percentis calculados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Período inválido")
+    })
+    public ResponseEntity<List<TempoStatusPercentisDTO>> calcularPercentisTempoStatus(
+            @Parameter(description = "Data inicial (inclusiva); padrão: 30 dias antes da data final") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final (inclusiva); padrão: hoje") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "Agrupamento adicional ao trecho (SEGMENTO, MECANICO ou CATEGORIA_SERVICO)") @RequestParam(defaultValue = "SEGMENTO") Agrupamento agrupamento) {
+        return ResponseEntity.ok(metricasService.calcularPercentis(dataInicio, dataFim, agrupamento));
+    }
+
+    @GetMapping("/busca")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE', 'MECANICO')")
+    @Operation(summary = "Buscar ordens de serviço por texto", description = "Busca por placa, nome do cliente ou observações, ordenando pela relevância")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultados retornados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Termo ou paginação inválidos")
+    })
+    public ResponseEntity<BuscaOrdemServicoResponseDTO> buscar(
+            @Parameter(description = "Palavras ou trechos de placa, nome do cliente ou observações") @RequestParam String q,
+            @Parameter(description = "Página, a partir de 0") @RequestParam(defaultValue = "0") int pagina,
+            @Parameter(description = "Resultados por página (máximo 100)") @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(buscaService.buscar(q, pagina, tamanho));
+    }
+
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE', 'MECANICO')")
+    @Operation(summary = "Acompanhar mudanças de status", description = "Stream SSE com um evento compacto a cada mudança de status ou de mecânico das ordens de serviço. Com Last-Event-ID, reenvia os eventos perdidos que ainda estão no buffer ou envia 'reinicio' para o cliente recarregar as ordens")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream aberto")
+    })
+    public SseEmitter acompanharStatus(
+            @Parameter(description = "ID do mecânico (atual ou anterior) para filtrar") @RequestParam(required = false) Long mecanicoId,
+            @Parameter(description = "Status de origem ou destino para filtrar") @RequestParam(required = false) List<StatusOrdemServico> status,
+            @Parameter(description = "ID do último evento recebido, para retomar a conexão") @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return streamService.assinar(mecanicoId, status == null ? null : new HashSet<>(status), ultimoEventoId);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE', 'MECANICO', 'CLIENTE')")
-    @Operation(summary = "Buscar ordem de serviço por ID", description = "Busca uma ordem de serviço específica pelo ID")
+    @Operation(summary = "Buscar ordem de serviço por ID", description = "Busca uma ordem de serviço específica pelo ID. Com fields/expand, devolve apenas os campos e relações pedidos e consulta somente as dependências expandidas")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ordem de serviço encontrada"),
+            @ApiResponse(responseCode = "304", description = "Ordem de serviço não alterada desde o ETag informado em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Campo ou relação inexistente em fields/expand"),
             @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
     })
     public ResponseEntity<OrdemServicoResponseDTO> buscarPorId(
-            @Parameter(description = "ID da ordem de serviço") @PathVariable Long id) {
-        return ResponseEntity.ok(service.buscarPorId(id));
+            @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
+            @Parameter(description = "Campos a devolver, separados por vírgula (ex.: id,status,cliente.nome)") @RequestParam(name = SelecaoCampos.PARAMETRO_CAMPOS, required = false) String campos,
+            @Parameter(description = "Relações a incluir: cliente, veiculo, servicos, itens") @RequestParam(name = SelecaoCampos.PARAMETRO_EXPANDIR, required = false) String expandir,
+            WebRequest webRequest) {
+        SelecaoCampos selecao = SelecaoCampos.de(campos, expandir);
+        // A versão é conferida antes do enriquecimento: uma ordem inalterada responde 304
+        String etag = service.etag(id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        // Só as relações expandidas são consultadas; o recorte do JSON é feito por SelecaoCamposAdvice
+        return ResponseEntity.ok().eTag(etag).body(service.buscarPorId(id, selecao.dependencias()));
     }
 
     @PutMapping("/{id}")
@@ -75,12 +242,14 @@ public class OrdemServicoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ordem de serviço atualizada com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos"),
-            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual da ordem de serviço")
     })
     public ResponseEntity<OrdemServicoResponseDTO> atualizar(
             @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
-            @RequestBody @Valid OsRequestDTO request) {
-        return ResponseEntity.ok(service.atualizar(id, request));
+            @RequestBody @Valid OsRequestDTO request,
+            WebRequest webRequest) {
+        return ResponseEntity.ok(service.atualizar(id, request, versaoEsperada(webRequest)));
     }
 
     @DeleteMapping("/{id}")
@@ -88,11 +257,13 @@ public class OrdemServicoController {
     @Operation(summary = "Deletar ordem de serviço", description = "Remove uma ordem de serviço do sistema")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Ordem de serviço deletada com sucesso"),
-            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual da ordem de serviço")
     })
     public ResponseEntity<Void> deletar(
-            @Parameter(description = "ID da ordem de serviço") @PathVariable Long id) {
-        service.deletar(id);
+            @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
+            WebRequest webRequest) {
+        service.deletar(id, versaoEsperada(webRequest));
         return ResponseEntity.noContent().build();
     }
 
@@ -144,12 +315,14 @@ public class OrdemServicoController {
     @Operation(summary = "Atribuir mecânico à ordem de serviço", description = "Atribui um mecânico a uma ordem de serviço")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Mecânico atribuído com sucesso"),
-            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual da ordem de serviço")
     })
     public ResponseEntity<OrdemServicoResponseDTO> atribuirMecanico(
             @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
-            @Parameter(description = "ID do mecânico") @RequestParam Long mecanicoId) {
-        return ResponseEntity.ok(service.atribuirMecanico(id, mecanicoId));
+            @Parameter(description = "ID do mecânico") @RequestParam Long mecanicoId,
+            WebRequest webRequest) {
+        return ResponseEntity.ok(service.atribuirMecanico(id, mecanicoId, versaoEsperada(webRequest)));
     }
 
     @PutMapping("/{id}/diagnosticar")
@@ -157,12 +330,14 @@ public class OrdemServicoController {
     @Operation(summary = "Realizar diagnóstico da ordem de serviço", description = "Realiza o diagnóstico e atualiza o status para EM_DIAGNOSTICO")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Diagnóstico realizado com sucesso"),
-            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual da ordem de serviço")
     })
     public ResponseEntity<OrdemServicoResponseDTO> diagnosticar(
             @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
-            @Parameter(description = "Observações do diagnóstico") @RequestParam(required = false) String observacoes) {
-        return ResponseEntity.ok(service.diagnosticar(id, observacoes));
+            @Parameter(description = "Observações do diagnóstico") @RequestParam(required = false) String observacoes,
+            WebRequest webRequest) {
+        return ResponseEntity.ok(service.diagnosticar(id, observacoes, versaoEsperada(webRequest)));
     }
 
     @PutMapping("/{id}/executar")
@@ -170,12 +345,14 @@ public class OrdemServicoController {
     @Operation(summary = "Iniciar execução da ordem de serviço", description = "Inicia a execução da ordem de serviço e atualiza o status para EM_EXECUCAO")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Execução iniciada com sucesso"),
-            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual da ordem de serviço")
     })
     public ResponseEntity<OrdemServicoResponseDTO> executar(
             @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
-            @Parameter(description = "Observações sobre a execução") @RequestParam(required = false) String observacoes) {
-        return ResponseEntity.ok(service.executar(id, observacoes));
+            @Parameter(description = "Observações sobre a execução") @RequestParam(required = false) String observacoes,
+            WebRequest webRequest) {
+        return ResponseEntity.ok(service.executar(id, observacoes, versaoEsperada(webRequest)));
     }
 
     @PutMapping("/{id}/finalizar")
@@ -183,12 +360,14 @@ public class OrdemServicoController {
     @Operation(summary = "Finalizar ordem de serviço", description = "Finaliza a ordem de serviço e atualiza o status para FINALIZADA")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ordem de serviço finalizada com sucesso"),
-            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual da ordem de serviço")
     })
     public ResponseEntity<OrdemServicoResponseDTO> finalizar(
             @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
-            @Parameter(description = "Observações sobre a finalização") @RequestParam(required = false) String observacoes) {
-        return ResponseEntity.ok(service.finalizar(id, observacoes));
+            @Parameter(description = "Observações sobre a finalização") @RequestParam(required = false) String observacoes,
+            WebRequest webRequest) {
+        return ResponseEntity.ok(service.finalizar(id, observacoes, versaoEsperada(webRequest)));
     }
 
     @PutMapping("/{id}/entregar")
@@ -196,12 +375,14 @@ public class OrdemServicoController {
     @Operation(summary = "Registrar entrega do veículo ao cliente", description = "Registra a entrega do veículo ao cliente e atualiza o status para ENTREGUE")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Entrega registrada com sucesso"),
-            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual da ordem de serviço")
     })
     public ResponseEntity<OrdemServicoResponseDTO> entregar(
             @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
-            @Parameter(description = "Observações sobre a entrega") @RequestParam(required = false) String observacoes) {
-        return ResponseEntity.ok(service.entregar(id, observacoes));
+            @Parameter(description = "Observações sobre a entrega") @RequestParam(required = false) String observacoes,
+            WebRequest webRequest) {
+        return ResponseEntity.ok(service.entregar(id, observacoes, versaoEsperada(webRequest)));
     }
 
     @PostMapping("/{id}/servicos")
@@ -210,12 +391,14 @@ public class OrdemServicoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Serviços adicionados com sucesso"),
             @ApiResponse(responseCode = "400", description = "Não é possível adicionar serviços em ordem aguardando aprovação"),
-            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual da ordem de serviço")
     })
     public ResponseEntity<List<OsItemDTO>> adicionarServicos(
             @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
-            @Parameter(description = "Lista de IDs dos serviços") @RequestBody List<Long> servicosIds) {
-        return ResponseEntity.ok(service.adicionarServicos(id, servicosIds));
+            @Parameter(description = "Lista de IDs dos serviços") @RequestBody List<Long> servicosIds,
+            WebRequest webRequest) {
+        return ResponseEntity.ok(service.adicionarServicos(id, servicosIds, versaoEsperada(webRequest)));
     }
 
     @DeleteMapping("/{id}/servicos")
@@ -224,12 +407,14 @@ public class OrdemServicoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Serviços removidos com sucesso"),
             @ApiResponse(responseCode = "400", description = "Não é possível remover serviços em ordem aguardando aprovação"),
-            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual da ordem de serviço")
     })
     public ResponseEntity<OrdemServicoResponseDTO> removerServicos(
             @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
-            @Parameter(description = "Lista de IDs dos serviços") @RequestBody List<Long> servicosIds) {
-        return ResponseEntity.ok(service.removerServicos(id, servicosIds));
+            @Parameter(description = "Lista de IDs dos serviços") @RequestBody List<Long> servicosIds,
+            WebRequest webRequest) {
+        return ResponseEntity.ok(service.removerServicos(id, servicosIds, versaoEsperada(webRequest)));
     }
 
     @PostMapping("/{id}/produtos")
@@ -238,12 +423,34 @@ public class OrdemServicoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Produtos adicionados com sucesso"),
             @ApiResponse(responseCode = "400", description = "Não é possível adicionar produtos em ordem aguardando aprovação"),
-            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key já utilizada com outro pedido"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual da ordem de serviço")
     })
     public ResponseEntity<List<OsItemDTO>> adicionarProdutos(
             @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
-            @Parameter(description = "Lista de produtos com quantidade e preço") @RequestBody List<ItemOrdemServicoDTO> produtos) {
-        return ResponseEntity.ok(service.adicionarProdutos(id, produtos));
+            @Parameter(description = "Lista de produtos com quantidade e preço") @RequestBody List<ItemOrdemServicoDTO> produtos,
+            @Parameter(description = "Chave para repetir a requisição sem adicionar os produtos novamente")
+            @RequestHeader(value = IdempotenciaService.HEADER, required = false) String chaveIdempotencia,
+            WebRequest webRequest) {
+        List<Object> pedido = List.of(id, produtos);
+        TypeReference<List<OsItemDTO>> tipo = new TypeReference<>() {
+        };
+
+        // A primeira execução já mudou a versão da ordem: a repetição não pode esbarrar no If-Match
+        if (webRequest.getHeader(HttpHeaders.IF_MATCH) != null) {
+            var anterior = idempotenciaService.buscar(chaveIdempotencia,
+                    IdempotenciaService.OPERACAO_ADICIONAR_PRODUTOS, pedido, tipo);
+            if (anterior.isPresent()) {
+                return ResponseEntity.ok().headers(cabecalhoRepetida(true)).body(anterior.get());
+            }
+        }
+        Long versaoEsperada = versaoEsperada(webRequest);
+
+        IdempotenciaService.Resultado<List<OsItemDTO>> resultado = idempotenciaService.executar(
+                chaveIdempotencia, IdempotenciaService.OPERACAO_ADICIONAR_PRODUTOS, pedido, tipo,
+                () -> service.adicionarProdutos(id, produtos, versaoEsperada));
+        return ResponseEntity.ok().headers(cabecalhoRepetida(resultado.repetida())).body(resultado.corpo());
     }
 
     @DeleteMapping("/{id}/produtos")
@@ -252,12 +459,88 @@ public class OrdemServicoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Produtos removidos com sucesso"),
             @ApiResponse(responseCode = "400", description = "Não é possível remover produtos em ordem aguardando aprovação"),
-            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual da ordem de serviço")
     })
     public ResponseEntity<OrdemServicoResponseDTO> removerProdutos(
             @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
-            @Parameter(description = "Lista de IDs dos produtos") @RequestBody List<Long> produtosIds) {
-        return ResponseEntity.ok(service.removerProdutos(id, produtosIds));
+            @Parameter(description = "Lista de IDs dos produtos") @RequestBody List<Long> produtosIds,
+            WebRequest webRequest) {
+        return ResponseEntity.ok(service.removerProdutos(id, produtosIds, versaoEsperada(webRequest)));
+    }
+
+    @PutMapping("/{id}/servicos/{servicoId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE')")
+    @Operation(summary = "Incluir um serviço na ordem de serviço", description = "Inclui um único serviço sem carregar nem regravar a ordem. Repetir a chamada não duplica o serviço")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Serviço incluído"),
+            @ApiResponse(responseCode = "400", description = "Serviço inativo ou ordem aguardando aprovação"),
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
+    })
+    public ResponseEntity<OsItemDTO> adicionarServico(
+            @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
+            @Parameter(description = "ID do serviço") @PathVariable Long servicoId) {
+        return ResponseEntity.ok(itemService.adicionarServico(id, servicoId));
+    }
+
+    @DeleteMapping("/{id}/servicos/{servicoId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE')")
+    @Operation(summary = "Remover um serviço da ordem de serviço", description = "Remove um único serviço sem carregar nem regravar a ordem")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Serviço removido"),
+            @ApiResponse(responseCode = "400", description = "Ordem aguardando aprovação"),
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada ou serviço fora da ordem")
+    })
+    public ResponseEntity<Void> removerServico(
+            @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
+            @Parameter(description = "ID do serviço") @PathVariable Long servicoId) {
+        itemService.removerServico(id, servicoId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/itens")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE')")
+    @Operation(summary = "Incluir um produto na ordem de serviço", description = "Insere um único item e retorna apenas ele. Alterações em itens diferentes da mesma ordem não conflitam")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Item incluído"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos ou ordem aguardando aprovação"),
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço não encontrada")
+    })
+    public ResponseEntity<ItemOrdemServicoResponseDTO> adicionarItem(
+            @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
+            @RequestBody @Valid ItemOrdemServicoDTO produto) {
+        ItemOrdemServicoResponseDTO item = itemService.adicionarProduto(id, produto);
+        return ResponseEntity.created(URI.create("/api/ordens-servico/" + id + "/itens/" + item.getId())).body(item);
+    }
+
+    @PatchMapping("/{id}/itens/{itemId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE')")
+    @Operation(summary = "Alterar um item da ordem de serviço", description = "Altera quantidade e/ou preço de um único item; campos omitidos são mantidos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Item alterado"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos ou ordem aguardando aprovação"),
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço ou item não encontrado")
+    })
+    public ResponseEntity<ItemOrdemServicoResponseDTO> atualizarItem(
+            @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
+            @Parameter(description = "ID do item") @PathVariable Long itemId,
+            @RequestBody @Valid ItemOrdemServicoAtualizacaoDTO alteracao) {
+        return ResponseEntity.ok(itemService.atualizarProduto(id, itemId, alteracao));
+    }
+
+    @DeleteMapping("/{id}/itens/{itemId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE')")
+    @Operation(summary = "Remover um item da ordem de serviço", description = "Remove um único item sem carregar nem regravar a ordem")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Item removido"),
+            @ApiResponse(responseCode = "400", description = "Ordem aguardando aprovação"),
+            @ApiResponse(responseCode = "404", description = "Ordem de serviço ou item não encontrado")
+    })
+    public ResponseEntity<Void> removerItem(
+            @Parameter(description = "ID da ordem de serviço") @PathVariable Long id,
+            @Parameter(description = "ID do item") @PathVariable Long itemId) {
+        itemService.removerProduto(id, itemId);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{id}/orcamento")
@@ -276,4 +559,36 @@ public class OrdemServicoController {
         }
         return ResponseEntity.ok(os.getOrcamento());
     }
+
+    private static HttpHeaders cabecalhoRepetida(boolean repetida) {
+        HttpHeaders headers = new HttpHeaders();
+        if (repetida) {
+            headers.set(IdempotenciaService.HEADER_REPETIDA, "true");
+        }
+        return headers;
+    }
+
+    /**
+     * Versão da ordem contida no If-Match, conferida pelo serviço na mesma transação que aplica
+     * a alteração; sem o header, ou com {@code *}, a alteração não é condicionada. O ETag é
+     * {@code "<versão>"} ou {@code "<versão>-<atualização>"}; um ETag fraco ou ilegível nunca
+     * corresponde à versão atual.
+     */
+    private static Long versaoEsperada(WebRequest webRequest) {
+        String ifMatch = webRequest.getHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            String valor = etag.substring(1, etag.length() - 1);
+            int separador = valor.indexOf('-');
+            try {
+                return Long.valueOf(separador < 0 ? valor : valor.substring(0, separador));
+            } catch (NumberFormatException e) {
+                // Segue para a resposta 412
+            }
+        }
+        throw new PrecondicaoFalhouException("If-Match não corresponde a uma versão da ordem de serviço: " + ifMatch);
+    }
 }
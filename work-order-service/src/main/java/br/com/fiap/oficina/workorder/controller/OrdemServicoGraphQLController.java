@@ -0,0 +1,114 @@
+package br.com.fiap.oficina.workorder.controller;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.dto.response.ClienteResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ProdutoCatalogoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.service.OrdemServicoGraphQLService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoGraphQLService.Colecoes;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Resolvers do esquema {@code graphql/schema.graphqls}, servido em {@code POST /api/ordens-servico/graphql}.
+ * Cliente, veículo, serviços e produtos são {@code @BatchMapping}: o DataLoader junta os IDs de
+ * todas as ordens do nível e faz uma chamada por dependência, e só para campos selecionados.
+ */
+@Controller
+@RequiredArgsConstructor
+public class OrdemServicoGraphQLController {
+
+    private final OrdemServicoGraphQLService graphQLService;
+
+    @QueryMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE', 'MECANICO')")
+    public OrdemServico ordemServico(@Argument Long id, DataFetchingFieldSelectionSet selecao) {
+        return graphQLService.buscar(id, colecoes(selecao)).orElse(null);
+    }
+
+    @QueryMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'ATENDENTE', 'MECANICO')")
+    public List<OrdemServico> ordensServico(@Argument List<StatusOrdemServico> status, @Argument Long clienteId,
+                                            @Argument Long veiculoId, @Argument Long mecanicoId,
+                                            @Argument Integer limite, DataFetchingFieldSelectionSet selecao) {
+        return graphQLService.listar(status, clienteId, veiculoId, mecanicoId, limite, colecoes(selecao));
+    }
+
+    @SchemaMapping(typeName = "OrdemServico")
+    public List<ItemOrdemServico> itens(OrdemServico os) {
+        return os.getItensOrdemServico();
+    }
+
+    @SchemaMapping(typeName = "OrdemServico")
+    public BigDecimal valorTotalItens(OrdemServico os) {
+        return os.getItensOrdemServico().stream()
+                .filter(item -> item.getPrecoUnitario() != null && item.getQuantidade() != null)
+                .map(item -> item.getPrecoUnitario().multiply(BigDecimal.valueOf(item.getQuantidade())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @BatchMapping
+    public Mono<Map<OrdemServico, ClienteResponseDTO>> cliente(List<OrdemServico> ordens) {
+        return Mono.fromFuture(graphQLService.carregarClientes(ids(ordens, OrdemServico::getClienteId)))
+                .map(clientes -> associar(ordens, os -> clientes.get(os.getClienteId())));
+    }
+
+    @BatchMapping
+    public Mono<Map<OrdemServico, VeiculoResponseDTO>> veiculo(List<OrdemServico> ordens) {
+        return Mono.fromFuture(graphQLService.carregarVeiculos(ids(ordens, OrdemServico::getVeiculoId)))
+                .map(veiculos -> associar(ordens, os -> veiculos.get(os.getVeiculoId())));
+    }
+
+    @BatchMapping
+    public Mono<Map<OrdemServico, List<ServicoResponseDTO>>> servicos(List<OrdemServico> ordens) {
+        List<Long> ids = ordens.stream().flatMap(os -> os.getServicosIds().stream()).toList();
+        return Mono.fromFuture(graphQLService.carregarServicos(ids))
+                .map(servicos -> associar(ordens, os -> os.getServicosIds().stream()
+                        .map(servicos::get)
+                        .filter(Objects::nonNull)
+                        .toList()));
+    }
+
+    @BatchMapping(typeName = "Item")
+    public Mono<Map<ItemOrdemServico, ProdutoCatalogoResponseDTO>> produto(List<ItemOrdemServico> itens) {
+        return Mono.fromFuture(graphQLService.carregarProdutos(ids(itens, ItemOrdemServico::getProdutoCatalogoId)))
+                .map(produtos -> associar(itens, item -> produtos.get(item.getProdutoCatalogoId())));
+    }
+
+    private static Colecoes colecoes(DataFetchingFieldSelectionSet selecao) {
+        return new Colecoes(selecao.contains("servicos"),
+                selecao.contains("itens") || selecao.contains("valorTotalItens"));
+    }
+
+    private static <T> List<Long> ids(List<T> origens, Function<T, Long> id) {
+        return origens.stream().map(id).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Entidades sem equals/hashCode próprios: as chaves são as mesmas instâncias recebidas.
+     */
+    private static <T, V> Map<T, V> associar(List<T> origens, Function<T, V> valor) {
+        Map<T, V> associados = new HashMap<>();
+        for (T origem : origens) {
+            V encontrado = valor.apply(origem);
+            if (encontrado != null) {
+                associados.put(origem, encontrado);
+            }
+        }
+        return associados;
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.fiap.oficina.workorder.controller;
+
+import br.com.fiap.oficina.workorder.dto.request.SincronizacaoEnvioRequestDTO;
+import br.com.fiap.oficina.workorder.dto.response.SincronizacaoEnvioResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.SincronizacaoResponseDTO;
+import br.com.fiap.oficina.workorder.service.OrdemServicoSincronizacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/ordens-servico/sincronizacao/mecanicos/{mecanicoId}")
+@RequiredArgsConstructor
+@Tag(name = "Ordens de Serviço - Sincronização", description = "Sincronização offline da fila de cada mecânico")
+@SecurityRequirement(name = "bearerAuth")
+public class OrdemServicoSincronizacaoController {
+
+    private final OrdemServicoSincronizacaoService sincronizacaoService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MECANICO')")
+    @Operation(summary = "Buscar alterações da fila do mecânico",
+            description = "Devolve as ordens e itens alterados após o cursor, sem enriquecimento, e os IDs removidos. "
+                    + "Sem cursor, ou com cursor expirado, devolve a fila completa com completo=true")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Alterações retornadas com sucesso")
+    })
+    public ResponseEntity<SincronizacaoResponseDTO> buscarAlteracoes(
+            @Parameter(description = "ID do mecânico") @PathVariable Long mecanicoId,
+            @Parameter(description = "Cursor devolvido pela sincronização anterior") @RequestParam(required = false) Long cursor) {
+        return ResponseEntity.ok(sincronizacaoService.buscarAlteracoes(mecanicoId, cursor));
+    }
+
+    @PostMapping("/alteracoes")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MECANICO')")
+    @Operation(summary = "Enviar alterações feitas offline",
+            description = "Aplica as transições na ordem recebida, cada uma condicionada à versão em que o mecânico viu a ordem, "
+                    + "e retorna o resultado de cada uma")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Envio processado; consulte o resultado de cada alteração"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos")
+    })
+    public ResponseEntity<SincronizacaoEnvioResponseDTO> enviarAlteracoes(
+            @Parameter(description = "ID do mecânico") @PathVariable Long mecanicoId,
+            @RequestBody @Valid SincronizacaoEnvioRequestDTO request) {
+        return ResponseEntity.ok(sincronizacaoService.aplicarAlteracoes(mecanicoId, request));
+    }
+}
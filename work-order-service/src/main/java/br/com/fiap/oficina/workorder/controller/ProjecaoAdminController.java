@@ -0,0 +1,74 @@
+package br.com.fiap.oficina.workorder.controller;
+
+import br.com.fiap.oficina.workorder.service.OrdemServicoProjecaoService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoReferenciasService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/projecao")
+@RequiredArgsConstructor
+@Tag(name = "Administração da Projeção", description = "Manutenção do modelo de leitura das ordens de serviço")
+@SecurityRequirement(name = "bearerAuth")
+public class ProjecaoAdminController {
+
+    private final OrdemServicoProjecaoService projecaoService;
+    private final OrdemServicoReferenciasService referenciasService;
+
+    @PostMapping("/reconstruir")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconstruir projeção", description = "Reprojeta todas as ordens de serviço em segundo plano e remove projeções órfãs")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Reconstrução iniciada")
+    })
+    public ResponseEntity<Void> reconstruir() {
+        projecaoService.reconstruir();
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/clientes/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Atualizar projeções de um cliente", description = "Reprojeta em segundo plano as ordens de um cliente alterado no customer-service e atualiza o nome copiado nelas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Atualização iniciada")
+    })
+    public ResponseEntity<Void> atualizarPorCliente(
+            @Parameter(description = "ID do cliente") @PathVariable Long id) {
+        referenciasService.atualizarCliente(id);
+        projecaoService.atualizarPorCliente(id);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/veiculos/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Atualizar projeções de um veículo", description = "Reprojeta em segundo plano as ordens de um veículo alterado no customer-service e atualiza a placa e o modelo copiados nelas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Atualização iniciada")
+    })
+    public ResponseEntity<Void> atualizarPorVeiculo(
+            @Parameter(description = "ID do veículo") @PathVariable Long id) {
+        referenciasService.atualizarVeiculo(id);
+        projecaoService.atualizarPorVeiculo(id);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/servicos/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Atualizar projeções de um serviço", description = "Reprojeta em segundo plano as ordens que contêm um serviço alterado no catalog-service")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Atualização iniciada")
+    })
+    public ResponseEntity<Void> atualizarPorServico(
+            @Parameter(description = "ID do serviço") @PathVariable Long id) {
+        projecaoService.atualizarPorServico(id);
+        return ResponseEntity.accepted().build();
+    }
+}
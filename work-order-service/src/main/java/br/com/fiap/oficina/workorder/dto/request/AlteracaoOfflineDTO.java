@@ -0,0 +1,28 @@
+package br.com.fiap.oficina.workorder.dto.request;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Transição feita pelo mecânico sem conexão, aplicada somente se a ordem ainda está na versão
+ * em que ele a viu.
+ */
+@Data
+public class AlteracaoOfflineDTO {
+
+    @NotBlank(message = "Identificador da alteração é obrigatório")
+    private String id;
+
+    @NotNull(message = "ID da ordem de serviço é obrigatório")
+    private Long ordemServicoId;
+
+    @NotNull(message = "Versão da ordem de serviço é obrigatória")
+    private Long versao;
+
+    @NotNull(message = "Status de destino é obrigatório")
+    private StatusOrdemServico status;
+
+    private String observacoes;
+}
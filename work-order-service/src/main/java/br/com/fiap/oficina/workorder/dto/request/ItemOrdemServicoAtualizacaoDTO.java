@@ -0,0 +1,20 @@
+package br.com.fiap.oficina.workorder.dto.request;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Alteração parcial de um item: campos nulos são mantidos.
+ */
+@Data
+public class ItemOrdemServicoAtualizacaoDTO {
+
+    @Positive(message = "Quantidade deve ser maior que zero")
+    private Integer quantidade;
+
+    @PositiveOrZero(message = "Preço unitário não pode ser negativo")
+    private BigDecimal precoUnitario;
+}
@@ -1,5 +1,8 @@
 package br.com.fiap.oficina.workorder.dto.request;
 
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -7,9 +10,14 @@ import java.math.BigDecimal;
 @Data
 public class ItemOrdemServicoDTO {
 
+    @NotNull(message = "Produto ID é obrigatório")
     private Long produtoCatalogoId;
 
+    @NotNull(message = "Quantidade é obrigatória")
+    @Positive(message = "Quantidade deve ser maior que zero")
     private Integer quantidade;
 
+    @NotNull(message = "Preço unitário é obrigatório")
+    @PositiveOrZero(message = "Preço unitário não pode ser negativo")
     private BigDecimal precoUnitario;
 }
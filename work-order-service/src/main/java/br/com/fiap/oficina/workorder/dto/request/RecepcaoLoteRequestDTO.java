@@ -0,0 +1,30 @@
+package br.com.fiap.oficina.workorder.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Recepção de vários veículos de uma vez, tipicamente de um cliente de frota. Cliente,
+ * observações e serviços informados aqui valem para todos os veículos que não informarem os
+ * seus.
+ */
+@Data
+public class RecepcaoLoteRequestDTO {
+
+    public static final int TAMANHO_MAXIMO = 200;
+
+    private Long clienteId;
+
+    private String observacoes;
+
+    private List<Long> servicosIds;
+
+    @NotEmpty(message = "Informe ao menos um veículo")
+    @Size(max = TAMANHO_MAXIMO, message = "No máximo " + TAMANHO_MAXIMO + " veículos por lote")
+    private List<@Valid @NotNull VeiculoRecepcaoDTO> veiculos;
+}
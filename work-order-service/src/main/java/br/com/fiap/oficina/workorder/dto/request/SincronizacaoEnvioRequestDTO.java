@@ -0,0 +1,22 @@
+package br.com.fiap.oficina.workorder.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SincronizacaoEnvioRequestDTO {
+
+    public static final int TAMANHO_MAXIMO = 200;
+
+    /**
+     * Alterações na ordem em que foram feitas offline; são aplicadas nessa ordem.
+     */
+    @NotEmpty(message = "Informe ao menos uma alteração")
+    @Size(max = TAMANHO_MAXIMO, message = "No máximo " + TAMANHO_MAXIMO + " alterações por envio")
+    private List<@Valid @NotNull AlteracaoOfflineDTO> alteracoes;
+}
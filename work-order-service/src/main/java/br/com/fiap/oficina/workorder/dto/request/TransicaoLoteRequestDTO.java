@@ -0,0 +1,24 @@
+package br.com.fiap.oficina.workorder.dto.request;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TransicaoLoteRequestDTO {
+
+    public static final int TAMANHO_MAXIMO = 500;
+
+    @NotEmpty(message = "Informe ao menos uma ordem de serviço")
+    @Size(max = TAMANHO_MAXIMO, message = "No máximo " + TAMANHO_MAXIMO + " ordens de serviço por lote")
+    private List<@NotNull Long> ordensServicoIds;
+
+    @NotNull(message = "Status de destino é obrigatório")
+    private StatusOrdemServico status;
+
+    private String observacoes;
+}
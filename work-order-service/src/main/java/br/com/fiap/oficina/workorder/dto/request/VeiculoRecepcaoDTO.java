@@ -0,0 +1,22 @@
+package br.com.fiap.oficina.workorder.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class VeiculoRecepcaoDTO {
+
+    @NotNull(message = "Veículo ID é obrigatório")
+    private Long veiculoId;
+
+    private Long clienteId;
+
+    private String observacoes;
+
+    private List<Long> servicosIds;
+
+    private List<@Valid @NotNull ItemOrdemServicoDTO> produtos;
+}
@@ -0,0 +1,15 @@
+package br.com.fiap.oficina.workorder.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BuscaOrdemServicoResponseDTO {
+
+    private String termo;
+    private int pagina;
+    private int tamanho;
+    private boolean temMais;
+    private List<OrdemServicoResponseDTO> resultados;
+}
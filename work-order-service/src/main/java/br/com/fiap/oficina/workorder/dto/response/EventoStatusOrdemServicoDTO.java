@@ -0,0 +1,25 @@
+package br.com.fiap.oficina.workorder.dto.response;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento compacto enviado pelo stream SSE de status; o cliente busca a ordem completa apenas
+ * quando precisar.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoStatusOrdemServicoDTO {
+
+    private Long ordemServicoId;
+    private StatusOrdemServico statusAnterior;
+    private StatusOrdemServico status;
+    private Long mecanicoAnteriorId;
+    private Long mecanicoId;
+    private LocalDateTime ocorridoEm;
+}
@@ -0,0 +1,15 @@
+package br.com.fiap.oficina.workorder.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class ItemSincronizacaoDTO {
+
+    private Long id;
+    private Long ordemServicoId;
+    private Long produtoCatalogoId;
+    private Integer quantidade;
+    private BigDecimal precoUnitario;
+}
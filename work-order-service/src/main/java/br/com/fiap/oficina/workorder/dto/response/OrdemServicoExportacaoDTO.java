@@ -0,0 +1,33 @@
+package br.com.fiap.oficina.workorder.dto.response;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha da exportação de ordens de serviço. Contém apenas colunas escalares para que a
+ * consulta possa ser lida via cursor sem carregar as coleções da entidade.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrdemServicoExportacaoDTO {
+
+    private Long id;
+    private StatusOrdemServico status;
+    private LocalDateTime dataCriacao;
+    private LocalDateTime dataInicioExecucao;
+    private LocalDateTime dataTerminoExecucao;
+    private LocalDateTime dataEntrega;
+    private Long clienteId;
+    private Long veiculoId;
+    private Long mecanicoId;
+    private Long orcamentoId;
+    private Integer quantidadeServicos;
+    private BigDecimal valorProdutos;
+    private String observacoes;
+}
@@ -4,6 +4,7 @@ import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
 import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoDTO;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -11,8 +12,10 @@ import java.util.List;
 public class OrdemServicoResponseDTO {
 
     private Long id;
+    private Long versao;
     private StatusOrdemServico status;
     private LocalDateTime dataCriacao;
+    private LocalDateTime dataInicioDiagnostico;
     private LocalDateTime dataInicioExecucao;
     private LocalDateTime dataTerminoExecucao;
     private LocalDateTime dataEntrega;
@@ -22,5 +25,13 @@ public class OrdemServicoResponseDTO {
     private UsuarioResponseDTO mecanico;
     private List<ServicoResponseDTO> servicos;
     private List<ItemOrdemServicoDTO> itensOrdemServico;
+    private BigDecimal valorTotalItens;
     private OrcamentoResumoDTO orcamento;
+
+    /**
+     * Indica que ao menos uma dependência (cliente, veículo ou serviços) não respondeu dentro
+     * do prazo de enriquecimento; os campos correspondentes vêm nulos.
+     */
+    private boolean enriquecimentoIncompleto;
+    private List<String> dependenciasIndisponiveis;
 }
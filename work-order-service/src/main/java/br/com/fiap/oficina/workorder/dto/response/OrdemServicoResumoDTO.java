@@ -12,7 +12,10 @@ public class OrdemServicoResumoDTO {
     private StatusOrdemServico status;
     private LocalDateTime dataCriacao;
     private Long veiculoId;
+    private String veiculoPlaca;
+    private String veiculoModelo;
     private Long clienteId;
+    private String clienteNome;
     private Long mecanicoId;
     private Long orcamentoId;
 }
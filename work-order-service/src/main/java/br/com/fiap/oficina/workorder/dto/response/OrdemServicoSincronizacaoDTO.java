@@ -0,0 +1,29 @@
+package br.com.fiap.oficina.workorder.dto.response;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Ordem na forma compacta da sincronização offline: apenas IDs das referências, sem
+ * enriquecimento.
+ */
+@Data
+public class OrdemServicoSincronizacaoDTO {
+
+    private Long id;
+    private Long versao;
+    private StatusOrdemServico status;
+    private Long clienteId;
+    private Long veiculoId;
+    private Long orcamentoId;
+    private String observacoes;
+    private LocalDateTime dataCriacao;
+    private LocalDateTime dataInicioDiagnostico;
+    private LocalDateTime dataInicioExecucao;
+    private LocalDateTime dataTerminoExecucao;
+    private LocalDateTime dataEntrega;
+    private Set<Long> servicosIds;
+}
@@ -0,0 +1,14 @@
+package br.com.fiap.oficina.workorder.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RecepcaoLoteResponseDTO {
+
+    private int total;
+    private int criadas;
+    private int rejeitadas;
+    private List<ResultadoRecepcaoDTO> resultados;
+}
@@ -0,0 +1,25 @@
+package br.com.fiap.oficina.workorder.dto.response;
+
+import lombok.Data;
+
+@Data
+public class ResultadoAlteracaoOfflineDTO {
+
+    public enum Resultado {
+        APLICADA,
+        /**
+         * A ordem mudou desde a versão informada; {@code ordemServico} traz o estado atual.
+         */
+        CONFLITO,
+        /**
+         * A alteração não é permitida (ordem inexistente, de outro mecânico ou transição inválida).
+         */
+        REJEITADA
+    }
+
+    private String id;
+    private Long ordemServicoId;
+    private Resultado resultado;
+    private String mensagem;
+    private OrdemServicoSincronizacaoDTO ordemServico;
+}
@@ -0,0 +1,18 @@
+package br.com.fiap.oficina.workorder.dto.response;
+
+import lombok.Data;
+
+@Data
+public class ResultadoRecepcaoDTO {
+
+    public enum Resultado {
+        CRIADA,
+        REJEITADA
+    }
+
+    private Long veiculoId;
+    private Long clienteId;
+    private Resultado resultado;
+    private Long ordemServicoId;
+    private String mensagem;
+}
@@ -0,0 +1,27 @@
+package br.com.fiap.oficina.workorder.dto.response;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import lombok.Data;
+
+@Data
+public class ResultadoTransicaoDTO {
+
+    public enum Resultado {
+        APLICADA,
+        NAO_ENCONTRADA,
+        TRANSICAO_INVALIDA,
+        CONFLITO
+    }
+
+    private Long id;
+    private Resultado resultado;
+    private StatusOrdemServico statusAnterior;
+    private StatusOrdemServico statusAtual;
+    private Long versao;
+    private String mensagem;
+
+    /**
+     * Preenchida apenas para transições aplicadas quando a resposta detalhada é solicitada.
+     */
+    private OrdemServicoResponseDTO ordemServico;
+}
@@ -0,0 +1,15 @@
+package br.com.fiap.oficina.workorder.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SincronizacaoEnvioResponseDTO {
+
+    private int total;
+    private int aplicadas;
+    private int conflitos;
+    private int rejeitadas;
+    private List<ResultadoAlteracaoOfflineDTO> resultados;
+}
@@ -0,0 +1,30 @@
+package br.com.fiap.oficina.workorder.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SincronizacaoResponseDTO {
+
+    /**
+     * Cursor a informar na próxima sincronização.
+     */
+    private Long cursor;
+
+    /**
+     * Indica uma carga completa da fila: o cliente deve substituir seus dados locais em vez de
+     * aplicar as diferenças.
+     */
+    private boolean completo;
+
+    /**
+     * Há mais alterações após o cursor devolvido; o cliente deve sincronizar novamente.
+     */
+    private boolean temMais;
+
+    private List<OrdemServicoSincronizacaoDTO> ordens;
+    private List<ItemSincronizacaoDTO> itens;
+    private List<Long> ordensRemovidas;
+    private List<Long> itensRemovidos;
+}
@@ -0,0 +1,22 @@
+package br.com.fiap.oficina.workorder.dto.response;
+
+import br.com.fiap.oficina.workorder.metrica.SegmentoTempoStatus;
+import lombok.Data;
+
+@Data
+public class TempoStatusPercentisDTO {
+
+    private SegmentoTempoStatus segmento;
+
+    /**
+     * ID do mecânico ou nome da categoria de serviço, conforme o agrupamento; nulo quando o
+     * agrupamento é apenas por trecho ou a ordem não tem mecânico atribuído.
+     */
+    private String grupo;
+
+    private long quantidade;
+    private Double p50Segundos;
+    private Double p90Segundos;
+    private Double p99Segundos;
+    private Double mediaSegundos;
+}
@@ -0,0 +1,15 @@
+package br.com.fiap.oficina.workorder.dto.response;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TransicaoLoteResponseDTO {
+
+    private StatusOrdemServico status;
+    private int total;
+    private int aplicadas;
+    private List<ResultadoTransicaoDTO> resultados;
+}
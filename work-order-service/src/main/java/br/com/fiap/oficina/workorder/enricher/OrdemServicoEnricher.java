@@ -0,0 +1,288 @@
+package br.com.fiap.oficina.workorder.enricher;
+
+import br.com.fiap.oficina.shared.security.AuthorizationContext;
+import br.com.fiap.oficina.workorder.cache.CatalogoCache;
+import br.com.fiap.oficina.workorder.client.ClienteClient;
+import br.com.fiap.oficina.workorder.client.VeiculoClient;
+import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoDTO;
+import br.com.fiap.oficina.workorder.dto.response.*;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.mapper.OrdemServicoMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Monta {@link OrdemServicoResponseDTO} com os dados de cliente, veículo e serviços
+ * buscados nos demais microserviços.
+ * <p>
+ * Os IDs de todas as ordens são coletados antes das chamadas remotas, de forma que uma
+ * página inteira é enriquecida com um número constante de requisições (uma por
+ * dependência e por lote de {@value #TAMANHO_LOTE} IDs), e não uma por ordem.
+ * <p>
+ * As dependências são consultadas em paralelo e aguardadas até um prazo único
+ * ({@code workorder.enriquecimento.timeout}). O que não responder a tempo é devolvido
+ * nulo e a ordem é marcada com {@code enriquecimentoIncompleto}.
+ */
+@Component
+@Slf4j
+public class OrdemServicoEnricher {
+
+    static final int TAMANHO_LOTE = 100;
+
+    public static final String CLIENTE = "cliente";
+    public static final String VEICULO = "veiculo";
+    public static final String SERVICOS = "servicos";
+    public static final Set<String> DEPENDENCIAS = Set.of(CLIENTE, VEICULO, SERVICOS);
+
+    private final OrdemServicoMapper mapper;
+    private final ClienteClient clienteClient;
+    private final VeiculoClient veiculoClient;
+    private final CatalogoCache catalogoCache;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+
+    public OrdemServicoEnricher(OrdemServicoMapper mapper,
+                                ClienteClient clienteClient,
+                                VeiculoClient veiculoClient,
+                                CatalogoCache catalogoCache,
+                                @Qualifier("enriquecimentoExecutor") ExecutorService executor,
+                                MeterRegistry meterRegistry,
+                                @Value("${workorder.enriquecimento.timeout:2s}") Duration timeout) {
+        this.mapper = mapper;
+        this.clienteClient = clienteClient;
+        this.veiculoClient = veiculoClient;
+        this.catalogoCache = catalogoCache;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+    }
+
+    public OrdemServicoResponseDTO enriquecer(OrdemServico os) {
+        return enriquecer(List.of(os)).get(0);
+    }
+
+    /**
+     * Monta a resposta com dados remotos já obtidos pelo chamador, sem novas consultas.
+     */
+    public OrdemServicoResponseDTO enriquecer(OrdemServico os, ClienteResponseDTO cliente,
+                                              VeiculoResponseDTO veiculo, List<ServicoResponseDTO> servicos) {
+        Map<Long, ClienteResponseDTO> clientes = new HashMap<>();
+        Map<Long, VeiculoResponseDTO> veiculos = new HashMap<>();
+        clientes.put(cliente.getId(), cliente);
+        veiculos.put(veiculo.getId(), veiculo);
+        Map<Long, ServicoResponseDTO> servicosPorId = servicos.stream()
+                .collect(Collectors.toMap(ServicoResponseDTO::getId, Function.identity(), (a, b) -> a));
+        return montar(os, clientes, veiculos, servicosPorId);
+    }
+
+    public List<OrdemServicoResponseDTO> enriquecer(List<OrdemServico> ordens) {
+        return enriquecer(ordens, DEPENDENCIAS);
+    }
+
+    /**
+     * Enriquece consultando apenas as dependências informadas; os campos das demais ficam
+     * nulos, sem marcar a ordem como incompleta.
+     */
+    public List<OrdemServicoResponseDTO> enriquecer(List<OrdemServico> ordens, Set<String> dependencias) {
+        if (ordens.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        long prazo = System.nanoTime() + timeout.toNanos();
+
+        Future<Map<Long, ClienteResponseDTO>> clientesFuture = consultar(CLIENTE,
+                dependencias.contains(CLIENTE)
+                        ? idsDistintos(ordens, os -> Collections.singletonList(os.getClienteId()))
+                        : List.of(),
+                clienteClient::getClientes, ClienteResponseDTO::getId);
+        Future<Map<Long, VeiculoResponseDTO>> veiculosFuture = consultar(VEICULO,
+                dependencias.contains(VEICULO)
+                        ? idsDistintos(ordens, os -> Collections.singletonList(os.getVeiculoId()))
+                        : List.of(),
+                veiculoClient::getVeiculos, VeiculoResponseDTO::getId);
+        Future<Map<Long, ServicoResponseDTO>> servicosFuture = consultar(SERVICOS,
+                dependencias.contains(SERVICOS) ? idsDistintos(ordens, OrdemServico::getServicosIds) : List.of(),
+                catalogoCache::getServicos, ServicoResponseDTO::getId);
+
+        Map<Long, ClienteResponseDTO> clientes = aguardar(CLIENTE, clientesFuture, prazo);
+        Map<Long, VeiculoResponseDTO> veiculos = aguardar(VEICULO, veiculosFuture, prazo);
+        Map<Long, ServicoResponseDTO> servicos = aguardar(SERVICOS, servicosFuture, prazo);
+
+        List<OrdemServicoResponseDTO> resultado = ordens.stream()
+                .map(os -> montar(os, clientes, veiculos, servicos))
+                .collect(Collectors.toList());
+
+        boolean completo = clientes != null && veiculos != null && servicos != null;
+        amostra.stop(meterRegistry.timer("workorder.enriquecimento", "completo", String.valueOf(completo)));
+        return resultado;
+    }
+
+    private OrdemServicoResponseDTO montar(OrdemServico os,
+                                           Map<Long, ClienteResponseDTO> clientes,
+                                           Map<Long, VeiculoResponseDTO> veiculos,
+                                           Map<Long, ServicoResponseDTO> servicos) {
+        OrdemServicoResponseDTO dto = mapper.toDTO(os);
+        List<String> indisponiveis = new ArrayList<>();
+
+        if (os.getClienteId() != null) {
+            if (clientes == null) {
+                indisponiveis.add(CLIENTE);
+            } else if (clientes.containsKey(os.getClienteId())) {
+                dto.setCliente(toClienteResumo(clientes.get(os.getClienteId())));
+            }
+        }
+
+        if (os.getVeiculoId() != null) {
+            if (veiculos == null) {
+                indisponiveis.add(VEICULO);
+            } else if (veiculos.containsKey(os.getVeiculoId())) {
+                dto.setVeiculo(toVeiculoResumo(veiculos.get(os.getVeiculoId())));
+            }
+        }
+
+        if (os.getServicosIds() != null && !os.getServicosIds().isEmpty()) {
+            if (servicos == null) {
+                indisponiveis.add(SERVICOS);
+            } else {
+                dto.setServicos(os.getServicosIds().stream()
+                        .map(servicos::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+            }
+        }
+
+        if (os.getItensOrdemServico() != null && !os.getItensOrdemServico().isEmpty()) {
+            List<ItemOrdemServicoDTO> itens = os.getItensOrdemServico().stream()
+                    .map(item -> {
+                        ItemOrdemServicoDTO itemDTO = new ItemOrdemServicoDTO();
+                        itemDTO.setProdutoCatalogoId(item.getProdutoCatalogoId());
+                        itemDTO.setQuantidade(item.getQuantidade());
+                        itemDTO.setPrecoUnitario(item.getPrecoUnitario());
+                        return itemDTO;
+                    })
+                    .collect(Collectors.toList());
+            dto.setItensOrdemServico(itens);
+        }
+        dto.setValorTotalItens(valorTotal(os));
+
+        if (!indisponiveis.isEmpty()) {
+            dto.setEnriquecimentoIncompleto(true);
+            dto.setDependenciasIndisponiveis(indisponiveis);
+        }
+
+        return dto;
+    }
+
+    private static BigDecimal valorTotal(OrdemServico os) {
+        if (os.getItensOrdemServico() == null) {
+            return BigDecimal.ZERO;
+        }
+        return os.getItensOrdemServico().stream()
+                .filter(item -> item.getPrecoUnitario() != null && item.getQuantidade() != null)
+                .map(item -> item.getPrecoUnitario().multiply(BigDecimal.valueOf(item.getQuantidade())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static List<Long> idsDistintos(List<OrdemServico> ordens,
+                                           Function<OrdemServico, Collection<Long>> extrator) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (OrdemServico os : ordens) {
+            Collection<Long> valores = extrator.apply(os);
+            if (valores != null) {
+                valores.stream().filter(Objects::nonNull).forEach(ids::add);
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private <T> Future<Map<Long, T>> consultar(String dependencia, List<Long> ids,
+                                               Function<List<Long>, List<T>> consulta,
+                                               Function<T, Long> idDe) {
+        if (ids.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+        Supplier<Map<Long, T>> tarefa = AuthorizationContext.propagate(() -> {
+            Timer.Sample amostra = Timer.start(meterRegistry);
+            String resultado = "sucesso";
+            try {
+                return buscarEmLote(ids, consulta, idDe);
+            } catch (RuntimeException e) {
+                resultado = "erro";
+                log.warn("Erro ao buscar {} em lote para IDs: {}", dependencia, ids, e);
+                throw e;
+            } finally {
+                amostra.stop(meterRegistry.timer("workorder.enriquecimento.dependencia",
+                        "dependencia", dependencia, "resultado", resultado));
+            }
+        });
+        return executor.submit(tarefa::get);
+    }
+
+    private static <T> Map<Long, T> buscarEmLote(List<Long> ids,
+                                                 Function<List<Long>, List<T>> consulta,
+                                                 Function<T, Long> idDe) {
+        Map<Long, T> resultado = new HashMap<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE, ids.size()));
+            List<T> encontrados = consulta.apply(lote);
+            if (encontrados != null) {
+                encontrados.forEach(item -> resultado.put(idDe.apply(item), item));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Aguarda a consulta até o prazo global; retorna {@code null} se a dependência falhou
+     * ou não respondeu a tempo.
+     */
+    private <T> Map<Long, T> aguardar(String dependencia, Future<Map<Long, T>> future, long prazo) {
+        try {
+            return future.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            meterRegistry.counter("workorder.enriquecimento.timeout", "dependencia", dependencia).increment();
+            log.warn("Prazo de enriquecimento esgotado aguardando {}", dependencia);
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return null;
+        }
+    }
+
+    private static ClienteResumoDTO toClienteResumo(ClienteResponseDTO cliente) {
+        ClienteResumoDTO resumo = new ClienteResumoDTO();
+        resumo.setId(cliente.getId());
+        resumo.setNome(cliente.getNome());
+        resumo.setEmail(cliente.getEmail());
+        resumo.setTelefone(cliente.getTelefone());
+        return resumo;
+    }
+
+    private static VeiculoResumoDTO toVeiculoResumo(VeiculoResponseDTO veiculo) {
+        VeiculoResumoDTO resumo = new VeiculoResumoDTO();
+        resumo.setId(veiculo.getId());
+        resumo.setPlaca(veiculo.getPlaca());
+        resumo.setMarca(veiculo.getMarca());
+        resumo.setModelo(veiculo.getModelo());
+        resumo.setAno(veiculo.getAno());
+        return resumo;
+    }
+}
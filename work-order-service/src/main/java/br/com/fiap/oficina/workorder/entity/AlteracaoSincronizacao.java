@@ -0,0 +1,41 @@
+package br.com.fiap.oficina.workorder.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de alteração na fila de um mecânico, gravado na mesma transação da alteração. O
+ * {@code id} crescente é o cursor da sincronização offline.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "alteracao_sincronizacao", indexes = {
+        @Index(name = "idx_alteracao_sincronizacao_mecanico", columnList = "mecanico_id, id"),
+        @Index(name = "idx_alteracao_sincronizacao_registro", columnList = "registrada_em")
+})
+public class AlteracaoSincronizacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "mecanico_id", nullable = false)
+    private Long mecanicoId;
+
+    @Column(name = "ordem_servico_id", nullable = false)
+    private Long ordemServicoId;
+
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TipoAlteracaoSincronizacao tipo;
+
+    @Column(name = "registrada_em", nullable = false)
+    private LocalDateTime registradaEm;
+}
@@ -0,0 +1,24 @@
+package br.com.fiap.oficina.workorder.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Linha única bloqueada por quem grava em {@code alteracao_sincronizacao}, do INSERT até o
+ * commit. As transações recebem IDs de alteração na ordem em que confirmam, e um ID visível
+ * garante que todos os menores já estão visíveis.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "bloqueio_sincronizacao")
+public class BloqueioSincronizacao {
+
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+}
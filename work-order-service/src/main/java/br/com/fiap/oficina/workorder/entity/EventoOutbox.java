@@ -0,0 +1,55 @@
+package br.com.fiap.oficina.workorder.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de domínio gravado na mesma transação da alteração da ordem de serviço e entregue
+ * depois pelo relay aos listeners locais, para que nenhum evento se perca se o processo cair.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "evento_outbox", indexes = {
+        @Index(name = "idx_evento_outbox_pendentes", columnList = "processado_em, proxima_tentativa_em, id"),
+        @Index(name = "idx_evento_outbox_agregado", columnList = "agregado_tipo, agregado_id, id")
+})
+public class EventoOutbox {
+
+    public static final String AGREGADO_ORDEM_SERVICO = "OrdemServico";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "agregado_tipo", nullable = false, length = 50)
+    private String agregadoTipo;
+
+    @Column(name = "agregado_id", nullable = false)
+    private Long agregadoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private TipoEventoOutbox tipo;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "proxima_tentativa_em", nullable = false)
+    private LocalDateTime proximaTentativaEm;
+
+    @Column(name = "processado_em")
+    private LocalDateTime processadoEm;
+
+    @Column(name = "ultimo_erro", length = 1000)
+    private String ultimoErro;
+}
@@ -0,0 +1,34 @@
+package br.com.fiap.oficina.workorder.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+@Entity
+@Immutable
+@Getter
+@Setter
+@Table(name = "item_ordem_servico_arquivo", indexes = {
+        @Index(name = "idx_item_ordem_servico_arquivo_ordem", columnList = "ordem_servico_id")
+})
+public class ItemOrdemServicoArquivado {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ordem_servico_id", nullable = false)
+    private OrdemServicoArquivada ordemServico;
+
+    @Column(name = "produto_catalogo_id", nullable = false)
+    private Long produtoCatalogoId;
+
+    @Column(nullable = false)
+    private Integer quantidade;
+
+    @Column(name = "preco_unitario", nullable = false, precision = 10, scale = 2)
+    private BigDecimal precoUnitario;
+}
@@ -4,17 +4,35 @@ import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Entity
 @Getter
 @Setter
-@Table(name = "ordem_servico")
+@Table(name = "ordem_servico", indexes = {
+        @Index(name = "idx_ordem_servico_status_entrega", columnList = "status, data_entrega"),
+        @Index(name = "idx_ordem_servico_cliente", columnList = "cliente_id"),
+        @Index(name = "idx_ordem_servico_veiculo", columnList = "veiculo_id"),
+        @Index(name = "idx_ordem_servico_veiculo_placa", columnList = "veiculo_placa"),
+        @Index(name = "idx_ordem_servico_cliente_nome", columnList = "cliente_nome"),
+        @Index(name = "idx_ordem_servico_veiculo_modelo", columnList = "veiculo_modelo")
+})
 public class OrdemServico {
 
+    /**
+     * As coleções são inicializadas em lote (um SELECT ... IN para até este número de ordens)
+     * para que listas não executem uma consulta por ordem ao serem enriquecidas.
+     */
+    public static final int TAMANHO_LOTE_COLECOES = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -26,6 +44,9 @@ public class OrdemServico {
     @Column(name = "data_criacao")
     private LocalDateTime dataCriacao = LocalDateTime.now();
 
+    @Column(name = "data_inicio_diagnostico")
+    private LocalDateTime dataInicioDiagnostico;
+
     @Column(name = "data_inicio_execucao")
     private LocalDateTime dataInicioExecucao;
 
@@ -44,28 +65,65 @@ public class OrdemServico {
     @Column(name = "cliente_id")
     private Long clienteId;
 
+    /**
+     * Cópias de placa, modelo e nome do cliente gravadas na abertura da ordem, para ordenar e
+     * filtrar listas sem consultar os demais microserviços. Mantidas atualizadas pela
+     * reconciliação de referências; não alteram a versão da ordem.
+     */
+    @Column(name = "veiculo_placa", length = 20)
+    @OptimisticLock(excluded = true)
+    private String veiculoPlaca;
+
+    @Column(name = "veiculo_modelo", length = 100)
+    @OptimisticLock(excluded = true)
+    private String veiculoModelo;
+
+    @Column(name = "cliente_nome", length = 200)
+    @OptimisticLock(excluded = true)
+    private String clienteNome;
+
     @Column(name = "mecanico_id")
     private Long mecanicoId;
 
     @Column(name = "orcamento_id")
     private Long orcamentoId;
 
+    /**
+     * Incrementada a cada alteração dos campos da ordem. As transições de status a usam na
+     * condição do UPDATE para detectar escritas concorrentes sem carregar a ordem. Serviços e
+     * itens não alteram a versão: cada linha é independente e não concorre com o status.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
+    /**
+     * Mapeado como conjunto para que incluir ou remover um serviço gere um único INSERT ou
+     * DELETE, em vez de recriar todas as linhas da coleção como acontece com uma bag.
+     */
     @ElementCollection
+    @OptimisticLock(excluded = true)
+    @BatchSize(size = TAMANHO_LOTE_COLECOES)
     @CollectionTable(name = "ordem_servico_servicos",
-            joinColumns = @JoinColumn(name = "ordem_servico_id"))
-    @Column(name = "servico_id")
-    private List<Long> servicosIds = new ArrayList<>();
+            joinColumns = @JoinColumn(name = "ordem_servico_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_ordem_servico_servicos",
+                    columnNames = {"ordem_servico_id", "servico_id"}),
+            indexes = @Index(name = "idx_ordem_servico_servicos_servico", columnList = "servico_id"))
+    @Column(name = "servico_id", nullable = false)
+    @OrderBy
+    private Set<Long> servicosIds = new LinkedHashSet<>();
 
     @OneToMany(mappedBy = "ordemServico", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OptimisticLock(excluded = true)
+    @BatchSize(size = TAMANHO_LOTE_COLECOES)
     private List<ItemOrdemServico> itensOrdemServico = new ArrayList<>();
 
     public void addServico(Long servicoId) {
         if (servicosIds == null) {
-            servicosIds = new ArrayList<>();
-        }
-        if (!servicosIds.contains(servicoId)) {
-            servicosIds.add(servicoId);
+            servicosIds = new LinkedHashSet<>();
         }
+        servicosIds.add(servicoId);
     }
 
     public void removeServico(Long servicoId) {
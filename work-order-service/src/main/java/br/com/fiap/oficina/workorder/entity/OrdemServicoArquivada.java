@@ -0,0 +1,94 @@
+package br.com.fiap.oficina.workorder.entity;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ordem de serviço entregue movida de {@code ordem_servico} pelo arquivamento. As colunas
+ * repetem as da tabela ativa, com o mesmo ID; as linhas só são gravadas pelo INSERT ... SELECT
+ * do arquivamento e não mudam depois disso.
+ */
+@Entity
+@Immutable
+@Getter
+@Setter
+@Table(name = "ordem_servico_arquivo", indexes = {
+        @Index(name = "idx_ordem_servico_arquivo_cliente", columnList = "cliente_id"),
+        @Index(name = "idx_ordem_servico_arquivo_veiculo", columnList = "veiculo_id")
+})
+public class OrdemServicoArquivada {
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusOrdemServico status;
+
+    @Column(name = "data_criacao")
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "data_inicio_diagnostico")
+    private LocalDateTime dataInicioDiagnostico;
+
+    @Column(name = "data_inicio_execucao")
+    private LocalDateTime dataInicioExecucao;
+
+    @Column(name = "data_termino_execucao")
+    private LocalDateTime dataTerminoExecucao;
+
+    @Column(name = "data_entrega")
+    private LocalDateTime dataEntrega;
+
+    @Column(length = 1000)
+    private String observacoes;
+
+    @Column(name = "veiculo_id")
+    private Long veiculoId;
+
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    @Column(name = "veiculo_placa", length = 20)
+    private String veiculoPlaca;
+
+    @Column(name = "veiculo_modelo", length = 100)
+    private String veiculoModelo;
+
+    @Column(name = "cliente_nome", length = 200)
+    private String clienteNome;
+
+    @Column(name = "mecanico_id")
+    private Long mecanicoId;
+
+    @Column(name = "orcamento_id")
+    private Long orcamentoId;
+
+    @Column(nullable = false)
+    private Long versao;
+
+    @Column(name = "arquivada_em", nullable = false)
+    private LocalDateTime arquivadaEm;
+
+    @ElementCollection
+    @BatchSize(size = OrdemServico.TAMANHO_LOTE_COLECOES)
+    @CollectionTable(name = "ordem_servico_arquivo_servicos",
+            joinColumns = @JoinColumn(name = "ordem_servico_id"))
+    @Column(name = "servico_id", nullable = false)
+    @OrderBy
+    private Set<Long> servicosIds = new LinkedHashSet<>();
+
+    @OneToMany(mappedBy = "ordemServico")
+    @BatchSize(size = OrdemServico.TAMANHO_LOTE_COLECOES)
+    private List<ItemOrdemServicoArquivado> itensOrdemServico = new ArrayList<>();
+}
@@ -0,0 +1,115 @@
+package br.com.fiap.oficina.workorder.entity;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.converter.ItensJsonConverter;
+import br.com.fiap.oficina.workorder.entity.converter.ServicosJsonConverter;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modelo de leitura desnormalizado de {@link OrdemServico}: guarda, por ordem, os dados de
+ * cliente, veículo e serviços já resolvidos nos demais microserviços, para que as consultas
+ * sejam atendidas com uma única leitura local.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "ordem_servico_leitura", indexes = {
+        @Index(name = "idx_os_leitura_status", columnList = "status"),
+        @Index(name = "idx_os_leitura_cliente", columnList = "cliente_id"),
+        @Index(name = "idx_os_leitura_veiculo", columnList = "veiculo_id"),
+        @Index(name = "idx_os_leitura_mecanico", columnList = "mecanico_id"),
+        @Index(name = "idx_os_leitura_atualizado_em", columnList = "completo, atualizado_em")
+})
+public class OrdemServicoLeitura {
+
+    @Id
+    @Column(name = "ordem_servico_id")
+    private Long ordemServicoId;
+
+    private Long versao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusOrdemServico status;
+
+    @Column(name = "data_criacao")
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "data_inicio_diagnostico")
+    private LocalDateTime dataInicioDiagnostico;
+
+    @Column(name = "data_inicio_execucao")
+    private LocalDateTime dataInicioExecucao;
+
+    @Column(name = "data_termino_execucao")
+    private LocalDateTime dataTerminoExecucao;
+
+    @Column(name = "data_entrega")
+    private LocalDateTime dataEntrega;
+
+    @Column(length = 1000)
+    private String observacoes;
+
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    @Column(name = "cliente_nome")
+    private String clienteNome;
+
+    @Column(name = "cliente_email")
+    private String clienteEmail;
+
+    @Column(name = "cliente_telefone")
+    private String clienteTelefone;
+
+    @Column(name = "veiculo_id")
+    private Long veiculoId;
+
+    @Column(name = "veiculo_placa")
+    private String veiculoPlaca;
+
+    @Column(name = "veiculo_marca")
+    private String veiculoMarca;
+
+    @Column(name = "veiculo_modelo")
+    private String veiculoModelo;
+
+    @Column(name = "veiculo_ano")
+    private Integer veiculoAno;
+
+    @Column(name = "mecanico_id")
+    private Long mecanicoId;
+
+    @Column(name = "orcamento_id")
+    private Long orcamentoId;
+
+    @Convert(converter = ServicosJsonConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private List<ServicoResponseDTO> servicos = new ArrayList<>();
+
+    @Convert(converter = ItensJsonConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private List<ItemOrdemServicoDTO> itens = new ArrayList<>();
+
+    @Column(name = "valor_total_itens", precision = 12, scale = 2)
+    private BigDecimal valorTotalItens = BigDecimal.ZERO;
+
+    /**
+     * Falso quando alguma dependência estava indisponível na última projeção; a linha é
+     * reprojetada pela rotina de atualização em segundo plano.
+     */
+    @Column(nullable = false)
+    private boolean completo;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+}
@@ -0,0 +1,42 @@
+package br.com.fiap.oficina.workorder.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resposta de uma requisição feita com {@code Idempotency-Key}, gravada na mesma transação
+ * da alteração para que uma repetição da chave devolva o mesmo resultado sem reexecutá-la.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "registro_idempotencia", indexes = {
+        @Index(name = "idx_registro_idempotencia_expira_em", columnList = "expira_em")
+})
+public class RegistroIdempotencia {
+
+    /**
+     * SHA-256 (hex) do usuário autenticado, da operação e da {@code Idempotency-Key}.
+     */
+    @Id
+    @Column(length = 100)
+    private String chave;
+
+    @Column(nullable = false, length = 50)
+    private String operacao;
+
+    /**
+     * SHA-256 (hex) da operação e do corpo da requisição original.
+     */
+    @Column(name = "hash_pedido", nullable = false, length = 64)
+    private String hashPedido;
+
+    @Column(columnDefinition = "TEXT")
+    private String resposta;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+}
@@ -0,0 +1,18 @@
+package br.com.fiap.oficina.workorder.entity;
+
+public enum TipoAlteracaoSincronizacao {
+    /**
+     * Campos da ordem (status, datas, observações, serviços) alterados.
+     */
+    ORDEM_ALTERADA,
+    /**
+     * Ordem entrou na fila do mecânico: é enviada com todos os itens.
+     */
+    ORDEM_ATRIBUIDA,
+    /**
+     * Ordem excluída ou atribuída a outro mecânico.
+     */
+    ORDEM_REMOVIDA,
+    ITEM_ALTERADO,
+    ITEM_REMOVIDO
+}
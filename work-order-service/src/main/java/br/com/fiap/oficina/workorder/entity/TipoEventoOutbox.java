@@ -0,0 +1,6 @@
+package br.com.fiap.oficina.workorder.entity;
+
+public enum TipoEventoOutbox {
+    CALCULAR_ORCAMENTO,
+    VEICULO_DISPONIVEL
+}
@@ -0,0 +1,14 @@
+package br.com.fiap.oficina.workorder.entity.converter;
+
+import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.persistence.Converter;
+
+@Converter
+public class ItensJsonConverter extends JsonListConverter<ItemOrdemServicoDTO> {
+
+    public ItensJsonConverter() {
+        super(new TypeReference<>() {
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.fiap.oficina.workorder.entity.converter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persiste uma lista de DTOs como JSON em uma única coluna texto.
+ */
+public abstract class JsonListConverter<T> implements AttributeConverter<List<T>, String> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final TypeReference<List<T>> tipo;
+
+    protected JsonListConverter(TypeReference<List<T>> tipo) {
+        this.tipo = tipo;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(List<T> valores) {
+        if (valores == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(valores);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Não foi possível serializar a lista para JSON", e);
+        }
+    }
+
+    @Override
+    public List<T> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return new ArrayList<>();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, tipo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Não foi possível ler a lista a partir do JSON", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.fiap.oficina.workorder.entity.converter;
+
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.persistence.Converter;
+
+@Converter
+public class ServicosJsonConverter extends JsonListConverter<ServicoResponseDTO> {
+
+    public ServicosJsonConverter() {
+        super(new TypeReference<>() {
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.fiap.oficina.workorder.event;
+
+import br.com.fiap.oficina.workorder.entity.AlteracaoSincronizacao;
+import br.com.fiap.oficina.workorder.entity.BloqueioSincronizacao;
+import br.com.fiap.oficina.workorder.entity.TipoAlteracaoSincronizacao;
+import br.com.fiap.oficina.workorder.repository.AlteracaoSincronizacaoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Registra as alterações que a sincronização offline entrega às filas dos mecânicos. Deve ser
+ * chamado dentro da transação que altera a ordem de serviço; ordens sem mecânico não geram
+ * registro.
+ * <p>
+ * Os registros são gravados imediatamente antes do commit, com {@link BloqueioSincronizacao}
+ * bloqueado até o fim da transação. Assim os IDs, que são o cursor da sincronização, seguem a
+ * ordem de commit: uma transação lenta não confirma um ID menor que outro já entregue.
+ */
+@Component
+@RequiredArgsConstructor
+public class AlteracaoSincronizacaoPublisher {
+
+    private final AlteracaoSincronizacaoRepository repository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ordemAlterada(Long ordemServicoId, Long mecanicoId) {
+        registrar(List.of(alteracao(TipoAlteracaoSincronizacao.ORDEM_ALTERADA, ordemServicoId, mecanicoId, null)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ordensAlteradas(Collection<Long> ordensServicoIds) {
+        if (!ordensServicoIds.isEmpty()) {
+            List<Long> ids = List.copyOf(ordensServicoIds);
+            antesDoCommit(() -> repository.registrarAlteracoes(ids, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * A ordem sai da fila do mecânico anterior (tombstone) e entra completa na do novo.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ordemAtribuida(Long ordemServicoId, Long mecanicoAnteriorId, Long mecanicoId) {
+        if (Objects.equals(mecanicoAnteriorId, mecanicoId)) {
+            return;
+        }
+        registrar(List.of(
+                alteracao(TipoAlteracaoSincronizacao.ORDEM_REMOVIDA, ordemServicoId, mecanicoAnteriorId, null),
+                alteracao(TipoAlteracaoSincronizacao.ORDEM_ATRIBUIDA, ordemServicoId, mecanicoId, null)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ordemRemovida(Long ordemServicoId, Long mecanicoId) {
+        registrar(List.of(alteracao(TipoAlteracaoSincronizacao.ORDEM_REMOVIDA, ordemServicoId, mecanicoId, null)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itensAlterados(Long ordemServicoId, Long mecanicoId,
+                               Collection<Long> alteradosIds, Collection<Long> removidosIds) {
+        List<AlteracaoSincronizacao> alteracoes = new ArrayList<>();
+        alteradosIds.forEach(itemId -> alteracoes.add(
+                alteracao(TipoAlteracaoSincronizacao.ITEM_ALTERADO, ordemServicoId, mecanicoId, itemId)));
+        removidosIds.forEach(itemId -> alteracoes.add(
+                alteracao(TipoAlteracaoSincronizacao.ITEM_REMOVIDO, ordemServicoId, mecanicoId, itemId)));
+        registrar(alteracoes);
+    }
+
+    private void registrar(List<AlteracaoSincronizacao> alteracoes) {
+        List<AlteracaoSincronizacao> comMecanico = alteracoes.stream()
+                .filter(alteracao -> alteracao.getMecanicoId() != null)
+                .toList();
+        if (!comMecanico.isEmpty()) {
+            antesDoCommit(() -> repository.saveAll(comMecanico));
+        }
+    }
+
+    private void antesDoCommit(Runnable gravacao) {
+        GravacaoAntesDoCommit pendente = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(GravacaoAntesDoCommit.class::isInstance)
+                .map(GravacaoAntesDoCommit.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    GravacaoAntesDoCommit nova = new GravacaoAntesDoCommit();
+                    TransactionSynchronizationManager.registerSynchronization(nova);
+                    return nova;
+                });
+        pendente.gravacoes.add(gravacao);
+    }
+
+    /**
+     * Gravações de uma transação; como sincronização, é suspensa junto com ela.
+     */
+    private class GravacaoAntesDoCommit implements TransactionSynchronization {
+
+        private final List<Runnable> gravacoes = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (repository.bloquear().isEmpty()) {
+                repository.criarBloqueio();
+                repository.bloquear();
+            }
+            gravacoes.forEach(Runnable::run);
+        }
+    }
+
+    private static AlteracaoSincronizacao alteracao(TipoAlteracaoSincronizacao tipo, Long ordemServicoId,
+                                                    Long mecanicoId, Long itemId) {
+        AlteracaoSincronizacao alteracao = new AlteracaoSincronizacao();
+        alteracao.setTipo(tipo);
+        alteracao.setOrdemServicoId(ordemServicoId);
+        alteracao.setMecanicoId(mecanicoId);
+        alteracao.setItemId(itemId);
+        alteracao.setRegistradaEm(LocalDateTime.now());
+        return alteracao;
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.fiap.oficina.workorder.event;
+
+import br.com.fiap.oficina.workorder.entity.EventoOutbox;
+import br.com.fiap.oficina.workorder.entity.TipoEventoOutbox;
+import br.com.fiap.oficina.workorder.repository.EventoOutboxLoteRepository;
+import br.com.fiap.oficina.workorder.repository.EventoOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registra eventos de domínio na tabela de outbox. Deve ser chamado dentro da transação
+ * que altera a ordem de serviço, para que evento e alteração sejam gravados juntos.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventoOutboxPublisher {
+
+    private final EventoOutboxRepository repository;
+    private final EventoOutboxLoteRepository loteRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void calcularOrcamento(Long ordemServicoId) {
+        repository.save(evento(TipoEventoOutbox.CALCULAR_ORCAMENTO, ordemServicoId, null, LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void veiculoDisponivel(Long ordemServicoId, Long veiculoId) {
+        repository.save(evento(TipoEventoOutbox.VEICULO_DISPONIVEL, ordemServicoId, veiculoId, LocalDateTime.now()));
+    }
+
+    /**
+     * Registra um evento por ordem com um único batch, para transições e recepções em lote.
+     *
+     * @param veiculosPorOrdem veículo de cada ordem, usado no payload dos eventos que o levam
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarEmLote(TipoEventoOutbox tipo, Map<Long, Long> veiculosPorOrdem) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<EventoOutbox> eventos = veiculosPorOrdem.entrySet().stream()
+                .map(ordem -> evento(tipo, ordem.getKey(), ordem.getValue(), agora))
+                .toList();
+        loteRepository.inserir(eventos);
+    }
+
+    private EventoOutbox evento(TipoEventoOutbox tipo, Long ordemServicoId, Long veiculoId, LocalDateTime agora) {
+        EventoOutbox evento = new EventoOutbox();
+        evento.setAgregadoTipo(EventoOutbox.AGREGADO_ORDEM_SERVICO);
+        evento.setAgregadoId(ordemServicoId);
+        evento.setTipo(tipo);
+        evento.setPayload(serializar(dados(tipo, veiculoId)));
+        evento.setCriadoEm(agora);
+        evento.setProximaTentativaEm(agora);
+        return evento;
+    }
+
+    private static Map<String, Object> dados(TipoEventoOutbox tipo, Long veiculoId) {
+        return switch (tipo) {
+            case CALCULAR_ORCAMENTO -> Map.of();
+            case VEICULO_DISPONIVEL -> Collections.singletonMap("veiculoId", veiculoId);
+        };
+    }
+
+    private String serializar(Map<String, Object> dados) {
+        try {
+            return objectMapper.writeValueAsString(dados);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Não foi possível serializar o evento", e);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package br.com.fiap.oficina.workorder.event;
+
+import br.com.fiap.oficina.workorder.entity.EventoOutbox;
+import br.com.fiap.oficina.workorder.repository.EventoOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entrega os eventos gravados na outbox aos listeners deste processo, republicando-os pelo
+ * {@link ApplicationEventPublisher} depois do commit da alteração.
+ * <p>
+ * A garantia é apenas local: todo evento confirmado junto com a ordem de serviço chega ao menos
+ * uma vez a {@link OrcamentoEventListener}, mesmo que o processo caia antes da entrega. Nenhum
+ * evento sai do work-order-service; budget-service e notification-service não os recebem. Um
+ * consumidor remoto exige trocar o {@code publishEvent} de {@code entregar} por um transporte
+ * (broker ou HTTP) que repasse falhas ao relay como exceção.
+ * <p>
+ * Cada ciclo reserva lotes de até {@code tamanho-lote} eventos até não restar nenhum
+ * elegível; como só o evento mais antigo de cada OS é reservado por vez, os seguintes
+ * entram nos lotes subsequentes do mesmo ciclo. Falhas são reagendadas com backoff exponencial e, após
+ * {@code max-tentativas}, o evento é descartado (permanece na tabela com o último erro).
+ * <p>
+ * Métricas: {@code workorder.outbox.entrega} (tipo, resultado), {@code workorder.outbox.latencia}
+ * (tempo entre gravação e entrega), {@code workorder.outbox.pendentes},
+ * {@code workorder.outbox.atraso} (idade do evento pendente mais antigo) e
+ * {@code workorder.outbox.descartados}.
+ */
+@Component
+@Slf4j
+public class EventoOutboxRelay {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    private final EventoOutboxRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int tamanhoLote;
+    private final int maxTentativas;
+    private final Duration backoffInicial;
+    private final Duration backoffMaximo;
+    private final Duration retencao;
+
+    private final AtomicLong pendentes = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicLong atrasoMillis = new AtomicLong();
+
+    public EventoOutboxRelay(EventoOutboxRepository repository,
+                             ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${workorder.outbox.tamanho-lote:200}") int tamanhoLote,
+                             @Value("${workorder.outbox.max-tentativas:10}") int maxTentativas,
+                             @Value("${workorder.outbox.backoff-inicial:1s}") Duration backoffInicial,
+                             @Value("${workorder.outbox.backoff-maximo:10m}") Duration backoffMaximo,
+                             @Value("${workorder.outbox.retencao:7d}") Duration retencao) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.tamanhoLote = tamanhoLote;
+        this.maxTentativas = maxTentativas;
+        this.backoffInicial = backoffInicial;
+        this.backoffMaximo = backoffMaximo;
+        this.retencao = retencao;
+
+        Gauge.builder("workorder.outbox.pendentes", pendentes, AtomicLong::get)
+                .description("Eventos aguardando entrega")
+                .register(meterRegistry);
+        Gauge.builder("workorder.outbox.descartados", descartados, AtomicLong::get)
+                .description("Eventos que esgotaram as tentativas de entrega")
+                .register(meterRegistry);
+        Gauge.builder("workorder.outbox.atraso", atrasoMillis, valor -> valor.get() / 1000.0)
+                .description("Idade do evento pendente mais antigo")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${workorder.outbox.intervalo:1s}")
+    public void entregarPendentes() {
+        int reservados;
+        do {
+            reservados = processarLote();
+        } while (reservados > 0);
+        atualizarMetricas();
+    }
+
+    @Scheduled(fixedDelayString = "${workorder.outbox.intervalo-limpeza:1h}")
+    public void removerProcessados() {
+        Integer removidos = transactionTemplate.execute(status ->
+                repository.removerProcessadosAntesDe(LocalDateTime.now().minus(retencao)));
+        if (removidos != null && removidos > 0) {
+            log.info("Removidos {} eventos já entregues da outbox", removidos);
+        }
+    }
+
+    /**
+     * Reserva e entrega um lote na mesma transação: as linhas ficam bloqueadas para as
+     * demais instâncias até que o resultado da entrega seja gravado.
+     *
+     * @return quantidade de eventos reservados
+     */
+    int processarLote() {
+        Integer reservados = transactionTemplate.execute(status -> {
+            LocalDateTime agora = LocalDateTime.now();
+            List<EventoOutbox> eventos = repository.reservarLote(agora, maxTentativas,
+                    PageRequest.of(0, tamanhoLote));
+            eventos.forEach(this::entregar);
+            return eventos.size();
+        });
+        return reservados != null ? reservados : 0;
+    }
+
+    private void entregar(EventoOutbox evento) {
+        long inicio = System.nanoTime();
+        String resultado = "sucesso";
+        try {
+            eventPublisher.publishEvent(toApplicationEvent(evento));
+            LocalDateTime agora = LocalDateTime.now();
+            evento.setProcessadoEm(agora);
+            evento.setUltimoErro(null);
+            meterRegistry.timer("workorder.outbox.latencia", "tipo", evento.getTipo().name())
+                    .record(Duration.between(evento.getCriadoEm(), agora));
+        } catch (RuntimeException e) {
+            resultado = "erro";
+            registrarFalha(evento, e);
+        } finally {
+            meterRegistry.timer("workorder.outbox.entrega", "tipo", evento.getTipo().name(), "resultado", resultado)
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void registrarFalha(EventoOutbox evento, RuntimeException e) {
+        int tentativas = evento.getTentativas() + 1;
+        evento.setTentativas(tentativas);
+        evento.setProximaTentativaEm(LocalDateTime.now().plus(backoff(tentativas)));
+        String mensagem = e.getClass().getSimpleName() + ": " + e.getMessage();
+        evento.setUltimoErro(mensagem.length() > TAMANHO_MAXIMO_ERRO
+                ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO)
+                : mensagem);
+
+        if (tentativas >= maxTentativas) {
+            log.error("Evento {} ({}) da ordem de serviço ID: {} descartado após {} tentativas",
+                    evento.getId(), evento.getTipo(), evento.getAgregadoId(), tentativas, e);
+        } else {
+            log.warn("Falha ao entregar evento {} ({}) da ordem de serviço ID: {}, tentativa {}",
+                    evento.getId(), evento.getTipo(), evento.getAgregadoId(), tentativas, e);
+        }
+    }
+
+    Duration backoff(int tentativas) {
+        long multiplicador = 1L << Math.min(tentativas - 1, 30);
+        Duration espera = backoffInicial.multipliedBy(multiplicador);
+        return espera.compareTo(backoffMaximo) > 0 ? backoffMaximo : espera;
+    }
+
+    private ApplicationEvent toApplicationEvent(EventoOutbox evento) {
+        JsonNode dados = lerPayload(evento);
+        return switch (evento.getTipo()) {
+            case CALCULAR_ORCAMENTO -> new CalcularOrcamentoEvent(this, evento.getAgregadoId());
+            case VEICULO_DISPONIVEL -> new VeiculoDisponivelEvent(this, evento.getAgregadoId(),
+                    dados.path("veiculoId").isNumber() ? dados.get("veiculoId").asLong() : null);
+        };
+    }
+
+    private JsonNode lerPayload(EventoOutbox evento) {
+        try {
+            return objectMapper.readTree(evento.getPayload() != null ? evento.getPayload() : "{}");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload inválido no evento " + evento.getId(), e);
+        }
+    }
+
+    private void atualizarMetricas() {
+        pendentes.set(repository.countPendentes(maxTentativas));
+        descartados.set(repository.countDescartados(maxTentativas));
+        LocalDateTime maisAntigo = repository.findCriacaoMaisAntigaPendente(maxTentativas);
+        atrasoMillis.set(maisAntigo != null ? Duration.between(maisAntigo, LocalDateTime.now()).toMillis() : 0);
+    }
+}
@@ -2,25 +2,25 @@ package br.com.fiap.oficina.workorder.event;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+/**
+ * Consumidor local dos eventos entregues pelo {@link EventoOutboxRelay}. Roda de forma
+ * síncrona na thread do relay para que uma falha aqui gere nova tentativa de entrega. Por ora
+ * apenas registra os eventos: os demais microserviços não são notificados.
+ */
 @Component
 @Slf4j
 public class OrcamentoEventListener {
 
-    @Async
     @EventListener
     public void handleCalcularOrcamentoEvent(CalcularOrcamentoEvent event) {
         log.info("Evento CalcularOrcamentoEvent recebido para ordem de serviço ID: {}", event.getOrdemServicoId());
-        // Budget-Service escutará este evento e criará o orçamento
     }
 
-    @Async
     @EventListener
     public void handleVeiculoDisponivelEvent(VeiculoDisponivelEvent event) {
         log.info("Evento VeiculoDisponivelEvent recebido para veículo ID: {} da ordem de serviço ID: {}",
                 event.getVeiculoId(), event.getOrdemServicoId());
-        // Aqui pode-se notificar o cliente que o veículo está disponível
     }
 }
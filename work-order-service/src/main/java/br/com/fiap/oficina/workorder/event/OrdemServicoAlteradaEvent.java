@@ -0,0 +1,22 @@
+package br.com.fiap.oficina.workorder.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collection;
+import java.util.List;
+
+@Getter
+public class OrdemServicoAlteradaEvent extends ApplicationEvent {
+
+    private final List<Long> ordensServicoIds;
+
+    public OrdemServicoAlteradaEvent(Object source, Long ordemServicoId) {
+        this(source, List.of(ordemServicoId));
+    }
+
+    public OrdemServicoAlteradaEvent(Object source, Collection<Long> ordensServicoIds) {
+        super(source);
+        this.ordensServicoIds = List.copyOf(ordensServicoIds);
+    }
+}
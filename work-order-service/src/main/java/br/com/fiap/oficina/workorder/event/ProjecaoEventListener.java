@@ -0,0 +1,23 @@
+package br.com.fiap.oficina.workorder.event;
+
+import br.com.fiap.oficina.workorder.service.OrdemServicoProjecaoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProjecaoEventListener {
+
+    private final OrdemServicoProjecaoService projecaoService;
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleOrdemServicoAlteradaEvent(OrdemServicoAlteradaEvent event) {
+        log.debug("Reprojetando ordens de serviço IDs: {}", event.getOrdensServicoIds());
+        projecaoService.projetar(event.getOrdensServicoIds());
+    }
+}
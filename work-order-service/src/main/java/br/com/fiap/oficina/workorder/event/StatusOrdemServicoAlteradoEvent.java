@@ -0,0 +1,34 @@
+package br.com.fiap.oficina.workorder.event;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mudança de status ou de mecânico de uma ordem de serviço, repassada às conexões SSE após o
+ * commit. Na criação, {@code statusAnterior} é nulo.
+ */
+@Getter
+public class StatusOrdemServicoAlteradoEvent extends ApplicationEvent {
+
+    private final Long ordemServicoId;
+    private final StatusOrdemServico statusAnterior;
+    private final StatusOrdemServico status;
+    private final Long mecanicoAnteriorId;
+    private final Long mecanicoId;
+    private final LocalDateTime ocorridoEm;
+
+    public StatusOrdemServicoAlteradoEvent(Object source, Long ordemServicoId,
+                                           StatusOrdemServico statusAnterior, StatusOrdemServico status,
+                                           Long mecanicoAnteriorId, Long mecanicoId, LocalDateTime ocorridoEm) {
+        super(source);
+        this.ordemServicoId = ordemServicoId;
+        this.statusAnterior = statusAnterior;
+        this.status = status;
+        this.mecanicoAnteriorId = mecanicoAnteriorId;
+        this.mecanicoId = mecanicoId;
+        this.ocorridoEm = ocorridoEm;
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.fiap.oficina.workorder.event;
+
+import br.com.fiap.oficina.workorder.dto.response.EventoStatusOrdemServicoDTO;
+import br.com.fiap.oficina.workorder.service.StatusOrdemServicoStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class StatusOrdemServicoEventListener {
+
+    private final StatusOrdemServicoStreamService streamService;
+
+    /**
+     * Repassa a mudança às conexões SSE somente após o commit; o envio em si é assíncrono,
+     * pela fila de cada conexão.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStatusOrdemServicoAlteradoEvent(StatusOrdemServicoAlteradoEvent event) {
+        streamService.publicar(new EventoStatusOrdemServicoDTO(event.getOrdemServicoId(),
+                event.getStatusAnterior(), event.getStatus(), event.getMecanicoAnteriorId(),
+                event.getMecanicoId(), event.getOcorridoEm()));
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.fiap.oficina.workorder.mapper;
+
+import br.com.fiap.oficina.workorder.dto.response.ClienteResumoDTO;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResumoDTO;
+import br.com.fiap.oficina.workorder.entity.OrdemServicoLeitura;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface OrdemServicoLeituraMapper {
+
+    @Mapping(target = "id", source = "ordemServicoId")
+    @Mapping(target = "cliente", source = ".")
+    @Mapping(target = "veiculo", source = ".")
+    @Mapping(target = "itensOrdemServico", source = "itens")
+    @Mapping(target = "mecanico", ignore = true)
+    @Mapping(target = "orcamento", ignore = true)
+    @Mapping(target = "enriquecimentoIncompleto", expression = "java(!leitura.isCompleto())")
+    @Mapping(target = "dependenciasIndisponiveis", ignore = true)
+    OrdemServicoResponseDTO toDTO(OrdemServicoLeitura leitura);
+
+    List<OrdemServicoResponseDTO> toDTOList(List<OrdemServicoLeitura> leituras);
+
+    default ClienteResumoDTO toClienteResumo(OrdemServicoLeitura leitura) {
+        if (leitura.getClienteNome() == null) {
+            return null;
+        }
+        ClienteResumoDTO cliente = new ClienteResumoDTO();
+        cliente.setId(leitura.getClienteId());
+        cliente.setNome(leitura.getClienteNome());
+        cliente.setEmail(leitura.getClienteEmail());
+        cliente.setTelefone(leitura.getClienteTelefone());
+        return cliente;
+    }
+
+    default VeiculoResumoDTO toVeiculoResumo(OrdemServicoLeitura leitura) {
+        if (leitura.getVeiculoPlaca() == null) {
+            return null;
+        }
+        VeiculoResumoDTO veiculo = new VeiculoResumoDTO();
+        veiculo.setId(leitura.getVeiculoId());
+        veiculo.setPlaca(leitura.getVeiculoPlaca());
+        veiculo.setMarca(leitura.getVeiculoMarca());
+        veiculo.setModelo(leitura.getVeiculoModelo());
+        veiculo.setAno(leitura.getVeiculoAno());
+        return veiculo;
+    }
+}
@@ -1,7 +1,11 @@
 package br.com.fiap.oficina.workorder.mapper;
 
+import br.com.fiap.oficina.workorder.dto.response.ItemOrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ItemSincronizacaoDTO;
 import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
 import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResumoDTO;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoSincronizacaoDTO;
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
 import br.com.fiap.oficina.workorder.entity.OrdemServico;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -16,7 +20,10 @@ public interface OrdemServicoMapper {
     @Mapping(target = "mecanico", ignore = true)
     @Mapping(target = "servicos", ignore = true)
     @Mapping(target = "itensOrdemServico", ignore = true)
+    @Mapping(target = "valorTotalItens", ignore = true)
     @Mapping(target = "orcamento", ignore = true)
+    @Mapping(target = "enriquecimentoIncompleto", ignore = true)
+    @Mapping(target = "dependenciasIndisponiveis", ignore = true)
     OrdemServicoResponseDTO toDTO(OrdemServico ordemServico);
 
     @Mapping(target = "veiculoId", source = "veiculoId")
@@ -25,6 +32,14 @@ public interface OrdemServicoMapper {
     @Mapping(target = "orcamentoId", source = "orcamentoId")
     OrdemServicoResumoDTO toResumoDTO(OrdemServico ordemServico);
 
+    OrdemServicoSincronizacaoDTO toSincronizacaoDTO(OrdemServico ordemServico);
+
+    @Mapping(target = "ordemServicoId", source = "ordemServico.id")
+    ItemSincronizacaoDTO toSincronizacaoDTO(ItemOrdemServico item);
+
+    @Mapping(target = "ordemServicoId", source = "ordemServico.id")
+    ItemOrdemServicoResponseDTO toItemDTO(ItemOrdemServico item);
+
     List<OrdemServicoResponseDTO> toDTOList(List<OrdemServico> ordens);
 
     List<OrdemServicoResumoDTO> toResumoDTOList(List<OrdemServico> ordens);
@@ -0,0 +1,70 @@
+package br.com.fiap.oficina.workorder.metrica;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository.EstadoOrdemServico;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Trechos do ciclo de vida de uma ordem de serviço medidos a partir das datas gravadas nas
+ * transições. Cada trecho termina quando a ordem entra no status {@code encerradoPor}.
+ */
+public enum SegmentoTempoStatus {
+
+    /**
+     * Da abertura ao início do primeiro diagnóstico.
+     */
+    FILA(StatusOrdemServico.EM_DIAGNOSTICO, "data_criacao", "data_inicio_diagnostico",
+            estado -> estado.getDataInicioDiagnostico() == null ? estado.getDataCriacao() : null),
+
+    /**
+     * Do início do diagnóstico ao início da execução, incluindo a espera pela aprovação do orçamento.
+     */
+    DIAGNOSTICO(StatusOrdemServico.EM_EXECUCAO, "data_inicio_diagnostico", "data_inicio_execucao",
+            EstadoOrdemServico::getDataInicioDiagnostico),
+
+    EXECUCAO(StatusOrdemServico.FINALIZADA, "data_inicio_execucao", "data_termino_execucao",
+            EstadoOrdemServico::getDataInicioExecucao),
+
+    /**
+     * Do término da execução à retirada do veículo pelo cliente.
+     */
+    RETIRADA(StatusOrdemServico.ENTREGUE, "data_termino_execucao", "data_entrega",
+            EstadoOrdemServico::getDataTerminoExecucao);
+
+    private final StatusOrdemServico encerradoPor;
+    private final String colunaInicio;
+    private final String colunaFim;
+    private final Function<EstadoOrdemServico, LocalDateTime> inicio;
+
+    SegmentoTempoStatus(StatusOrdemServico encerradoPor, String colunaInicio, String colunaFim,
+                        Function<EstadoOrdemServico, LocalDateTime> inicio) {
+        this.encerradoPor = encerradoPor;
+        this.colunaInicio = colunaInicio;
+        this.colunaFim = colunaFim;
+        this.inicio = inicio;
+    }
+
+    public static Optional<SegmentoTempoStatus> encerradoPor(StatusOrdemServico destino) {
+        return Arrays.stream(values()).filter(segmento -> segmento.encerradoPor == destino).findFirst();
+    }
+
+    /**
+     * Início do trecho segundo o estado lido antes da transição, ou {@code null} se ele não
+     * foi aberto (ou, no caso da fila, já foi medido).
+     */
+    public LocalDateTime inicio(EstadoOrdemServico estado) {
+        return inicio.apply(estado);
+    }
+
+    public String getColunaInicio() {
+        return colunaInicio;
+    }
+
+    public String getColunaFim() {
+        return colunaFim;
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.fiap.oficina.workorder.metrica;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository.EstadoOrdemServico;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Histograma {@code workorder.tempo.status} com o tempo gasto em cada trecho do ciclo de vida,
+ * registrado quando a transição que encerra o trecho é confirmada.
+ * <p>
+ * A única tag é {@code segmento}: recortes por mecânico ou categoria de serviço têm
+ * cardinalidade alta e são calculados sob demanda pelo relatório de percentis.
+ */
+@Component
+public class TempoEmStatusMetricas {
+
+    private final Map<SegmentoTempoStatus, Timer> timers = new EnumMap<>(SegmentoTempoStatus.class);
+
+    public TempoEmStatusMetricas(MeterRegistry meterRegistry) {
+        for (SegmentoTempoStatus segmento : SegmentoTempoStatus.values()) {
+            timers.put(segmento, Timer.builder("workorder.tempo.status")
+                    .description("Tempo da ordem de serviço em cada trecho do ciclo de vida")
+                    .tag("segmento", segmento.name())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMinutes(1))
+                    .maximumExpectedValue(Duration.ofDays(30))
+                    .register(meterRegistry));
+        }
+    }
+
+    public void registrar(EstadoOrdemServico estado, StatusOrdemServico destino, LocalDateTime agora) {
+        registrar(List.of(estado), destino, agora);
+    }
+
+    public void registrar(Collection<EstadoOrdemServico> estados, StatusOrdemServico destino, LocalDateTime agora) {
+        SegmentoTempoStatus.encerradoPor(destino).ifPresent(segmento -> {
+            List<Duration> duracoes = new ArrayList<>();
+            for (EstadoOrdemServico estado : estados) {
+                LocalDateTime inicio = segmento.inicio(estado);
+                if (inicio != null && !inicio.isAfter(agora)) {
+                    duracoes.add(Duration.between(inicio, agora));
+                }
+            }
+            if (!duracoes.isEmpty()) {
+                aposCommit(() -> duracoes.forEach(timers.get(segmento)::record));
+            }
+        });
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
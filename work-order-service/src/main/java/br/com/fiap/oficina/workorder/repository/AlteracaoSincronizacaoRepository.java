@@ -0,0 +1,61 @@
+package br.com.fiap.oficina.workorder.repository;
+
+import br.com.fiap.oficina.workorder.entity.AlteracaoSincronizacao;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AlteracaoSincronizacaoRepository extends JpaRepository<AlteracaoSincronizacao, Long> {
+
+    @Query("SELECT a FROM AlteracaoSincronizacao a "
+            + "WHERE a.mecanicoId = :mecanicoId AND a.id > :cursor ORDER BY a.id")
+    List<AlteracaoSincronizacao> findPosteriores(@Param("mecanicoId") Long mecanicoId,
+                                                 @Param("cursor") Long cursor,
+                                                 Pageable pageable);
+
+    @Query("SELECT MAX(a.id) FROM AlteracaoSincronizacao a")
+    Long findUltimoId();
+
+    @Query("SELECT MIN(a.id) FROM AlteracaoSincronizacao a")
+    Long findPrimeiroId();
+
+    /**
+     * Bloqueia {@link br.com.fiap.oficina.workorder.entity.BloqueioSincronizacao} até o fim
+     * da transação; vazio se a linha ainda não existir.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM BloqueioSincronizacao b WHERE b.id = "
+            + "br.com.fiap.oficina.workorder.entity.BloqueioSincronizacao.ID")
+    Optional<Long> bloquear();
+
+    @Modifying
+    @Query("INSERT INTO BloqueioSincronizacao (id) "
+            + "VALUES (br.com.fiap.oficina.workorder.entity.BloqueioSincronizacao.ID) ON CONFLICT DO NOTHING")
+    int criarBloqueio();
+
+    @Modifying
+    @Query("DELETE FROM AlteracaoSincronizacao a WHERE a.registradaEm < :limite")
+    int removerAntesDe(@Param("limite") LocalDateTime limite);
+
+    /**
+     * Registra uma alteração por ordem atribuída, em um único INSERT ... SELECT, para
+     * transições em lote.
+     */
+    @Modifying
+    @Query("INSERT INTO AlteracaoSincronizacao (mecanicoId, ordemServicoId, tipo, registradaEm) "
+            + "SELECT os.mecanicoId, os.id, "
+            + "br.com.fiap.oficina.workorder.entity.TipoAlteracaoSincronizacao.ORDEM_ALTERADA, :agora "
+            + "FROM OrdemServico os WHERE os.id IN :ids AND os.mecanicoId IS NOT NULL")
+    int registrarAlteracoes(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+}
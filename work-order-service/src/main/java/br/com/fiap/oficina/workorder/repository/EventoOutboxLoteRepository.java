@@ -0,0 +1,40 @@
+package br.com.fiap.oficina.workorder.repository;
+
+import br.com.fiap.oficina.workorder.entity.EventoOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Inserção de vários eventos na outbox com um único batch JDBC, em vez de um INSERT por evento
+ * como o Hibernate faz com IDs {@code IDENTITY}. Os IDs gerados não são lidos de volta.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventoOutboxLoteRepository {
+
+    private static final String INSERT_EVENTO = "INSERT INTO evento_outbox "
+            + "(agregado_tipo, agregado_id, tipo, payload, criado_em, tentativas, proxima_tentativa_em) "
+            + "VALUES (:agregadoTipo, :agregadoId, :tipo, :payload, :criadoEm, 0, :proximaTentativaEm)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void inserir(List<EventoOutbox> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENTO, eventos.stream()
+                .map(evento -> new MapSqlParameterSource()
+                        .addValue("agregadoTipo", evento.getAgregadoTipo())
+                        .addValue("agregadoId", evento.getAgregadoId())
+                        .addValue("tipo", evento.getTipo().name())
+                        .addValue("payload", evento.getPayload())
+                        .addValue("criadoEm", evento.getCriadoEm())
+                        .addValue("proximaTentativaEm", evento.getProximaTentativaEm()))
+                .toArray(SqlParameterSource[]::new));
+    }
+}
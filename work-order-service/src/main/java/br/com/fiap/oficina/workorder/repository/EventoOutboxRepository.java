@@ -0,0 +1,50 @@
+package br.com.fiap.oficina.workorder.repository;
+
+import br.com.fiap.oficina.workorder.entity.EventoOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Reserva o próximo lote de eventos pendentes com {@code FOR UPDATE SKIP LOCKED}, para
+     * que várias instâncias do relay dividam o trabalho sem se bloquear.
+     * <p>
+     * Apenas o evento pendente mais antigo de cada agregado é elegível: os seguintes só são
+     * reservados depois que ele for entregue, preservando a ordem por agregado mesmo com
+     * várias instâncias e com retentativas.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EventoOutbox e "
+            + "WHERE e.processadoEm IS NULL AND e.tentativas < :maxTentativas AND e.proximaTentativaEm <= :agora "
+            + "AND NOT EXISTS (SELECT 1 FROM EventoOutbox anterior "
+            + "    WHERE anterior.agregadoTipo = e.agregadoTipo AND anterior.agregadoId = e.agregadoId "
+            + "    AND anterior.processadoEm IS NULL AND anterior.tentativas < :maxTentativas "
+            + "    AND anterior.id < e.id) "
+            + "ORDER BY e.id")
+    List<EventoOutbox> reservarLote(@Param("agora") LocalDateTime agora,
+                                    @Param("maxTentativas") int maxTentativas,
+                                    Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM EventoOutbox e WHERE e.processadoEm IS NULL AND e.tentativas < :maxTentativas")
+    long countPendentes(@Param("maxTentativas") int maxTentativas);
+
+    @Query("SELECT COUNT(e) FROM EventoOutbox e WHERE e.processadoEm IS NULL AND e.tentativas >= :maxTentativas")
+    long countDescartados(@Param("maxTentativas") int maxTentativas);
+
+    @Query("SELECT MIN(e.criadoEm) FROM EventoOutbox e WHERE e.processadoEm IS NULL AND e.tentativas < :maxTentativas")
+    LocalDateTime findCriacaoMaisAntigaPendente(@Param("maxTentativas") int maxTentativas);
+
+    @Modifying
+    @Query("DELETE FROM EventoOutbox e WHERE e.processadoEm < :limite")
+    int removerProcessadosAntesDe(@Param("limite") LocalDateTime limite);
+}
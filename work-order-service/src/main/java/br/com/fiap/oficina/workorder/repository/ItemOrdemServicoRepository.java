@@ -0,0 +1,44 @@
+package br.com.fiap.oficina.workorder.repository;
+
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Alterações de um único item, sem carregar a ordem nem suas coleções. A condição de status
+ * faz parte do próprio comando: se a ordem estiver aguardando aprovação, nenhuma linha é
+ * afetada.
+ */
+@Repository
+public interface ItemOrdemServicoRepository extends JpaRepository<ItemOrdemServico, Long> {
+
+    String ORDEM_EDITAVEL = "i.ordemServico.id IN (SELECT os.id FROM OrdemServico os "
+            + "WHERE os.id = :ordemServicoId AND os.status <> 'AGUARDANDO_APROVACAO')";
+
+    @Query("SELECT i FROM ItemOrdemServico i WHERE i.id = :id AND i.ordemServico.id = :ordemServicoId")
+    Optional<ItemOrdemServico> findByIdAndOrdemServicoId(@Param("id") Long id,
+                                                        @Param("ordemServicoId") Long ordemServicoId);
+
+    /**
+     * Quantidade e preço nulos são preservados.
+     */
+    @Modifying
+    @Query("UPDATE ItemOrdemServico i SET i.quantidade = COALESCE(:quantidade, i.quantidade), "
+            + "i.precoUnitario = COALESCE(:precoUnitario, i.precoUnitario) "
+            + "WHERE i.id = :id AND i.ordemServico.id = :ordemServicoId AND " + ORDEM_EDITAVEL)
+    int atualizar(@Param("ordemServicoId") Long ordemServicoId,
+                  @Param("id") Long id,
+                  @Param("quantidade") Integer quantidade,
+                  @Param("precoUnitario") BigDecimal precoUnitario);
+
+    @Modifying
+    @Query("DELETE FROM ItemOrdemServico i WHERE i.id = :id AND i.ordemServico.id = :ordemServicoId AND "
+            + ORDEM_EDITAVEL)
+    int remover(@Param("ordemServicoId") Long ordemServicoId, @Param("id") Long id);
+}
@@ -0,0 +1,57 @@
+package br.com.fiap.oficina.workorder.repository;
+
+import br.com.fiap.oficina.workorder.entity.OrdemServicoArquivada;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Tabelas de arquivo das ordens entregues. A cópia e a remoção usam SQL nativo para mover
+ * cada lote com um INSERT ... SELECT e um DELETE por tabela, sem carregar as entidades.
+ */
+@Repository
+public interface OrdemServicoArquivadaRepository extends JpaRepository<OrdemServicoArquivada, Long> {
+
+    @Query("SELECT a.versao FROM OrdemServicoArquivada a WHERE a.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "INSERT INTO ordem_servico_arquivo (id, status, data_criacao, data_inicio_diagnostico, "
+            + "data_inicio_execucao, data_termino_execucao, data_entrega, observacoes, veiculo_id, cliente_id, "
+            + "veiculo_placa, veiculo_modelo, cliente_nome, mecanico_id, orcamento_id, versao, arquivada_em) "
+            + "SELECT id, status, data_criacao, data_inicio_diagnostico, data_inicio_execucao, "
+            + "data_termino_execucao, data_entrega, observacoes, veiculo_id, cliente_id, veiculo_placa, "
+            + "veiculo_modelo, cliente_nome, mecanico_id, orcamento_id, versao, :agora FROM ordem_servico WHERE id IN :ids", nativeQuery = true)
+    int copiarOrdens(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query(value = "INSERT INTO ordem_servico_arquivo_servicos (ordem_servico_id, servico_id) "
+            + "SELECT ordem_servico_id, servico_id FROM ordem_servico_servicos WHERE ordem_servico_id IN :ids",
+            nativeQuery = true)
+    int copiarServicos(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO item_ordem_servico_arquivo (id, ordem_servico_id, produto_catalogo_id, "
+            + "quantidade, preco_unitario) "
+            + "SELECT id, ordem_servico_id, produto_catalogo_id, quantidade, preco_unitario "
+            + "FROM item_ordem_servico WHERE ordem_servico_id IN :ids", nativeQuery = true)
+    int copiarItens(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM item_ordem_servico WHERE ordem_servico_id IN :ids", nativeQuery = true)
+    int removerItensAtivos(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM ordem_servico_servicos WHERE ordem_servico_id IN :ids", nativeQuery = true)
+    int removerServicosAtivos(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM ordem_servico WHERE id IN :ids", nativeQuery = true)
+    int removerOrdensAtivas(@Param("ids") Collection<Long> ids);
+}
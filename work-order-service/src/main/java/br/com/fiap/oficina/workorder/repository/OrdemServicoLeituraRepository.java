@@ -0,0 +1,124 @@
+package br.com.fiap.oficina.workorder.repository;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServicoLeitura;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrdemServicoLeituraRepository extends JpaRepository<OrdemServicoLeitura, Long> {
+
+    List<OrdemServicoLeitura> findByStatusInOrderByOrdemServicoId(List<StatusOrdemServico> status);
+
+    List<OrdemServicoLeitura> findAllByOrderByOrdemServicoId();
+
+    List<OrdemServicoLeitura> findByMecanicoIdOrderByOrdemServicoId(Long mecanicoId);
+
+    @Query("SELECT l FROM OrdemServicoLeitura l WHERE l.status = 'AGUARDANDO_APROVACAO' OR l.orcamentoId IS NOT NULL ORDER BY l.ordemServicoId")
+    List<OrdemServicoLeitura> findOrdensAtualizadas();
+
+    /**
+     * Projeções incompletas não atualizadas desde {@code inicioCiclo} ou mais antigas que
+     * {@code limite}. Como cada reprojeção grava {@code atualizadoEm} posterior ao início do
+     * ciclo, uma linha aparece no máximo uma vez por ciclo, mesmo que continue incompleta.
+     */
+    @Query("SELECT l.ordemServicoId FROM OrdemServicoLeitura l WHERE (l.completo = false AND l.atualizadoEm < :inicioCiclo) "
+            + "OR l.atualizadoEm < :limite ORDER BY l.atualizadoEm")
+    List<Long> findIdsDesatualizados(@Param("limite") LocalDateTime limite,
+                                     @Param("inicioCiclo") LocalDateTime inicioCiclo,
+                                     Pageable pageable);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM OrdemServicoLeitura l WHERE NOT EXISTS "
+            + "(SELECT 1 FROM OrdemServico os WHERE os.id = l.ordemServicoId)")
+    int removerOrfas();
+
+    /**
+     * Replica na projeção uma transição de status já aplicada em {@code ordem_servico}, sem
+     * reconsultar os demais microserviços. Retorna 0 se a ordem ainda não foi projetada ou se
+     * a linha já está em {@code versao} ou numa versão posterior.
+     */
+    @Modifying
+    @Query("UPDATE OrdemServicoLeitura l SET l.status = :status, l.versao = :versao, "
+            + "l.observacoes = COALESCE(:observacoes, l.observacoes), "
+            + "l.dataInicioDiagnostico = COALESCE(l.dataInicioDiagnostico, :dataInicioDiagnostico), "
+            + "l.dataInicioExecucao = COALESCE(:dataInicioExecucao, l.dataInicioExecucao), "
+            + "l.dataTerminoExecucao = COALESCE(:dataTerminoExecucao, l.dataTerminoExecucao), "
+            + "l.dataEntrega = COALESCE(:dataEntrega, l.dataEntrega) "
+            + "WHERE l.ordemServicoId = :id AND (l.versao IS NULL OR l.versao < :versao)")
+    int aplicarTransicao(@Param("id") Long id,
+                         @Param("versao") Long versao,
+                         @Param("status") StatusOrdemServico status,
+                         @Param("observacoes") String observacoes,
+                         @Param("dataInicioDiagnostico") LocalDateTime dataInicioDiagnostico,
+                         @Param("dataInicioExecucao") LocalDateTime dataInicioExecucao,
+                         @Param("dataTerminoExecucao") LocalDateTime dataTerminoExecucao,
+                         @Param("dataEntrega") LocalDateTime dataEntrega);
+
+    /**
+     * Regrava a linha com o resultado de uma projeção, desde que ela não esteja numa versão
+     * posterior à projetada: uma transição aplicada enquanto a projeção consultava os demais
+     * microserviços não é sobrescrita. A mesma versão é aceita para renovar os dados de
+     * cadastro. Retorna 0 se a linha não existe ou é mais nova.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE OrdemServicoLeitura l SET l.versao = :#{#leitura.versao}, l.status = :#{#leitura.status}, "
+            + "l.dataCriacao = :#{#leitura.dataCriacao}, "
+            + "l.dataInicioDiagnostico = :#{#leitura.dataInicioDiagnostico}, "
+            + "l.dataInicioExecucao = :#{#leitura.dataInicioExecucao}, "
+            + "l.dataTerminoExecucao = :#{#leitura.dataTerminoExecucao}, "
+            + "l.dataEntrega = :#{#leitura.dataEntrega}, l.observacoes = :#{#leitura.observacoes}, "
+            + "l.clienteId = :#{#leitura.clienteId}, l.clienteNome = :#{#leitura.clienteNome}, "
+            + "l.clienteEmail = :#{#leitura.clienteEmail}, l.clienteTelefone = :#{#leitura.clienteTelefone}, "
+            + "l.veiculoId = :#{#leitura.veiculoId}, l.veiculoPlaca = :#{#leitura.veiculoPlaca}, "
+            + "l.veiculoMarca = :#{#leitura.veiculoMarca}, l.veiculoModelo = :#{#leitura.veiculoModelo}, "
+            + "l.veiculoAno = :#{#leitura.veiculoAno}, l.mecanicoId = :#{#leitura.mecanicoId}, "
+            + "l.orcamentoId = :#{#leitura.orcamentoId}, l.servicos = :#{#leitura.servicos}, "
+            + "l.itens = :#{#leitura.itens}, l.valorTotalItens = :#{#leitura.valorTotalItens}, "
+            + "l.completo = :#{#leitura.completo}, l.atualizadoEm = :#{#leitura.atualizadoEm} "
+            + "WHERE l.ordemServicoId = :#{#leitura.ordemServicoId} "
+            + "AND (l.versao IS NULL OR l.versao <= :#{#leitura.versao})")
+    int atualizarSeNaoMaisNova(@Param("leitura") OrdemServicoLeitura leitura);
+
+    /**
+     * Versão em lote de {@link #aplicarTransicao}; a versão é copiada de {@code ordem_servico}.
+     */
+    @Modifying
+    @Query("UPDATE OrdemServicoLeitura l SET l.status = :status, "
+            + "l.versao = (SELECT os.versao FROM OrdemServico os WHERE os.id = l.ordemServicoId), "
+            + "l.observacoes = COALESCE(:observacoes, l.observacoes), "
+            + "l.dataInicioDiagnostico = COALESCE(l.dataInicioDiagnostico, :dataInicioDiagnostico), "
+            + "l.dataInicioExecucao = COALESCE(:dataInicioExecucao, l.dataInicioExecucao), "
+            + "l.dataTerminoExecucao = COALESCE(:dataTerminoExecucao, l.dataTerminoExecucao), "
+            + "l.dataEntrega = COALESCE(:dataEntrega, l.dataEntrega) "
+            + "WHERE l.ordemServicoId IN :ids")
+    int aplicarTransicaoEmLote(@Param("ids") Collection<Long> ids,
+                               @Param("status") StatusOrdemServico status,
+                               @Param("observacoes") String observacoes,
+                               @Param("dataInicioDiagnostico") LocalDateTime dataInicioDiagnostico,
+                               @Param("dataInicioExecucao") LocalDateTime dataInicioExecucao,
+                               @Param("dataTerminoExecucao") LocalDateTime dataTerminoExecucao,
+                               @Param("dataEntrega") LocalDateTime dataEntrega);
+
+    interface VersaoLeitura {
+        Long getVersao();
+
+        LocalDateTime getAtualizadoEm();
+    }
+
+    @Query("SELECT l.versao AS versao, l.atualizadoEm AS atualizadoEm FROM OrdemServicoLeitura l "
+            + "WHERE l.ordemServicoId = :id")
+    Optional<VersaoLeitura> findVersaoById(@Param("id") Long id);
+
+    @Query("SELECT l.ordemServicoId FROM OrdemServicoLeitura l WHERE l.ordemServicoId IN :ids")
+    List<Long> findIdsProjetados(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,151 @@
+package br.com.fiap.oficina.workorder.repository;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository.EstadoOrdemServico;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Escritas em várias ordens com batches JDBC. Com IDs {@code IDENTITY} o Hibernate grava cada
+ * ordem, serviço e item em um INSERT separado; aqui cada tabela recebe um único batch, e os IDs
+ * gerados das ordens voltam do próprio batch. As transições em lote usam um batch de UPDATEs,
+ * um por ordem, para que cada um seja condicionado ao status e à versão lidos daquela ordem.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrdemServicoLoteRepository {
+
+    private static final String INSERT_ORDEM = "INSERT INTO ordem_servico "
+            + "(status, data_criacao, observacoes, veiculo_id, cliente_id, veiculo_placa, veiculo_modelo, "
+            + "cliente_nome, versao) "
+            + "VALUES (:status, :dataCriacao, :observacoes, :veiculoId, :clienteId, :veiculoPlaca, :veiculoModelo, "
+            + ":clienteNome, 0)";
+
+    private static final String INSERT_SERVICO = "INSERT INTO ordem_servico_servicos "
+            + "(ordem_servico_id, servico_id) VALUES (:ordemServicoId, :servicoId)";
+
+    private static final String INSERT_ITEM = "INSERT INTO item_ordem_servico "
+            + "(ordem_servico_id, produto_catalogo_id, quantidade, preco_unitario) "
+            + "VALUES (:ordemServicoId, :produtoCatalogoId, :quantidade, :precoUnitario)";
+
+    private static final String UPDATE_TRANSICAO = "UPDATE ordem_servico SET status = :destino, "
+            + "versao = versao + 1, "
+            + "observacoes = COALESCE(:observacoes, observacoes), "
+            + "data_inicio_diagnostico = COALESCE(data_inicio_diagnostico, :dataInicioDiagnostico), "
+            + "data_inicio_execucao = COALESCE(:dataInicioExecucao, data_inicio_execucao), "
+            + "data_termino_execucao = COALESCE(:dataTerminoExecucao, data_termino_execucao), "
+            + "data_entrega = COALESCE(:dataEntrega, data_entrega) "
+            + "WHERE id = :id AND status = :origem AND versao = :versao";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Insere as ordens, com seus serviços e itens, na transação corrente e preenche os IDs
+     * gerados (e a versão inicial) nas próprias entidades, que continuam não gerenciadas.
+     */
+    public void inserir(List<OrdemServico> ordens) {
+        if (ordens.isEmpty()) {
+            return;
+        }
+
+        SqlParameterSource[] ordensParametros = ordens.stream()
+                .map(os -> new MapSqlParameterSource()
+                        .addValue("status", os.getStatus().name())
+                        .addValue("dataCriacao", os.getDataCriacao())
+                        .addValue("observacoes", os.getObservacoes())
+                        .addValue("veiculoId", os.getVeiculoId())
+                        .addValue("clienteId", os.getClienteId())
+                        .addValue("veiculoPlaca", os.getVeiculoPlaca())
+                        .addValue("veiculoModelo", os.getVeiculoModelo())
+                        .addValue("clienteNome", os.getClienteNome()))
+                .toArray(SqlParameterSource[]::new);
+        KeyHolder chaves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_ORDEM, ordensParametros, chaves, new String[]{"id"});
+
+        List<Map<String, Object>> ids = chaves.getKeyList();
+        if (ids.size() != ordens.size()) {
+            throw new IllegalStateException("O banco retornou " + ids.size() + " IDs para " + ordens.size() + " ordens");
+        }
+        for (int i = 0; i < ordens.size(); i++) {
+            OrdemServico os = ordens.get(i);
+            os.setId(((Number) ids.get(i).values().iterator().next()).longValue());
+            os.setVersao(0L);
+        }
+
+        List<SqlParameterSource> servicos = new ArrayList<>();
+        List<SqlParameterSource> itens = new ArrayList<>();
+        for (OrdemServico os : ordens) {
+            os.getServicosIds().forEach(servicoId -> servicos.add(new MapSqlParameterSource()
+                    .addValue("ordemServicoId", os.getId())
+                    .addValue("servicoId", servicoId)));
+            for (ItemOrdemServico item : os.getItensOrdemServico()) {
+                itens.add(new MapSqlParameterSource()
+                        .addValue("ordemServicoId", os.getId())
+                        .addValue("produtoCatalogoId", item.getProdutoCatalogoId())
+                        .addValue("quantidade", item.getQuantidade())
+                        .addValue("precoUnitario", item.getPrecoUnitario()));
+            }
+        }
+        if (!servicos.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SERVICO, servicos.toArray(SqlParameterSource[]::new));
+        }
+        if (!itens.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ITEM, itens.toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    /**
+     * Versão em lote de {@link OrdemServicoRepository#transicionarStatus}: cada ordem só avança se
+     * ainda estiver no status e na versão lidos em {@code estados}. Ordens alteradas por outra
+     * operação depois da leitura ficam de fora, mesmo que tenham voltado a um status de origem.
+     *
+     * @return IDs das ordens atualizadas, na ordem de {@code estados}
+     */
+    public Set<Long> transicionar(Collection<EstadoOrdemServico> estados, StatusOrdemServico destino,
+                                  String observacoes, LocalDateTime dataInicioDiagnostico,
+                                  LocalDateTime dataInicioExecucao, LocalDateTime dataTerminoExecucao,
+                                  LocalDateTime dataEntrega) {
+        if (estados.isEmpty()) {
+            return Set.of();
+        }
+
+        List<EstadoOrdemServico> lidos = List.copyOf(estados);
+        SqlParameterSource[] parametros = lidos.stream()
+                .map(estado -> new MapSqlParameterSource()
+                        .addValue("id", estado.getId())
+                        .addValue("origem", estado.getStatus().name())
+                        .addValue("versao", estado.getVersao())
+                        .addValue("destino", destino.name())
+                        .addValue("observacoes", observacoes, Types.VARCHAR)
+                        .addValue("dataInicioDiagnostico", dataInicioDiagnostico, Types.TIMESTAMP)
+                        .addValue("dataInicioExecucao", dataInicioExecucao, Types.TIMESTAMP)
+                        .addValue("dataTerminoExecucao", dataTerminoExecucao, Types.TIMESTAMP)
+                        .addValue("dataEntrega", dataEntrega, Types.TIMESTAMP))
+                .toArray(SqlParameterSource[]::new);
+        int[] alteradas = jdbcTemplate.batchUpdate(UPDATE_TRANSICAO, parametros);
+
+        Set<Long> aplicadas = new LinkedHashSet<>();
+        for (int i = 0; i < lidos.size(); i++) {
+            if (alteradas[i] > 0) {
+                aplicadas.add(lidos.get(i).getId());
+            }
+        }
+        return aplicadas;
+    }
+}
@@ -1,12 +1,20 @@
 package br.com.fiap.oficina.workorder.repository;
 
 import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
 import br.com.fiap.oficina.workorder.entity.OrdemServico;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrdemServicoRepository extends JpaRepository<OrdemServico, Long> {
@@ -19,6 +27,209 @@ public interface OrdemServicoRepository extends JpaRepository<OrdemServico, Long
 
     List<OrdemServico> findByMecanicoId(Long mecanicoId);
 
+    @Query("SELECT i FROM ItemOrdemServico i WHERE i.id IN :ids")
+    List<ItemOrdemServico> findItensByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT os FROM OrdemServico os WHERE os.status = 'AGUARDANDO_APROVACAO' OR os.orcamentoId IS NOT NULL")
     List<OrdemServico> findOrdensAtualizadas();
+
+    @Query("SELECT os.id FROM OrdemServico os WHERE os.id > :ultimoId ORDER BY os.id")
+    List<Long> findIdsAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    @Query("SELECT os.id FROM OrdemServico os WHERE NOT EXISTS "
+            + "(SELECT 1 FROM OrdemServicoLeitura l WHERE l.ordemServicoId = os.id) ORDER BY os.id")
+    List<Long> findIdsSemProjecao(Pageable pageable);
+
+    /**
+     * IDs das ordens que atendem aos filtros, na ordem pedida. Filtros nulos são ignorados;
+     * placa é comparada por prefixo e cliente e modelo por trecho, já normalizados por quem
+     * chama. No PostgreSQL os trechos usam os índices de trigramas sobre {@code lower(cliente_nome)}
+     * e {@code lower(veiculo_modelo)} criados por {@code indices-busca-postgres.sql}.
+     */
+    @Query("SELECT os.id FROM OrdemServico os WHERE os.status IN :status "
+            + "AND (:placa IS NULL OR os.veiculoPlaca LIKE :placa) "
+            + "AND (:cliente IS NULL OR LOWER(os.clienteNome) LIKE :cliente) "
+            + "AND (:modelo IS NULL OR LOWER(os.veiculoModelo) LIKE :modelo)")
+    List<Long> findIdsFiltrados(@Param("status") Collection<StatusOrdemServico> status,
+                                @Param("placa") String placa,
+                                @Param("cliente") String cliente,
+                                @Param("modelo") String modelo,
+                                Sort sort);
+
+    @Query("SELECT DISTINCT os.clienteId FROM OrdemServico os WHERE os.clienteId > :ultimoId ORDER BY os.clienteId")
+    List<Long> findClientesIdsApos(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    @Query("SELECT DISTINCT os.veiculoId FROM OrdemServico os WHERE os.veiculoId > :ultimoId ORDER BY os.veiculoId")
+    List<Long> findVeiculosIdsApos(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Cópias de cliente e veículo gravadas nas ordens; uma referência com cópias divergentes
+     * entre ordens aparece mais de uma vez.
+     */
+    interface CopiaCliente {
+        Long getClienteId();
+
+        String getClienteNome();
+    }
+
+    interface CopiaVeiculo {
+        Long getVeiculoId();
+
+        String getVeiculoPlaca();
+
+        String getVeiculoModelo();
+    }
+
+    @Query("SELECT DISTINCT os.clienteId AS clienteId, os.clienteNome AS clienteNome "
+            + "FROM OrdemServico os WHERE os.clienteId IN :ids")
+    List<CopiaCliente> findCopiasClientes(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT os.veiculoId AS veiculoId, os.veiculoPlaca AS veiculoPlaca, os.veiculoModelo AS veiculoModelo "
+            + "FROM OrdemServico os WHERE os.veiculoId IN :ids")
+    List<CopiaVeiculo> findCopiasVeiculos(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ordens em que a cópia diverge, com a mesma condição de {@link #atualizarCopiaCliente} e
+     * {@link #atualizarCopiaVeiculo}, para reprojetar as que serão atualizadas.
+     */
+    @Query("SELECT os.id FROM OrdemServico os "
+            + "WHERE os.clienteId = :clienteId AND COALESCE(os.clienteNome, '') <> COALESCE(:nome, '')")
+    List<Long> findIdsCopiaClienteDivergente(@Param("clienteId") Long clienteId, @Param("nome") String nome);
+
+    @Query("SELECT os.id FROM OrdemServico os "
+            + "WHERE os.veiculoId = :veiculoId AND (COALESCE(os.veiculoPlaca, '') <> COALESCE(:placa, '') "
+            + "OR COALESCE(os.veiculoModelo, '') <> COALESCE(:modelo, ''))")
+    List<Long> findIdsCopiaVeiculoDivergente(@Param("veiculoId") Long veiculoId,
+                                             @Param("placa") String placa,
+                                             @Param("modelo") String modelo);
+
+    /**
+     * Atualiza a cópia apenas nas ordens em que ela diverge, sem alterar a versão.
+     */
+    @Modifying
+    @Query("UPDATE OrdemServico os SET os.clienteNome = :nome "
+            + "WHERE os.clienteId = :clienteId AND COALESCE(os.clienteNome, '') <> COALESCE(:nome, '')")
+    int atualizarCopiaCliente(@Param("clienteId") Long clienteId, @Param("nome") String nome);
+
+    @Modifying
+    @Query("UPDATE OrdemServico os SET os.veiculoPlaca = :placa, os.veiculoModelo = :modelo "
+            + "WHERE os.veiculoId = :veiculoId AND (COALESCE(os.veiculoPlaca, '') <> COALESCE(:placa, '') "
+            + "OR COALESCE(os.veiculoModelo, '') <> COALESCE(:modelo, ''))")
+    int atualizarCopiaVeiculo(@Param("veiculoId") Long veiculoId,
+                              @Param("placa") String placa,
+                              @Param("modelo") String modelo);
+
+    /**
+     * Reserva com {@code FOR UPDATE SKIP LOCKED} o próximo lote de ordens entregues antes do
+     * limite, para o arquivamento. Ordens bloqueadas por uma alteração em andamento ficam para
+     * o lote seguinte.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT os FROM OrdemServico os WHERE os.status = 'ENTREGUE' AND os.dataEntrega < :limite ORDER BY os.id")
+    List<OrdemServico> reservarEntreguesAntesDe(@Param("limite") LocalDateTime limite, Pageable pageable);
+
+    @Query("SELECT os.id FROM OrdemServico os WHERE os.clienteId = :clienteId")
+    List<Long> findIdsByClienteId(@Param("clienteId") Long clienteId);
+
+    @Query("SELECT os.id FROM OrdemServico os WHERE os.veiculoId = :veiculoId")
+    List<Long> findIdsByVeiculoId(@Param("veiculoId") Long veiculoId);
+
+    @Query("SELECT DISTINCT os.id FROM OrdemServico os JOIN os.servicosIds servicoId WHERE servicoId = :servicoId")
+    List<Long> findIdsByServicoId(@Param("servicoId") Long servicoId);
+
+    /**
+     * Carrega a ordem somente se ela ainda estiver na versão informada, bloqueando-a até o fim
+     * da transação e incrementando a versão mesmo que apenas as coleções mudem. A condição de
+     * versão é reavaliada depois de obtido o bloqueio, então alterações condicionadas à mesma
+     * versão não são aplicadas duas vezes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT os FROM OrdemServico os WHERE os.id = :id AND os.versao = :versao")
+    Optional<OrdemServico> bloquearNaVersao(@Param("id") Long id, @Param("versao") Long versao);
+
+    /**
+     * Bloqueia a ordem em modo compartilhado ({@code FOR SHARE}) se ela aceitar alterações de
+     * serviços e produtos; toda alteração deles o obtém antes de gravar. Alterações concorrentes
+     * na mesma ordem não se bloqueiam entre si; uma transição de status espera que terminem, e a
+     * alteração espera a transição em andamento e reavalia o status.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT os.id FROM OrdemServico os WHERE os.id = :id AND os.status <> 'AGUARDANDO_APROVACAO'")
+    Optional<Long> bloquearParaItens(@Param("id") Long id);
+
+    /**
+     * Inclui o serviço em um único INSERT condicionado ao status; não faz nada se ele já estiver
+     * na ordem.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ordem_servico_servicos (ordem_servico_id, servico_id) "
+            + "SELECT os.id, :servicoId FROM ordem_servico os "
+            + "WHERE os.id = :id AND os.status <> 'AGUARDANDO_APROVACAO' AND NOT EXISTS "
+            + "(SELECT 1 FROM ordem_servico_servicos s WHERE s.ordem_servico_id = os.id AND s.servico_id = :servicoId)",
+            nativeQuery = true)
+    int adicionarServico(@Param("id") Long id, @Param("servicoId") Long servicoId);
+
+    @Modifying
+    @Query(value = "DELETE FROM ordem_servico_servicos WHERE ordem_servico_id = :id AND servico_id = :servicoId "
+            + "AND EXISTS (SELECT 1 FROM ordem_servico os WHERE os.id = :id AND os.status <> 'AGUARDANDO_APROVACAO')",
+            nativeQuery = true)
+    int removerServico(@Param("id") Long id, @Param("servicoId") Long servicoId);
+
+    /**
+     * Estado mínimo para decidir uma transição, sem carregar a entidade nem suas coleções.
+     */
+    interface EstadoOrdemServico {
+        Long getId();
+
+        StatusOrdemServico getStatus();
+
+        Long getVersao();
+
+        Long getVeiculoId();
+
+        Long getMecanicoId();
+
+        LocalDateTime getDataCriacao();
+
+        LocalDateTime getDataInicioDiagnostico();
+
+        LocalDateTime getDataInicioExecucao();
+
+        LocalDateTime getDataTerminoExecucao();
+    }
+
+    String SELECT_ESTADO = "SELECT os.id AS id, os.status AS status, os.versao AS versao, os.veiculoId AS veiculoId, "
+            + "os.mecanicoId AS mecanicoId, os.dataCriacao AS dataCriacao, os.dataInicioDiagnostico AS dataInicioDiagnostico, "
+            + "os.dataInicioExecucao AS dataInicioExecucao, os.dataTerminoExecucao AS dataTerminoExecucao "
+            + "FROM OrdemServico os ";
+
+    @Query(SELECT_ESTADO + "WHERE os.id = :id")
+    Optional<EstadoOrdemServico> findEstadoById(@Param("id") Long id);
+
+    @Query(SELECT_ESTADO + "WHERE os.id IN :ids")
+    List<EstadoOrdemServico> findEstadosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Aplica a transição em um único UPDATE condicionado ao status e à versão lidos. Retorna
+     * 0 se outra operação alterou a ordem nesse intervalo. Datas e observações nulas são
+     * preservadas.
+     */
+    @Modifying
+    @Query("UPDATE OrdemServico os SET os.status = :destino, os.versao = os.versao + 1, "
+            + "os.observacoes = COALESCE(:observacoes, os.observacoes), "
+            + "os.dataInicioDiagnostico = COALESCE(os.dataInicioDiagnostico, :dataInicioDiagnostico), "
+            + "os.dataInicioExecucao = COALESCE(:dataInicioExecucao, os.dataInicioExecucao), "
+            + "os.dataTerminoExecucao = COALESCE(:dataTerminoExecucao, os.dataTerminoExecucao), "
+            + "os.dataEntrega = COALESCE(:dataEntrega, os.dataEntrega) "
+            + "WHERE os.id = :id AND os.status = :origem AND os.versao = :versao")
+    int transicionarStatus(@Param("id") Long id,
+                           @Param("origem") StatusOrdemServico origem,
+                           @Param("versao") Long versao,
+                           @Param("destino") StatusOrdemServico destino,
+                           @Param("observacoes") String observacoes,
+                           @Param("dataInicioDiagnostico") LocalDateTime dataInicioDiagnostico,
+                           @Param("dataInicioExecucao") LocalDateTime dataInicioExecucao,
+                           @Param("dataTerminoExecucao") LocalDateTime dataTerminoExecucao,
+                           @Param("dataEntrega") LocalDateTime dataEntrega);
 }
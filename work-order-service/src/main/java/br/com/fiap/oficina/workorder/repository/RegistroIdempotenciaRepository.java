@@ -0,0 +1,31 @@
+package br.com.fiap.oficina.workorder.repository;
+
+import br.com.fiap.oficina.workorder.entity.RegistroIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RegistroIdempotenciaRepository extends JpaRepository<RegistroIdempotencia, String> {
+
+    /**
+     * INSERT direto, sem o SELECT que o {@code save} faria por a chave ser atribuída. Uma
+     * chave já gravada viola a chave primária e desfaz a transação da alteração.
+     */
+    @Modifying
+    @Query("INSERT INTO RegistroIdempotencia (chave, operacao, hashPedido, resposta, expiraEm) "
+            + "VALUES (:chave, :operacao, :hashPedido, :resposta, :expiraEm)")
+    int registrar(@Param("chave") String chave,
+                  @Param("operacao") String operacao,
+                  @Param("hashPedido") String hashPedido,
+                  @Param("resposta") String resposta,
+                  @Param("expiraEm") LocalDateTime expiraEm);
+
+    @Modifying
+    @Query("DELETE FROM RegistroIdempotencia r WHERE r.expiraEm < :agora")
+    int removerExpiradosAntesDe(@Param("agora") LocalDateTime agora);
+}
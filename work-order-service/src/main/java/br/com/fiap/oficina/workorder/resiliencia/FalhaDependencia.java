@@ -0,0 +1,23 @@
+package br.com.fiap.oficina.workorder.resiliencia;
+
+import feign.FeignException;
+
+import java.util.function.Predicate;
+
+/**
+ * Decide quais erros indicam problema na dependência remota: falhas de rede e timeouts
+ * (status negativo), 429 e 5xx. Demais respostas HTTP são erros do pedido; não contam para o
+ * circuit breaker, não são repetidas e não acionam o fallback.
+ * <p>
+ * Referenciada em {@code resilience4j.circuitbreaker} e {@code resilience4j.retry} no application.yml.
+ */
+public class FalhaDependencia implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable erro) {
+        if (erro instanceof FeignException feign) {
+            return feign.status() < 0 || feign.status() == 429 || feign.status() >= 500;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.fiap.oficina.workorder.resiliencia;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Último valor obtido com sucesso de uma dependência, por ID, servido como fallback
+ * enquanto ela estiver indisponível. As entradas expiram após {@code retencao} sem nova
+ * leitura bem-sucedida. O uso do fallback é contado em {@code workorder.dependencia.fallback}.
+ */
+@Slf4j
+public class UltimoValorConhecido<T> {
+
+    /**
+     * @param retencao     por quanto tempo o último valor obtido pode ser servido
+     * @param tamanhoMaximo entradas guardadas por dependência
+     */
+    public record Limites(Duration retencao, long tamanhoMaximo) {
+    }
+
+    private static final FalhaDependencia FALHA_DEPENDENCIA = new FalhaDependencia();
+
+    private final String dependencia;
+    private final Cache<Long, T> valores;
+    private final Function<T, Long> idDe;
+    private final MeterRegistry meterRegistry;
+
+    public UltimoValorConhecido(String dependencia, Function<T, Long> idDe, Limites limites,
+                                MeterRegistry meterRegistry) {
+        this.dependencia = dependencia;
+        this.idDe = idDe;
+        this.meterRegistry = meterRegistry;
+        this.valores = Caffeine.newBuilder()
+                .maximumSize(limites.tamanhoMaximo())
+                .expireAfterWrite(limites.retencao())
+                .build();
+
+        Gauge.builder("workorder.dependencia.ultimo-valor.tamanho", valores, Cache::estimatedSize)
+                .description("Entradas guardadas para fallback da dependência")
+                .tag("dependencia", dependencia)
+                .register(meterRegistry);
+    }
+
+    public T guardar(T valor) {
+        if (valor != null) {
+            valores.put(idDe.apply(valor), valor);
+        }
+        return valor;
+    }
+
+    public List<T> guardarTodos(List<T> lista) {
+        if (lista != null) {
+            lista.forEach(this::guardar);
+        }
+        return lista;
+    }
+
+    public Optional<T> buscar(Long id) {
+        return Optional.ofNullable(valores.getIfPresent(id));
+    }
+
+    /**
+     * Devolve os valores apenas se todos os IDs tiverem um último valor conhecido: uma lista
+     * parcial seria indistinguível de IDs inexistentes para quem chamou.
+     */
+    public Optional<List<T>> buscarTodos(Collection<Long> ids) {
+        Map<Long, T> encontrados = valores.getAllPresent(ids);
+        if (encontrados.size() < ids.stream().distinct().count()) {
+            return Optional.empty();
+        }
+        return Optional.of(new ArrayList<>(encontrados.values()));
+    }
+
+    /**
+     * Fallback de uma chamada que falhou: serve o último valor de {@code id} ou relança
+     * {@code erro} quando a falha não é da dependência ou não há valor guardado.
+     */
+    public T servir(Long id, Throwable erro) throws Throwable {
+        return servir(erro, () -> buscar(id));
+    }
+
+    public List<T> servirTodos(Collection<Long> ids, Throwable erro) throws Throwable {
+        return servir(erro, () -> buscarTodos(ids));
+    }
+
+    private <R> R servir(Throwable erro, Supplier<Optional<R>> ultimoValor) throws Throwable {
+        if (!FALHA_DEPENDENCIA.test(erro)) {
+            throw erro;
+        }
+        Optional<R> fallback = ultimoValor.get();
+        meterRegistry.counter("workorder.dependencia.fallback", "dependencia", dependencia,
+                "resultado", fallback.isPresent() ? "ultimo_valor" : "indisponivel").increment();
+        if (fallback.isEmpty()) {
+            throw erro;
+        }
+        log.warn("{} indisponível ({}); servindo último valor conhecido", dependencia, erro.getMessage());
+        return fallback.get();
+    }
+}
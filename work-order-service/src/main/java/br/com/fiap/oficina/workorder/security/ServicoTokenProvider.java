@@ -0,0 +1,39 @@
+package br.com.fiap.oficina.workorder.security;
+
+import br.com.fiap.oficina.shared.security.AuthorizationContext;
+import br.com.fiap.oficina.shared.security.JwtTokenProvider;
+import br.com.fiap.oficina.shared.security.PapelServico;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Fornece credenciais para chamadas Feign feitas por rotinas em segundo plano, que não
+ * possuem uma requisição de usuário de onde herdar o header Authorization. O token carrega
+ * apenas {@link PapelServico#ROLE_SERVICO}, aceito somente nas consultas a clientes, veículos,
+ * serviços e produtos de que a projeção e a reconciliação de referências precisam.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServicoTokenProvider {
+
+    private static final String USUARIO_SERVICO = "work-order-service";
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    /**
+     * Executa a tarefa com o header da requisição corrente, se houver, ou com um token
+     * emitido para o próprio serviço.
+     */
+    public <T> T executarComoServico(Supplier<T> tarefa) {
+        if (AuthorizationContext.current() != null) {
+            return tarefa.get();
+        }
+        String token = jwtTokenProvider.generateToken(USUARIO_SERVICO,
+                List.of(new SimpleGrantedAuthority(PapelServico.ROLE_SERVICO)));
+        return AuthorizationContext.callWith("Bearer " + token, tarefa);
+    }
+}
@@ -0,0 +1,169 @@
+package br.com.fiap.oficina.workorder.selecao;
+
+import br.com.fiap.oficina.shared.exception.BusinessException;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.enricher.OrdemServicoEnricher;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Campos pedidos com {@code ?fields=} e relações pedidas com {@code ?expand=} nas leituras de
+ * ordens de serviço.
+ * <p>
+ * Sem nenhum dos parâmetros a resposta é completa, como antes. Com {@code expand}, vêm os
+ * campos simples e apenas as relações listadas ({@code cliente}, {@code veiculo},
+ * {@code servicos}, {@code itens}). Com {@code fields}, vêm apenas os campos listados; um
+ * caminho como {@code cliente.nome} restringe também os campos da relação, que é expandida
+ * implicitamente.
+ */
+public final class SelecaoCampos {
+
+    public static final String PARAMETRO_CAMPOS = "fields";
+    public static final String PARAMETRO_EXPANDIR = "expand";
+
+    /**
+     * Relações expansíveis e a propriedade correspondente no JSON.
+     */
+    static final Map<String, String> RELACOES = Map.of(
+            "cliente", "cliente",
+            "veiculo", "veiculo",
+            "servicos", "servicos",
+            "itens", "itensOrdemServico");
+
+    private static final Map<String, String> DEPENDENCIAS = Map.of(
+            "cliente", OrdemServicoEnricher.CLIENTE,
+            "veiculo", OrdemServicoEnricher.VEICULO,
+            "servicos", OrdemServicoEnricher.SERVICOS);
+
+    private static final Set<String> PROPRIEDADES = Arrays.stream(OrdemServicoResponseDTO.class.getDeclaredFields())
+            .filter(campo -> !Modifier.isStatic(campo.getModifiers()))
+            .map(Field::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private static final SelecaoCampos COMPLETA = new SelecaoCampos(null, Set.copyOf(RELACOES.values()));
+
+    /**
+     * Propriedade de primeiro nível para os subcampos pedidos; conjunto vazio é a propriedade
+     * inteira. {@code null} quando {@code fields} não foi informado.
+     */
+    private final Map<String, Set<String>> campos;
+    private final Set<String> expandidas;
+
+    private SelecaoCampos(Map<String, Set<String>> campos, Set<String> expandidas) {
+        this.campos = campos;
+        this.expandidas = expandidas;
+    }
+
+    public static SelecaoCampos de(String campos, String expandir) {
+        if (campos == null && expandir == null) {
+            return COMPLETA;
+        }
+
+        Set<String> expandidas = new HashSet<>();
+        for (String relacao : nomes(expandir)) {
+            String propriedade = RELACOES.get(relacao);
+            if (propriedade == null) {
+                throw new BusinessException("Relação '" + relacao + "' não pode ser expandida. Use: "
+                        + String.join(", ", new TreeSet<>(RELACOES.keySet())));
+            }
+            expandidas.add(propriedade);
+        }
+
+        Map<String, Set<String>> selecionados = null;
+        if (campos != null) {
+            selecionados = new LinkedHashMap<>();
+            for (String caminho : nomes(campos)) {
+                String[] partes = caminho.split("\\.", 2);
+                String propriedade = RELACOES.getOrDefault(partes[0], partes[0]);
+                if (!PROPRIEDADES.contains(propriedade)) {
+                    throw new BusinessException("Campo '" + partes[0] + "' não existe na ordem de serviço");
+                }
+                Set<String> subcampos = selecionados.computeIfAbsent(propriedade, chave -> new LinkedHashSet<>());
+                if (partes.length > 1) {
+                    subcampos.add(partes[1]);
+                } else {
+                    // A propriedade inteira prevalece sobre subcampos listados separadamente
+                    selecionados.put(propriedade, Set.of());
+                }
+            }
+            for (String propriedade : selecionados.keySet()) {
+                if (RELACOES.containsValue(propriedade)) {
+                    expandidas.add(propriedade);
+                }
+            }
+        }
+        return new SelecaoCampos(selecionados, expandidas);
+    }
+
+    public boolean isCompleta() {
+        return this == COMPLETA;
+    }
+
+    /**
+     * Dependências remotas que precisam ser consultadas para montar a resposta.
+     */
+    public Set<String> dependencias() {
+        Set<String> dependencias = new HashSet<>();
+        DEPENDENCIAS.forEach((relacao, dependencia) -> {
+            if (expandidas.contains(RELACOES.get(relacao))) {
+                dependencias.add(dependencia);
+            }
+        });
+        return dependencias;
+    }
+
+    /**
+     * Remove da resposta (um objeto ou uma lista de objetos) o que não foi pedido.
+     */
+    public JsonNode aplicar(JsonNode resposta) {
+        if (isCompleta()) {
+            return resposta;
+        }
+        if (resposta instanceof ArrayNode lista) {
+            lista.forEach(this::aplicar);
+        } else if (resposta instanceof ObjectNode objeto) {
+            objeto.properties().removeIf(propriedade -> !manter(propriedade.getKey()));
+            if (campos != null) {
+                campos.forEach((propriedade, subcampos) -> {
+                    if (!subcampos.isEmpty() && objeto.has(propriedade)) {
+                        restringir(objeto.get(propriedade), subcampos);
+                    }
+                });
+            }
+        }
+        return resposta;
+    }
+
+    private boolean manter(String propriedade) {
+        if (campos != null) {
+            return campos.containsKey(propriedade) || expandidas.contains(propriedade);
+        }
+        return !RELACOES.containsValue(propriedade) || expandidas.contains(propriedade);
+    }
+
+    private static void restringir(JsonNode valor, Set<String> subcampos) {
+        if (valor instanceof ArrayNode lista) {
+            lista.forEach(item -> restringir(item, subcampos));
+        } else if (valor instanceof ObjectNode objeto) {
+            Set<String> primeiroNivel = new HashSet<>();
+            subcampos.forEach(subcampo -> primeiroNivel.add(subcampo.split("\\.", 2)[0]));
+            objeto.properties().removeIf(propriedade -> !primeiroNivel.contains(propriedade.getKey()));
+        }
+    }
+
+    private static List<String> nomes(String lista) {
+        if (lista == null) {
+            return List.of();
+        }
+        return Arrays.stream(lista.split(","))
+                .map(String::trim)
+                .filter(nome -> !nome.isEmpty())
+                .toList();
+    }
+}
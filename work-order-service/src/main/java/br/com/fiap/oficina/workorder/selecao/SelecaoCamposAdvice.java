@@ -0,0 +1,58 @@
+package br.com.fiap.oficina.workorder.selecao;
+
+import br.com.fiap.oficina.workorder.controller.OrdemServicoController;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Collection;
+
+/**
+ * Aplica {@code ?fields=} e {@code ?expand=} às ordens de serviço devolvidas pelas leituras de
+ * {@link OrdemServicoController}, removendo do JSON o que não foi pedido.
+ */
+@RestControllerAdvice(assignableTypes = OrdemServicoController.class)
+@RequiredArgsConstructor
+public class SelecaoCamposAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!HttpMethod.GET.equals(request.getMethod()) || !ordemServico(body)
+                || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        SelecaoCampos selecao = SelecaoCampos.de(
+                servletRequest.getServletRequest().getParameter(SelecaoCampos.PARAMETRO_CAMPOS),
+                servletRequest.getServletRequest().getParameter(SelecaoCampos.PARAMETRO_EXPANDIR));
+        if (selecao.isCompleta()) {
+            return body;
+        }
+        return selecao.aplicar(objectMapper.valueToTree(body));
+    }
+
+    private static boolean ordemServico(Object body) {
+        if (body instanceof Collection<?> lista) {
+            return !lista.isEmpty() && lista.stream().allMatch(OrdemServicoResponseDTO.class::isInstance);
+        }
+        return body instanceof OrdemServicoResponseDTO;
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.fiap.oficina.workorder.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public interface IdempotenciaService {
+
+    String HEADER = "Idempotency-Key";
+    String HEADER_REPETIDA = "Idempotent-Replayed";
+
+    String OPERACAO_CRIAR_ORDEM = "CRIAR_ORDEM_SERVICO";
+    String OPERACAO_ADICIONAR_PRODUTOS = "ADICIONAR_PRODUTOS";
+    String OPERACAO_RECEPCAO_LOTE = "RECEPCAO_LOTE";
+
+    record Resultado<T>(T corpo, boolean repetida) {
+    }
+
+    /**
+     * Executa a ação com a chave informada. A resposta é gravada pela própria ação, com
+     * {@link #registrarResposta(Object)}, dentro da sua transação; se a chave já existir, a
+     * transação é desfeita e a resposta gravada anteriormente é devolvida. Sem chave, a ação
+     * é apenas executada.
+     *
+     * @throws br.com.fiap.oficina.shared.exception.ConflitoException se a chave já foi usada
+     *                                                               com outro pedido
+     */
+    <T> Resultado<T> executar(String chave, String operacao, Object pedido, TypeReference<T> tipo, Supplier<T> acao);
+
+    /**
+     * Busca a resposta gravada para a chave, sem executar nada.
+     */
+    <T> Optional<T> buscar(String chave, String operacao, Object pedido, TypeReference<T> tipo);
+
+    /**
+     * Grava a resposta da execução em andamento na transação corrente; não faz nada se a
+     * requisição não tiver {@code Idempotency-Key}.
+     */
+    void registrarResposta(Object resposta);
+}
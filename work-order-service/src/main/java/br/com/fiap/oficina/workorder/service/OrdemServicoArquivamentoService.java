@@ -0,0 +1,27 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface OrdemServicoArquivamentoService {
+
+    /**
+     * Move para as tabelas de arquivo, em lotes com uma transação cada, as ordens entregues
+     * antes do limite. A projeção de leitura dessas ordens é removida junto.
+     *
+     * @return quantidade de ordens arquivadas
+     */
+    int arquivarEntreguesAntesDe(LocalDateTime limite);
+
+    /**
+     * Ordem arquivada remontada como {@link OrdemServico} não gerenciada, com serviços e
+     * itens, para ser enriquecida como uma ordem ativa. Não deve ser salva.
+     */
+    Optional<OrdemServico> buscarArquivada(Long id);
+
+    Optional<Long> versaoArquivada(Long id);
+
+    boolean arquivada(Long id);
+}
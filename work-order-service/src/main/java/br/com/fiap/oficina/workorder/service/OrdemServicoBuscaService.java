@@ -0,0 +1,15 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.workorder.dto.response.BuscaOrdemServicoResponseDTO;
+
+public interface OrdemServicoBuscaService {
+
+    int TAMANHO_MAXIMO_PAGINA = 100;
+
+    /**
+     * Busca ordens pela placa do veículo, nome do cliente ou observações, sobre a projeção
+     * de leitura. Todas as palavras do termo precisam aparecer, aceitando prefixos; os
+     * resultados vêm do mais relevante para o menos relevante.
+     */
+    BuscaOrdemServicoResponseDTO buscar(String termo, int pagina, int tamanho);
+}
@@ -0,0 +1,47 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface OrdemServicoExportacaoService {
+
+    enum Formato {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extensao;
+
+        Formato(String contentType, String extensao) {
+            this.contentType = contentType;
+            this.extensao = extensao;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+    }
+
+    /**
+     * Escreve as ordens que atendem aos filtros diretamente no {@code out}, lendo-as do banco
+     * via cursor; a memória usada não depende da quantidade de ordens exportadas.
+     *
+     * @return quantidade de ordens exportadas
+     */
+    long exportar(Formato formato, List<StatusOrdemServico> status, LocalDate dataInicio,
+                  LocalDate dataFim, Long mecanicoId, OutputStream out) throws IOException;
+
+    /**
+     * Tempo máximo da transmissão assíncrona de uma exportação.
+     */
+    Duration getTimeout();
+}
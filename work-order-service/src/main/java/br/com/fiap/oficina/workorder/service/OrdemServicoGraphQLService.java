@@ -0,0 +1,49 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.dto.response.ClienteResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ProdutoCatalogoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Leituras usadas pelos resolvers GraphQL: as ordens, com as coleções selecionadas já
+ * inicializadas, e os cadastros dos demais microserviços, buscados em lote.
+ */
+public interface OrdemServicoGraphQLService {
+
+    int LIMITE_PADRAO = 50;
+    int LIMITE_MAXIMO = 500;
+
+    /**
+     * Coleções da ordem que a consulta seleciona e que devem ser carregadas antes de a
+     * transação terminar.
+     */
+    record Colecoes(boolean servicos, boolean itens) {
+    }
+
+    Optional<OrdemServico> buscar(Long id, Colecoes colecoes);
+
+    List<OrdemServico> listar(List<StatusOrdemServico> status, Long clienteId, Long veiculoId, Long mecanicoId,
+                              Integer limite, Colecoes colecoes);
+
+    /**
+     * Cada método faz uma chamada por lote de IDs na dependência, fora da thread da consulta e
+     * até o prazo de {@code workorder.enriquecimento.timeout}. IDs não encontrados ficam
+     * ausentes do mapa.
+     */
+    CompletableFuture<Map<Long, ClienteResponseDTO>> carregarClientes(Collection<Long> ids);
+
+    CompletableFuture<Map<Long, VeiculoResponseDTO>> carregarVeiculos(Collection<Long> ids);
+
+    CompletableFuture<Map<Long, ServicoResponseDTO>> carregarServicos(Collection<Long> ids);
+
+    CompletableFuture<Map<Long, ProdutoCatalogoResponseDTO>> carregarProdutos(Collection<Long> ids);
+}
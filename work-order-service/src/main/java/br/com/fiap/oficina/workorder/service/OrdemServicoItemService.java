@@ -0,0 +1,24 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoAtualizacaoDTO;
+import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoDTO;
+import br.com.fiap.oficina.workorder.dto.response.ItemOrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.OsItemDTO;
+
+/**
+ * Alterações de um único serviço ou produto da ordem, aplicadas diretamente na linha
+ * correspondente. Não carregam a ordem, não alteram sua versão e não concorrem com alterações
+ * de outros itens da mesma ordem; apenas ordens aguardando aprovação recusam a alteração.
+ */
+public interface OrdemServicoItemService {
+
+    OsItemDTO adicionarServico(Long ordemServicoId, Long servicoId);
+
+    void removerServico(Long ordemServicoId, Long servicoId);
+
+    ItemOrdemServicoResponseDTO adicionarProduto(Long ordemServicoId, ItemOrdemServicoDTO produto);
+
+    ItemOrdemServicoResponseDTO atualizarProduto(Long ordemServicoId, Long itemId, ItemOrdemServicoAtualizacaoDTO alteracao);
+
+    void removerProduto(Long ordemServicoId, Long itemId);
+}
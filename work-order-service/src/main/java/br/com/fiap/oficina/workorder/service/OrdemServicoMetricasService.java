@@ -0,0 +1,22 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.workorder.dto.response.TempoStatusPercentisDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface OrdemServicoMetricasService {
+
+    enum Agrupamento {
+        SEGMENTO,
+        MECANICO,
+        CATEGORIA_SERVICO
+    }
+
+    /**
+     * Calcula p50/p90/p99 do tempo em cada trecho do ciclo de vida para os trechos encerrados
+     * no período, agrupados também por mecânico ou categoria de serviço quando solicitado.
+     * Os percentis são calculados pelo banco; nenhuma ordem é carregada na aplicação.
+     */
+    List<TempoStatusPercentisDTO> calcularPercentis(LocalDate dataInicio, LocalDate dataFim, Agrupamento agrupamento);
+}
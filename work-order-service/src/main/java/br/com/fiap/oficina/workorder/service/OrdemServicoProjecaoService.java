@@ -0,0 +1,85 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.validator.MaquinaEstadosOrdemServico.DatasTransicao;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Mantém e consulta o modelo de leitura das ordens de serviço ({@code ordem_servico_leitura}).
+ */
+public interface OrdemServicoProjecaoService {
+
+    Optional<OrdemServicoResponseDTO> buscarPorId(Long ordemServicoId);
+
+    /**
+     * ETag da representação projetada, derivado da versão da ordem e do instante da última
+     * projeção (que muda também quando dados de cliente, veículo ou serviços são atualizados).
+     * Consulta apenas a chave primária, sem ler as colunas JSON.
+     */
+    Optional<String> etag(Long ordemServicoId);
+
+    List<OrdemServicoResponseDTO> listarTodos(List<StatusOrdemServico> status);
+
+    List<OrdemServicoResponseDTO> buscarPorMecanico(Long mecanicoId);
+
+    List<OrdemServicoResponseDTO> buscarAtualizadas();
+
+    /**
+     * Grava a projeção a partir de uma resposta já enriquecida, na transação corrente.
+     */
+    void salvar(OrdemServico os, OrdemServicoResponseDTO response);
+
+    /**
+     * Atualiza status, versão, datas e observações da projeção na transação corrente, após
+     * uma transição condicional. Retorna {@code false} se a ordem ainda não foi projetada ou
+     * se a projeção já está em {@code versao} ou numa versão posterior.
+     */
+    boolean aplicarTransicao(Long ordemServicoId, Long versao, StatusOrdemServico status,
+                             String observacoes, DatasTransicao datas);
+
+    /**
+     * Versão em lote de {@link #aplicarTransicao}; ordens ainda não projetadas são agendadas.
+     */
+    void aplicarTransicaoEmLote(Collection<Long> ordensServicoIds, StatusOrdemServico status,
+                                String observacoes, DatasTransicao datas);
+
+    List<OrdemServicoResponseDTO> buscarPorIds(Collection<Long> ordensServicoIds);
+
+    /**
+     * Agenda a reprojeção da ordem após o commit da transação corrente.
+     */
+    void agendar(Long ordemServicoId);
+
+    /**
+     * Agenda a projeção das ordens, em um único lote, após o commit da transação corrente.
+     */
+    void agendar(Collection<Long> ordensServicoIds);
+
+    void remover(Long ordemServicoId);
+
+    /**
+     * Relê as ordens, consulta os demais microserviços e grava as projeções.
+     */
+    int projetar(List<Long> ordensServicoIds);
+
+    /**
+     * Reprojeta, em segundo plano, as ordens afetadas por uma alteração de cadastro em
+     * outro microserviço.
+     */
+    CompletableFuture<Integer> atualizarPorCliente(Long clienteId);
+
+    CompletableFuture<Integer> atualizarPorVeiculo(Long veiculoId);
+
+    CompletableFuture<Integer> atualizarPorServico(Long servicoId);
+
+    /**
+     * Reprojeta todas as ordens e remove projeções órfãs, em lotes.
+     */
+    CompletableFuture<Long> reconstruir();
+}
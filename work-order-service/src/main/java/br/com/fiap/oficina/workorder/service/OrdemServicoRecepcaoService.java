@@ -0,0 +1,14 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.workorder.dto.request.RecepcaoLoteRequestDTO;
+import br.com.fiap.oficina.workorder.dto.response.RecepcaoLoteResponseDTO;
+
+public interface OrdemServicoRecepcaoService {
+
+    /**
+     * Abre uma ordem de serviço para cada veículo do lote. Clientes, veículos e serviços de
+     * todo o lote são validados com uma consulta em lote por dependência; veículos inválidos
+     * são rejeitados individualmente e os demais são gravados juntos, em uma transação.
+     */
+    RecepcaoLoteResponseDTO receber(RecepcaoLoteRequestDTO request);
+}
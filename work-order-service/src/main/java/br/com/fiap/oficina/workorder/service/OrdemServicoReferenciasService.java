@@ -0,0 +1,23 @@
+package br.com.fiap.oficina.workorder.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Manutenção das cópias de placa, modelo e nome do cliente gravadas nas ordens de serviço
+ * ({@link br.com.fiap.oficina.workorder.entity.OrdemServico#getVeiculoPlaca()}), que seguem o
+ * cadastro do customer-service. Apenas ordens com cópias divergentes são atualizadas.
+ */
+public interface OrdemServicoReferenciasService {
+
+    CompletableFuture<Integer> atualizarCliente(Long clienteId);
+
+    CompletableFuture<Integer> atualizarVeiculo(Long veiculoId);
+
+    /**
+     * Relê, em lotes, todos os clientes e veículos referenciados por ordens ativas e corrige
+     * as cópias desatualizadas.
+     *
+     * @return quantidade de ordens atualizadas
+     */
+    int reconciliar();
+}
@@ -3,21 +3,66 @@ package br.com.fiap.oficina.workorder.service;
 import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
 import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoDTO;
 import br.com.fiap.oficina.workorder.dto.request.OsRequestDTO;
+import br.com.fiap.oficina.workorder.dto.request.TransicaoLoteRequestDTO;
 import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
 import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResumoDTO;
 import br.com.fiap.oficina.workorder.dto.response.OsItemDTO;
+import br.com.fiap.oficina.workorder.dto.response.TransicaoLoteResponseDTO;
 import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.Set;
 
 public interface OrdemServicoService {
 
+    /**
+     * Campos aceitos em {@code ordenarPor} na listagem, todos gravados na própria ordem.
+     */
+    enum Ordenacao {
+        DATA_CRIACAO("dataCriacao"),
+        PLACA("veiculoPlaca"),
+        CLIENTE("clienteNome"),
+        MODELO("veiculoModelo"),
+        STATUS("status");
+
+        private final String propriedade;
+
+        Ordenacao(String propriedade) {
+            this.propriedade = propriedade;
+        }
+
+        public String getPropriedade() {
+            return propriedade;
+        }
+    }
+
     OrdemServicoResponseDTO criar(OsRequestDTO request);
 
     List<OrdemServicoResponseDTO> listarTodos(List<StatusOrdemServico> status);
 
+    /**
+     * Lista filtrando por prefixo da placa e por trecho do nome do cliente ou do modelo, e
+     * ordenando pelo campo pedido, sobre as cópias gravadas na ordem e indexadas; os detalhes
+     * são lidos da projeção. Sem filtros nem ordenação equivale a {@link #listarTodos(List)}.
+     */
+    List<OrdemServicoResponseDTO> listar(List<StatusOrdemServico> status, String placa, String cliente,
+                                         String modelo, Ordenacao ordenarPor, Sort.Direction direcao);
+
     OrdemServicoResponseDTO buscarPorId(Long id);
 
+    /**
+     * Busca a ordem consultando nos demais microserviços apenas as dependências informadas
+     * ({@link br.com.fiap.oficina.workorder.enricher.OrdemServicoEnricher#DEPENDENCIAS}).
+     * Ordens já projetadas são servidas da projeção, sem consultas remotas.
+     */
+    OrdemServicoResponseDTO buscarPorId(Long id, Set<String> dependencias);
+
+    /**
+     * ETag da ordem de serviço, obtido sem enriquecimento nem carga da entidade.
+     */
+    String etag(Long id);
+
     List<OrdemServicoResumoDTO> buscarPorCliente(Long clienteId);
 
     List<OrdemServicoResumoDTO> buscarPorVeiculo(Long veiculoId);
@@ -26,29 +71,44 @@ public interface OrdemServicoService {
 
     List<OrdemServicoResponseDTO> buscarAtualizadas();
 
-    OrdemServicoResponseDTO atualizar(Long id, OsRequestDTO request);
+    /**
+     * Altera a ordem. Nesta e nas demais alterações que recebem {@code versaoEsperada} (a
+     * versão do {@code If-Match}), a versão é conferida dentro da mesma transação que aplica a
+     * alteração e a divergência lança
+     * {@link br.com.fiap.oficina.shared.exception.PrecondicaoFalhouException}; {@code null}
+     * dispensa a conferência.
+     */
+    OrdemServicoResponseDTO atualizar(Long id, OsRequestDTO request, Long versaoEsperada);
 
     void atualizarStatus(Long orcamentoId, StatusOrdemServico status);
 
-    OrdemServicoResponseDTO atribuirMecanico(Long id, Long mecanicoId);
+    /**
+     * Aplica a transição somente se a ordem ainda estiver na versão informada; caso contrário,
+     * lança {@link br.com.fiap.oficina.shared.exception.ConflitoException}.
+     */
+    void transicionarNaVersao(Long id, Long versao, StatusOrdemServico status, String observacoes);
+
+    OrdemServicoResponseDTO atribuirMecanico(Long id, Long mecanicoId, Long versaoEsperada);
+
+    OrdemServicoResponseDTO diagnosticar(Long id, String observacoes, Long versaoEsperada);
 
-    OrdemServicoResponseDTO diagnosticar(Long id, String observacoes);
+    OrdemServicoResponseDTO executar(Long id, String observacoes, Long versaoEsperada);
 
-    OrdemServicoResponseDTO executar(Long id, String observacoes);
+    OrdemServicoResponseDTO finalizar(Long id, String observacoes, Long versaoEsperada);
 
-    OrdemServicoResponseDTO finalizar(Long id, String observacoes);
+    OrdemServicoResponseDTO entregar(Long id, String observacoes, Long versaoEsperada);
 
-    OrdemServicoResponseDTO entregar(Long id, String observacoes);
+    TransicaoLoteResponseDTO transicionarEmLote(TransicaoLoteRequestDTO request, boolean detalhar);
 
-    List<OsItemDTO> adicionarServicos(Long id, List<Long> servicosIds);
+    List<OsItemDTO> adicionarServicos(Long id, List<Long> servicosIds, Long versaoEsperada);
 
-    OrdemServicoResponseDTO removerServicos(Long id, List<Long> servicosIds);
+    OrdemServicoResponseDTO removerServicos(Long id, List<Long> servicosIds, Long versaoEsperada);
 
-    List<OsItemDTO> adicionarProdutos(Long id, List<ItemOrdemServicoDTO> produtos);
+    List<OsItemDTO> adicionarProdutos(Long id, List<ItemOrdemServicoDTO> produtos, Long versaoEsperada);
 
-    OrdemServicoResponseDTO removerProdutos(Long id, List<Long> produtosIds);
+    OrdemServicoResponseDTO removerProdutos(Long id, List<Long> produtosIds, Long versaoEsperada);
 
-    void deletar(Long id);
+    void deletar(Long id, Long versaoEsperada);
 
     OrdemServico getOrdemServico(Long id);
 
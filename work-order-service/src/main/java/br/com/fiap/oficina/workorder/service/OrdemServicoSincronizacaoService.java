@@ -0,0 +1,21 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.workorder.dto.request.SincronizacaoEnvioRequestDTO;
+import br.com.fiap.oficina.workorder.dto.response.SincronizacaoEnvioResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.SincronizacaoResponseDTO;
+
+public interface OrdemServicoSincronizacaoService {
+
+    /**
+     * Ordens e itens da fila do mecânico alterados após o cursor, com os IDs removidos. Sem
+     * cursor, ou com um cursor anterior às alterações retidas, devolve a fila completa.
+     */
+    SincronizacaoResponseDTO buscarAlteracoes(Long mecanicoId, Long cursor);
+
+    /**
+     * Aplica, na ordem recebida e cada uma em sua própria transação, as alterações feitas
+     * offline pelo mecânico. Uma alteração sobre uma ordem que mudou desde a versão informada
+     * resulta em conflito e não é aplicada.
+     */
+    SincronizacaoEnvioResponseDTO aplicarAlteracoes(Long mecanicoId, SincronizacaoEnvioRequestDTO request);
+}
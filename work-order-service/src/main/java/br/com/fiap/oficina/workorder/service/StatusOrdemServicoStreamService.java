@@ -0,0 +1,30 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.dto.response.EventoStatusOrdemServicoDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+public interface StatusOrdemServicoStreamService {
+
+    String EVENTO_STATUS = "status";
+
+    /**
+     * Enviado quando os eventos posteriores ao {@code Last-Event-ID} já saíram do buffer (ou
+     * vieram de outra instância): o cliente deve recarregar as ordens pela API REST.
+     */
+    String EVENTO_REINICIO = "reinicio";
+
+    /**
+     * Abre uma conexão SSE que recebe as mudanças de status a partir de agora, filtradas por
+     * mecânico e/ou status (de origem ou de destino). Com {@code ultimoEventoId}, reenvia antes
+     * os eventos posteriores a ele que ainda estão no buffer.
+     */
+    SseEmitter assinar(Long mecanicoId, Set<StatusOrdemServico> status, String ultimoEventoId);
+
+    /**
+     * Guarda o evento no buffer e o envia às conexões cujo filtro ele atende.
+     */
+    void publicar(EventoStatusOrdemServicoDTO evento);
+}
@@ -0,0 +1,186 @@
+package br.com.fiap.oficina.workorder.service.impl;
+
+import br.com.fiap.oficina.shared.exception.BusinessException;
+import br.com.fiap.oficina.shared.exception.ConflitoException;
+import br.com.fiap.oficina.workorder.entity.RegistroIdempotencia;
+import br.com.fiap.oficina.workorder.repository.RegistroIdempotenciaRepository;
+import br.com.fiap.oficina.workorder.service.IdempotenciaService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Idempotência por {@code Idempotency-Key} sem leitura prévia: a única ida extra ao banco na
+ * primeira requisição é o INSERT da resposta, feito na transação da própria alteração. Uma
+ * chave repetida viola a chave primária nesse INSERT (ou aguarda o commit da requisição
+ * concorrente, no PostgreSQL), a alteração inteira é desfeita, inclusive os eventos da outbox,
+ * e a resposta gravada é devolvida.
+ * <p>
+ * A chave gravada é o SHA-256 do usuário autenticado, da operação e da {@code Idempotency-Key}:
+ * a mesma chave enviada por outro usuário, ou para outra operação, é uma requisição nova e não
+ * devolve a resposta de terceiros.
+ */
+@Service
+@Slf4j
+public class IdempotenciaServiceImpl implements IdempotenciaService {
+
+    static final int TAMANHO_MAXIMO_CHAVE = 100;
+
+    private static final ThreadLocal<Contexto> CONTEXTO = new ThreadLocal<>();
+
+    private final RegistroIdempotenciaRepository repository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration retencao;
+
+    public IdempotenciaServiceImpl(RegistroIdempotenciaRepository repository,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${workorder.idempotencia.retencao:24h}") Duration retencao) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.retencao = retencao;
+    }
+
+    @Override
+    public <T> Resultado<T> executar(String chave, String operacao, Object pedido,
+                                     TypeReference<T> tipo, Supplier<T> acao) {
+        if (chave == null || chave.isBlank()) {
+            return new Resultado<>(acao.get(), false);
+        }
+        validarChave(chave);
+
+        Contexto contexto = new Contexto(chaveRegistro(chave, operacao), operacao, hash(operacao, pedido));
+        Contexto anterior = CONTEXTO.get();
+        CONTEXTO.set(contexto);
+        try {
+            T corpo = acao.get();
+            contar(operacao, "executada");
+            return new Resultado<>(corpo, false);
+        } catch (DataIntegrityViolationException e) {
+            RegistroIdempotencia registro = repository.findById(contexto.chave()).orElseThrow(() -> e);
+            log.info("Requisição repetida com Idempotency-Key {} ({}); devolvendo resposta gravada", chave, operacao);
+            contar(operacao, "repetida");
+            return new Resultado<>(ler(registro, contexto, tipo), true);
+        } finally {
+            if (anterior != null) {
+                CONTEXTO.set(anterior);
+            } else {
+                CONTEXTO.remove();
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <T> Optional<T> buscar(String chave, String operacao, Object pedido, TypeReference<T> tipo) {
+        if (chave == null || chave.isBlank()) {
+            return Optional.empty();
+        }
+        validarChave(chave);
+        Contexto contexto = new Contexto(chaveRegistro(chave, operacao), operacao, hash(operacao, pedido));
+        return repository.findById(contexto.chave()).map(registro -> {
+            contar(operacao, "repetida");
+            return ler(registro, contexto, tipo);
+        });
+    }
+
+    @Override
+    public void registrarResposta(Object resposta) {
+        Contexto contexto = CONTEXTO.get();
+        if (contexto == null) {
+            return;
+        }
+        // A resposta é registrada uma única vez por execução
+        CONTEXTO.remove();
+        repository.registrar(contexto.chave(), contexto.operacao(), contexto.hashPedido(),
+                escrever(resposta), LocalDateTime.now().plus(retencao));
+    }
+
+    @Scheduled(fixedDelayString = "${workorder.idempotencia.intervalo-limpeza:1h}")
+    @Transactional
+    public void removerExpirados() {
+        int removidos = repository.removerExpiradosAntesDe(LocalDateTime.now());
+        if (removidos > 0) {
+            log.info("Removidos {} registros de idempotência expirados", removidos);
+        }
+    }
+
+    private <T> T ler(RegistroIdempotencia registro, Contexto contexto, TypeReference<T> tipo) {
+        if (!registro.getOperacao().equals(contexto.operacao())
+                || !registro.getHashPedido().equals(contexto.hashPedido())) {
+            throw new ConflitoException("Idempotency-Key já utilizada em outra requisição");
+        }
+        try {
+            return objectMapper.readValue(registro.getResposta(), tipo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta gravada para Idempotency-Key ilegível", e);
+        }
+    }
+
+    private String escrever(Object resposta) {
+        try {
+            return objectMapper.writeValueAsString(resposta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível gravar a resposta da requisição idempotente", e);
+        }
+    }
+
+    private String hash(String operacao, Object pedido) {
+        try {
+            return sha256(operacao.getBytes(StandardCharsets.UTF_8), objectMapper.writeValueAsBytes(pedido));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível calcular o hash da requisição", e);
+        }
+    }
+
+    private static String chaveRegistro(String chave, String operacao) {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        String usuario = autenticacao != null ? autenticacao.getName() : "";
+        return sha256((usuario + "\n" + operacao + "\n" + chave).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[]... partes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] parte : partes) {
+                digest.update(parte);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static void validarChave(String chave) {
+        if (chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new BusinessException(HEADER + " deve ter no máximo " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+    }
+
+    private void contar(String operacao, String resultado) {
+        meterRegistry.counter("workorder.idempotencia", "operacao", operacao, "resultado", resultado).increment();
+    }
+
+    private record Contexto(String chave, String operacao, String hashPedido) {
+    }
+}
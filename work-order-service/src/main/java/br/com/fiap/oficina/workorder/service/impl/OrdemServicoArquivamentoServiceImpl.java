@@ -0,0 +1,167 @@
+package br.com.fiap.oficina.workorder.service.impl;
+
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServicoArquivada;
+import br.com.fiap.oficina.workorder.event.AlteracaoSincronizacaoPublisher;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoArquivadaRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoLeituraRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository;
+import br.com.fiap.oficina.workorder.service.OrdemServicoArquivamentoService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Arquivamento das ordens entregues há mais de {@code idade-minima}: cada lote reserva as
+ * ordens com {@code FOR UPDATE SKIP LOCKED}, copia ordem, serviços e itens para as tabelas de
+ * arquivo com um INSERT ... SELECT por tabela e remove as linhas ativas e a projeção na mesma
+ * transação. Assim {@code ordem_servico}, suas coleções e {@code ordem_servico_leitura} ficam
+ * restritas às ordens em andamento e às entregues recentemente. Ordens com mecânico saem da fila
+ * de sincronização dele com um registro de remoção gravado no mesmo lote.
+ * <p>
+ * Métricas: {@code workorder.arquivamento.ordens} (ordens arquivadas) e
+ * {@code workorder.arquivamento.lote} (duração de cada lote).
+ */
+@Service
+@Slf4j
+public class OrdemServicoArquivamentoServiceImpl implements OrdemServicoArquivamentoService {
+
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final OrdemServicoArquivadaRepository arquivadaRepository;
+    private final OrdemServicoLeituraRepository leituraRepository;
+    private final AlteracaoSincronizacaoPublisher sincronizacao;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration idadeMinima;
+    private final int tamanhoLote;
+    private final Counter arquivadas;
+    private final Timer duracaoLote;
+
+    public OrdemServicoArquivamentoServiceImpl(OrdemServicoRepository ordemServicoRepository,
+                                               OrdemServicoArquivadaRepository arquivadaRepository,
+                                               OrdemServicoLeituraRepository leituraRepository,
+                                               AlteracaoSincronizacaoPublisher sincronizacao,
+                                               TransactionTemplate transactionTemplate,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${workorder.arquivamento.idade-minima:180d}") Duration idadeMinima,
+                                               @Value("${workorder.arquivamento.tamanho-lote:500}") int tamanhoLote) {
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.arquivadaRepository = arquivadaRepository;
+        this.leituraRepository = leituraRepository;
+        this.sincronizacao = sincronizacao;
+        this.transactionTemplate = transactionTemplate;
+        this.idadeMinima = idadeMinima;
+        this.tamanhoLote = tamanhoLote;
+        this.arquivadas = Counter.builder("workorder.arquivamento.ordens")
+                .description("Ordens entregues movidas para as tabelas de arquivo")
+                .register(meterRegistry);
+        this.duracaoLote = Timer.builder("workorder.arquivamento.lote")
+                .description("Duração de cada lote do arquivamento")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${workorder.arquivamento.atraso-inicial:5m}",
+            fixedDelayString = "${workorder.arquivamento.intervalo:6h}")
+    public void arquivarEntregues() {
+        int total = arquivarEntreguesAntesDe(LocalDateTime.now().minus(idadeMinima));
+        if (total > 0) {
+            log.info("Arquivadas {} ordens de serviço entregues há mais de {}", total, idadeMinima);
+        }
+    }
+
+    @Override
+    public int arquivarEntreguesAntesDe(LocalDateTime limite) {
+        int total = 0;
+        int movidas;
+        do {
+            // Um lote incompleto indica que não restam ordens elegíveis ou desbloqueadas
+            movidas = duracaoLote.record(() -> arquivarLote(limite));
+            total += movidas;
+        } while (movidas == tamanhoLote);
+        return total;
+    }
+
+    private int arquivarLote(LocalDateTime limite) {
+        Integer movidas = transactionTemplate.execute(status -> {
+            List<OrdemServico> reservadas = ordemServicoRepository.reservarEntreguesAntesDe(limite,
+                    PageRequest.of(0, tamanhoLote));
+            if (reservadas.isEmpty()) {
+                return 0;
+            }
+            List<Long> ids = reservadas.stream().map(OrdemServico::getId).toList();
+            reservadas.forEach(os -> sincronizacao.ordemRemovida(os.getId(), os.getMecanicoId()));
+
+            arquivadaRepository.copiarOrdens(ids, LocalDateTime.now());
+            arquivadaRepository.copiarServicos(ids);
+            arquivadaRepository.copiarItens(ids);
+            arquivadaRepository.removerItensAtivos(ids);
+            arquivadaRepository.removerServicosAtivos(ids);
+            arquivadaRepository.removerOrdensAtivas(ids);
+            leituraRepository.deleteAllByIdInBatch(ids);
+            return ids.size();
+        });
+        int quantidade = movidas != null ? movidas : 0;
+        arquivadas.increment(quantidade);
+        return quantidade;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrdemServico> buscarArquivada(Long id) {
+        return arquivadaRepository.findById(id).map(OrdemServicoArquivamentoServiceImpl::paraOrdemServico);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> versaoArquivada(Long id) {
+        return arquivadaRepository.findVersaoById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean arquivada(Long id) {
+        return arquivadaRepository.existsById(id);
+    }
+
+    private static OrdemServico paraOrdemServico(OrdemServicoArquivada arquivada) {
+        OrdemServico os = new OrdemServico();
+        os.setId(arquivada.getId());
+        os.setStatus(arquivada.getStatus());
+        os.setDataCriacao(arquivada.getDataCriacao());
+        os.setDataInicioDiagnostico(arquivada.getDataInicioDiagnostico());
+        os.setDataInicioExecucao(arquivada.getDataInicioExecucao());
+        os.setDataTerminoExecucao(arquivada.getDataTerminoExecucao());
+        os.setDataEntrega(arquivada.getDataEntrega());
+        os.setObservacoes(arquivada.getObservacoes());
+        os.setVeiculoId(arquivada.getVeiculoId());
+        os.setClienteId(arquivada.getClienteId());
+        os.setVeiculoPlaca(arquivada.getVeiculoPlaca());
+        os.setVeiculoModelo(arquivada.getVeiculoModelo());
+        os.setClienteNome(arquivada.getClienteNome());
+        os.setMecanicoId(arquivada.getMecanicoId());
+        os.setOrcamentoId(arquivada.getOrcamentoId());
+        os.setVersao(arquivada.getVersao());
+        arquivada.getServicosIds().forEach(os::addServico);
+        arquivada.getItensOrdemServico().forEach(arquivado -> {
+            ItemOrdemServico item = new ItemOrdemServico();
+            item.setId(arquivado.getId());
+            item.setProdutoCatalogoId(arquivado.getProdutoCatalogoId());
+            item.setQuantidade(arquivado.getQuantidade());
+            item.setPrecoUnitario(arquivado.getPrecoUnitario());
+            os.addProduto(item);
+        });
+        return os;
+    }
+}
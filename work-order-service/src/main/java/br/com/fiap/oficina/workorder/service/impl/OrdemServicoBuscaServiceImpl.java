@@ -0,0 +1,182 @@
+package br.com.fiap.oficina.workorder.service.impl;
+
+import br.com.fiap.oficina.shared.exception.BusinessException;
+import br.com.fiap.oficina.workorder.dto.response.BuscaOrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.OrdemServicoLeitura;
+import br.com.fiap.oficina.workorder.mapper.OrdemServicoLeituraMapper;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoLeituraRepository;
+import br.com.fiap.oficina.workorder.service.OrdemServicoBuscaService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Busca textual sobre {@code ordem_servico_leitura}, que já guarda placa e nome do cliente
+ * desnormalizados ao lado das observações e é mantida a cada escrita da ordem.
+ * <p>
+ * No PostgreSQL o script {@code indices-busca-postgres.sql} acrescenta à tabela uma coluna
+ * {@code tsvector} gerada (placa e nome com peso A, observações com peso B) com índice GIN, e um
+ * índice de trigramas sobre a placa normalizada para buscas por trechos da placa; o ranking usa
+ * {@code ts_rank_cd}. O serviço não altera o schema: enquanto a coluna não existir, e em outros
+ * bancos (H2 nos testes), a busca cai para {@code LIKE}, com relevância pelo campo em que cada
+ * palavra aparece.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrdemServicoBuscaServiceImpl implements OrdemServicoBuscaService {
+
+    static final int TAMANHO_MINIMO_TERMO = 2;
+    static final int TAMANHO_MINIMO_TRECHO_PLACA = 3;
+
+    private static final String PLACA_NORMALIZADA = placaNormalizada("l.veiculo_placa");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final OrdemServicoLeituraRepository leituraRepository;
+    private final OrdemServicoLeituraMapper leituraMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private boolean indiceTextual;
+
+    @PostConstruct
+    void detectarIndices() {
+        boolean postgres = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        if (!postgres) {
+            log.info("Banco sem suporte a tsvector; busca de ordens de serviço usará LIKE");
+            return;
+        }
+
+        Number colunas = transactionTemplate.execute(status -> (Number) entityManager.createNativeQuery(
+                        "SELECT COUNT(*) FROM information_schema.columns "
+                                + "WHERE table_name = 'ordem_servico_leitura' AND column_name = 'documento_busca'")
+                .getSingleResult());
+        indiceTextual = colunas != null && colunas.intValue() > 0;
+        if (!indiceTextual) {
+            log.warn("Coluna documento_busca ausente; execute indices-busca-postgres.sql. "
+                    + "Até lá a busca de ordens de serviço usará LIKE");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BuscaOrdemServicoResponseDTO buscar(String termo, int pagina, int tamanho) {
+        if (pagina < 0 || tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new BusinessException("Página deve ser maior ou igual a 0 e tamanho entre 1 e " + TAMANHO_MAXIMO_PAGINA);
+        }
+        // O deslocamento e o limite (tamanho + 1) precisam caber em um int
+        if ((long) pagina * tamanho + tamanho + 1 > Integer.MAX_VALUE) {
+            throw new BusinessException("Página fora do intervalo permitido");
+        }
+        List<String> palavras = palavras(termo);
+        if (palavras.isEmpty() || String.join("", palavras).length() < TAMANHO_MINIMO_TERMO) {
+            throw new BusinessException("Informe ao menos " + TAMANHO_MINIMO_TERMO + " letras ou números para a busca");
+        }
+
+        Query query = indiceTextual ? consultaTextual(palavras) : consultaLike(palavras);
+        @SuppressWarnings("unchecked")
+        List<Number> encontrados = query
+                .setFirstResult(pagina * tamanho)
+                .setMaxResults(tamanho + 1)
+                .getResultList();
+
+        boolean temMais = encontrados.size() > tamanho;
+        List<Long> ids = encontrados.stream().limit(tamanho).map(Number::longValue).collect(Collectors.toList());
+        Map<Long, OrdemServicoLeitura> leituras = leituraRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(OrdemServicoLeitura::getOrdemServicoId, Function.identity()));
+        List<OrdemServicoResponseDTO> resultados = ids.stream()
+                .map(leituras::get)
+                .filter(Objects::nonNull)
+                .map(leituraMapper::toDTO)
+                .collect(Collectors.toList());
+
+        BuscaOrdemServicoResponseDTO response = new BuscaOrdemServicoResponseDTO();
+        response.setTermo(termo);
+        response.setPagina(pagina);
+        response.setTamanho(tamanho);
+        response.setTemMais(temMais);
+        response.setResultados(resultados);
+        return response;
+    }
+
+    private Query consultaTextual(List<String> palavras) {
+        // Palavras só com letras e números: seguras para compor a tsquery
+        String consulta = palavras.stream().map(palavra -> palavra + ":*").collect(Collectors.joining(" & "));
+        String trecho = palavras.size() == 1 ? palavras.get(0).toUpperCase(Locale.ROOT) : "";
+        boolean porTrecho = trecho.length() >= TAMANHO_MINIMO_TRECHO_PLACA;
+
+        String sql = "SELECT l.ordem_servico_id FROM ordem_servico_leitura l "
+                + "WHERE l.documento_busca @@ to_tsquery('portuguese', :consulta)"
+                + (porTrecho ? " OR " + PLACA_NORMALIZADA + " LIKE :trecho" : "")
+                + " ORDER BY ts_rank_cd(l.documento_busca, to_tsquery('portuguese', :consulta))"
+                + (porTrecho ? " + CASE WHEN " + PLACA_NORMALIZADA + " = :placa THEN 2 "
+                + "WHEN " + PLACA_NORMALIZADA + " LIKE :trecho THEN 1 ELSE 0 END" : "")
+                + " DESC, l.ordem_servico_id DESC";
+
+        Query query = entityManager.createNativeQuery(sql).setParameter("consulta", consulta);
+        if (porTrecho) {
+            query.setParameter("placa", trecho).setParameter("trecho", "%" + trecho + "%");
+        }
+        return query;
+    }
+
+    private Query consultaLike(List<String> palavras) {
+        String placa = "LOWER(REPLACE(COALESCE(l.veiculo_placa, ''), '-', ''))";
+        String nome = "LOWER(COALESCE(l.cliente_nome, ''))";
+        String observacoes = "LOWER(COALESCE(l.observacoes, ''))";
+
+        StringJoiner filtros = new StringJoiner(" AND ");
+        StringJoiner relevancia = new StringJoiner(" + ");
+        for (int i = 0; i < palavras.size(); i++) {
+            String parametro = ":p" + i;
+            filtros.add("(" + placa + " LIKE " + parametro + " OR " + nome + " LIKE " + parametro
+                    + " OR " + observacoes + " LIKE " + parametro + ")");
+            relevancia.add("CASE WHEN " + placa + " LIKE " + parametro + " THEN 3 WHEN " + nome + " LIKE "
+                    + parametro + " THEN 2 ELSE 1 END");
+        }
+
+        Query query = entityManager.createNativeQuery("SELECT l.ordem_servico_id FROM ordem_servico_leitura l WHERE "
+                + filtros + " ORDER BY " + relevancia + " DESC, l.ordem_servico_id DESC");
+        for (int i = 0; i < palavras.size(); i++) {
+            query.setParameter("p" + i, "%" + palavras.get(i) + "%");
+        }
+        return query;
+    }
+
+    /**
+     * Placa em maiúsculas sem separadores; a consulta usa a mesma expressão do índice de trigramas
+     * criado por {@code indices-busca-postgres.sql}.
+     */
+    private static String placaNormalizada(String coluna) {
+        return "regexp_replace(upper(coalesce(" + coluna + ", '')), '[^A-Z0-9]', '', 'g')";
+    }
+
+    /**
+     * Separa o termo em palavras com apenas letras e números, em minúsculas. Hífens e pontos
+     * são removidos antes, para que "ABC-1234" seja buscado como a placa "abc1234".
+     */
+    static List<String> palavras(String termo) {
+        if (termo == null) {
+            return List.of();
+        }
+        return Arrays.stream(termo.replaceAll("[-.]", "").toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(palavra -> !palavra.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+}
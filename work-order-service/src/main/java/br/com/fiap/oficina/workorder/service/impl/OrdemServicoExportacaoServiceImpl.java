@@ -0,0 +1,172 @@
+package br.com.fiap.oficina.workorder.service.impl;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoExportacaoDTO;
+import br.com.fiap.oficina.workorder.service.OrdemServicoExportacaoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class OrdemServicoExportacaoServiceImpl implements OrdemServicoExportacaoService {
+
+    private static final String CABECALHO_CSV = "id,status,dataCriacao,dataInicioExecucao,dataTerminoExecucao,"
+            + "dataEntrega,clienteId,veiculoId,mecanicoId,orcamentoId,quantidadeServicos,valorProdutos,observacoes";
+
+    private static final int LINHAS_POR_FLUSH = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final Duration timeout;
+
+    public OrdemServicoExportacaoServiceImpl(ObjectMapper objectMapper,
+                                             @Value("${workorder.exportacao.fetch-size:500}") int fetchSize,
+                                             @Value("${workorder.exportacao.timeout:30m}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportar(Formato formato, List<StatusOrdemServico> status, LocalDate dataInicio,
+                         LocalDate dataFim, Long mecanicoId, OutputStream out) throws IOException {
+        log.info("Exportando ordens de serviço em {} (status: {}, período: {} a {}, mecânico: {})",
+                formato, status, dataInicio, dataFim, mecanicoId);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long total = 0;
+
+        if (formato == Formato.CSV) {
+            writer.write(CABECALHO_CSV);
+            writer.write('\n');
+        }
+
+        // Projeção escalar: o cursor não materializa entidades nem coleções no contexto de persistência
+        try (Stream<OrdemServicoExportacaoDTO> linhas = consultar(status, dataInicio, dataFim, mecanicoId)) {
+            Iterator<OrdemServicoExportacaoDTO> iterator = linhas.iterator();
+            while (iterator.hasNext()) {
+                OrdemServicoExportacaoDTO linha = iterator.next();
+                if (formato == Formato.CSV) {
+                    escreverCsv(writer, linha);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(linha));
+                }
+                writer.write('\n');
+
+                if (++total % LINHAS_POR_FLUSH == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        log.info("Exportação finalizada com {} ordens de serviço", total);
+        return total;
+    }
+
+    private Stream<OrdemServicoExportacaoDTO> consultar(List<StatusOrdemServico> status, LocalDate dataInicio,
+                                                         LocalDate dataFim, Long mecanicoId) {
+        StringBuilder jpql = new StringBuilder("""
+                SELECT new br.com.fiap.oficina.workorder.dto.response.OrdemServicoExportacaoDTO(
+                    os.id, os.status, os.dataCriacao, os.dataInicioExecucao, os.dataTerminoExecucao,
+                    os.dataEntrega, os.clienteId, os.veiculoId, os.mecanicoId, os.orcamentoId,
+                    SIZE(os.servicosIds),
+                    (SELECT COALESCE(SUM(i.quantidade * i.precoUnitario), 0)
+                       FROM ItemOrdemServico i WHERE i.ordemServico = os),
+                    os.observacoes)
+                FROM OrdemServico os
+                WHERE 1 = 1
+                """);
+        Map<String, Object> parametros = new HashMap<>();
+
+        if (status != null && !status.isEmpty()) {
+            jpql.append(" AND os.status IN :status");
+            parametros.put("status", status);
+        }
+        if (dataInicio != null) {
+            jpql.append(" AND os.dataCriacao >= :dataInicio");
+            parametros.put("dataInicio", dataInicio.atStartOfDay());
+        }
+        if (dataFim != null) {
+            jpql.append(" AND os.dataCriacao < :dataFim");
+            parametros.put("dataFim", dataFim.plusDays(1).atStartOfDay());
+        }
+        if (mecanicoId != null) {
+            jpql.append(" AND os.mecanicoId = :mecanicoId");
+            parametros.put("mecanicoId", mecanicoId);
+        }
+        jpql.append(" ORDER BY os.id");
+
+        TypedQuery<OrdemServicoExportacaoDTO> query = entityManager
+                .createQuery(jpql.toString(), OrdemServicoExportacaoDTO.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHEABLE, false);
+        parametros.forEach(query::setParameter);
+
+        return query.getResultStream();
+    }
+
+    private static void escreverCsv(Writer writer, OrdemServicoExportacaoDTO linha) throws IOException {
+        Object[] valores = {
+                linha.getId(), linha.getStatus(), linha.getDataCriacao(), linha.getDataInicioExecucao(),
+                linha.getDataTerminoExecucao(), linha.getDataEntrega(), linha.getClienteId(),
+                linha.getVeiculoId(), linha.getMecanicoId(), linha.getOrcamentoId(),
+                linha.getQuantidadeServicos(), linha.getValorProdutos(), linha.getObservacoes()
+        };
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escaparCsv(valores[i]));
+        }
+    }
+
+    /**
+     * Textos iniciados por {@code = + - @}, tabulação ou retorno seriam interpretados como fórmula
+     * pelas planilhas; recebem um apóstrofo à frente para serem exibidos como texto.
+     */
+    static String escaparCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (valor instanceof CharSequence && !texto.isEmpty() && "=+-@\t\r".indexOf(texto.charAt(0)) >= 0) {
+            texto = "'" + texto;
+        }
+        if (texto.contains(",") || texto.contains("\"") || texto.contains("\n") || texto.contains("\r")) {
+            return "\"" + texto.replace("\"", "\"\"") + "\"";
+        }
+        return texto;
+    }
+}
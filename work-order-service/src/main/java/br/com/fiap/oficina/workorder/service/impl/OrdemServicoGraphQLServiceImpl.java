@@ -0,0 +1,187 @@
+package br.com.fiap.oficina.workorder.service.impl;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.shared.exception.BusinessException;
+import br.com.fiap.oficina.shared.security.AuthorizationContext;
+import br.com.fiap.oficina.workorder.cache.CatalogoCache;
+import br.com.fiap.oficina.workorder.client.ClienteClient;
+import br.com.fiap.oficina.workorder.client.VeiculoClient;
+import br.com.fiap.oficina.workorder.dto.response.ClienteResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ProdutoCatalogoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository;
+import br.com.fiap.oficina.workorder.service.OrdemServicoArquivamentoService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoGraphQLService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * As ordens são lidas em uma transação somente leitura que já inicializa as coleções
+ * selecionadas (em lote, via {@code @BatchSize}); os resolvers trabalham depois com as
+ * entidades desanexadas. Os cadastros remotos são buscados em paralelo, uma tarefa por
+ * dependência e nível da consulta, e cada tarefa falha sozinha ao esgotar o prazo.
+ */
+@Service
+@Slf4j
+public class OrdemServicoGraphQLServiceImpl implements OrdemServicoGraphQLService {
+
+    static final int TAMANHO_LOTE = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final OrdemServicoRepository repository;
+    private final OrdemServicoArquivamentoService arquivamentoService;
+    private final ClienteClient clienteClient;
+    private final VeiculoClient veiculoClient;
+    private final CatalogoCache catalogoCache;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+
+    public OrdemServicoGraphQLServiceImpl(OrdemServicoRepository repository,
+                                          OrdemServicoArquivamentoService arquivamentoService,
+                                          ClienteClient clienteClient,
+                                          VeiculoClient veiculoClient,
+                                          CatalogoCache catalogoCache,
+                                          @Qualifier("enriquecimentoExecutor") ExecutorService executor,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${workorder.enriquecimento.timeout:2s}") Duration timeout) {
+        this.repository = repository;
+        this.arquivamentoService = arquivamentoService;
+        this.clienteClient = clienteClient;
+        this.veiculoClient = veiculoClient;
+        this.catalogoCache = catalogoCache;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrdemServico> buscar(Long id, Colecoes colecoes) {
+        Optional<OrdemServico> os = repository.findById(id).or(() -> arquivamentoService.buscarArquivada(id));
+        os.ifPresent(ordem -> inicializar(List.of(ordem), colecoes));
+        return os;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrdemServico> listar(List<StatusOrdemServico> status, Long clienteId, Long veiculoId,
+                                     Long mecanicoId, Integer limite, Colecoes colecoes) {
+        int maximo = limite != null ? limite : LIMITE_PADRAO;
+        if (maximo < 1 || maximo > LIMITE_MAXIMO) {
+            throw new BusinessException("Argumento 'limite' deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrdemServico> query = cb.createQuery(OrdemServico.class);
+        Root<OrdemServico> os = query.from(OrdemServico.class);
+        List<Predicate> filtros = new ArrayList<>();
+        if (status != null && !status.isEmpty()) {
+            filtros.add(os.get("status").in(status));
+        }
+        if (clienteId != null) {
+            filtros.add(cb.equal(os.get("clienteId"), clienteId));
+        }
+        if (veiculoId != null) {
+            filtros.add(cb.equal(os.get("veiculoId"), veiculoId));
+        }
+        if (mecanicoId != null) {
+            filtros.add(cb.equal(os.get("mecanicoId"), mecanicoId));
+        }
+        query.where(filtros.toArray(Predicate[]::new)).orderBy(cb.desc(os.get("id")));
+
+        List<OrdemServico> ordens = entityManager.createQuery(query).setMaxResults(maximo).getResultList();
+        inicializar(ordens, colecoes);
+        return ordens;
+    }
+
+    private static void inicializar(List<OrdemServico> ordens, Colecoes colecoes) {
+        for (OrdemServico os : ordens) {
+            if (colecoes.servicos()) {
+                Hibernate.initialize(os.getServicosIds());
+            }
+            if (colecoes.itens()) {
+                Hibernate.initialize(os.getItensOrdemServico());
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, ClienteResponseDTO>> carregarClientes(Collection<Long> ids) {
+        return carregar("cliente", ids, clienteClient::getClientes, ClienteResponseDTO::getId);
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, VeiculoResponseDTO>> carregarVeiculos(Collection<Long> ids) {
+        return carregar("veiculo", ids, veiculoClient::getVeiculos, VeiculoResponseDTO::getId);
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, ServicoResponseDTO>> carregarServicos(Collection<Long> ids) {
+        return carregar("servicos", ids, catalogoCache::getServicos, ServicoResponseDTO::getId);
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, ProdutoCatalogoResponseDTO>> carregarProdutos(Collection<Long> ids) {
+        // Sem consulta em lote no catálogo: cada produto vem do near-cache ou de uma chamada própria
+        return carregar("produto", ids,
+                lote -> lote.stream().map(catalogoCache::getProduto).filter(Objects::nonNull).toList(),
+                ProdutoCatalogoResponseDTO::getId);
+    }
+
+    private <V> CompletableFuture<Map<Long, V>> carregar(String dependencia, Collection<Long> ids,
+                                                         Function<List<Long>, List<V>> consulta,
+                                                         Function<V, Long> idDe) {
+        List<Long> distintos = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distintos.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        return CompletableFuture.supplyAsync(AuthorizationContext.propagate(() -> {
+                    Timer.Sample amostra = Timer.start(meterRegistry);
+                    String resultado = "sucesso";
+                    try {
+                        Map<Long, V> carregados = new HashMap<>();
+                        for (int inicio = 0; inicio < distintos.size(); inicio += TAMANHO_LOTE) {
+                            List<V> encontrados = consulta.apply(
+                                    distintos.subList(inicio, Math.min(inicio + TAMANHO_LOTE, distintos.size())));
+                            if (encontrados != null) {
+                                encontrados.stream().filter(Objects::nonNull)
+                                        .forEach(item -> carregados.put(idDe.apply(item), item));
+                            }
+                        }
+                        return carregados;
+                    } catch (RuntimeException e) {
+                        resultado = "erro";
+                        log.warn("Erro ao carregar {} para consulta GraphQL", dependencia, e);
+                        throw e;
+                    } finally {
+                        amostra.stop(meterRegistry.timer("workorder.graphql.carregamento",
+                                "dependencia", dependencia, "resultado", resultado));
+                    }
+                }), executor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,172 @@
+package br.com.fiap.oficina.workorder.service.impl;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.shared.exception.BusinessException;
+import br.com.fiap.oficina.shared.exception.ConflitoException;
+import br.com.fiap.oficina.shared.exception.RecursoNaoEncontradoException;
+import br.com.fiap.oficina.workorder.cache.CatalogoCache;
+import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoAtualizacaoDTO;
+import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoDTO;
+import br.com.fiap.oficina.workorder.dto.response.ItemOrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.OsItemDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
+import br.com.fiap.oficina.workorder.event.AlteracaoSincronizacaoPublisher;
+import br.com.fiap.oficina.workorder.mapper.OrdemServicoMapper;
+import br.com.fiap.oficina.workorder.repository.ItemOrdemServicoRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository.EstadoOrdemServico;
+import br.com.fiap.oficina.workorder.service.OrdemServicoArquivamentoService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoItemService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoProjecaoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Cada operação bloqueia a ordem em modo compartilhado ({@link OrdemServicoRepository#bloquearParaItens})
+ * se ela aceitar alterações, lê apenas o seu estado (para o mecânico) e executa um único comando
+ * sobre a linha do item. Uma transição para {@code AGUARDANDO_APROVACAO} espera as alterações
+ * em andamento, e uma alteração que chega durante a transição espera por ela e reavalia o status.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrdemServicoItemServiceImpl implements OrdemServicoItemService {
+
+    private final OrdemServicoRepository repository;
+    private final ItemOrdemServicoRepository itemRepository;
+    private final OrdemServicoMapper mapper;
+    private final CatalogoCache catalogoCache;
+    private final OrdemServicoProjecaoService projecaoService;
+    private final AlteracaoSincronizacaoPublisher sincronizacao;
+    private final OrdemServicoArquivamentoService arquivamentoService;
+
+    @Override
+    @Transactional
+    public OsItemDTO adicionarServico(Long ordemServicoId, Long servicoId) {
+        log.info("Adicionando serviço ID: {} à ordem de serviço ID: {}", servicoId, ordemServicoId);
+
+        ServicoResponseDTO servico = catalogoCache.getServico(servicoId);
+        if (servico == null || !Boolean.TRUE.equals(servico.getAtivo())) {
+            throw new BusinessException("Serviço ID: " + servicoId + " não existe ou está inativo");
+        }
+
+        EstadoOrdemServico estado = bloquearEditavel(ordemServicoId);
+        // Nenhuma linha: o serviço já estava na ordem
+        if (repository.adicionarServico(ordemServicoId, servicoId) > 0) {
+            alterada(estado);
+        }
+
+        OsItemDTO item = new OsItemDTO();
+        item.setId(servico.getId());
+        item.setNome(servico.getNome());
+        item.setAtivo(servico.getAtivo());
+        item.setDescricao(servico.getDescricao());
+        return item;
+    }
+
+    @Override
+    @Transactional
+    public void removerServico(Long ordemServicoId, Long servicoId) {
+        log.info("Removendo serviço ID: {} da ordem de serviço ID: {}", servicoId, ordemServicoId);
+
+        EstadoOrdemServico estado = bloquearEditavel(ordemServicoId);
+        if (repository.removerServico(ordemServicoId, servicoId) == 0) {
+            throw new RecursoNaoEncontradoException("Serviço não encontrado na ordem de serviço");
+        }
+        alterada(estado);
+    }
+
+    @Override
+    @Transactional
+    public ItemOrdemServicoResponseDTO adicionarProduto(Long ordemServicoId, ItemOrdemServicoDTO produto) {
+        log.info("Adicionando produto ID: {} à ordem de serviço ID: {}", produto.getProdutoCatalogoId(), ordemServicoId);
+
+        EstadoOrdemServico estado = bloquearEditavel(ordemServicoId);
+        ItemOrdemServico item = new ItemOrdemServico();
+        item.setOrdemServico(repository.getReferenceById(ordemServicoId));
+        item.setProdutoCatalogoId(produto.getProdutoCatalogoId());
+        item.setQuantidade(produto.getQuantidade());
+        item.setPrecoUnitario(produto.getPrecoUnitario());
+        item = itemRepository.save(item);
+
+        itensAlterados(estado, List.of(item.getId()), List.of());
+        return mapper.toItemDTO(item);
+    }
+
+    @Override
+    @Transactional
+    public ItemOrdemServicoResponseDTO atualizarProduto(Long ordemServicoId, Long itemId,
+                                                        ItemOrdemServicoAtualizacaoDTO alteracao) {
+        log.info("Atualizando item ID: {} da ordem de serviço ID: {}", itemId, ordemServicoId);
+
+        EstadoOrdemServico estado = bloquearEditavel(ordemServicoId);
+        if (itemRepository.atualizar(ordemServicoId, itemId, alteracao.getQuantidade(),
+                alteracao.getPrecoUnitario()) == 0) {
+            throw itemNaoEncontrado();
+        }
+
+        itensAlterados(estado, List.of(itemId), List.of());
+        return itemRepository.findByIdAndOrdemServicoId(itemId, ordemServicoId)
+                .map(mapper::toItemDTO)
+                .orElseThrow(OrdemServicoItemServiceImpl::itemNaoEncontrado);
+    }
+
+    @Override
+    @Transactional
+    public void removerProduto(Long ordemServicoId, Long itemId) {
+        log.info("Removendo item ID: {} da ordem de serviço ID: {}", itemId, ordemServicoId);
+
+        EstadoOrdemServico estado = bloquearEditavel(ordemServicoId);
+        if (itemRepository.remover(ordemServicoId, itemId) == 0) {
+            throw itemNaoEncontrado();
+        }
+        itensAlterados(estado, List.of(), List.of(itemId));
+    }
+
+    /**
+     * Bloqueia a ordem até o fim da transação e devolve o estado lido já sob o bloqueio. Se ela
+     * não aceitar alterações, o estado é relido para informar o motivo.
+     */
+    private EstadoOrdemServico bloquearEditavel(Long id) {
+        if (repository.bloquearParaItens(id).isEmpty()) {
+            editavel(id);
+            throw new ConflitoException("Ordem de serviço ID: " + id + " foi alterada por outra operação. Tente novamente");
+        }
+        return editavel(id);
+    }
+
+    /**
+     * Estado atual da ordem, se ela aceitar alterações de serviços e produtos.
+     */
+    private EstadoOrdemServico editavel(Long id) {
+        EstadoOrdemServico estado = repository.findEstadoById(id).orElseThrow(() -> {
+            if (arquivamentoService.arquivada(id)) {
+                return new BusinessException("Ordem de serviço ID: " + id + " está arquivada e não pode ser alterada");
+            }
+            return new RecursoNaoEncontradoException("Ordem de serviço não encontrada");
+        });
+        if (estado.getStatus() == StatusOrdemServico.AGUARDANDO_APROVACAO) {
+            throw new BusinessException("Não é possível alterar serviços ou produtos em ordem aguardando aprovação");
+        }
+        return estado;
+    }
+
+    private static RuntimeException itemNaoEncontrado() {
+        return new RecursoNaoEncontradoException("Item não encontrado na ordem de serviço");
+    }
+
+    private void alterada(EstadoOrdemServico estado) {
+        sincronizacao.ordemAlterada(estado.getId(), estado.getMecanicoId());
+        projecaoService.agendar(estado.getId());
+    }
+
+    private void itensAlterados(EstadoOrdemServico estado, List<Long> alteradosIds, List<Long> removidosIds) {
+        sincronizacao.itensAlterados(estado.getId(), estado.getMecanicoId(), alteradosIds, removidosIds);
+        projecaoService.agendar(estado.getId());
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.fiap.oficina.workorder.service.impl;
+
+import br.com.fiap.oficina.workorder.cache.CatalogoCache;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.TempoStatusPercentisDTO;
+import br.com.fiap.oficina.workorder.metrica.SegmentoTempoStatus;
+import br.com.fiap.oficina.workorder.service.OrdemServicoMetricasService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrdemServicoMetricasServiceImpl implements OrdemServicoMetricasService {
+
+    static final int DIAS_PADRAO = 30;
+
+    private static final String CATEGORIA_DESCONHECIDA = "DESCONHECIDA";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final CatalogoCache catalogoCache;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TempoStatusPercentisDTO> calcularPercentis(LocalDate dataInicio, LocalDate dataFim,
+                                                           Agrupamento agrupamento) {
+        LocalDate fim = dataFim != null ? dataFim : LocalDate.now();
+        LocalDate inicio = dataInicio != null ? dataInicio : fim.minusDays(DIAS_PADRAO);
+        if (inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("Data inicial deve ser anterior ou igual à data final");
+        }
+        LocalDateTime de = inicio.atStartOfDay();
+        LocalDateTime ate = fim.plusDays(1).atStartOfDay();
+        log.info("Calculando percentis de tempo em status de {} a {} por {}", inicio, fim, agrupamento);
+
+        String coluna = switch (agrupamento) {
+            case SEGMENTO -> null;
+            case MECANICO -> "s.mecanico_id";
+            case CATEGORIA_SERVICO -> "c.categoria";
+        };
+
+        StringBuilder sql = new StringBuilder("WITH segmentos AS (");
+        SegmentoTempoStatus[] segmentos = SegmentoTempoStatus.values();
+        for (int i = 0; i < segmentos.length; i++) {
+            SegmentoTempoStatus segmento = segmentos[i];
+            if (i > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("SELECT os.id AS ordem_servico_id, os.mecanico_id AS mecanico_id, '")
+                    .append(segmento.name()).append("' AS segmento, ")
+                    .append("EXTRACT(EPOCH FROM os.").append(segmento.getColunaFim()).append(") - ")
+                    .append("EXTRACT(EPOCH FROM os.").append(segmento.getColunaInicio()).append(") AS duracao ")
+                    .append("FROM ordem_servico os WHERE os.").append(segmento.getColunaInicio()).append(" IS NOT NULL ")
+                    .append("AND os.").append(segmento.getColunaFim()).append(" >= :de ")
+                    .append("AND os.").append(segmento.getColunaFim()).append(" < :ate");
+        }
+        sql.append(") SELECT s.segmento, ")
+                .append(coluna != null ? coluna : "NULL").append(" AS grupo, COUNT(*), ")
+                .append("PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY s.duracao), ")
+                .append("PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY s.duracao), ")
+                .append("PERCENTILE_CONT(0.99) WITHIN GROUP (ORDER BY s.duracao), ")
+                .append("AVG(s.duracao) FROM segmentos s");
+        if (agrupamento == Agrupamento.CATEGORIA_SERVICO) {
+            // Uma linha por ordem e categoria, para que vários serviços da mesma categoria não pesem mais
+            sql.append(" JOIN (SELECT DISTINCT oss.ordem_servico_id, ").append(categoriaPorServico(ate))
+                    .append(" AS categoria FROM ordem_servico_servicos oss) c ON c.ordem_servico_id = s.ordem_servico_id");
+        }
+        sql.append(" GROUP BY s.segmento");
+        if (coluna != null) {
+            sql.append(", ").append(coluna);
+        }
+        sql.append(" ORDER BY s.segmento");
+        if (coluna != null) {
+            sql.append(", ").append(coluna);
+        }
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("de", de)
+                .setParameter("ate", ate);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> linhas = query.getResultList();
+        return linhas.stream().map(OrdemServicoMetricasServiceImpl::toDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Expressão SQL que traduz o ID do serviço na categoria. A categoria é mantida pelo
+     * catalog-service, então os serviços usados no período são resolvidos em lote pelo
+     * near-cache e embutidos como literais (IDs numéricos e nomes de enum).
+     */
+    private String categoriaPorServico(LocalDateTime ate) {
+        @SuppressWarnings("unchecked")
+        List<Number> ids = entityManager.createNativeQuery("SELECT DISTINCT oss.servico_id FROM ordem_servico_servicos oss "
+                        + "JOIN ordem_servico os ON os.id = oss.ordem_servico_id WHERE os.data_criacao < :ate")
+                .setParameter("ate", ate)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return "'" + CATEGORIA_DESCONHECIDA + "'";
+        }
+
+        Map<String, List<Long>> idsPorCategoria = new TreeMap<>();
+        for (ServicoResponseDTO servico : catalogoCache.getServicos(ids.stream().map(Number::longValue).toList())) {
+            if (servico.getCategoria() != null) {
+                idsPorCategoria.computeIfAbsent(servico.getCategoria().name(), categoria -> new ArrayList<>())
+                        .add(servico.getId());
+            }
+        }
+
+        if (idsPorCategoria.isEmpty()) {
+            return "'" + CATEGORIA_DESCONHECIDA + "'";
+        }
+
+        StringBuilder expressao = new StringBuilder("CASE");
+        idsPorCategoria.forEach((categoria, servicos) -> expressao.append(" WHEN oss.servico_id IN (")
+                .append(servicos.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                .append(") THEN '").append(categoria).append("'"));
+        return expressao.append(" ELSE '").append(CATEGORIA_DESCONHECIDA).append("' END").toString();
+    }
+
+    private static TempoStatusPercentisDTO toDTO(Object[] linha) {
+        TempoStatusPercentisDTO dto = new TempoStatusPercentisDTO();
+        dto.setSegmento(SegmentoTempoStatus.valueOf(linha[0].toString().trim()));
+        dto.setGrupo(linha[1] != null ? linha[1].toString() : null);
+        dto.setQuantidade(((Number) linha[2]).longValue());
+        dto.setP50Segundos(numero(linha[3]));
+        dto.setP90Segundos(numero(linha[4]));
+        dto.setP99Segundos(numero(linha[5]));
+        dto.setMediaSegundos(numero(linha[6]));
+        return dto;
+    }
+
+    private static Double numero(Object valor) {
+        return valor != null ? ((Number) valor).doubleValue() : null;
+    }
+}
@@ -0,0 +1,381 @@
+package br.com.fiap.oficina.workorder.service.impl;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.dto.response.ClienteResumoDTO;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResumoDTO;
+import br.com.fiap.oficina.workorder.enricher.OrdemServicoEnricher;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServicoLeitura;
+import br.com.fiap.oficina.workorder.event.OrdemServicoAlteradaEvent;
+import br.com.fiap.oficina.workorder.mapper.OrdemServicoLeituraMapper;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoLeituraRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository;
+import br.com.fiap.oficina.workorder.security.ServicoTokenProvider;
+import br.com.fiap.oficina.workorder.service.OrdemServicoProjecaoService;
+import br.com.fiap.oficina.workorder.validator.MaquinaEstadosOrdemServico.DatasTransicao;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static br.com.fiap.oficina.workorder.enricher.OrdemServicoEnricher.CLIENTE;
+import static br.com.fiap.oficina.workorder.enricher.OrdemServicoEnricher.SERVICOS;
+import static br.com.fiap.oficina.workorder.enricher.OrdemServicoEnricher.VEICULO;
+
+/**
+ * Projeção CQRS das ordens de serviço.
+ * <p>
+ * As mutações gravam a projeção na mesma transação, reaproveitando a resposta que já foi
+ * enriquecida para o cliente da API; alterações sem resposta enriquecida são reprojetadas
+ * de forma assíncrona após o commit, sem manter transação aberta durante as consultas aos
+ * demais microserviços e sem sobrescrever uma linha já atualizada para uma versão posterior. Uma rotina agendada projeta ordens ainda sem linha
+ * de leitura e reprojeta as incompletas ou mais antigas que {@code idade-maxima}, o que
+ * também absorve mudanças de cadastro nos demais microserviços.
+ * <p>
+ * Quando uma dependência não responde, os dados anteriores dela são mantidos na linha e a
+ * projeção fica marcada como incompleta até a próxima atualização bem-sucedida.
+ */
+@Service
+@Slf4j
+public class OrdemServicoProjecaoServiceImpl implements OrdemServicoProjecaoService {
+
+    static final int TAMANHO_LOTE = 100;
+
+    private final OrdemServicoLeituraRepository leituraRepository;
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final OrdemServicoLeituraMapper leituraMapper;
+    private final OrdemServicoEnricher enricher;
+    private final ServicoTokenProvider servicoTokenProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate leituraTransacional;
+    private final Duration idadeMaxima;
+
+    public OrdemServicoProjecaoServiceImpl(OrdemServicoLeituraRepository leituraRepository,
+                                           OrdemServicoRepository ordemServicoRepository,
+                                           OrdemServicoLeituraMapper leituraMapper,
+                                           OrdemServicoEnricher enricher,
+                                           ServicoTokenProvider servicoTokenProvider,
+                                           ApplicationEventPublisher eventPublisher,
+                                           TransactionTemplate transactionTemplate,
+                                           @Value("${workorder.projecao.idade-maxima:1h}") Duration idadeMaxima) {
+        this.leituraRepository = leituraRepository;
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.leituraMapper = leituraMapper;
+        this.enricher = enricher;
+        this.servicoTokenProvider = servicoTokenProvider;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.leituraTransacional = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.leituraTransacional.setReadOnly(true);
+        this.idadeMaxima = idadeMaxima;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrdemServicoResponseDTO> buscarPorId(Long ordemServicoId) {
+        return leituraRepository.findById(ordemServicoId).map(leituraMapper::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> etag(Long ordemServicoId) {
+        return leituraRepository.findVersaoById(ordemServicoId)
+                .map(versao -> "\"" + versao.getVersao() + "-"
+                        + Long.toString(versao.getAtualizadoEm().toInstant(ZoneOffset.UTC).toEpochMilli(), 36) + "\"");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrdemServicoResponseDTO> listarTodos(List<StatusOrdemServico> status) {
+        if (status != null && !status.isEmpty()) {
+            return leituraMapper.toDTOList(leituraRepository.findByStatusInOrderByOrdemServicoId(status));
+        }
+        return leituraMapper.toDTOList(leituraRepository.findAllByOrderByOrdemServicoId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrdemServicoResponseDTO> buscarPorMecanico(Long mecanicoId) {
+        return leituraMapper.toDTOList(leituraRepository.findByMecanicoIdOrderByOrdemServicoId(mecanicoId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrdemServicoResponseDTO> buscarAtualizadas() {
+        return leituraMapper.toDTOList(leituraRepository.findOrdensAtualizadas());
+    }
+
+    @Override
+    @Transactional
+    public void salvar(OrdemServico os, OrdemServicoResponseDTO response) {
+        OrdemServicoLeitura leitura = leituraRepository.findById(os.getId()).orElse(null);
+        leituraRepository.save(montar(os, response, leitura));
+    }
+
+    @Override
+    @Transactional
+    public boolean aplicarTransicao(Long ordemServicoId, Long versao, StatusOrdemServico status,
+                                    String observacoes, DatasTransicao datas) {
+        return leituraRepository.aplicarTransicao(ordemServicoId, versao, status, observacoes,
+                datas.inicioDiagnostico(), datas.inicioExecucao(), datas.terminoExecucao(), datas.entrega()) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void aplicarTransicaoEmLote(Collection<Long> ordensServicoIds, StatusOrdemServico status,
+                                       String observacoes, DatasTransicao datas) {
+        if (ordensServicoIds.isEmpty()) {
+            return;
+        }
+        int atualizadas = leituraRepository.aplicarTransicaoEmLote(ordensServicoIds, status, observacoes,
+                datas.inicioDiagnostico(), datas.inicioExecucao(), datas.terminoExecucao(), datas.entrega());
+        if (atualizadas < ordensServicoIds.size()) {
+            Set<Long> ausentes = new HashSet<>(ordensServicoIds);
+            leituraRepository.findIdsProjetados(ordensServicoIds).forEach(ausentes::remove);
+            ausentes.forEach(this::agendar);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrdemServicoResponseDTO> buscarPorIds(Collection<Long> ordensServicoIds) {
+        if (ordensServicoIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return leituraMapper.toDTOList(leituraRepository.findAllById(ordensServicoIds));
+    }
+
+    @Override
+    public void agendar(Long ordemServicoId) {
+        eventPublisher.publishEvent(new OrdemServicoAlteradaEvent(this, ordemServicoId));
+    }
+
+    @Override
+    public void agendar(Collection<Long> ordensServicoIds) {
+        if (!ordensServicoIds.isEmpty()) {
+            eventPublisher.publishEvent(new OrdemServicoAlteradaEvent(this, ordensServicoIds));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void remover(Long ordemServicoId) {
+        leituraRepository.deleteById(ordemServicoId);
+    }
+
+    /**
+     * Lê as ordens, consulta os demais microserviços fora de qualquer transação e só então
+     * grava as linhas. A gravação é condicionada à versão: se uma transição atualizou a linha
+     * enquanto a consulta estava em andamento, a projeção antiga é descartada.
+     */
+    @Override
+    public int projetar(List<Long> ordensServicoIds) {
+        if (ordensServicoIds.isEmpty()) {
+            return 0;
+        }
+        List<OrdemServico> ordens = leituraTransacional.execute(status -> {
+            List<OrdemServico> encontradas = ordemServicoRepository.findAllById(ordensServicoIds);
+            encontradas.forEach(os -> {
+                Hibernate.initialize(os.getServicosIds());
+                Hibernate.initialize(os.getItensOrdemServico());
+            });
+            return encontradas;
+        });
+        List<OrdemServicoResponseDTO> respostas =
+                servicoTokenProvider.executarComoServico(() -> enricher.enriquecer(ordens));
+
+        Integer projetadas = transactionTemplate.execute(status -> {
+            Map<Long, OrdemServicoLeitura> existentes = leituraRepository.findAllById(ordensServicoIds).stream()
+                    .collect(Collectors.toMap(OrdemServicoLeitura::getOrdemServicoId, Function.identity()));
+
+            int gravadas = 0;
+            for (int i = 0; i < ordens.size(); i++) {
+                OrdemServico os = ordens.get(i);
+                OrdemServicoLeitura anterior = existentes.get(os.getId());
+                OrdemServicoLeitura leitura = montar(os, respostas.get(i), anterior);
+                if (anterior == null) {
+                    leituraRepository.save(leitura);
+                    gravadas++;
+                } else if (leituraRepository.atualizarSeNaoMaisNova(leitura) > 0) {
+                    gravadas++;
+                }
+            }
+
+            // Ordens removidas entre o agendamento e a projeção
+            Set<Long> removidas = new HashSet<>(ordensServicoIds);
+            ordens.forEach(os -> removidas.remove(os.getId()));
+            leituraRepository.deleteAllById(removidas);
+
+            return gravadas;
+        });
+        return projetadas != null ? projetadas : 0;
+    }
+
+    @Override
+    @Async
+    public CompletableFuture<Integer> atualizarPorCliente(Long clienteId) {
+        log.info("Atualizando projeções das ordens do cliente ID: {}", clienteId);
+        return CompletableFuture.completedFuture(projetarEmLotes(ordemServicoRepository.findIdsByClienteId(clienteId)));
+    }
+
+    @Override
+    @Async
+    public CompletableFuture<Integer> atualizarPorVeiculo(Long veiculoId) {
+        log.info("Atualizando projeções das ordens do veículo ID: {}", veiculoId);
+        return CompletableFuture.completedFuture(projetarEmLotes(ordemServicoRepository.findIdsByVeiculoId(veiculoId)));
+    }
+
+    @Override
+    @Async
+    public CompletableFuture<Integer> atualizarPorServico(Long servicoId) {
+        log.info("Atualizando projeções das ordens com o serviço ID: {}", servicoId);
+        return CompletableFuture.completedFuture(projetarEmLotes(ordemServicoRepository.findIdsByServicoId(servicoId)));
+    }
+
+    @Override
+    @Async
+    public CompletableFuture<Long> reconstruir() {
+        log.info("Reconstruindo projeção de leitura das ordens de serviço");
+        long total = 0;
+        Long ultimoId = 0L;
+        List<Long> ids;
+        while (!(ids = ordemServicoRepository.findIdsAposId(ultimoId, PageRequest.of(0, TAMANHO_LOTE))).isEmpty()) {
+            total += projetar(ids);
+            ultimoId = ids.get(ids.size() - 1);
+        }
+        Integer orfas = transactionTemplate.execute(status -> leituraRepository.removerOrfas());
+        log.info("Projeção reconstruída: {} ordens projetadas, {} projeções órfãs removidas", total, orfas);
+        return CompletableFuture.completedFuture(total);
+    }
+
+    /**
+     * Projeta as ordens que ainda não possuem linha de leitura (backfill) e reprojeta, em
+     * lotes, todas as incompletas ou desatualizadas.
+     */
+    @Scheduled(initialDelayString = "${workorder.projecao.atraso-inicial:30s}",
+            fixedDelayString = "${workorder.projecao.intervalo-atualizacao:5m}")
+    public void atualizarPendentes() {
+        int ausentes = 0;
+        List<Long> ids;
+        while (!(ids = ordemServicoRepository.findIdsSemProjecao(PageRequest.of(0, TAMANHO_LOTE))).isEmpty()) {
+            int projetadas = projetar(ids);
+            if (projetadas == 0) {
+                break;
+            }
+            ausentes += projetadas;
+        }
+
+        LocalDateTime inicioCiclo = LocalDateTime.now();
+        LocalDateTime limite = inicioCiclo.minus(idadeMaxima);
+        int desatualizadas = 0;
+        while (!(ids = leituraRepository.findIdsDesatualizados(limite, inicioCiclo,
+                PageRequest.of(0, TAMANHO_LOTE))).isEmpty()) {
+            int projetadas = projetar(ids);
+            if (projetadas == 0) {
+                break;
+            }
+            desatualizadas += projetadas;
+        }
+
+        if (ausentes > 0 || desatualizadas > 0) {
+            log.info("Projeção atualizada: {} ordens sem projeção, {} incompletas ou desatualizadas",
+                    ausentes, desatualizadas);
+        }
+    }
+
+    private int projetarEmLotes(List<Long> ids) {
+        int total = 0;
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE) {
+            total += projetar(ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE, ids.size())));
+        }
+        return total;
+    }
+
+    /**
+     * Monta uma nova linha sem alterar {@code anterior}, de onde vêm só os dados das
+     * dependências indisponíveis.
+     */
+    private static OrdemServicoLeitura montar(OrdemServico os, OrdemServicoResponseDTO response,
+                                              OrdemServicoLeitura anterior) {
+        OrdemServicoLeitura leitura = new OrdemServicoLeitura();
+        leitura.setOrdemServicoId(os.getId());
+        if (anterior != null) {
+            leitura.setClienteId(anterior.getClienteId());
+            leitura.setClienteNome(anterior.getClienteNome());
+            leitura.setClienteEmail(anterior.getClienteEmail());
+            leitura.setClienteTelefone(anterior.getClienteTelefone());
+            leitura.setVeiculoId(anterior.getVeiculoId());
+            leitura.setVeiculoPlaca(anterior.getVeiculoPlaca());
+            leitura.setVeiculoMarca(anterior.getVeiculoMarca());
+            leitura.setVeiculoModelo(anterior.getVeiculoModelo());
+            leitura.setVeiculoAno(anterior.getVeiculoAno());
+            leitura.setServicos(anterior.getServicos());
+        }
+        List<String> indisponiveis = response.getDependenciasIndisponiveis() != null
+                ? response.getDependenciasIndisponiveis()
+                : Collections.emptyList();
+
+        // Dados de uma dependência indisponível só são mantidos se ainda se referem ao mesmo ID
+        if (!indisponiveis.contains(CLIENTE) || !Objects.equals(leitura.getClienteId(), os.getClienteId())) {
+            ClienteResumoDTO cliente = response.getCliente();
+            leitura.setClienteNome(cliente != null ? cliente.getNome() : null);
+            leitura.setClienteEmail(cliente != null ? cliente.getEmail() : null);
+            leitura.setClienteTelefone(cliente != null ? cliente.getTelefone() : null);
+        }
+
+        if (!indisponiveis.contains(VEICULO) || !Objects.equals(leitura.getVeiculoId(), os.getVeiculoId())) {
+            VeiculoResumoDTO veiculo = response.getVeiculo();
+            leitura.setVeiculoPlaca(veiculo != null ? veiculo.getPlaca() : null);
+            leitura.setVeiculoMarca(veiculo != null ? veiculo.getMarca() : null);
+            leitura.setVeiculoModelo(veiculo != null ? veiculo.getModelo() : null);
+            leitura.setVeiculoAno(veiculo != null ? veiculo.getAno() : null);
+        }
+
+        if (!indisponiveis.contains(SERVICOS)) {
+            leitura.setServicos(response.getServicos() != null ? response.getServicos() : new ArrayList<>());
+        } else if (leitura.getServicos() != null) {
+            leitura.setServicos(leitura.getServicos().stream()
+                    .filter(servico -> os.getServicosIds().contains(servico.getId()))
+                    .collect(Collectors.toList()));
+        }
+
+        leitura.setVersao(os.getVersao());
+        leitura.setStatus(os.getStatus());
+        leitura.setDataCriacao(os.getDataCriacao());
+        leitura.setDataInicioDiagnostico(os.getDataInicioDiagnostico());
+        leitura.setDataInicioExecucao(os.getDataInicioExecucao());
+        leitura.setDataTerminoExecucao(os.getDataTerminoExecucao());
+        leitura.setDataEntrega(os.getDataEntrega());
+        leitura.setObservacoes(os.getObservacoes());
+        leitura.setClienteId(os.getClienteId());
+        leitura.setVeiculoId(os.getVeiculoId());
+        leitura.setMecanicoId(os.getMecanicoId());
+        leitura.setOrcamentoId(os.getOrcamentoId());
+        leitura.setItens(response.getItensOrdemServico() != null
+                ? response.getItensOrdemServico()
+                : new ArrayList<>());
+        leitura.setValorTotalItens(response.getValorTotalItens() != null
+                ? response.getValorTotalItens()
+                : BigDecimal.ZERO);
+        leitura.setCompleto(!response.isEnriquecimentoIncompleto());
+        leitura.setAtualizadoEm(LocalDateTime.now());
+        return leitura;
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.fiap.oficina.workorder.service.impl;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoDTO;
+import br.com.fiap.oficina.workorder.dto.request.RecepcaoLoteRequestDTO;
+import br.com.fiap.oficina.workorder.dto.request.VeiculoRecepcaoDTO;
+import br.com.fiap.oficina.workorder.dto.response.RecepcaoLoteResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ResultadoRecepcaoDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.entity.TipoEventoOutbox;
+import br.com.fiap.oficina.workorder.event.EventoOutboxPublisher;
+import br.com.fiap.oficina.workorder.event.StatusOrdemServicoAlteradoEvent;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoLoteRepository;
+import br.com.fiap.oficina.workorder.service.IdempotenciaService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoProjecaoService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoRecepcaoService;
+import br.com.fiap.oficina.workorder.validator.ReferenciasOrdemServicoValidator;
+import br.com.fiap.oficina.workorder.validator.ReferenciasOrdemServicoValidator.ReferenciasLote;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Recepção de frota: as validações remotas são feitas antes da transação, com uma chamada em
+ * lote por dependência, e a transação contém apenas os batches de INSERT, um único INSERT dos
+ * eventos de orçamento na outbox e o agendamento de uma única projeção para todo o lote.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrdemServicoRecepcaoServiceImpl implements OrdemServicoRecepcaoService {
+
+    private final ReferenciasOrdemServicoValidator referenciasValidator;
+    private final OrdemServicoLoteRepository loteRepository;
+    private final EventoOutboxPublisher eventoOutbox;
+    private final OrdemServicoProjecaoService projecaoService;
+    private final IdempotenciaService idempotenciaService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public RecepcaoLoteResponseDTO receber(RecepcaoLoteRequestDTO request) {
+        long inicio = System.nanoTime();
+        List<VeiculoRecepcaoDTO> veiculos = request.getVeiculos();
+
+        Set<Long> clientesIds = new HashSet<>();
+        Set<Long> veiculosIds = new HashSet<>();
+        Set<Long> servicosIds = new HashSet<>();
+        for (VeiculoRecepcaoDTO veiculo : veiculos) {
+            clientesIds.add(clienteId(request, veiculo));
+            veiculosIds.add(veiculo.getVeiculoId());
+            servicosIds.addAll(servicosIds(request, veiculo));
+        }
+        ReferenciasLote referencias = referenciasValidator.validarEmLote(clientesIds, veiculosIds, servicosIds);
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<ResultadoRecepcaoDTO> resultados = new ArrayList<>();
+        List<OrdemServico> novas = new ArrayList<>();
+        List<ResultadoRecepcaoDTO> criadas = new ArrayList<>();
+        Set<Long> recebidos = new HashSet<>();
+        for (VeiculoRecepcaoDTO veiculo : veiculos) {
+            ResultadoRecepcaoDTO resultado = new ResultadoRecepcaoDTO();
+            resultado.setVeiculoId(veiculo.getVeiculoId());
+            resultado.setClienteId(clienteId(request, veiculo));
+            resultados.add(resultado);
+
+            String motivo = motivoRejeicao(resultado.getClienteId(), veiculo.getVeiculoId(), referencias, recebidos);
+            if (motivo != null) {
+                resultado.setResultado(ResultadoRecepcaoDTO.Resultado.REJEITADA);
+                resultado.setMensagem(motivo);
+                continue;
+            }
+            novas.add(montar(request, veiculo, resultado.getClienteId(), referencias, agora));
+            criadas.add(resultado);
+        }
+
+        RecepcaoLoteResponseDTO response = transactionTemplate.execute(status -> {
+            loteRepository.inserir(novas);
+            List<Long> ids = novas.stream().map(OrdemServico::getId).toList();
+            Map<Long, Long> veiculosPorOrdem = new LinkedHashMap<>();
+            novas.forEach(os -> veiculosPorOrdem.put(os.getId(), os.getVeiculoId()));
+            eventoOutbox.registrarEmLote(TipoEventoOutbox.CALCULAR_ORCAMENTO, veiculosPorOrdem);
+            novas.forEach(os -> eventPublisher.publishEvent(new StatusOrdemServicoAlteradoEvent(this, os.getId(),
+                    null, os.getStatus(), null, null, os.getDataCriacao())));
+            projecaoService.agendar(ids);
+
+            for (int i = 0; i < novas.size(); i++) {
+                criadas.get(i).setResultado(ResultadoRecepcaoDTO.Resultado.CRIADA);
+                criadas.get(i).setOrdemServicoId(ids.get(i));
+            }
+            RecepcaoLoteResponseDTO lote = new RecepcaoLoteResponseDTO();
+            lote.setTotal(resultados.size());
+            lote.setCriadas(novas.size());
+            lote.setRejeitadas(resultados.size() - novas.size());
+            lote.setResultados(resultados);
+            idempotenciaService.registrarResposta(lote);
+            return lote;
+        });
+
+        log.info("Recepção em lote: {} ordens criadas, {} veículos rejeitados em {} ms", response.getCriadas(),
+                response.getRejeitadas(), (System.nanoTime() - inicio) / 1_000_000);
+        return response;
+    }
+
+    private static String motivoRejeicao(Long clienteId, Long veiculoId, ReferenciasLote referencias,
+                                         Set<Long> recebidos) {
+        if (clienteId == null) {
+            return "Cliente ID é obrigatório";
+        }
+        if (!recebidos.add(veiculoId)) {
+            return "Veículo repetido no lote";
+        }
+        if (!referencias.clientes().containsKey(clienteId)) {
+            return "Cliente não encontrado";
+        }
+        VeiculoResponseDTO veiculo = referencias.veiculos().get(veiculoId);
+        if (veiculo == null) {
+            return "Veículo não encontrado";
+        }
+        if (veiculo.getClienteId() != null && !veiculo.getClienteId().equals(clienteId)) {
+            return "Veículo não pertence ao cliente informado";
+        }
+        return null;
+    }
+
+    /**
+     * Mesmo conteúdo de uma ordem aberta individualmente; serviços inexistentes ou inativos
+     * são descartados.
+     */
+    private static OrdemServico montar(RecepcaoLoteRequestDTO request, VeiculoRecepcaoDTO veiculo, Long clienteId,
+                                       ReferenciasLote referencias, LocalDateTime agora) {
+        OrdemServico os = new OrdemServico();
+        os.setClienteId(clienteId);
+        os.setVeiculoId(veiculo.getVeiculoId());
+        os.setClienteNome(referencias.clientes().get(clienteId).getNome());
+        os.setVeiculoPlaca(referencias.veiculos().get(veiculo.getVeiculoId()).getPlaca());
+        os.setVeiculoModelo(referencias.veiculos().get(veiculo.getVeiculoId()).getModelo());
+        os.setObservacoes(veiculo.getObservacoes() != null ? veiculo.getObservacoes() : request.getObservacoes());
+        os.setStatus(StatusOrdemServico.RECEBIDA);
+        os.setDataCriacao(agora);
+
+        for (Long servicoId : servicosIds(request, veiculo)) {
+            ServicoResponseDTO servico = referencias.servicos().get(servicoId);
+            if (servico != null && Boolean.TRUE.equals(servico.getAtivo())) {
+                os.addServico(servicoId);
+            }
+        }
+        if (veiculo.getProdutos() != null) {
+            for (ItemOrdemServicoDTO produto : veiculo.getProdutos()) {
+                ItemOrdemServico item = new ItemOrdemServico();
+                item.setProdutoCatalogoId(produto.getProdutoCatalogoId());
+                item.setQuantidade(produto.getQuantidade());
+                item.setPrecoUnitario(produto.getPrecoUnitario());
+                os.addProduto(item);
+            }
+        }
+        return os;
+    }
+
+    private static Long clienteId(RecepcaoLoteRequestDTO request, VeiculoRecepcaoDTO veiculo) {
+        return veiculo.getClienteId() != null ? veiculo.getClienteId() : request.getClienteId();
+    }
+
+    private static List<Long> servicosIds(RecepcaoLoteRequestDTO request, VeiculoRecepcaoDTO veiculo) {
+        List<Long> ids = veiculo.getServicosIds() != null ? veiculo.getServicosIds() : request.getServicosIds();
+        return ids != null ? ids.stream().filter(Objects::nonNull).toList() : List.of();
+    }
+}
@@ -0,0 +1,197 @@
+package br.com.fiap.oficina.workorder.service.impl;
+
+import br.com.fiap.oficina.workorder.client.ClienteClient;
+import br.com.fiap.oficina.workorder.client.VeiculoClient;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResponseDTO;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository.CopiaCliente;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository.CopiaVeiculo;
+import br.com.fiap.oficina.workorder.security.ServicoTokenProvider;
+import br.com.fiap.oficina.workorder.service.OrdemServicoProjecaoService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoReferenciasService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * O customer-service não publica alterações de cadastro, então as cópias são reconciliadas
+ * por varredura: os IDs distintos de clientes e veículos das ordens são percorridos em lotes
+ * de {@code tamanho-lote}, cada lote é relido com uma única consulta em lote e as ordens com
+ * cópias divergentes são atualizadas em uma transação por lote, sem alterar a versão, e
+ * reprojetadas após o commit para que a listagem e a busca mostrem os dados novos.
+ * Referências ausentes na resposta (removidas ou indisponíveis) mantêm a cópia anterior.
+ * <p>
+ * Métrica: {@code workorder.referencias.atualizadas} (ordens atualizadas, por referência).
+ */
+@Service
+@Slf4j
+public class OrdemServicoReferenciasServiceImpl implements OrdemServicoReferenciasService {
+
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final ClienteClient clienteClient;
+    private final VeiculoClient veiculoClient;
+    private final ServicoTokenProvider servicoTokenProvider;
+    private final OrdemServicoProjecaoService projecaoService;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final Counter clientesAtualizados;
+    private final Counter veiculosAtualizados;
+
+    public OrdemServicoReferenciasServiceImpl(OrdemServicoRepository ordemServicoRepository,
+                                              ClienteClient clienteClient,
+                                              VeiculoClient veiculoClient,
+                                              ServicoTokenProvider servicoTokenProvider,
+                                              OrdemServicoProjecaoService projecaoService,
+                                              TransactionTemplate transactionTemplate,
+                                              MeterRegistry meterRegistry,
+                                              @Value("${workorder.referencias.tamanho-lote:100}") int tamanhoLote) {
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.clienteClient = clienteClient;
+        this.veiculoClient = veiculoClient;
+        this.servicoTokenProvider = servicoTokenProvider;
+        this.projecaoService = projecaoService;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoLote = tamanhoLote;
+        this.clientesAtualizados = contador(meterRegistry, "cliente");
+        this.veiculosAtualizados = contador(meterRegistry, "veiculo");
+    }
+
+    @Override
+    @Async
+    public CompletableFuture<Integer> atualizarCliente(Long clienteId) {
+        log.info("Atualizando cópias do cliente ID: {} nas ordens de serviço", clienteId);
+        return CompletableFuture.completedFuture(atualizarClientes(List.of(clienteId)));
+    }
+
+    @Override
+    @Async
+    public CompletableFuture<Integer> atualizarVeiculo(Long veiculoId) {
+        log.info("Atualizando cópias do veículo ID: {} nas ordens de serviço", veiculoId);
+        return CompletableFuture.completedFuture(atualizarVeiculos(List.of(veiculoId)));
+    }
+
+    @Scheduled(initialDelayString = "${workorder.referencias.atraso-inicial:2m}",
+            fixedDelayString = "${workorder.referencias.intervalo-reconciliacao:15m}")
+    public void reconciliarAgendado() {
+        int total = reconciliar();
+        if (total > 0) {
+            log.info("Reconciliação de referências: {} ordens de serviço atualizadas", total);
+        }
+    }
+
+    @Override
+    public int reconciliar() {
+        return varrer("clientes", ultimoId -> ordemServicoRepository.findClientesIdsApos(ultimoId,
+                        PageRequest.of(0, tamanhoLote)), this::atualizarClientes)
+                + varrer("veículos", ultimoId -> ordemServicoRepository.findVeiculosIdsApos(ultimoId,
+                        PageRequest.of(0, tamanhoLote)), this::atualizarVeiculos);
+    }
+
+    /**
+     * Percorre os IDs em ordem crescente; uma falha na consulta remota interrompe apenas a
+     * varredura corrente, retomada no próximo ciclo.
+     */
+    private int varrer(String referencia, Function<Long, List<Long>> proximos, Function<List<Long>, Integer> atualizar) {
+        int total = 0;
+        Long ultimoId = 0L;
+        List<Long> ids;
+        while (!(ids = proximos.apply(ultimoId)).isEmpty()) {
+            try {
+                total += atualizar.apply(ids);
+            } catch (RuntimeException e) {
+                log.warn("Reconciliação de {} interrompida após o ID {}: {}", referencia, ultimoId, e.getMessage());
+                break;
+            }
+            ultimoId = ids.get(ids.size() - 1);
+        }
+        return total;
+    }
+
+    private int atualizarClientes(List<Long> ids) {
+        Map<Long, String> nomes = new HashMap<>();
+        servicoTokenProvider.executarComoServico(() -> clienteClient.getClientes(ids)).stream()
+                .filter(Objects::nonNull)
+                .forEach(cliente -> nomes.put(cliente.getId(), cliente.getNome()));
+        if (nomes.isEmpty()) {
+            return 0;
+        }
+
+        return atualizarDivergentes(clientesAtualizados, () -> {
+            Set<Long> divergentes = new LinkedHashSet<>();
+            for (CopiaCliente copia : ordemServicoRepository.findCopiasClientes(nomes.keySet())) {
+                if (!Objects.equals(copia.getClienteNome(), nomes.get(copia.getClienteId()))) {
+                    divergentes.add(copia.getClienteId());
+                }
+            }
+            List<Long> ordens = new ArrayList<>();
+            for (Long id : divergentes) {
+                ordens.addAll(ordemServicoRepository.findIdsCopiaClienteDivergente(id, nomes.get(id)));
+                ordemServicoRepository.atualizarCopiaCliente(id, nomes.get(id));
+            }
+            return ordens;
+        });
+    }
+
+    private int atualizarVeiculos(List<Long> ids) {
+        Map<Long, VeiculoResponseDTO> veiculos = new HashMap<>();
+        servicoTokenProvider.executarComoServico(() -> veiculoClient.getVeiculos(ids)).stream()
+                .filter(Objects::nonNull)
+                .forEach(veiculo -> veiculos.put(veiculo.getId(), veiculo));
+        if (veiculos.isEmpty()) {
+            return 0;
+        }
+
+        return atualizarDivergentes(veiculosAtualizados, () -> {
+            Set<Long> divergentes = new LinkedHashSet<>();
+            for (CopiaVeiculo copia : ordemServicoRepository.findCopiasVeiculos(veiculos.keySet())) {
+                VeiculoResponseDTO veiculo = veiculos.get(copia.getVeiculoId());
+                if (!Objects.equals(copia.getVeiculoPlaca(), veiculo.getPlaca())
+                        || !Objects.equals(copia.getVeiculoModelo(), veiculo.getModelo())) {
+                    divergentes.add(copia.getVeiculoId());
+                }
+            }
+            List<Long> ordens = new ArrayList<>();
+            for (Long id : divergentes) {
+                VeiculoResponseDTO veiculo = veiculos.get(id);
+                ordens.addAll(ordemServicoRepository.findIdsCopiaVeiculoDivergente(id,
+                        veiculo.getPlaca(), veiculo.getModelo()));
+                ordemServicoRepository.atualizarCopiaVeiculo(id, veiculo.getPlaca(), veiculo.getModelo());
+            }
+            return ordens;
+        });
+    }
+
+    /**
+     * Executa a atualização em uma transação e agenda a reprojeção das ordens que ela alterou.
+     */
+    private int atualizarDivergentes(Counter contador, Supplier<List<Long>> atualizacao) {
+        Integer atualizadas = transactionTemplate.execute(status -> {
+            List<Long> ordens = atualizacao.get();
+            if (!ordens.isEmpty()) {
+                projecaoService.agendar(ordens);
+            }
+            return ordens.size();
+        });
+        int quantidade = atualizadas != null ? atualizadas : 0;
+        contador.increment(quantidade);
+        return quantidade;
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String referencia) {
+        return Counter.builder("workorder.referencias.atualizadas")
+                .description("Ordens de serviço com cópias de cadastro atualizadas pela reconciliação")
+                .tag("referencia", referencia)
+                .register(meterRegistry);
+    }
+}
@@ -2,30 +2,44 @@ package br.com.fiap.oficina.workorder.service.impl;
 
 import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
 import br.com.fiap.oficina.shared.exception.BusinessException;
+import br.com.fiap.oficina.shared.exception.ConflitoException;
+import br.com.fiap.oficina.shared.exception.PrecondicaoFalhouException;
 import br.com.fiap.oficina.shared.exception.RecursoNaoEncontradoException;
-import br.com.fiap.oficina.workorder.client.ClienteClient;
-import br.com.fiap.oficina.workorder.client.ProdutoCatalogoClient;
-import br.com.fiap.oficina.workorder.client.ServicoClient;
-import br.com.fiap.oficina.workorder.client.VeiculoClient;
+import br.com.fiap.oficina.workorder.cache.CatalogoCache;
 import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoDTO;
 import br.com.fiap.oficina.workorder.dto.request.OsRequestDTO;
+import br.com.fiap.oficina.workorder.dto.request.TransicaoLoteRequestDTO;
 import br.com.fiap.oficina.workorder.dto.response.*;
+import br.com.fiap.oficina.workorder.enricher.OrdemServicoEnricher;
 import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
 import br.com.fiap.oficina.workorder.entity.OrdemServico;
-import br.com.fiap.oficina.workorder.event.CalcularOrcamentoEvent;
-import br.com.fiap.oficina.workorder.event.VeiculoDisponivelEvent;
+import br.com.fiap.oficina.workorder.event.AlteracaoSincronizacaoPublisher;
+import br.com.fiap.oficina.workorder.event.EventoOutboxPublisher;
+import br.com.fiap.oficina.workorder.event.StatusOrdemServicoAlteradoEvent;
 import br.com.fiap.oficina.workorder.mapper.OrdemServicoMapper;
+import br.com.fiap.oficina.workorder.metrica.TempoEmStatusMetricas;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoLoteRepository;
 import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository.EstadoOrdemServico;
+import br.com.fiap.oficina.workorder.service.IdempotenciaService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoArquivamentoService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoProjecaoService;
 import br.com.fiap.oficina.workorder.service.OrdemServicoService;
+import br.com.fiap.oficina.workorder.validator.MaquinaEstadosOrdemServico;
+import br.com.fiap.oficina.workorder.validator.MaquinaEstadosOrdemServico.DatasTransicao;
+import br.com.fiap.oficina.workorder.validator.ReferenciasOrdemServicoValidator;
+import br.com.fiap.oficina.workorder.validator.ReferenciasOrdemServicoValidator.ReferenciasValidadas;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,51 +47,46 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrdemServicoServiceImpl implements OrdemServicoService {
 
+    /** IDs por consulta à projeção ao detalhar uma listagem filtrada. */
+    private static final int TAMANHO_LOTE_DETALHES = 500;
+
     private final OrdemServicoRepository repository;
+    private final OrdemServicoLoteRepository loteRepository;
     private final OrdemServicoMapper mapper;
-    private final ClienteClient clienteClient;
-    private final VeiculoClient veiculoClient;
-    private final ServicoClient servicoClient;
-    private final ProdutoCatalogoClient produtoClient;
+    private final CatalogoCache catalogoCache;
+    private final EventoOutboxPublisher eventoOutbox;
+    private final OrdemServicoEnricher enricher;
+    private final OrdemServicoProjecaoService projecaoService;
+    private final ReferenciasOrdemServicoValidator referenciasValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final TempoEmStatusMetricas tempoEmStatusMetricas;
+    private final IdempotenciaService idempotenciaService;
+    private final OrdemServicoArquivamentoService arquivamentoService;
     private final ApplicationEventPublisher eventPublisher;
+    private final AlteracaoSincronizacaoPublisher sincronizacao;
 
     @Override
-    @Transactional
     public OrdemServicoResponseDTO criar(OsRequestDTO request) {
         log.info("Criando ordem de serviço para cliente ID: {} e veículo ID: {}",
                 request.getClienteId(), request.getVeiculoId());
 
-        // Valida cliente e veículo
-        ClienteResponseDTO cliente = clienteClient.getCliente(request.getClienteId());
-        VeiculoResponseDTO veiculo = veiculoClient.getVeiculo(request.getVeiculoId());
-
-        if (cliente == null) {
-            throw new RecursoNaoEncontradoException("Cliente não encontrado");
-        }
-        if (veiculo == null) {
-            throw new RecursoNaoEncontradoException("Veículo não encontrado");
-        }
+        // Valida cliente, veículo e serviços em paralelo, antes de abrir a transação
+        ReferenciasValidadas referencias = referenciasValidator.validar(
+                request.getClienteId(), request.getVeiculoId(), request.getServicosIds());
 
         // Cria ordem de serviço
         OrdemServico os = new OrdemServico();
         os.setClienteId(request.getClienteId());
         os.setVeiculoId(request.getVeiculoId());
+        os.setClienteNome(referencias.cliente().getNome());
+        os.setVeiculoPlaca(referencias.veiculo().getPlaca());
+        os.setVeiculoModelo(referencias.veiculo().getModelo());
         os.setObservacoes(request.getObservacoes());
         os.setStatus(StatusOrdemServico.RECEBIDA);
         os.setDataCriacao(LocalDateTime.now());
 
         // Adiciona serviços
-        if (request.getServicosIds() != null && !request.getServicosIds().isEmpty()) {
-            for (Long servicoId : request.getServicosIds()) {
-                ServicoResponseDTO servico = servicoClient.getServico(servicoId);
-                if (servico != null && servico.getAtivo()) {
-                    os.addServico(servicoId);
-                }
-            }
-        }
-
-        // Salva a ordem
-        os = repository.save(os);
+        referencias.servicos().forEach(servico -> os.addServico(servico.getId()));
 
         // Adiciona produtos
         if (request.getProdutos() != null && !request.getProdutos().isEmpty()) {
@@ -88,34 +97,86 @@ public class OrdemServicoServiceImpl implements OrdemServicoService {
                 item.setPrecoUnitario(produtoDTO.getPrecoUnitario());
                 os.addProduto(item);
             }
-            os = repository.save(os);
         }
 
-        // Publica evento para calcular orçamento
-        eventPublisher.publishEvent(new CalcularOrcamentoEvent(this, os.getId()));
-
-        return toResponseDTO(os);
+        // Transação apenas para os inserts; a resposta reaproveita os dados já validados
+        return transactionTemplate.execute(status -> {
+            OrdemServico salva = repository.save(os);
+            OrdemServicoResponseDTO response = enricher.enriquecer(salva,
+                    referencias.cliente(), referencias.veiculo(), referencias.servicos());
+            projecaoService.salvar(salva, response);
+
+            // Registra evento para calcular orçamento
+            eventoOutbox.calcularOrcamento(salva.getId());
+            publicarStatus(salva.getId(), null, salva.getStatus(), null, null, salva.getDataCriacao());
+            idempotenciaService.registrarResposta(response);
+            return response;
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<OrdemServicoResponseDTO> listarTodos(List<StatusOrdemServico> status) {
-        List<OrdemServico> ordens;
-        if (status != null && !status.isEmpty()) {
-            ordens = repository.findByStatusIn(status);
-        } else {
-            ordens = repository.findAll();
+        return projecaoService.listarTodos(status);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrdemServicoResponseDTO> listar(List<StatusOrdemServico> status, String placa, String cliente,
+                                                String modelo, Ordenacao ordenarPor, Sort.Direction direcao) {
+        if (vazio(placa) && vazio(cliente) && vazio(modelo) && ordenarPor == null) {
+            return projecaoService.listarTodos(status);
         }
-        return ordens.stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+
+        Sort sort = Sort.by(direcao != null ? direcao : Sort.Direction.ASC,
+                        (ordenarPor != null ? ordenarPor : Ordenacao.DATA_CRIACAO).getPropriedade())
+                .and(Sort.by("id"));
+        List<Long> ids = repository.findIdsFiltrados(
+                status != null && !status.isEmpty() ? status : EnumSet.allOf(StatusOrdemServico.class),
+                vazio(placa) ? null : placa.trim().toUpperCase(Locale.ROOT) + "%",
+                vazio(cliente) ? null : "%" + cliente.trim().toLowerCase(Locale.ROOT) + "%",
+                vazio(modelo) ? null : "%" + modelo.trim().toLowerCase(Locale.ROOT) + "%",
+                sort);
+
+        List<OrdemServicoResponseDTO> ordens = new ArrayList<>(ids.size());
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE_DETALHES) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE_DETALHES, ids.size()));
+            Map<Long, OrdemServicoResponseDTO> detalhes = detalhar(new HashSet<>(lote));
+            lote.stream().map(detalhes::get).filter(Objects::nonNull).forEach(ordens::add);
+        }
+        return ordens;
     }
 
     @Override
     @Transactional(readOnly = true)
     public OrdemServicoResponseDTO buscarPorId(Long id) {
-        OrdemServico os = getOrdemServico(id);
-        return toResponseDTO(os);
+        return buscarPorId(id, OrdemServicoEnricher.DEPENDENCIAS);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrdemServicoResponseDTO buscarPorId(Long id, Set<String> dependencias) {
+        return projecaoService.buscarPorId(id).orElseGet(() -> repository.findById(id)
+                .map(os -> {
+                    // Ordem ainda não projetada: responde com os dados remotos e agenda a projeção
+                    projecaoService.agendar(id);
+                    return enricher.enriquecer(List.of(os), dependencias).get(0);
+                })
+                // Ordens arquivadas não têm projeção e são sempre enriquecidas na consulta
+                .or(() -> arquivamentoService.buscarArquivada(id)
+                        .map(os -> enricher.enriquecer(List.of(os), dependencias).get(0)))
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Ordem de serviço não encontrada")));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String etag(Long id) {
+        // Ordem ainda não projetada: a versão da entidade basta até a primeira projeção
+        return projecaoService.etag(id).orElseGet(() -> repository.findEstadoById(id)
+                .map(EstadoOrdemServico::getVersao)
+                .or(() -> arquivamentoService.versaoArquivada(id))
+                .map(versao -> "\"" + versao + "\"")
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Ordem de serviço não encontrada")));
     }
 
     @Override
@@ -135,164 +196,164 @@ public class OrdemServicoServiceImpl implements OrdemServicoService {
     @Override
     @Transactional(readOnly = true)
     public List<OrdemServicoResponseDTO> buscarPorMecanico(Long mecanicoId) {
-        List<OrdemServico> ordens = repository.findByMecanicoId(mecanicoId);
-        return ordens.stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+        return projecaoService.buscarPorMecanico(mecanicoId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<OrdemServicoResponseDTO> buscarAtualizadas() {
-        List<OrdemServico> ordens = repository.findOrdensAtualizadas();
-        return ordens.stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+        return projecaoService.buscarAtualizadas();
     }
 
     @Override
     @Transactional
-    public OrdemServicoResponseDTO atualizar(Long id, OsRequestDTO request) {
-        OrdemServico os = getOrdemServico(id);
+    public OrdemServicoResponseDTO atualizar(Long id, OsRequestDTO request, Long versaoEsperada) {
+        OrdemServico os = getOrdemServico(id, versaoEsperada);
 
         if (request.getObservacoes() != null) {
             os.setObservacoes(request.getObservacoes());
         }
 
         os = repository.save(os);
+        sincronizacao.ordemAlterada(id, os.getMecanicoId());
         return toResponseDTO(os);
     }
 
     @Override
     @Transactional
     public void atualizarStatus(Long ordemServicoId, StatusOrdemServico status) {
-        OrdemServico os = getOrdemServico(ordemServicoId);
-        os.setStatus(status);
-        repository.save(os);
+        transicionar(ordemServicoId, status, null);
+    }
+
+    @Override
+    @Transactional
+    public void transicionarNaVersao(Long id, Long versao, StatusOrdemServico status, String observacoes) {
+        transicionar(id, status, observacoes, versao, ConflitoException::new);
     }
 
     @Override
     @Transactional
-    public OrdemServicoResponseDTO atribuirMecanico(Long id, Long mecanicoId) {
+    public OrdemServicoResponseDTO atribuirMecanico(Long id, Long mecanicoId, Long versaoEsperada) {
         log.info("Atribuindo mecânico ID: {} à ordem de serviço ID: {}", mecanicoId, id);
 
-        OrdemServico os = getOrdemServico(id);
+        OrdemServico os = getOrdemServico(id, versaoEsperada);
 
         // Valida se o usuário tem role MECANICO
         // Nota: Em produção, deve-se validar via Auth-Service
+        Long mecanicoAnteriorId = os.getMecanicoId();
         os.setMecanicoId(mecanicoId);
         os = repository.save(os);
+        if (!Objects.equals(mecanicoAnteriorId, mecanicoId)) {
+            sincronizacao.ordemAtribuida(id, mecanicoAnteriorId, mecanicoId);
+            publicarStatus(id, os.getStatus(), os.getStatus(), mecanicoAnteriorId, mecanicoId, LocalDateTime.now());
+        }
 
         return toResponseDTO(os);
     }
 
     @Override
     @Transactional
-    public OrdemServicoResponseDTO diagnosticar(Long id, String observacoes) {
+    public OrdemServicoResponseDTO diagnosticar(Long id, String observacoes, Long versaoEsperada) {
         log.info("Diagnosticando ordem de serviço ID: {}", id);
 
-        OrdemServico os = getOrdemServico(id);
-        os.setStatus(StatusOrdemServico.EM_DIAGNOSTICO);
-
-        if (observacoes != null) {
-            os.setObservacoes(observacoes);
-        }
-
-        os = repository.save(os);
-
-        // Publica evento para calcular orçamento
-        eventPublisher.publishEvent(new CalcularOrcamentoEvent(this, os.getId()));
-
-        return toResponseDTO(os);
+        // A transição registra o evento para calcular orçamento
+        transicionar(id, StatusOrdemServico.EM_DIAGNOSTICO, observacoes, versaoEsperada,
+                PrecondicaoFalhouException::new);
+        return buscarAposTransicao(id);
     }
 
     @Override
     @Transactional
-    public OrdemServicoResponseDTO executar(Long id, String observacoes) {
+    public OrdemServicoResponseDTO executar(Long id, String observacoes, Long versaoEsperada) {
         log.info("Iniciando execução da ordem de serviço ID: {}", id);
 
-        OrdemServico os = getOrdemServico(id);
-
-        // Valida se ordem de serviço está aguardando aprovação (status correto após orçamento aprovado)
-        if (os.getStatus() != StatusOrdemServico.AGUARDANDO_APROVACAO) {
-            throw new BusinessException("Ordem de serviço deve estar aguardando aprovação para iniciar execução");
-        }
-
-        os.setStatus(StatusOrdemServico.EM_EXECUCAO);
-        os.setDataInicioExecucao(LocalDateTime.now());
-
-        if (observacoes != null) {
-            os.setObservacoes(observacoes);
-        }
-
-        os = repository.save(os);
-        return toResponseDTO(os);
+        transicionar(id, StatusOrdemServico.EM_EXECUCAO, observacoes, versaoEsperada,
+                PrecondicaoFalhouException::new);
+        return buscarAposTransicao(id);
     }
 
     @Override
     @Transactional
-    public OrdemServicoResponseDTO finalizar(Long id, String observacoes) {
+    public OrdemServicoResponseDTO finalizar(Long id, String observacoes, Long versaoEsperada) {
         log.info("Finalizando ordem de serviço ID: {}", id);
 
-        OrdemServico os = getOrdemServico(id);
-
-        // Valida se está em execução
-        if (os.getStatus() != StatusOrdemServico.EM_EXECUCAO) {
-            throw new BusinessException("Ordem de serviço deve estar em execução para ser finalizada");
-        }
-
-        os.setStatus(StatusOrdemServico.FINALIZADA);
-        os.setDataTerminoExecucao(LocalDateTime.now());
-
-        if (observacoes != null) {
-            os.setObservacoes(observacoes);
-        }
-
-        os = repository.save(os);
-
-        // Publica evento de veículo disponível
-        eventPublisher.publishEvent(new VeiculoDisponivelEvent(this, os.getId(), os.getVeiculoId()));
-
-        return toResponseDTO(os);
+        // A transição registra o evento de veículo disponível
+        transicionar(id, StatusOrdemServico.FINALIZADA, observacoes, versaoEsperada,
+                PrecondicaoFalhouException::new);
+        return buscarAposTransicao(id);
     }
 
     @Override
     @Transactional
-    public OrdemServicoResponseDTO entregar(Long id, String observacoes) {
+    public OrdemServicoResponseDTO entregar(Long id, String observacoes, Long versaoEsperada) {
         log.info("Entregando veículo da ordem de serviço ID: {}", id);
 
-        OrdemServico os = getOrdemServico(id);
-
-        // Valida se está finalizada
-        if (os.getStatus() != StatusOrdemServico.FINALIZADA) {
-            throw new BusinessException("Ordem de serviço deve estar finalizada para ser entregue");
-        }
-
-        os.setStatus(StatusOrdemServico.ENTREGUE);
-        os.setDataEntrega(LocalDateTime.now());
+        transicionar(id, StatusOrdemServico.ENTREGUE, observacoes, versaoEsperada,
+                PrecondicaoFalhouException::new);
+        return buscarAposTransicao(id);
+    }
 
-        if (observacoes != null) {
-            os.setObservacoes(observacoes);
+    @Override
+    @Transactional
+    public TransicaoLoteResponseDTO transicionarEmLote(TransicaoLoteRequestDTO request, boolean detalhar) {
+        StatusOrdemServico destino = request.getStatus();
+        List<Long> ids = request.getOrdensServicoIds().stream().distinct().toList();
+        log.info("Transicionando {} ordens de serviço para {}", ids.size(), destino);
+
+        // Uma consulta para todos os estados; nenhuma entidade ou coleção é carregada
+        Map<Long, EstadoOrdemServico> estados = repository.findEstadosByIdIn(ids).stream()
+                .collect(Collectors.toMap(EstadoOrdemServico::getId, Function.identity()));
+        Set<StatusOrdemServico> origens = MaquinaEstadosOrdemServico.origens(destino);
+        Set<Long> elegiveis = ids.stream()
+                .filter(id -> estados.containsKey(id) && origens.contains(estados.get(id).getStatus()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        // Um batch de UPDATEs, cada um condicionado ao status e à versão lidos da sua ordem
+        LocalDateTime agora = LocalDateTime.now();
+        DatasTransicao datas = DatasTransicao.para(destino, agora);
+        Set<Long> aplicadas = loteRepository.transicionar(elegiveis.stream().map(estados::get).toList(), destino,
+                request.getObservacoes(), datas.inicioDiagnostico(), datas.inicioExecucao(),
+                datas.terminoExecucao(), datas.entrega());
+
+        tempoEmStatusMetricas.registrar(aplicadas.stream().map(estados::get).toList(), destino, agora);
+        sincronizacao.ordensAlteradas(aplicadas);
+        aplicadas.forEach(id -> publicarStatus(id, estados.get(id).getStatus(), destino,
+                estados.get(id).getMecanicoId(), estados.get(id).getMecanicoId(), agora));
+        MaquinaEstadosOrdemServico.evento(destino).ifPresent(tipo -> {
+            Map<Long, Long> veiculos = new LinkedHashMap<>();
+            aplicadas.forEach(id -> veiculos.put(id, estados.get(id).getVeiculoId()));
+            eventoOutbox.registrarEmLote(tipo, veiculos);
+        });
+        projecaoService.aplicarTransicaoEmLote(aplicadas, destino, request.getObservacoes(), datas);
+
+        Map<Long, OrdemServicoResponseDTO> detalhes = detalhar ? detalhar(aplicadas) : Map.of();
+
+        List<ResultadoTransicaoDTO> resultados = new ArrayList<>();
+        for (Long id : ids) {
+            resultados.add(resultadoTransicao(id, estados.get(id), destino, aplicadas.contains(id),
+                    elegiveis.contains(id), detalhes.get(id)));
         }
 
-        os = repository.save(os);
-        return toResponseDTO(os);
+        TransicaoLoteResponseDTO response = new TransicaoLoteResponseDTO();
+        response.setStatus(destino);
+        response.setTotal(ids.size());
+        response.setAplicadas(aplicadas.size());
+        response.setResultados(resultados);
+        return response;
     }
 
     @Override
     @Transactional
-    public List<OsItemDTO> adicionarServicos(Long id, List<Long> servicosIds) {
+    public List<OsItemDTO> adicionarServicos(Long id, List<Long> servicosIds, Long versaoEsperada) {
         log.info("Adicionando serviços à ordem de serviço ID: {}", id);
 
-        OrdemServico os = getOrdemServico(id);
+        OrdemServico os = getOrdemServico(id, versaoEsperada);
 
-        if (os.getStatus() == StatusOrdemServico.AGUARDANDO_APROVACAO) {
-            throw new BusinessException("Não é possível adicionar serviços em ordem aguardando aprovação");
-        }
+        bloquearParaItens(id, "Não é possível adicionar serviços em ordem aguardando aprovação");
 
         List<OsItemDTO> servicos = new ArrayList<>();
         for (Long servicoId : servicosIds) {
-            ServicoResponseDTO servico = servicoClient.getServico(servicoId);
+            ServicoResponseDTO servico = catalogoCache.getServico(servicoId);
             if (servico != null && servico.getAtivo()) {
                 os.addServico(servicoId);
                 OsItemDTO item = new OsItemDTO();
@@ -305,50 +366,51 @@ public class OrdemServicoServiceImpl implements OrdemServicoService {
         }
 
         repository.save(os);
+        sincronizacao.ordemAlterada(id, os.getMecanicoId());
+        projecaoService.agendar(id);
         return servicos;
     }
 
     @Override
     @Transactional
-    public OrdemServicoResponseDTO removerServicos(Long id, List<Long> servicosIds) {
+    public OrdemServicoResponseDTO removerServicos(Long id, List<Long> servicosIds, Long versaoEsperada) {
         log.info("Removendo serviços da ordem de serviço ID: {}", id);
 
-        OrdemServico os = getOrdemServico(id);
+        OrdemServico os = getOrdemServico(id, versaoEsperada);
 
-        if (os.getStatus() == StatusOrdemServico.AGUARDANDO_APROVACAO) {
-            throw new BusinessException("Não é possível remover serviços em ordem aguardando aprovação");
-        }
+        bloquearParaItens(id, "Não é possível remover serviços em ordem aguardando aprovação");
 
         for (Long servicoId : servicosIds) {
             os.removeServico(servicoId);
         }
 
         os = repository.save(os);
+        sincronizacao.ordemAlterada(id, os.getMecanicoId());
         return toResponseDTO(os);
     }
 
     @Override
     @Transactional
-    public List<OsItemDTO> adicionarProdutos(Long id, List<ItemOrdemServicoDTO> produtos) {
+    public List<OsItemDTO> adicionarProdutos(Long id, List<ItemOrdemServicoDTO> produtos, Long versaoEsperada) {
         log.info("Adicionando produtos à ordem de serviço ID: {}", id);
 
-        OrdemServico os = getOrdemServico(id);
+        OrdemServico os = getOrdemServico(id, versaoEsperada);
 
-        if (os.getStatus() == StatusOrdemServico.AGUARDANDO_APROVACAO) {
-            throw new BusinessException("Não é possível adicionar produtos em ordem aguardando aprovação");
-        }
+        bloquearParaItens(id, "Não é possível adicionar produtos em ordem aguardando aprovação");
 
         List<OsItemDTO> itens = new ArrayList<>();
+        List<ItemOrdemServico> novos = new ArrayList<>();
         for (ItemOrdemServicoDTO produtoDTO : produtos) {
             ItemOrdemServico item = new ItemOrdemServico();
             item.setProdutoCatalogoId(produtoDTO.getProdutoCatalogoId());
             item.setQuantidade(produtoDTO.getQuantidade());
             item.setPrecoUnitario(produtoDTO.getPrecoUnitario());
             os.addProduto(item);
+            novos.add(item);
 
             // Busca info do produto para retornar
             try {
-                var produto = produtoClient.getProduto(produtoDTO.getProdutoCatalogoId());
+                var produto = catalogoCache.getProduto(produtoDTO.getProdutoCatalogoId());
                 if (produto != null) {
                     OsItemDTO osItem = new OsItemDTO();
                     osItem.setId(produto.getId());
@@ -362,42 +424,55 @@ public class OrdemServicoServiceImpl implements OrdemServicoService {
             }
         }
 
-        repository.save(os);
+        if (os.getMecanicoId() != null) {
+            // Os IDs dos novos itens identificam as alterações na fila do mecânico
+            repository.saveAndFlush(os);
+            sincronizacao.itensAlterados(id, os.getMecanicoId(),
+                    novos.stream().map(ItemOrdemServico::getId).toList(), List.of());
+        } else {
+            repository.save(os);
+        }
+        projecaoService.agendar(id);
+        idempotenciaService.registrarResposta(itens);
         return itens;
     }
 
     @Override
     @Transactional
-    public OrdemServicoResponseDTO removerProdutos(Long id, List<Long> produtosIds) {
+    public OrdemServicoResponseDTO removerProdutos(Long id, List<Long> produtosIds, Long versaoEsperada) {
         log.info("Removendo produtos da ordem de serviço ID: {}", id);
 
-        OrdemServico os = getOrdemServico(id);
+        OrdemServico os = getOrdemServico(id, versaoEsperada);
 
-        if (os.getStatus() == StatusOrdemServico.AGUARDANDO_APROVACAO) {
-            throw new BusinessException("Não é possível remover produtos em ordem aguardando aprovação");
-        }
+        bloquearParaItens(id, "Não é possível remover produtos em ordem aguardando aprovação");
 
+        List<Long> removidos = os.getItensOrdemServico().stream()
+                .filter(item -> produtosIds.contains(item.getProdutoCatalogoId()))
+                .map(ItemOrdemServico::getId)
+                .toList();
         for (Long produtoId : produtosIds) {
             os.removeProduto(produtoId);
         }
 
         os = repository.save(os);
+        sincronizacao.itensAlterados(id, os.getMecanicoId(), List.of(), removidos);
         return toResponseDTO(os);
     }
 
     @Override
     @Transactional
-    public void deletar(Long id) {
+    public void deletar(Long id, Long versaoEsperada) {
         log.info("Deletando ordem de serviço ID: {}", id);
-        OrdemServico os = getOrdemServico(id);
+        OrdemServico os = getOrdemServico(id, versaoEsperada);
         repository.delete(os);
+        sincronizacao.ordemRemovida(id, os.getMecanicoId());
+        projecaoService.remover(id);
     }
 
     @Override
     @Transactional(readOnly = true)
     public OrdemServico getOrdemServico(Long id) {
-        return repository.findById(id)
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Ordem de serviço não encontrada"));
+        return repository.findById(id).orElseThrow(() -> naoEncontrada(id));
     }
 
     @Override
@@ -406,78 +481,180 @@ public class OrdemServicoServiceImpl implements OrdemServicoService {
         log.info("Adicionando orçamento ID: {} à ordem de serviço ID: {}", orcamentoId, ordemServicoId);
 
         OrdemServico os = getOrdemServico(ordemServicoId);
+        StatusOrdemServico statusAnterior = os.getStatus();
         os.setOrcamentoId(orcamentoId);
         os.setStatus(status);
         repository.save(os);
+        sincronizacao.ordemAlterada(ordemServicoId, os.getMecanicoId());
+        if (statusAnterior != status) {
+            publicarStatus(ordemServicoId, statusAnterior, status, os.getMecanicoId(), os.getMecanicoId(),
+                    LocalDateTime.now());
+        }
+        projecaoService.agendar(ordemServicoId);
     }
 
-    private OrdemServicoResponseDTO toResponseDTO(OrdemServico os) {
-        OrdemServicoResponseDTO dto = mapper.toDTO(os);
-
-        // Busca informações complementares
-        try {
-            if (os.getClienteId() != null) {
-                ClienteResponseDTO cliente = clienteClient.getCliente(os.getClienteId());
-                if (cliente != null) {
-                    ClienteResumoDTO resumo = new ClienteResumoDTO();
-                    resumo.setId(cliente.getId());
-                    resumo.setNome(cliente.getNome());
-                    resumo.setEmail(cliente.getEmail());
-                    resumo.setTelefone(cliente.getTelefone());
-                    dto.setCliente(resumo);
-                }
+    /**
+     * Lê apenas status e versão, valida a transição e a aplica com um UPDATE condicionado a
+     * ambos, sem carregar a entidade nem suas coleções. Se outra operação alterou a ordem
+     * entre a leitura e o UPDATE, nenhuma linha é afetada e o conflito é reportado.
+     */
+    private void transicionar(Long id, StatusOrdemServico destino, String observacoes) {
+        transicionar(id, destino, observacoes, null, ConflitoException::new);
+    }
+
+    /**
+     * Com {@code versaoEsperada}, a transição só é aplicada se a ordem ainda estiver nessa
+     * versão; a mesma versão condiciona o UPDATE. Versão divergente, na leitura ou no UPDATE,
+     * é reportada com a exceção criada por {@code divergencia}.
+     */
+    private void transicionar(Long id, StatusOrdemServico destino, String observacoes, Long versaoEsperada,
+                              Function<String, RuntimeException> divergencia) {
+        EstadoOrdemServico estado = repository.findEstadoById(id).orElseThrow(() -> naoEncontrada(id));
+        if (versaoEsperada != null && !versaoEsperada.equals(estado.getVersao())) {
+            throw divergencia.apply(versaoDivergente(id, estado.getVersao(), versaoEsperada));
+        }
+        MaquinaEstadosOrdemServico.validar(estado.getStatus(), destino);
+
+        LocalDateTime agora = LocalDateTime.now();
+        DatasTransicao datas = DatasTransicao.para(destino, agora);
+        int alteradas = repository.transicionarStatus(id, estado.getStatus(), estado.getVersao(), destino,
+                observacoes, datas.inicioDiagnostico(), datas.inicioExecucao(), datas.terminoExecucao(), datas.entrega());
+        if (alteradas == 0) {
+            throw divergencia.apply("Ordem de serviço ID: " + id
+                    + " foi alterada por outra operação. Recarregue e tente novamente");
+        }
+        tempoEmStatusMetricas.registrar(estado, destino, agora);
+        sincronizacao.ordemAlterada(id, estado.getMecanicoId());
+        publicarStatus(id, estado.getStatus(), destino, estado.getMecanicoId(), estado.getMecanicoId(), agora);
+
+        MaquinaEstadosOrdemServico.evento(destino).ifPresent(tipo -> {
+            switch (tipo) {
+                case CALCULAR_ORCAMENTO -> eventoOutbox.calcularOrcamento(id);
+                case VEICULO_DISPONIVEL -> eventoOutbox.veiculoDisponivel(id, estado.getVeiculoId());
             }
-        } catch (Exception e) {
-            log.warn("Erro ao buscar cliente ID: {}", os.getClienteId(), e);
+        });
+
+        if (!projecaoService.aplicarTransicao(id, estado.getVersao() + 1, destino, observacoes, datas)) {
+            projecaoService.agendar(id);
         }
+    }
 
-        try {
-            if (os.getVeiculoId() != null) {
-                VeiculoResponseDTO veiculo = veiculoClient.getVeiculo(os.getVeiculoId());
-                if (veiculo != null) {
-                    VeiculoResumoDTO resumo = new VeiculoResumoDTO();
-                    resumo.setId(veiculo.getId());
-                    resumo.setPlaca(veiculo.getPlaca());
-                    resumo.setMarca(veiculo.getMarca());
-                    resumo.setModelo(veiculo.getModelo());
-                    resumo.setAno(veiculo.getAno());
-                    dto.setVeiculo(resumo);
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Erro ao buscar veículo ID: {}", os.getVeiculoId(), e);
+    /**
+     * Publica a mudança para o stream SSE de status; o envio ocorre apenas após o commit.
+     */
+    private void publicarStatus(Long id, StatusOrdemServico statusAnterior, StatusOrdemServico status,
+                                Long mecanicoAnteriorId, Long mecanicoId, LocalDateTime ocorridoEm) {
+        eventPublisher.publishEvent(new StatusOrdemServicoAlteradoEvent(this, id, statusAnterior, status,
+                mecanicoAnteriorId, mecanicoId, ocorridoEm));
+    }
+
+    /**
+     * Com {@code versaoEsperada}, carrega a ordem bloqueada e somente se ela ainda estiver
+     * nessa versão, de modo que a conferência e a alteração ocorrem na mesma transação.
+     */
+    private OrdemServico getOrdemServico(Long id, Long versaoEsperada) {
+        if (versaoEsperada == null) {
+            return getOrdemServico(id);
         }
+        return repository.bloquearNaVersao(id, versaoEsperada).orElseThrow(() -> repository.findEstadoById(id)
+                .<RuntimeException>map(estado -> new PrecondicaoFalhouException(
+                        versaoDivergente(id, estado.getVersao(), versaoEsperada)))
+                .orElseGet(() -> naoEncontrada(id)));
+    }
 
-        // Busca serviços
-        if (os.getServicosIds() != null && !os.getServicosIds().isEmpty()) {
-            List<ServicoResponseDTO> servicos = new ArrayList<>();
-            for (Long servicoId : os.getServicosIds()) {
-                try {
-                    ServicoResponseDTO servico = servicoClient.getServico(servicoId);
-                    if (servico != null) {
-                        servicos.add(servico);
-                    }
-                } catch (Exception e) {
-                    log.warn("Erro ao buscar serviço ID: {}", servicoId, e);
-                }
-            }
-            dto.setServicos(servicos);
+    /**
+     * Bloqueia a ordem em modo compartilhado até o fim da transação, se ela aceitar alterações
+     * de serviços e produtos. O status é avaliado sob o bloqueio, e não na entidade já carregada:
+     * uma transição concorrente para {@code AGUARDANDO_APROVACAO} espera esta alteração.
+     */
+    private void bloquearParaItens(Long id, String recusa) {
+        if (repository.bloquearParaItens(id).isEmpty()) {
+            throw new BusinessException(recusa);
         }
+    }
 
-        // Converte itens de ordem de serviço
-        if (os.getItensOrdemServico() != null && !os.getItensOrdemServico().isEmpty()) {
-            List<ItemOrdemServicoDTO> itens = os.getItensOrdemServico().stream()
-                    .map(item -> {
-                        ItemOrdemServicoDTO itemDTO = new ItemOrdemServicoDTO();
-                        itemDTO.setProdutoCatalogoId(item.getProdutoCatalogoId());
-                        itemDTO.setQuantidade(item.getQuantidade());
-                        itemDTO.setPrecoUnitario(item.getPrecoUnitario());
-                        return itemDTO;
-                    })
-                    .collect(Collectors.toList());
-            dto.setItensOrdemServico(itens);
+    private static String versaoDivergente(Long id, Long versaoAtual, Long versaoEsperada) {
+        return "Ordem de serviço ID: " + id + " está na versão " + versaoAtual + ", não na versão " + versaoEsperada;
+    }
+
+    /**
+     * Erro para uma ordem ausente de {@code ordem_servico}: ordens arquivadas existem, mas não
+     * aceitam alterações.
+     */
+    private RuntimeException naoEncontrada(Long id) {
+        if (arquivamentoService.arquivada(id)) {
+            return new BusinessException("Ordem de serviço ID: " + id + " está arquivada e não pode ser alterada");
         }
+        return new RecursoNaoEncontradoException("Ordem de serviço não encontrada");
+    }
 
-        return dto;
+    private static ResultadoTransicaoDTO resultadoTransicao(Long id, EstadoOrdemServico estado,
+                                                            StatusOrdemServico destino, boolean aplicada,
+                                                            boolean elegivel, OrdemServicoResponseDTO detalhe) {
+        ResultadoTransicaoDTO resultado = new ResultadoTransicaoDTO();
+        resultado.setId(id);
+        if (estado == null) {
+            resultado.setResultado(ResultadoTransicaoDTO.Resultado.NAO_ENCONTRADA);
+            resultado.setMensagem("Ordem de serviço não encontrada");
+            return resultado;
+        }
+
+        resultado.setStatusAnterior(estado.getStatus());
+        if (aplicada) {
+            resultado.setResultado(ResultadoTransicaoDTO.Resultado.APLICADA);
+            resultado.setStatusAtual(destino);
+            resultado.setVersao(estado.getVersao() + 1);
+            resultado.setOrdemServico(detalhe);
+        } else if (elegivel) {
+            resultado.setResultado(ResultadoTransicaoDTO.Resultado.CONFLITO);
+            resultado.setVersao(estado.getVersao());
+            resultado.setMensagem("Ordem de serviço foi alterada por outra operação");
+        } else {
+            resultado.setResultado(ResultadoTransicaoDTO.Resultado.TRANSICAO_INVALIDA);
+            resultado.setStatusAtual(estado.getStatus());
+            resultado.setVersao(estado.getVersao());
+            resultado.setMensagem(MaquinaEstadosOrdemServico.mensagem(destino));
+        }
+        return resultado;
+    }
+
+    /**
+     * Respostas completas das ordens, lidas da projeção; apenas as ainda não projetadas são
+     * enriquecidas, em uma única rodada de consultas remotas.
+     */
+    private Map<Long, OrdemServicoResponseDTO> detalhar(Set<Long> ids) {
+        Map<Long, OrdemServicoResponseDTO> detalhes = new HashMap<>();
+        projecaoService.buscarPorIds(ids).forEach(dto -> detalhes.put(dto.getId(), dto));
+
+        List<Long> ausentes = ids.stream().filter(id -> !detalhes.containsKey(id)).toList();
+        if (!ausentes.isEmpty()) {
+            enricher.enriquecer(repository.findAllById(ausentes)).forEach(dto -> detalhes.put(dto.getId(), dto));
+        }
+        return detalhes;
+    }
+
+    private static boolean vazio(String filtro) {
+        return filtro == null || filtro.isBlank();
+    }
+
+    /**
+     * Resposta de uma transição: lida da projeção já atualizada ou, se a ordem ainda não foi
+     * projetada, montada a partir da entidade.
+     */
+    private OrdemServicoResponseDTO buscarAposTransicao(Long id) {
+        return projecaoService.buscarPorId(id)
+                .orElseGet(() -> enricher.enriquecer(getOrdemServico(id)));
+    }
+
+    /**
+     * Enriquece a ordem alterada e grava a projeção de leitura com a mesma resposta. O flush
+     * antecipa o incremento de {@code @Version}, para que resposta e projeção tragam a versão
+     * gravada, e não a anterior.
+     */
+    private OrdemServicoResponseDTO toResponseDTO(OrdemServico os) {
+        repository.flush();
+        OrdemServicoResponseDTO response = enricher.enriquecer(os);
+        projecaoService.salvar(os, response);
+        return response;
     }
 }
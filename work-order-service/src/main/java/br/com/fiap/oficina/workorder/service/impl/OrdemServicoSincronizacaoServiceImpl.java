@@ -0,0 +1,264 @@
+package br.com.fiap.oficina.workorder.service.impl;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.shared.exception.BusinessException;
+import br.com.fiap.oficina.shared.exception.ConflitoException;
+import br.com.fiap.oficina.shared.exception.RecursoNaoEncontradoException;
+import br.com.fiap.oficina.workorder.dto.request.AlteracaoOfflineDTO;
+import br.com.fiap.oficina.workorder.dto.request.SincronizacaoEnvioRequestDTO;
+import br.com.fiap.oficina.workorder.dto.response.*;
+import br.com.fiap.oficina.workorder.dto.response.ResultadoAlteracaoOfflineDTO.Resultado;
+import br.com.fiap.oficina.workorder.entity.AlteracaoSincronizacao;
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.mapper.OrdemServicoMapper;
+import br.com.fiap.oficina.workorder.repository.AlteracaoSincronizacaoRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository.EstadoOrdemServico;
+import br.com.fiap.oficina.workorder.service.OrdemServicoService;
+import br.com.fiap.oficina.workorder.service.OrdemServicoSincronizacaoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Sincronização offline das filas dos mecânicos a partir de {@code alteracao_sincronizacao}.
+ * <p>
+ * O cursor é o ID da última alteração entregue. Os IDs são atribuídos na ordem de commit
+ * ({@link br.com.fiap.oficina.workorder.event.AlteracaoSincronizacaoPublisher}), então nenhuma
+ * alteração confirmada depois de uma leitura recebe ID menor que o cursor devolvido.
+ */
+@Service
+@Slf4j
+public class OrdemServicoSincronizacaoServiceImpl implements OrdemServicoSincronizacaoService {
+
+    /**
+     * Transições que o mecânico pode fazer offline.
+     */
+    private static final Set<StatusOrdemServico> TRANSICOES_OFFLINE = EnumSet.of(
+            StatusOrdemServico.EM_DIAGNOSTICO, StatusOrdemServico.EM_EXECUCAO, StatusOrdemServico.FINALIZADA);
+
+    private final AlteracaoSincronizacaoRepository repository;
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final OrdemServicoService ordemServicoService;
+    private final OrdemServicoMapper mapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int tamanhoPagina;
+    private final Duration retencao;
+
+    public OrdemServicoSincronizacaoServiceImpl(AlteracaoSincronizacaoRepository repository,
+                                                OrdemServicoRepository ordemServicoRepository,
+                                                OrdemServicoService ordemServicoService,
+                                                OrdemServicoMapper mapper,
+                                                TransactionTemplate transactionTemplate,
+                                                MeterRegistry meterRegistry,
+                                                @Value("${workorder.sincronizacao.tamanho-pagina:500}") int tamanhoPagina,
+                                                @Value("${workorder.sincronizacao.retencao:30d}") Duration retencao) {
+        this.repository = repository;
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.ordemServicoService = ordemServicoService;
+        this.mapper = mapper;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.tamanhoPagina = tamanhoPagina;
+        this.retencao = retencao;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SincronizacaoResponseDTO buscarAlteracoes(Long mecanicoId, Long cursor) {
+        if (cursor == null || cursor <= 0 || expirado(cursor)) {
+            meterRegistry.counter("workorder.sincronizacao.consultas", "tipo", "completa").increment();
+            return cargaCompleta(mecanicoId);
+        }
+        meterRegistry.counter("workorder.sincronizacao.consultas", "tipo", "diferencial").increment();
+
+        List<AlteracaoSincronizacao> alteracoes = repository.findPosteriores(mecanicoId, cursor,
+                PageRequest.of(0, tamanhoPagina + 1));
+        boolean temMais = alteracoes.size() > tamanhoPagina;
+        if (temMais) {
+            alteracoes = alteracoes.subList(0, tamanhoPagina);
+        }
+
+        // Reduz a sequência ao estado final de cada ordem e item
+        Set<Long> ordensAlteradas = new LinkedHashSet<>();
+        Set<Long> ordensAtribuidas = new LinkedHashSet<>();
+        Set<Long> ordensRemovidas = new LinkedHashSet<>();
+        Set<Long> itensAlterados = new LinkedHashSet<>();
+        Set<Long> itensRemovidos = new LinkedHashSet<>();
+        for (AlteracaoSincronizacao alteracao : alteracoes) {
+            Long ordemId = alteracao.getOrdemServicoId();
+            switch (alteracao.getTipo()) {
+                case ORDEM_ALTERADA -> ordensAlteradas.add(ordemId);
+                case ORDEM_ATRIBUIDA -> {
+                    ordensAtribuidas.add(ordemId);
+                    ordensRemovidas.remove(ordemId);
+                }
+                case ORDEM_REMOVIDA -> {
+                    ordensRemovidas.add(ordemId);
+                    ordensAlteradas.remove(ordemId);
+                    ordensAtribuidas.remove(ordemId);
+                }
+                case ITEM_ALTERADO -> {
+                    itensAlterados.add(alteracao.getItemId());
+                    itensRemovidos.remove(alteracao.getItemId());
+                }
+                case ITEM_REMOVIDO -> {
+                    itensRemovidos.add(alteracao.getItemId());
+                    itensAlterados.remove(alteracao.getItemId());
+                }
+            }
+        }
+
+        Set<Long> ordensIds = new TreeSet<>(ordensAtribuidas);
+        ordensIds.addAll(ordensAlteradas);
+        List<OrdemServicoSincronizacaoDTO> ordens = new ArrayList<>();
+        List<ItemSincronizacaoDTO> itens = new ArrayList<>();
+        Map<Long, OrdemServico> atuais = new HashMap<>();
+        ordemServicoRepository.findAllById(ordensIds).forEach(os -> atuais.put(os.getId(), os));
+        for (Long ordemId : ordensIds) {
+            OrdemServico os = atuais.get(ordemId);
+            if (os == null || !mecanicoId.equals(os.getMecanicoId())) {
+                // Excluída ou reatribuída depois desta página: o registro de remoção vem adiante
+                ordensRemovidas.add(ordemId);
+                continue;
+            }
+            ordens.add(mapper.toSincronizacaoDTO(os));
+            if (ordensAtribuidas.contains(ordemId)) {
+                os.getItensOrdemServico().forEach(item -> {
+                    itens.add(mapper.toSincronizacaoDTO(item));
+                    itensAlterados.remove(item.getId());
+                });
+            }
+        }
+
+        if (!itensAlterados.isEmpty()) {
+            Map<Long, ItemOrdemServico> itensAtuais = new HashMap<>();
+            ordemServicoRepository.findItensByIdIn(itensAlterados).forEach(item -> itensAtuais.put(item.getId(), item));
+            for (Long itemId : itensAlterados) {
+                ItemOrdemServico item = itensAtuais.get(itemId);
+                if (item == null) {
+                    itensRemovidos.add(itemId);
+                } else if (!ordensRemovidas.contains(item.getOrdemServico().getId())) {
+                    itens.add(mapper.toSincronizacaoDTO(item));
+                }
+            }
+        }
+
+        SincronizacaoResponseDTO response = new SincronizacaoResponseDTO();
+        response.setCursor(alteracoes.isEmpty() ? cursor : alteracoes.get(alteracoes.size() - 1).getId());
+        response.setTemMais(temMais);
+        response.setOrdens(ordens);
+        response.setItens(itens);
+        response.setOrdensRemovidas(new ArrayList<>(ordensRemovidas));
+        response.setItensRemovidos(new ArrayList<>(itensRemovidos));
+        return response;
+    }
+
+    @Override
+    public SincronizacaoEnvioResponseDTO aplicarAlteracoes(Long mecanicoId, SincronizacaoEnvioRequestDTO request) {
+        log.info("Aplicando {} alterações offline do mecânico ID: {}", request.getAlteracoes().size(), mecanicoId);
+
+        List<ResultadoAlteracaoOfflineDTO> resultados = new ArrayList<>();
+        for (AlteracaoOfflineDTO alteracao : request.getAlteracoes()) {
+            ResultadoAlteracaoOfflineDTO resultado = aplicar(mecanicoId, alteracao);
+            meterRegistry.counter("workorder.sincronizacao.alteracoes",
+                    "resultado", resultado.getResultado().name()).increment();
+            resultados.add(resultado);
+        }
+
+        SincronizacaoEnvioResponseDTO response = new SincronizacaoEnvioResponseDTO();
+        response.setTotal(resultados.size());
+        response.setAplicadas(contar(resultados, Resultado.APLICADA));
+        response.setConflitos(contar(resultados, Resultado.CONFLITO));
+        response.setRejeitadas(contar(resultados, Resultado.REJEITADA));
+        response.setResultados(resultados);
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${workorder.sincronizacao.intervalo-limpeza:1h}")
+    public void removerAntigas() {
+        Integer removidas = transactionTemplate.execute(status ->
+                repository.removerAntesDe(LocalDateTime.now().minus(retencao)));
+        if (removidas != null && removidas > 0) {
+            log.info("Removidas {} alterações de sincronização expiradas", removidas);
+        }
+    }
+
+    private ResultadoAlteracaoOfflineDTO aplicar(Long mecanicoId, AlteracaoOfflineDTO alteracao) {
+        ResultadoAlteracaoOfflineDTO resultado = new ResultadoAlteracaoOfflineDTO();
+        resultado.setId(alteracao.getId());
+        resultado.setOrdemServicoId(alteracao.getOrdemServicoId());
+
+        Optional<EstadoOrdemServico> estado = ordemServicoRepository.findEstadoById(alteracao.getOrdemServicoId());
+        if (estado.isEmpty() || !mecanicoId.equals(estado.get().getMecanicoId())) {
+            return rejeitar(resultado, "Ordem de serviço não encontrada na fila do mecânico");
+        }
+        if (!TRANSICOES_OFFLINE.contains(alteracao.getStatus())) {
+            return rejeitar(resultado, "Transição para " + alteracao.getStatus() + " não pode ser feita offline");
+        }
+
+        try {
+            ordemServicoService.transicionarNaVersao(alteracao.getOrdemServicoId(), alteracao.getVersao(),
+                    alteracao.getStatus(), alteracao.getObservacoes());
+            resultado.setResultado(Resultado.APLICADA);
+        } catch (ConflitoException e) {
+            resultado.setResultado(Resultado.CONFLITO);
+            resultado.setMensagem(e.getMessage());
+        } catch (BusinessException | RecursoNaoEncontradoException e) {
+            return rejeitar(resultado, e.getMessage());
+        }
+        // Estado atual, para o tablet substituir a cópia local (aplicada) ou resolver o conflito
+        ordemServicoRepository.findById(alteracao.getOrdemServicoId())
+                .map(mapper::toSincronizacaoDTO)
+                .ifPresent(resultado::setOrdemServico);
+        return resultado;
+    }
+
+    private SincronizacaoResponseDTO cargaCompleta(Long mecanicoId) {
+        // O cursor é lido antes da fila: o que mudar entre as duas leituras é reenviado depois
+        Long ultimoId = repository.findUltimoId();
+        List<OrdemServico> ordens = ordemServicoRepository.findByMecanicoId(mecanicoId);
+
+        SincronizacaoResponseDTO response = new SincronizacaoResponseDTO();
+        response.setCursor(ultimoId == null ? 0L : ultimoId);
+        response.setCompleto(true);
+        response.setOrdens(ordens.stream().map(mapper::toSincronizacaoDTO).toList());
+        response.setItens(ordens.stream()
+                .flatMap(os -> os.getItensOrdemServico().stream())
+                .map(mapper::toSincronizacaoDTO)
+                .toList());
+        response.setOrdensRemovidas(List.of());
+        response.setItensRemovidos(List.of());
+        return response;
+    }
+
+    /**
+     * O cursor é anterior às alterações retidas: as que vieram depois dele podem ter sido
+     * removidas pela limpeza.
+     */
+    private boolean expirado(Long cursor) {
+        Long primeiroId = repository.findPrimeiroId();
+        return primeiroId == null || cursor < primeiroId - 1;
+    }
+
+    private static ResultadoAlteracaoOfflineDTO rejeitar(ResultadoAlteracaoOfflineDTO resultado, String mensagem) {
+        resultado.setResultado(Resultado.REJEITADA);
+        resultado.setMensagem(mensagem);
+        return resultado;
+    }
+
+    private static int contar(List<ResultadoAlteracaoOfflineDTO> resultados, Resultado resultado) {
+        return (int) resultados.stream().filter(r -> r.getResultado() == resultado).count();
+    }
+}
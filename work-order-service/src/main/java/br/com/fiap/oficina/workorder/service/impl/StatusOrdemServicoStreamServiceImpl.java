@@ -0,0 +1,233 @@
+package br.com.fiap.oficina.workorder.service.impl;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.dto.response.EventoStatusOrdemServicoDTO;
+import br.com.fiap.oficina.workorder.service.StatusOrdemServicoStreamService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Mantém as conexões SSE de status e um buffer circular com os últimos
+ * {@code workorder.sse.tamanho-buffer} eventos, usado para retomar uma conexão pelo
+ * {@code Last-Event-ID}.
+ * <p>
+ * Os IDs são sequenciais a partir do instante de inicialização (em milissegundos × 1000), de
+ * forma que um ID emitido antes de um restart é sempre menor que o primeiro do buffer atual e
+ * resulta em {@value #EVENTO_REINICIO}, e não em uma retomada incorreta.
+ * <p>
+ * Cada conexão tem uma fila própria, esvaziada por uma virtual thread: uma conexão lenta não
+ * atrasa as demais nem a transação que publicou o evento. Se a fila encher, a conexão é
+ * encerrada e o cliente retoma pelo {@code Last-Event-ID}.
+ */
+@Service
+@Slf4j
+public class StatusOrdemServicoStreamServiceImpl implements StatusOrdemServicoStreamService {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final Registro[] buffer;
+    private final long primeiroId;
+    private final int tamanhoFila;
+    private final Duration timeout;
+    private final CopyOnWriteArrayList<Assinatura> assinaturas = new CopyOnWriteArrayList<>();
+    private final ThreadFactory threads = Thread.ofVirtual().name("sse-status-", 0).factory();
+    private final Counter retomadas;
+    private final Counter reinicios;
+
+    /**
+     * ID do último evento publicado; o buffer guarda os eventos de
+     * {@code max(primeiroId, ultimoId - buffer.length + 1)} a {@code ultimoId}.
+     */
+    private long ultimoId;
+
+    public StatusOrdemServicoStreamServiceImpl(MeterRegistry meterRegistry,
+                                               @Value("${workorder.sse.tamanho-buffer:1000}") int tamanhoBuffer,
+                                               @Value("${workorder.sse.tamanho-fila:256}") int tamanhoFila,
+                                               @Value("${workorder.sse.timeout:30m}") Duration timeout) {
+        this.buffer = new Registro[tamanhoBuffer];
+        this.primeiroId = System.currentTimeMillis() * 1000;
+        this.ultimoId = primeiroId - 1;
+        this.tamanhoFila = tamanhoFila;
+        this.timeout = timeout;
+
+        Gauge.builder("workorder.sse.conexoes", assinaturas, CopyOnWriteArrayList::size)
+                .description("Conexões SSE de status abertas")
+                .register(meterRegistry);
+        this.retomadas = Counter.builder("workorder.sse.retomadas")
+                .description("Conexões retomadas pelo Last-Event-ID a partir do buffer")
+                .register(meterRegistry);
+        this.reinicios = Counter.builder("workorder.sse.reinicios")
+                .description("Conexões cujo Last-Event-ID já saiu do buffer")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter assinar(Long mecanicoId, Set<StatusOrdemServico> status, String ultimoEventoId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Assinatura assinatura = new Assinatura(emitter, mecanicoId,
+                status == null || status.isEmpty() ? null : Set.copyOf(status));
+        emitter.onCompletion(assinatura::finalizar);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(erro -> assinatura.finalizar());
+
+        // O replay e o registro acontecem sob o mesmo lock da publicação: nenhum evento se
+        // perde nem é enviado duas vezes entre um e outro
+        synchronized (this) {
+            retomar(assinatura, ultimoEventoId);
+            assinaturas.add(assinatura);
+        }
+        threads.newThread(assinatura::drenar).start();
+        return emitter;
+    }
+
+    @Override
+    public synchronized void publicar(EventoStatusOrdemServicoDTO evento) {
+        Registro registro = new Registro(++ultimoId, evento);
+        buffer[(int) (registro.id() % buffer.length)] = registro;
+        for (Assinatura assinatura : assinaturas) {
+            if (assinatura.aceita(evento)) {
+                assinatura.enfileirar(registro);
+            }
+        }
+    }
+
+    /**
+     * Comentário periódico que mantém a conexão aberta em proxies e detecta clientes que já
+     * desconectaram.
+     */
+    @Scheduled(fixedDelayString = "${workorder.sse.heartbeat:25s}")
+    public void enviarHeartbeat() {
+        assinaturas.forEach(assinatura -> assinatura.enfileirar(HEARTBEAT));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        assinaturas.forEach(assinatura -> assinatura.emitter().complete());
+    }
+
+    private void retomar(Assinatura assinatura, String ultimoEventoId) {
+        if (ultimoEventoId == null || ultimoEventoId.isBlank()) {
+            return;
+        }
+        long ultimoRecebido;
+        try {
+            ultimoRecebido = Long.parseLong(ultimoEventoId.trim());
+        } catch (NumberFormatException e) {
+            ultimoRecebido = Long.MIN_VALUE;
+        }
+
+        long maisAntigo = Math.max(primeiroId, ultimoId - buffer.length + 1);
+        if (ultimoRecebido < maisAntigo - 1 || ultimoRecebido > ultimoId) {
+            reinicios.increment();
+            assinatura.enfileirar(EVENTO_REINICIO);
+            return;
+        }
+        retomadas.increment();
+        for (long id = ultimoRecebido + 1; id <= ultimoId; id++) {
+            Registro registro = buffer[(int) (id % buffer.length)];
+            if (assinatura.aceita(registro.evento())) {
+                assinatura.enfileirar(registro);
+            }
+        }
+    }
+
+    private record Registro(long id, EventoStatusOrdemServicoDTO evento) {
+    }
+
+    private final class Assinatura {
+
+        private final SseEmitter emitter;
+        private final Long mecanicoId;
+        private final Set<StatusOrdemServico> status;
+        private final BlockingQueue<Object> fila;
+        private volatile boolean encerrada;
+
+        private Assinatura(SseEmitter emitter, Long mecanicoId, Set<StatusOrdemServico> status) {
+            this.emitter = emitter;
+            this.mecanicoId = mecanicoId;
+            this.status = status;
+            // Um replay completo do buffer sempre cabe na fila
+            this.fila = new ArrayBlockingQueue<>(buffer.length + tamanhoFila);
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        boolean aceita(EventoStatusOrdemServicoDTO evento) {
+            if (mecanicoId != null && !mecanicoId.equals(evento.getMecanicoId())
+                    && !mecanicoId.equals(evento.getMecanicoAnteriorId())) {
+                return false;
+            }
+            return status == null || status.contains(evento.getStatus())
+                    || (evento.getStatusAnterior() != null && status.contains(evento.getStatusAnterior()));
+        }
+
+        void enfileirar(Object item) {
+            if (!encerrada && !fila.offer(item)) {
+                log.warn("Conexão SSE de status encerrada: cliente não acompanhou {} eventos pendentes", fila.size());
+                encerrar();
+            }
+        }
+
+        void drenar() {
+            try {
+                while (true) {
+                    Object item = fila.take();
+                    if (encerrada) {
+                        return;
+                    }
+                    enviar(item);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado ou conexão já encerrada pelo container
+                log.debug("Conexão SSE de status encerrada: {}", e.getMessage());
+                finalizar();
+            }
+        }
+
+        private void enviar(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else if (item instanceof Registro registro) {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(registro.id()))
+                        .name(EVENTO_STATUS)
+                        .data(registro.evento(), MediaType.APPLICATION_JSON));
+            } else {
+                emitter.send(SseEmitter.event().name(EVENTO_REINICIO).data("{}", MediaType.APPLICATION_JSON));
+            }
+        }
+
+        private void encerrar() {
+            finalizar();
+            emitter.complete();
+        }
+
+        void finalizar() {
+            encerrada = true;
+            assinaturas.remove(this);
+            // Desbloqueia a thread de envio, que termina ao ver a flag
+            fila.clear();
+            fila.offer(HEARTBEAT);
+        }
+    }
+}
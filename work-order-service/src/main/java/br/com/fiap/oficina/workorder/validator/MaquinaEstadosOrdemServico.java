@@ -0,0 +1,95 @@
+package br.com.fiap.oficina.workorder.validator;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.shared.exception.BusinessException;
+import br.com.fiap.oficina.workorder.entity.TipoEventoOutbox;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static br.com.fiap.oficina.shared.enums.StatusOrdemServico.*;
+
+/**
+ * Transições de status permitidas para uma ordem de serviço, indexadas pelo status de destino.
+ */
+public final class MaquinaEstadosOrdemServico {
+
+    private static final Map<StatusOrdemServico, Set<StatusOrdemServico>> ORIGENS =
+            new EnumMap<>(StatusOrdemServico.class);
+    private static final Map<StatusOrdemServico, String> MENSAGENS = new EnumMap<>(StatusOrdemServico.class);
+
+    static {
+        // O diagnóstico nunca teve restrição de origem; os clientes da API contam com isso
+        permitir(EM_DIAGNOSTICO, EnumSet.allOf(StatusOrdemServico.class),
+                "Ordem de serviço não pode ser diagnosticada");
+        permitir(AGUARDANDO_APROVACAO, EnumSet.of(EM_DIAGNOSTICO),
+                "Ordem de serviço deve estar em diagnóstico para aguardar aprovação");
+        permitir(EM_EXECUCAO, EnumSet.of(AGUARDANDO_APROVACAO),
+                "Ordem de serviço deve estar aguardando aprovação para iniciar execução");
+        permitir(FINALIZADA, EnumSet.of(EM_EXECUCAO),
+                "Ordem de serviço deve estar em execução para ser finalizada");
+        permitir(ENTREGUE, EnumSet.of(FINALIZADA),
+                "Ordem de serviço deve estar finalizada para ser entregue");
+        permitir(REPROVADA, EnumSet.of(AGUARDANDO_APROVACAO),
+                "Ordem de serviço deve estar aguardando aprovação para ser reprovada");
+        permitir(CANCELADA, EnumSet.of(RECEBIDA, EM_DIAGNOSTICO, AGUARDANDO_APROVACAO, REPROVADA),
+                "Ordem de serviço não pode ser cancelada após o início da execução");
+    }
+
+    private MaquinaEstadosOrdemServico() {
+    }
+
+    private static void permitir(StatusOrdemServico destino, Set<StatusOrdemServico> origens, String mensagem) {
+        ORIGENS.put(destino, origens);
+        MENSAGENS.put(destino, mensagem);
+    }
+
+    public static Set<StatusOrdemServico> origens(StatusOrdemServico destino) {
+        return ORIGENS.getOrDefault(destino, Set.of());
+    }
+
+    public static boolean permitida(StatusOrdemServico origem, StatusOrdemServico destino) {
+        return origens(destino).contains(origem);
+    }
+
+    public static String mensagem(StatusOrdemServico destino) {
+        return MENSAGENS.getOrDefault(destino, "Não é permitido alterar a ordem de serviço para " + destino);
+    }
+
+    public static void validar(StatusOrdemServico origem, StatusOrdemServico destino) {
+        if (!permitida(origem, destino)) {
+            throw new BusinessException(mensagem(destino));
+        }
+    }
+
+    /**
+     * Evento de domínio registrado quando a ordem entra no status, se houver.
+     */
+    public static Optional<TipoEventoOutbox> evento(StatusOrdemServico destino) {
+        return switch (destino) {
+            case EM_DIAGNOSTICO -> Optional.of(TipoEventoOutbox.CALCULAR_ORCAMENTO);
+            case FINALIZADA -> Optional.of(TipoEventoOutbox.VEICULO_DISPONIVEL);
+            default -> Optional.empty();
+        };
+    }
+
+    /**
+     * Datas do ciclo de vida preenchidas ao entrar em cada status; as demais ficam nulas e
+     * são preservadas pela atualização. O início do diagnóstico só é gravado na primeira vez.
+     */
+    public record DatasTransicao(LocalDateTime inicioDiagnostico, LocalDateTime inicioExecucao,
+                                 LocalDateTime terminoExecucao, LocalDateTime entrega) {
+
+        public static DatasTransicao para(StatusOrdemServico destino, LocalDateTime agora) {
+            return new DatasTransicao(
+                    destino == EM_DIAGNOSTICO ? agora : null,
+                    destino == EM_EXECUCAO ? agora : null,
+                    destino == FINALIZADA ? agora : null,
+                    destino == ENTREGUE ? agora : null);
+        }
+    }
+}
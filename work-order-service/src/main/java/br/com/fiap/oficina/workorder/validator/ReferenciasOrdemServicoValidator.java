@@ -0,0 +1,167 @@
+package br.com.fiap.oficina.workorder.validator;
+
+import br.com.fiap.oficina.shared.exception.RecursoNaoEncontradoException;
+import br.com.fiap.oficina.shared.exception.TempoEsgotadoException;
+import br.com.fiap.oficina.shared.security.AuthorizationContext;
+import br.com.fiap.oficina.workorder.cache.CatalogoCache;
+import br.com.fiap.oficina.workorder.client.ClienteClient;
+import br.com.fiap.oficina.workorder.client.VeiculoClient;
+import br.com.fiap.oficina.workorder.dto.response.ClienteResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Valida as referências remotas de uma nova ordem de serviço (cliente, veículo e
+ * serviços) antes de qualquer acesso ao banco.
+ * <p>
+ * As três consultas rodam em paralelo e os serviços são buscados em uma única chamada em
+ * lote, de forma que a latência da validação é a da dependência mais lenta e nenhuma
+ * conexão com o banco fica presa aguardando os demais microserviços.
+ */
+@Component
+@Slf4j
+public class ReferenciasOrdemServicoValidator {
+
+    private final ClienteClient clienteClient;
+    private final VeiculoClient veiculoClient;
+    private final CatalogoCache catalogoCache;
+    private final ExecutorService executor;
+    private final Duration timeout;
+
+    public ReferenciasOrdemServicoValidator(ClienteClient clienteClient,
+                                            VeiculoClient veiculoClient,
+                                            CatalogoCache catalogoCache,
+                                            @Qualifier("enriquecimentoExecutor") ExecutorService executor,
+                                            @Value("${workorder.validacao.timeout:5s}") Duration timeout) {
+        this.clienteClient = clienteClient;
+        this.veiculoClient = veiculoClient;
+        this.catalogoCache = catalogoCache;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return cliente, veículo e os serviços ativos dentre os informados, na ordem do pedido
+     * @throws RecursoNaoEncontradoException se o cliente ou o veículo não existir
+     * @throws TempoEsgotadoException se alguma dependência não responder dentro do prazo
+     */
+    public ReferenciasValidadas validar(Long clienteId, Long veiculoId, List<Long> servicosIds) {
+        long prazo = System.nanoTime() + timeout.toNanos();
+        List<Long> idsServicos = servicosIds != null
+                ? servicosIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList())
+                : Collections.emptyList();
+
+        Future<ClienteResponseDTO> clienteFuture = submeter(() -> clienteClient.getCliente(clienteId));
+        Future<VeiculoResponseDTO> veiculoFuture = submeter(() -> veiculoClient.getVeiculo(veiculoId));
+        Future<List<ServicoResponseDTO>> servicosFuture = idsServicos.isEmpty()
+                ? CompletableFuture.completedFuture(Collections.emptyList())
+                : submeter(() -> catalogoCache.getServicos(idsServicos));
+
+        try {
+            ClienteResponseDTO cliente = aguardar("cliente", clienteFuture, prazo);
+            if (cliente == null) {
+                throw new RecursoNaoEncontradoException("Cliente não encontrado");
+            }
+            VeiculoResponseDTO veiculo = aguardar("veículo", veiculoFuture, prazo);
+            if (veiculo == null) {
+                throw new RecursoNaoEncontradoException("Veículo não encontrado");
+            }
+
+            Map<Long, ServicoResponseDTO> encontrados = aguardar("serviços", servicosFuture, prazo).stream()
+                    .collect(Collectors.toMap(ServicoResponseDTO::getId, Function.identity(), (a, b) -> a));
+            List<ServicoResponseDTO> servicosAtivos = idsServicos.stream()
+                    .map(encontrados::get)
+                    .filter(servico -> servico != null && Boolean.TRUE.equals(servico.getAtivo()))
+                    .collect(Collectors.toList());
+
+            return new ReferenciasValidadas(cliente, veiculo, servicosAtivos);
+        } finally {
+            clienteFuture.cancel(true);
+            veiculoFuture.cancel(true);
+            servicosFuture.cancel(true);
+        }
+    }
+
+    /**
+     * Versão em lote de {@link #validar}: clientes, veículos e serviços de todas as ordens são
+     * buscados com uma chamada em lote para cada dependência, em paralelo. IDs inexistentes
+     * ficam fora dos mapas; cabe a quem chama rejeitar as ordens que os referenciam.
+     */
+    public ReferenciasLote validarEmLote(Collection<Long> clientesIds, Collection<Long> veiculosIds,
+                                         Collection<Long> servicosIds) {
+        long prazo = System.nanoTime() + timeout.toNanos();
+        Future<List<ClienteResponseDTO>> clientesFuture = buscarEmLote(clientesIds, clienteClient::getClientes);
+        Future<List<VeiculoResponseDTO>> veiculosFuture = buscarEmLote(veiculosIds, veiculoClient::getVeiculos);
+        Future<List<ServicoResponseDTO>> servicosFuture = buscarEmLote(servicosIds, catalogoCache::getServicos);
+
+        try {
+            return new ReferenciasLote(
+                    porId(aguardar("clientes", clientesFuture, prazo), ClienteResponseDTO::getId),
+                    porId(aguardar("veículos", veiculosFuture, prazo), VeiculoResponseDTO::getId),
+                    porId(aguardar("serviços", servicosFuture, prazo), ServicoResponseDTO::getId));
+        } finally {
+            clientesFuture.cancel(true);
+            veiculosFuture.cancel(true);
+            servicosFuture.cancel(true);
+        }
+    }
+
+    private <T> Future<List<T>> buscarEmLote(Collection<Long> ids, Function<List<Long>, List<T>> consulta) {
+        List<Long> distintos = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (distintos.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        return submeter(() -> consulta.apply(distintos));
+    }
+
+    private static <T> Map<Long, T> porId(List<T> encontrados, Function<T, Long> id) {
+        Map<Long, T> mapa = new HashMap<>();
+        if (encontrados != null) {
+            encontrados.forEach(encontrado -> mapa.putIfAbsent(id.apply(encontrado), encontrado));
+        }
+        return mapa;
+    }
+
+    private <T> Future<T> submeter(Supplier<T> consulta) {
+        Supplier<T> tarefa = AuthorizationContext.propagate(consulta);
+        return executor.submit(tarefa::get);
+    }
+
+    private static <T> T aguardar(String referencia, Future<T> future, long prazo) {
+        try {
+            return future.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Prazo de validação esgotado aguardando {}", referencia);
+            throw new TempoEsgotadoException("Tempo esgotado ao validar " + referencia + " da ordem de serviço", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Erro ao validar " + referencia + " da ordem de serviço", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validação da ordem de serviço interrompida", e);
+        }
+    }
+
+    public record ReferenciasValidadas(ClienteResponseDTO cliente,
+                                       VeiculoResponseDTO veiculo,
+                                       List<ServicoResponseDTO> servicos) {
+    }
+
+    public record ReferenciasLote(Map<Long, ClienteResponseDTO> clientes,
+                                  Map<Long, VeiculoResponseDTO> veiculos,
+                                  Map<Long, ServicoResponseDTO> servicos) {
+    }
+}
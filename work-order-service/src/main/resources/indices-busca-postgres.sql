@@ -0,0 +1,29 @@
+-- Índices da busca textual e dos filtros por trecho da listagem de ordens de serviço (PostgreSQL)
+-- Execute uma vez por banco, fora de transação, antes ou depois de subir o serviço:
+--   psql -U postgres -d oficina-db -f src/main/resources/indices-busca-postgres.sql
+-- Enquanto a coluna documento_busca não existir, a busca usa LIKE.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Coluna gerada com placa e nome do cliente (peso A) e observações (peso B).
+-- Adicionar uma coluna STORED reescreve a tabela sob bloqueio exclusivo: execute fora do horário de pico.
+ALTER TABLE ordem_servico_leitura ADD COLUMN IF NOT EXISTS documento_busca tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', regexp_replace(lower(coalesce(veiculo_placa, '')), '[^a-z0-9]', '', 'g')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(cliente_nome, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(observacoes, '')), 'B')) STORED;
+
+-- CONCURRENTLY não bloqueia as escritas na tabela durante a criação dos índices
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_os_leitura_documento_busca
+    ON ordem_servico_leitura USING GIN (documento_busca);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_os_leitura_placa_trgm
+    ON ordem_servico_leitura USING GIN ((regexp_replace(upper(coalesce(veiculo_placa, '')), '[^A-Z0-9]', '', 'g')) gin_trgm_ops);
+
+-- Filtros cliente e modelo de GET /api/ordens-servico: LOWER(coluna) LIKE '%trecho%'.
+-- Os índices B-tree das colunas servem à ordenação, mas não a um LIKE com curinga no início.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ordem_servico_cliente_nome_trgm
+    ON ordem_servico USING GIN (lower(cliente_nome) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ordem_servico_veiculo_modelo_trgm
+    ON ordem_servico USING GIN (lower(veiculo_modelo) gin_trgm_ops);
@@ -0,0 +1,25 @@
+package br.com.fiap.oficina.workorder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * A aplicação registra os clientes Feign, que não fazem parte do slice JPA; esta configuração
+ * expõe apenas as entidades, os repositórios, o Jackson e um registro de métricas em memória.
+ * Cada teste importa os serviços que exercita.
+ */
+@SpringBootConfiguration(proxyBeanMethods = false)
+@AutoConfigurationPackage(basePackages = "br.com.fiap.oficina.workorder")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+public class ConfiguracaoTesteJpa {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.fiap.oficina.workorder.cache;
+
+import br.com.fiap.oficina.workorder.client.ProdutoCatalogoClient;
+import br.com.fiap.oficina.workorder.client.ServicoClient;
+import br.com.fiap.oficina.workorder.dto.response.ProdutoCatalogoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoCacheTest {
+
+    @Mock
+    private ServicoClient servicoClient;
+
+    @Mock
+    private ProdutoCatalogoClient produtoClient;
+
+    private ExecutorService executor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CatalogoCache catalogoCache;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+        catalogoCache = new CatalogoCache(servicoClient, produtoClient, executor, meterRegistry,
+                Duration.ofMinutes(30), Duration.ofMinutes(5), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve buscar serviço no catalog-service apenas uma vez")
+    void deveBuscarServicoApenasUmaVez() {
+        when(servicoClient.getServico(1L)).thenReturn(servico(1L));
+
+        assertEquals(1L, catalogoCache.getServico(1L).getId());
+        assertEquals(1L, catalogoCache.getServico(1L).getId());
+
+        verify(servicoClient, times(1)).getServico(1L);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "catalogo.servicos", "result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve buscar em lote apenas os serviços ausentes do cache")
+    void deveBuscarEmLoteApenasAusentes() {
+        when(servicoClient.getServico(1L)).thenReturn(servico(1L));
+        when(servicoClient.getServicos(List.of(2L, 3L))).thenReturn(List.of(servico(2L), servico(3L)));
+
+        catalogoCache.getServico(1L);
+        List<ServicoResponseDTO> result = catalogoCache.getServicos(List.of(1L, 2L, 3L));
+
+        assertEquals(3, result.size());
+        verify(servicoClient, times(1)).getServicos(List.of(2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Deve buscar novamente após invalidação")
+    void deveBuscarNovamenteAposInvalidacao() {
+        ProdutoCatalogoResponseDTO produto = new ProdutoCatalogoResponseDTO();
+        produto.setId(1L);
+        when(produtoClient.getProduto(1L)).thenReturn(produto);
+
+        catalogoCache.getProduto(1L);
+        catalogoCache.invalidar();
+        catalogoCache.getProduto(1L);
+
+        verify(produtoClient, times(2)).getProduto(1L);
+    }
+
+    private ServicoResponseDTO servico(Long id) {
+        ServicoResponseDTO servico = new ServicoResponseDTO();
+        servico.setId(id);
+        servico.setAtivo(true);
+        return servico;
+    }
+}
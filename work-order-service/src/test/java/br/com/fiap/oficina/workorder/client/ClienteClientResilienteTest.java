@@ -0,0 +1,136 @@
+package br.com.fiap.oficina.workorder.client;
+
+import br.com.fiap.oficina.workorder.config.ResilienciaConfig;
+import br.com.fiap.oficina.workorder.dto.response.ClienteResponseDTO;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.springboot3.bulkhead.autoconfigure.BulkheadAutoConfiguration;
+import io.github.resilience4j.springboot3.circuitbreaker.autoconfigure.CircuitBreakerAutoConfiguration;
+import io.github.resilience4j.springboot3.retry.autoconfigure.RetryAutoConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Exercita as anotações do Resilience4j no decorador com a configuração do application.yml,
+ * reduzindo apenas a janela do circuito para abri-lo só quando as duas últimas chamadas falharem.
+ */
+@SpringBootTest(classes = {ClienteClientResiliente.class, ResilienciaConfig.class,
+        ClienteClientResilienteTest.Metricas.class}, properties = {
+        "resilience4j.circuitbreaker.instances.cliente.sliding-window-size=2",
+        "resilience4j.circuitbreaker.instances.cliente.minimum-number-of-calls=2",
+        "resilience4j.circuitbreaker.instances.cliente.failure-rate-threshold=100",
+        "resilience4j.retry.instances.cliente.wait-duration=0ms"
+})
+@ImportAutoConfiguration({AopAutoConfiguration.class, CircuitBreakerAutoConfiguration.class,
+        RetryAutoConfiguration.class, BulkheadAutoConfiguration.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ClienteClientResilienteTest {
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Metricas {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private ClienteClient client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean(name = "clienteFeignClient")
+    private ClienteClient feign;
+
+    @Test
+    @DisplayName("Deve repetir a chamada e servir o último cliente obtido quando o customer-service falhar")
+    void deveServirUltimoValorConhecido() {
+        // Arrange
+        when(feign.getClientes(List.of(1L, 2L))).thenReturn(List.of(cliente(1L, "João"), cliente(2L, "Maria")));
+        client.getClientes(List.of(1L, 2L));
+        when(feign.getCliente(1L)).thenThrow(indisponivel());
+
+        // Act
+        ClienteResponseDTO cliente = client.getCliente(1L);
+
+        // Assert
+        assertEquals("João", cliente.getNome());
+        verify(feign, times(2)).getCliente(1L);
+        assertEquals(1.0, meterRegistry.get("workorder.dependencia.fallback")
+                .tags("dependencia", "cliente", "resultado", "ultimo_valor").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve repassar erros 4xx sem repetir nem servir o último valor")
+    void deveRepassarErroDoPedido() {
+        // Arrange
+        when(feign.getCliente(1L)).thenReturn(cliente(1L, "João"));
+        client.getCliente(1L);
+        reset(feign);
+        when(feign.getCliente(1L)).thenThrow(naoEncontrado());
+
+        // Act & Assert
+        assertThrows(FeignException.NotFound.class, () -> client.getCliente(1L));
+        verify(feign, times(1)).getCliente(1L);
+    }
+
+    @Test
+    @DisplayName("Deve abrir o circuito após falhas e recusar chamadas sem acionar o customer-service")
+    void deveAbrirCircuito() {
+        // Arrange
+        when(feign.getClientes(anyList())).thenThrow(indisponivel());
+
+        // Act: uma chamada com duas tentativas completa a janela só com falhas
+        assertThrows(RetryableException.class, () -> client.getClientes(List.of(1L)));
+        CallNotPermittedException recusada = assertThrows(CallNotPermittedException.class,
+                () -> client.getClientes(List.of(1L)));
+
+        // Assert
+        assertTrue(recusada.getMessage().contains("cliente"));
+        verify(feign, times(2)).getClientes(anyList());
+        assertEquals(2.0, meterRegistry.get("workorder.dependencia.fallback")
+                .tags("dependencia", "cliente", "resultado", "indisponivel").counter().count());
+    }
+
+    private static ClienteResponseDTO cliente(Long id, String nome) {
+        ClienteResponseDTO cliente = new ClienteResponseDTO();
+        cliente.setId(id);
+        cliente.setNome(nome);
+        return cliente;
+    }
+
+    private static Request requisicao() {
+        return Request.create(Request.HttpMethod.GET, "/api/clientes", new HashMap<>(), null,
+                StandardCharsets.UTF_8, null);
+    }
+
+    private static RetryableException indisponivel() {
+        return new RetryableException(-1, "Read timed out", Request.HttpMethod.GET, (Long) null, requisicao());
+    }
+
+    private static FeignException naoEncontrado() {
+        return new FeignException.NotFound("Not Found", requisicao(), null, null);
+    }
+}
@@ -0,0 +1,219 @@
+package br.com.fiap.oficina.workorder.enricher;
+
+import br.com.fiap.oficina.workorder.cache.CatalogoCache;
+import br.com.fiap.oficina.workorder.client.ClienteClient;
+import br.com.fiap.oficina.workorder.client.ProdutoCatalogoClient;
+import br.com.fiap.oficina.workorder.client.ServicoClient;
+import br.com.fiap.oficina.workorder.client.VeiculoClient;
+import br.com.fiap.oficina.workorder.dto.response.ClienteResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.mapper.OrdemServicoMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OrdemServicoEnricherTest {
+
+    @Mock
+    private OrdemServicoMapper mapper;
+
+    @Mock
+    private ClienteClient clienteClient;
+
+    @Mock
+    private VeiculoClient veiculoClient;
+
+    @Mock
+    private ServicoClient servicoClient;
+
+    @Mock
+    private ProdutoCatalogoClient produtoClient;
+
+    private ExecutorService executor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OrdemServicoEnricher enricher;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+        CatalogoCache catalogoCache = new CatalogoCache(servicoClient, produtoClient, executor, meterRegistry,
+                Duration.ofMinutes(30), Duration.ofMinutes(5), 1_000);
+        enricher = new OrdemServicoEnricher(mapper, clienteClient, veiculoClient, catalogoCache,
+                executor, meterRegistry, Duration.ofMillis(300));
+
+        when(mapper.toDTO(any(OrdemServico.class))).thenAnswer(invocation -> {
+            OrdemServico os = invocation.getArgument(0);
+            OrdemServicoResponseDTO dto = new OrdemServicoResponseDTO();
+            dto.setId(os.getId());
+            return dto;
+        });
+        when(clienteClient.getClientes(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> {
+                ClienteResponseDTO cliente = new ClienteResponseDTO();
+                cliente.setId(id);
+                cliente.setNome("Cliente " + id);
+                return cliente;
+            }).collect(Collectors.toList());
+        });
+        when(veiculoClient.getVeiculos(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> {
+                VeiculoResponseDTO veiculo = new VeiculoResponseDTO();
+                veiculo.setId(id);
+                veiculo.setPlaca("ABC" + id);
+                return veiculo;
+            }).collect(Collectors.toList());
+        });
+        when(servicoClient.getServicos(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> {
+                ServicoResponseDTO servico = new ServicoResponseDTO();
+                servico.setId(id);
+                servico.setNome("Serviço " + id);
+                return servico;
+            }).collect(Collectors.toList());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve enriquecer uma lista de ordens com uma chamada por dependência")
+    void deveEnriquecerListaComChamadasEmLote() {
+        List<OrdemServico> ordens = LongStream.rangeClosed(1, 50)
+                .mapToObj(id -> novaOrdem(id, id % 5, id, List.of(1L, 2L, id % 3 + 1)))
+                .collect(Collectors.toList());
+
+        List<OrdemServicoResponseDTO> result = enricher.enriquecer(ordens);
+
+        assertEquals(50, result.size());
+        assertEquals("Cliente 2", result.get(1).getCliente().getNome());
+        assertEquals("ABC2", result.get(1).getVeiculo().getPlaca());
+        assertEquals(3, result.get(1).getServicos().size());
+        verify(clienteClient, times(1)).getClientes(anyList());
+        verify(veiculoClient, times(1)).getVeiculos(anyList());
+        verify(servicoClient, times(1)).getServicos(anyList());
+        verify(clienteClient, never()).getCliente(any());
+        verify(veiculoClient, never()).getVeiculo(any());
+        verify(servicoClient, never()).getServico(any());
+    }
+
+    @Test
+    @DisplayName("Deve dividir IDs em lotes quando excedem o tamanho máximo")
+    void deveDividirIdsEmLotes() {
+        List<OrdemServico> ordens = LongStream.rangeClosed(1, OrdemServicoEnricher.TAMANHO_LOTE + 1L)
+                .mapToObj(id -> novaOrdem(id, id, id, List.of()))
+                .collect(Collectors.toList());
+
+        List<OrdemServicoResponseDTO> result = enricher.enriquecer(ordens);
+
+        assertEquals(OrdemServicoEnricher.TAMANHO_LOTE + 1, result.size());
+        assertNotNull(result.get(OrdemServicoEnricher.TAMANHO_LOTE).getCliente());
+        verify(clienteClient, times(2)).getClientes(anyList());
+        verify(servicoClient, never()).getServicos(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve retornar dados parciais quando uma dependência falha")
+    void deveRetornarDadosParciaisQuandoDependenciaFalha() {
+        when(clienteClient.getClientes(anyList())).thenThrow(new RuntimeException("customer-service indisponível"));
+
+        List<OrdemServicoResponseDTO> result = enricher.enriquecer(List.of(novaOrdem(1L, 1L, 1L, List.of(1L))));
+
+        assertNull(result.get(0).getCliente());
+        assertNotNull(result.get(0).getVeiculo());
+        assertEquals(1, result.get(0).getServicos().size());
+        assertTrue(result.get(0).isEnriquecimentoIncompleto());
+        assertEquals(List.of("cliente"), result.get(0).getDependenciasIndisponiveis());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o prazo global e marcar dependência lenta como indisponível")
+    void deveRespeitarPrazoGlobal() {
+        when(servicoClient.getServicos(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+
+        long inicio = System.nanoTime();
+        OrdemServicoResponseDTO result = enricher.enriquecer(novaOrdem(1L, 1L, 1L, List.of(1L)));
+        long decorridoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        assertTrue(decorridoMs < 2_000, "enriquecimento deveria terminar no prazo, levou " + decorridoMs + "ms");
+        assertNotNull(result.getCliente());
+        assertNotNull(result.getVeiculo());
+        assertNull(result.getServicos());
+        assertTrue(result.isEnriquecimentoIncompleto());
+        assertEquals(List.of("servicos"), result.getDependenciasIndisponiveis());
+        assertEquals(1.0, meterRegistry.counter("workorder.enriquecimento.timeout", "dependencia", "servicos").count());
+    }
+
+    @Test
+    @DisplayName("Deve consultar apenas as dependências pedidas")
+    void deveConsultarApenasDependenciasPedidas() {
+        List<OrdemServicoResponseDTO> result = enricher.enriquecer(
+                List.of(novaOrdem(1L, 1L, 1L, List.of(1L))), Set.of(OrdemServicoEnricher.CLIENTE));
+
+        assertEquals("Cliente 1", result.get(0).getCliente().getNome());
+        assertNull(result.get(0).getVeiculo());
+        assertFalse(result.get(0).isEnriquecimentoIncompleto());
+        verify(veiculoClient, never()).getVeiculos(anyList());
+        verify(servicoClient, never()).getServicos(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve registrar o tempo de cada dependência")
+    void deveRegistrarTempoPorDependencia() {
+        OrdemServicoResponseDTO result = enricher.enriquecer(novaOrdem(1L, 1L, 1L, List.of(1L)));
+
+        assertFalse(result.isEnriquecimentoIncompleto());
+        assertNull(result.getDependenciasIndisponiveis());
+        for (String dependencia : List.of("cliente", "veiculo", "servicos")) {
+            assertEquals(1L, meterRegistry.get("workorder.enriquecimento.dependencia")
+                    .tags("dependencia", dependencia, "resultado", "sucesso")
+                    .timer().count());
+        }
+    }
+
+    private OrdemServico novaOrdem(Long id, Long clienteId, Long veiculoId, List<Long> servicosIds) {
+        OrdemServico os = new OrdemServico();
+        os.setId(id);
+        os.setClienteId(clienteId);
+        os.setVeiculoId(veiculoId);
+        os.setServicosIds(new LinkedHashSet<>(servicosIds));
+        return os;
+    }
+}
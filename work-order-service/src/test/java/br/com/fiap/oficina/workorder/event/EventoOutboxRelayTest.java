@@ -0,0 +1,162 @@
+package br.com.fiap.oficina.workorder.event;
+
+import br.com.fiap.oficina.workorder.TesteJpa;
+import br.com.fiap.oficina.workorder.entity.EventoOutbox;
+import br.com.fiap.oficina.workorder.entity.TipoEventoOutbox;
+import br.com.fiap.oficina.workorder.repository.EventoOutboxLoteRepository;
+import br.com.fiap.oficina.workorder.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TesteJpa(properties = {
+        "workorder.outbox.intervalo=1h",
+        "workorder.outbox.backoff-inicial=1m",
+        "workorder.outbox.max-tentativas=3"
+})
+@Import({EventoOutboxPublisher.class, EventoOutboxLoteRepository.class, EventoOutboxRelay.class,
+        EventoOutboxRelayTest.ConsumidorTeste.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventoOutboxRelayTest {
+
+    static class ConsumidorTeste {
+
+        final List<String> recebidos = new CopyOnWriteArrayList<>();
+        final AtomicInteger falhasRestantes = new AtomicInteger();
+
+        @EventListener
+        void onCalcularOrcamento(CalcularOrcamentoEvent event) {
+            if (falhasRestantes.getAndDecrement() > 0) {
+                throw new IllegalStateException("consumidor indisponível");
+            }
+            recebidos.add("orcamento:" + event.getOrdemServicoId());
+        }
+
+        @EventListener
+        void onVeiculoDisponivel(VeiculoDisponivelEvent event) {
+            recebidos.add("veiculo:" + event.getOrdemServicoId() + ":" + event.getVeiculoId());
+        }
+    }
+
+    @Autowired
+    private EventoOutboxPublisher publisher;
+
+    @Autowired
+    private EventoOutboxRelay relay;
+
+    @Autowired
+    private EventoOutboxRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ConsumidorTeste consumidor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        consumidor.recebidos.clear();
+        consumidor.falhasRestantes.set(0);
+    }
+
+    @Test
+    @DisplayName("Deve exigir transação ativa para registrar eventos")
+    void deveExigirTransacaoAtiva() {
+        assertThrows(Exception.class, () -> publisher.calcularOrcamento(1L));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    @DisplayName("Deve entregar eventos na ordem de gravação e marcá-los como processados")
+    void deveEntregarNaOrdem() {
+        transactionTemplate.executeWithoutResult(status -> {
+            publisher.calcularOrcamento(1L);
+            publisher.calcularOrcamento(2L);
+            publisher.veiculoDisponivel(1L, 10L);
+        });
+
+        relay.entregarPendentes();
+
+        assertEquals(List.of("orcamento:1", "orcamento:2", "veiculo:1:10"), consumidor.recebidos);
+        assertTrue(repository.findAll().stream().allMatch(e -> e.getProcessadoEm() != null));
+        assertEquals(0.0, meterRegistry.get("workorder.outbox.pendentes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve reagendar com backoff e segurar os eventos seguintes da mesma OS")
+    void deveReagendarFalhaMantendoOrdemPorAgregado() {
+        transactionTemplate.executeWithoutResult(status -> {
+            publisher.calcularOrcamento(1L);
+            publisher.veiculoDisponivel(1L, 10L);
+            publisher.veiculoDisponivel(2L, 20L);
+        });
+        consumidor.falhasRestantes.set(1);
+
+        relay.entregarPendentes();
+
+        // A OS 2 não é afetada; o segundo evento da OS 1 aguarda o primeiro
+        assertEquals(List.of("veiculo:2:20"), consumidor.recebidos);
+        EventoOutbox falho = repository.findAll().stream()
+                .filter(e -> e.getAgregadoId().equals(1L) && e.getProcessadoEm() == null)
+                .min((a, b) -> a.getId().compareTo(b.getId()))
+                .orElseThrow();
+        assertEquals(1, falho.getTentativas());
+        assertNotNull(falho.getUltimoErro());
+        assertTrue(falho.getProximaTentativaEm().isAfter(LocalDateTime.now().plusSeconds(30)));
+        assertEquals(2.0, meterRegistry.get("workorder.outbox.pendentes").gauge().value());
+
+        // Antecipa a retentativa e entrega o restante na ordem original
+        falho.setProximaTentativaEm(LocalDateTime.now().minusSeconds(1));
+        repository.save(falho);
+        relay.entregarPendentes();
+
+        assertEquals(List.of("veiculo:2:20", "orcamento:1", "veiculo:1:10"), consumidor.recebidos);
+    }
+
+    @Test
+    @DisplayName("Deve registrar em um batch um evento por ordem com o payload serializado")
+    void deveRegistrarEventosEmLote() {
+        Map<Long, Long> veiculos = new LinkedHashMap<>();
+        veiculos.put(1L, 10L);
+        veiculos.put(2L, 11L);
+        veiculos.put(3L, null);
+
+        transactionTemplate.executeWithoutResult(status ->
+                publisher.registrarEmLote(TipoEventoOutbox.VEICULO_DISPONIVEL, veiculos));
+        relay.entregarPendentes();
+
+        assertEquals(List.of("veiculo:1:10", "veiculo:2:11", "veiculo:3:null"), consumidor.recebidos);
+        assertEquals("{\"veiculoId\":null}", repository.findAll().stream()
+                .filter(evento -> evento.getAgregadoId() == 3L)
+                .findFirst().orElseThrow().getPayload());
+    }
+
+    @Test
+    @DisplayName("Deve limitar o backoff exponencial ao valor máximo")
+    void deveLimitarBackoff() {
+        assertEquals(Duration.ofMinutes(1), relay.backoff(1));
+        assertEquals(Duration.ofMinutes(4), relay.backoff(3));
+        assertEquals(Duration.ofMinutes(10), relay.backoff(20));
+    }
+}
@@ -0,0 +1,221 @@
+package br.com.fiap.oficina.workorder.repository;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.TesteJpa;
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TesteJpa(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(OrdemServicoLoteRepository.class)
+class OrdemServicoRepositoryTest {
+
+    /**
+     * Uma consulta para as ordens, uma para os serviços e uma para os itens.
+     */
+    private static final long CONSULTAS_POR_PAGINA = 3;
+
+    @Autowired
+    private OrdemServicoRepository repository;
+
+    @Autowired
+    private OrdemServicoLoteRepository loteRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, OrdemServico.TAMANHO_LOTE_COLECOES})
+    @DisplayName("Deve carregar coleções das listas com número fixo de consultas")
+    void deveCarregarColecoesComNumeroFixoDeConsultas(int quantidade) {
+        // Arrange
+        criarOrdens(quantidade);
+
+        // Act & Assert
+        assertConsultasPorPagina(quantidade, () -> repository.findByStatusIn(List.of(StatusOrdemServico.EM_EXECUCAO)));
+        assertConsultasPorPagina(quantidade, () -> repository.findByMecanicoId(7L));
+        assertConsultasPorPagina(quantidade, repository::findOrdensAtualizadas);
+        assertConsultasPorPagina(quantidade, repository::findAll);
+    }
+
+    @Test
+    @DisplayName("Deve gerar um único INSERT ao adicionar e um único DELETE ao remover serviço")
+    void deveAlterarServicosComUmComandoPorServico() {
+        // Arrange
+        criarOrdens(1);
+        Long id = repository.findAll().get(0).getId();
+        entityManager.clear();
+        OrdemServico os = repository.findById(id).orElseThrow();
+        os.getServicosIds().size();
+
+        // Act
+        statistics.clear();
+        os.addServico(3L);
+        os.addServico(3L);
+        entityManager.flush();
+        long comandosInclusao = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        os.removeServico(1L);
+        entityManager.flush();
+        long comandosRemocao = statistics.getPrepareStatementCount();
+
+        // Assert
+        assertEquals(1, comandosInclusao);
+        assertEquals(1, comandosRemocao);
+        entityManager.clear();
+        assertEquals(Set.of(2L, 3L), repository.findById(id).orElseThrow().getServicosIds());
+    }
+
+    @Test
+    @DisplayName("Deve transicionar status com um UPDATE condicional e recusar versão desatualizada")
+    void deveTransicionarStatusComUpdateCondicional() {
+        // Arrange
+        criarOrdens(1);
+        Long id = repository.findAll().get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        OrdemServicoRepository.EstadoOrdemServico estado = repository.findEstadoById(id).orElseThrow();
+        LocalDateTime termino = LocalDateTime.now();
+        int alteradas = repository.transicionarStatus(id, estado.getStatus(), estado.getVersao(),
+                StatusOrdemServico.FINALIZADA, null, null, null, termino, null);
+        int concorrente = repository.transicionarStatus(id, estado.getStatus(), estado.getVersao(),
+                StatusOrdemServico.FINALIZADA, null, null, null, termino, null);
+
+        // Assert
+        assertEquals(1, alteradas);
+        assertEquals(0, concorrente);
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        OrdemServico os = repository.findById(id).orElseThrow();
+        assertEquals(StatusOrdemServico.FINALIZADA, os.getStatus());
+        assertEquals(estado.getVersao() + 1, os.getVersao());
+        assertNotNull(os.getDataTerminoExecucao());
+        assertNull(os.getDataEntrega());
+    }
+
+    @Test
+    @DisplayName("Deve transicionar em lote apenas as ordens ainda no status e na versão lidos")
+    void deveTransicionarLoteApenasNasVersoesLidas() {
+        // Arrange
+        criarOrdens(3);
+        List<Long> ids = repository.findAll().stream().map(OrdemServico::getId).sorted().toList();
+        List<OrdemServicoRepository.EstadoOrdemServico> lidos = repository.findEstadosByIdIn(ids);
+        OrdemServico alteradaDepois = repository.findById(ids.get(1)).orElseThrow();
+        alteradaDepois.setObservacoes("alterada por outra operação, ainda em execução");
+        OrdemServico entregueDepois = repository.findById(ids.get(2)).orElseThrow();
+        entregueDepois.setStatus(StatusOrdemServico.ENTREGUE);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        Set<Long> aplicadas = loteRepository.transicionar(lidos, StatusOrdemServico.FINALIZADA, "lote",
+                null, null, LocalDateTime.now(), null);
+
+        // Assert
+        assertEquals(Set.of(ids.get(0)), aplicadas);
+        OrdemServico finalizada = repository.findById(ids.get(0)).orElseThrow();
+        assertEquals(StatusOrdemServico.FINALIZADA, finalizada.getStatus());
+        assertEquals("lote", finalizada.getObservacoes());
+        assertNotNull(finalizada.getDataTerminoExecucao());
+        assertEquals(StatusOrdemServico.EM_EXECUCAO, repository.findById(ids.get(1)).orElseThrow().getStatus());
+        assertEquals(StatusOrdemServico.ENTREGUE, repository.findById(ids.get(2)).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve filtrar e ordenar pelas cópias de placa, cliente e modelo gravadas na ordem")
+    void deveFiltrarEOrdenarPelasCopias() {
+        // Arrange
+        Long gol = criarOrdem("ABC1D23", "Gol", "Maria Souza");
+        Long onix = criarOrdem("ABD4E56", "Onix", "João Silva");
+        Long polo = criarOrdem("XYZ7F89", "Polo", "Mariana Lima");
+        Set<StatusOrdemServico> todos = EnumSet.allOf(StatusOrdemServico.class);
+
+        // Act & Assert
+        assertEquals(List.of(onix, gol), repository.findIdsFiltrados(todos, "AB%", null, null,
+                Sort.by(Sort.Direction.DESC, "veiculoPlaca")));
+        assertEquals(List.of(polo, gol), repository.findIdsFiltrados(todos, null, "%mari%", null,
+                Sort.by("clienteNome").descending()));
+        assertEquals(List.of(onix), repository.findIdsFiltrados(todos, null, null, "%oni%", Sort.by("id")));
+        assertEquals(List.of(gol, onix, polo), repository.findIdsFiltrados(todos, null, null, null,
+                Sort.by("veiculoModelo")));
+        assertTrue(repository.findIdsFiltrados(Set.of(StatusOrdemServico.ENTREGUE), "AB%", null, null,
+                Sort.by("id")).isEmpty());
+    }
+
+    private Long criarOrdem(String placa, String modelo, String clienteNome) {
+        OrdemServico os = new OrdemServico();
+        os.setStatus(StatusOrdemServico.RECEBIDA);
+        os.setClienteId(1L);
+        os.setVeiculoId(1L);
+        os.setVeiculoPlaca(placa);
+        os.setVeiculoModelo(modelo);
+        os.setClienteNome(clienteNome);
+        return entityManager.persistAndFlush(os).getId();
+    }
+
+    private void assertConsultasPorPagina(int quantidade, Supplier<List<OrdemServico>> consulta) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<OrdemServico> ordens = consulta.get();
+        ordens.forEach(os -> {
+            assertEquals(2, os.getServicosIds().size());
+            assertEquals(1, os.getItensOrdemServico().size());
+        });
+
+        assertEquals(quantidade, ordens.size());
+        assertEquals(CONSULTAS_POR_PAGINA, statistics.getPrepareStatementCount());
+    }
+
+    private void criarOrdens(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            OrdemServico os = new OrdemServico();
+            os.setStatus(StatusOrdemServico.EM_EXECUCAO);
+            os.setClienteId(1L);
+            os.setVeiculoId(1L);
+            os.setMecanicoId(7L);
+            os.setOrcamentoId(100L + i);
+            os.addServico(1L);
+            os.addServico(2L);
+            ItemOrdemServico item = new ItemOrdemServico();
+            item.setProdutoCatalogoId(3L);
+            item.setQuantidade(1);
+            item.setPrecoUnitario(BigDecimal.TEN);
+            os.addProduto(item);
+            entityManager.persist(os);
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.fiap.oficina.workorder.selecao;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.shared.exception.BusinessException;
+import br.com.fiap.oficina.workorder.dto.response.ClienteResumoDTO;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.enricher.OrdemServicoEnricher;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelecaoCamposTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    @DisplayName("Sem fields nem expand deve manter a resposta completa e todas as dependências")
+    void deveManterRespostaCompleta() {
+        SelecaoCampos selecao = SelecaoCampos.de(null, null);
+
+        JsonNode resposta = selecao.aplicar(objectMapper.valueToTree(ordem()));
+
+        assertTrue(selecao.isCompleta());
+        assertEquals(OrdemServicoEnricher.DEPENDENCIAS, selecao.dependencias());
+        assertTrue(resposta.has("cliente"));
+        assertTrue(resposta.has("observacoes"));
+    }
+
+    @Test
+    @DisplayName("Com expand deve manter os campos simples e apenas as relações expandidas")
+    void deveExpandirApenasRelacoesPedidas() {
+        SelecaoCampos selecao = SelecaoCampos.de(null, "veiculo, itens");
+
+        JsonNode resposta = selecao.aplicar(objectMapper.valueToTree(ordem()));
+
+        assertEquals(Set.of(OrdemServicoEnricher.VEICULO), selecao.dependencias());
+        assertTrue(resposta.has("observacoes"));
+        assertTrue(resposta.has("itensOrdemServico"));
+        assertFalse(resposta.has("cliente"));
+        assertFalse(resposta.has("servicos"));
+    }
+
+    @Test
+    @DisplayName("Com fields deve devolver apenas os campos pedidos, inclusive dentro das relações")
+    void deveRestringirCamposPedidos() {
+        SelecaoCampos selecao = SelecaoCampos.de("id,status,cliente.nome", null);
+
+        JsonNode resposta = selecao.aplicar(objectMapper.valueToTree(List.of(ordem(), ordem())));
+
+        assertEquals(Set.of(OrdemServicoEnricher.CLIENTE), selecao.dependencias());
+        assertEquals(2, resposta.size());
+        JsonNode primeira = resposta.get(0);
+        assertEquals(Set.of("id", "status", "cliente"), Set.copyOf(nomes(primeira)));
+        assertEquals(Set.of("nome"), Set.copyOf(nomes(primeira.get("cliente"))));
+        assertEquals("Ana", primeira.get("cliente").get("nome").asText());
+    }
+
+    @Test
+    @DisplayName("Deve recusar campos e relações inexistentes")
+    void deveRecusarCamposInexistentes() {
+        assertThrows(BusinessException.class, () -> SelecaoCampos.de("id,senha", null));
+        assertThrows(BusinessException.class, () -> SelecaoCampos.de(null, "mecanico"));
+    }
+
+    private static List<String> nomes(JsonNode objeto) {
+        List<String> nomes = new ArrayList<>();
+        objeto.fieldNames().forEachRemaining(nomes::add);
+        return nomes;
+    }
+
+    private static OrdemServicoResponseDTO ordem() {
+        ClienteResumoDTO cliente = new ClienteResumoDTO();
+        cliente.setId(1L);
+        cliente.setNome("Ana");
+        cliente.setEmail("ana@oficina.com");
+        OrdemServicoResponseDTO dto = new OrdemServicoResponseDTO();
+        dto.setId(10L);
+        dto.setStatus(StatusOrdemServico.RECEBIDA);
+        dto.setObservacoes("Barulho no freio");
+        dto.setCliente(cliente);
+        dto.setServicos(List.of());
+        dto.setItensOrdemServico(List.of());
+        return dto;
+    }
+}
@@ -0,0 +1,157 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.shared.exception.ConflitoException;
+import br.com.fiap.oficina.workorder.TesteJpa;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository;
+import br.com.fiap.oficina.workorder.repository.RegistroIdempotenciaRepository;
+import br.com.fiap.oficina.workorder.service.impl.IdempotenciaServiceImpl;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TesteJpa
+@Import(IdempotenciaServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotenciaServiceImplTest {
+
+    private static final TypeReference<OrdemServicoResponseDTO> TIPO = new TypeReference<>() {
+    };
+
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+
+    @Autowired
+    private RegistroIdempotenciaRepository registroRepository;
+
+    @Autowired
+    private OrdemServicoRepository ordemServicoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        registroRepository.deleteAll();
+        ordemServicoRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve devolver a resposta gravada e desfazer a alteração repetida")
+    void deveDevolverRespostaGravadaSemDuplicar() {
+        // Act
+        IdempotenciaService.Resultado<OrdemServicoResponseDTO> primeira = idempotenciaService.executar(
+                "chave-1", IdempotenciaService.OPERACAO_CRIAR_ORDEM, "pedido", TIPO, this::criarOrdem);
+        IdempotenciaService.Resultado<OrdemServicoResponseDTO> repetida = idempotenciaService.executar(
+                "chave-1", IdempotenciaService.OPERACAO_CRIAR_ORDEM, "pedido", TIPO, this::criarOrdem);
+
+        // Assert
+        assertFalse(primeira.repetida());
+        assertTrue(repetida.repetida());
+        assertEquals(primeira.corpo().getId(), repetida.corpo().getId());
+        assertEquals(StatusOrdemServico.RECEBIDA, repetida.corpo().getStatus());
+        assertEquals(1, ordemServicoRepository.count());
+        assertEquals(primeira.corpo().getId(), idempotenciaService.buscar("chave-1",
+                IdempotenciaService.OPERACAO_CRIAR_ORDEM, "pedido", TIPO).orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a mesma chave com outro pedido e executar normalmente sem chave")
+    void deveRecusarChaveComOutroPedido() {
+        // Arrange
+        idempotenciaService.executar("chave-2", IdempotenciaService.OPERACAO_CRIAR_ORDEM, "pedido", TIPO,
+                this::criarOrdem);
+
+        // Act & Assert
+        assertThrows(ConflitoException.class, () -> idempotenciaService.executar("chave-2",
+                IdempotenciaService.OPERACAO_CRIAR_ORDEM, "outro pedido", TIPO, this::criarOrdem));
+        assertFalse(idempotenciaService.executar(null, IdempotenciaService.OPERACAO_CRIAR_ORDEM, "pedido", TIPO,
+                this::criarOrdem).repetida());
+        assertEquals(2, ordemServicoRepository.count());
+        assertEquals(1, registroRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve remover registros expirados")
+    void deveRemoverExpirados() {
+        // Arrange
+        transactionTemplate.executeWithoutResult(status -> registroRepository.registrar("antiga",
+                IdempotenciaService.OPERACAO_CRIAR_ORDEM, "0".repeat(64), "{}", LocalDateTime.now().minusMinutes(1)));
+        idempotenciaService.executar("nova", IdempotenciaService.OPERACAO_CRIAR_ORDEM, "pedido", TIPO,
+                this::criarOrdem);
+
+        // Act
+        ((IdempotenciaServiceImpl) idempotenciaService).removerExpirados();
+
+        // Assert
+        assertFalse(registroRepository.existsById("antiga"));
+        assertEquals(1, registroRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve separar a mesma chave enviada por usuários diferentes")
+    void deveSepararChavePorUsuario() {
+        // Arrange
+        autenticar("atendente-1");
+        OrdemServicoResponseDTO doPrimeiro = idempotenciaService.executar("chave-3",
+                IdempotenciaService.OPERACAO_CRIAR_ORDEM, "pedido", TIPO, this::criarOrdem).corpo();
+
+        // Act
+        autenticar("atendente-2");
+        IdempotenciaService.Resultado<OrdemServicoResponseDTO> doSegundo = idempotenciaService.executar("chave-3",
+                IdempotenciaService.OPERACAO_CRIAR_ORDEM, "pedido", TIPO, this::criarOrdem);
+
+        // Assert
+        assertFalse(doSegundo.repetida());
+        assertNotEquals(doPrimeiro.getId(), doSegundo.corpo().getId());
+        assertEquals(doSegundo.corpo().getId(), idempotenciaService.buscar("chave-3",
+                IdempotenciaService.OPERACAO_CRIAR_ORDEM, "pedido", TIPO).orElseThrow().getId());
+        autenticar("atendente-1");
+        assertEquals(doPrimeiro.getId(), idempotenciaService.buscar("chave-3",
+                IdempotenciaService.OPERACAO_CRIAR_ORDEM, "pedido", TIPO).orElseThrow().getId());
+        assertEquals(2, ordemServicoRepository.count());
+    }
+
+    private static void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(usuario, null, List.of()));
+    }
+
+    private OrdemServicoResponseDTO criarOrdem() {
+        return transactionTemplate.execute(status -> {
+            OrdemServico os = new OrdemServico();
+            os.setStatus(StatusOrdemServico.RECEBIDA);
+            os.setClienteId(1L);
+            os.setVeiculoId(2L);
+            os.setDataCriacao(LocalDateTime.now());
+            OrdemServico salva = ordemServicoRepository.save(os);
+
+            OrdemServicoResponseDTO response = new OrdemServicoResponseDTO();
+            response.setId(salva.getId());
+            response.setStatus(salva.getStatus());
+            idempotenciaService.registrarResposta(response);
+            return response;
+        });
+    }
+}
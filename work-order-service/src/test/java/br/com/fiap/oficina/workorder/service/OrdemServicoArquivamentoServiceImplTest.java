@@ -0,0 +1,167 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.TesteJpa;
+import br.com.fiap.oficina.workorder.entity.AlteracaoSincronizacao;
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServicoLeitura;
+import br.com.fiap.oficina.workorder.entity.TipoAlteracaoSincronizacao;
+import br.com.fiap.oficina.workorder.event.AlteracaoSincronizacaoPublisher;
+import br.com.fiap.oficina.workorder.repository.AlteracaoSincronizacaoRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoLeituraRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository;
+import br.com.fiap.oficina.workorder.service.impl.OrdemServicoArquivamentoServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TesteJpa(properties = "workorder.arquivamento.tamanho-lote=1")
+@Import({OrdemServicoArquivamentoServiceImpl.class, AlteracaoSincronizacaoPublisher.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrdemServicoArquivamentoServiceImplTest {
+
+    @Autowired
+    private OrdemServicoArquivamentoService arquivamentoService;
+
+    @Autowired
+    private OrdemServicoRepository ordemServicoRepository;
+
+    @Autowired
+    private OrdemServicoLeituraRepository leituraRepository;
+
+    @Autowired
+    private AlteracaoSincronizacaoRepository alteracaoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final LocalDateTime agora = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        leituraRepository.deleteAll();
+        alteracaoRepository.deleteAll();
+        ordemServicoRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM item_ordem_servico_arquivo");
+        jdbcTemplate.update("DELETE FROM ordem_servico_arquivo_servicos");
+        jdbcTemplate.update("DELETE FROM ordem_servico_arquivo");
+    }
+
+    @Test
+    @DisplayName("Deve mover em lotes apenas as ordens entregues antes do limite, com serviços e itens")
+    void deveArquivarEntreguesAntigas() {
+        // Arrange
+        OrdemServico antiga = salvar(StatusOrdemServico.ENTREGUE, agora.minusDays(200));
+        OrdemServico outraAntiga = salvar(StatusOrdemServico.ENTREGUE, agora.minusDays(190));
+        OrdemServico recente = salvar(StatusOrdemServico.ENTREGUE, agora.minusDays(10));
+        OrdemServico emAndamento = salvar(StatusOrdemServico.FINALIZADA, null);
+        projetar(antiga);
+        projetar(recente);
+        double arquivadasAntes = meterRegistry.get("workorder.arquivamento.ordens").counter().count();
+        long lotesAntes = meterRegistry.get("workorder.arquivamento.lote").timer().count();
+
+        // Act
+        int arquivadas = arquivamentoService.arquivarEntreguesAntesDe(agora.minusDays(180));
+
+        // Assert
+        assertEquals(2, arquivadas);
+        assertEquals(List.of(recente.getId(), emAndamento.getId()),
+                ordemServicoRepository.findAll().stream().map(OrdemServico::getId).sorted().toList());
+        assertEquals(List.of(recente.getId()),
+                leituraRepository.findAll().stream().map(OrdemServicoLeitura::getOrdemServicoId).toList());
+        assertTrue(arquivamentoService.arquivada(outraAntiga.getId()));
+        assertFalse(arquivamentoService.arquivada(recente.getId()));
+        assertEquals(arquivadasAntes + 2, meterRegistry.get("workorder.arquivamento.ordens").counter().count());
+        // Dois lotes completos de uma ordem e um vazio encerrando o ciclo
+        assertEquals(lotesAntes + 3, meterRegistry.get("workorder.arquivamento.lote").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve remontar a ordem arquivada com versão, dados de veículo e cliente, serviços e itens")
+    void deveBuscarArquivada() {
+        // Arrange
+        OrdemServico antiga = salvar(StatusOrdemServico.ENTREGUE, agora.minusDays(200));
+        arquivamentoService.arquivarEntreguesAntesDe(agora.minusDays(180));
+
+        // Act
+        OrdemServico arquivada = arquivamentoService.buscarArquivada(antiga.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(StatusOrdemServico.ENTREGUE, arquivada.getStatus());
+        assertEquals(antiga.getClienteId(), arquivada.getClienteId());
+        assertEquals("ABC1D23", arquivada.getVeiculoPlaca());
+        assertEquals("Onix", arquivada.getVeiculoModelo());
+        assertEquals("Maria Souza", arquivada.getClienteNome());
+        assertEquals(List.of(10L, 20L), List.copyOf(arquivada.getServicosIds()));
+        assertEquals(1, arquivada.getItensOrdemServico().size());
+        assertEquals(5L, arquivada.getItensOrdemServico().get(0).getProdutoCatalogoId());
+        assertSame(arquivada, arquivada.getItensOrdemServico().get(0).getOrdemServico());
+        assertEquals(antiga.getVersao(), arquivamentoService.versaoArquivada(antiga.getId()).orElseThrow());
+        assertTrue(arquivamentoService.buscarArquivada(-1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve remover da fila de sincronização do mecânico as ordens arquivadas")
+    void deveRegistrarRemocaoDasArquivadasComMecanico() {
+        // Arrange
+        OrdemServico comMecanico = salvar(StatusOrdemServico.ENTREGUE, agora.minusDays(200));
+        comMecanico.setMecanicoId(7L);
+        comMecanico = ordemServicoRepository.save(comMecanico);
+        salvar(StatusOrdemServico.ENTREGUE, agora.minusDays(190));
+
+        // Act
+        arquivamentoService.arquivarEntreguesAntesDe(agora.minusDays(180));
+
+        // Assert
+        List<AlteracaoSincronizacao> alteracoes = alteracaoRepository.findAll();
+        assertEquals(1, alteracoes.size());
+        assertEquals(TipoAlteracaoSincronizacao.ORDEM_REMOVIDA, alteracoes.get(0).getTipo());
+        assertEquals(comMecanico.getId(), alteracoes.get(0).getOrdemServicoId());
+        assertEquals(7L, alteracoes.get(0).getMecanicoId());
+    }
+
+    private OrdemServico salvar(StatusOrdemServico status, LocalDateTime dataEntrega) {
+        OrdemServico os = new OrdemServico();
+        os.setStatus(status);
+        os.setClienteId(1L);
+        os.setVeiculoId(2L);
+        os.setVeiculoPlaca("ABC1D23");
+        os.setVeiculoModelo("Onix");
+        os.setClienteNome("Maria Souza");
+        os.setDataEntrega(dataEntrega);
+        os.addServico(10L);
+        os.addServico(20L);
+
+        ItemOrdemServico item = new ItemOrdemServico();
+        item.setProdutoCatalogoId(5L);
+        item.setQuantidade(2);
+        item.setPrecoUnitario(new BigDecimal("15.00"));
+        os.addProduto(item);
+        return ordemServicoRepository.save(os);
+    }
+
+    private void projetar(OrdemServico os) {
+        OrdemServicoLeitura leitura = new OrdemServicoLeitura();
+        leitura.setOrdemServicoId(os.getId());
+        leitura.setStatus(os.getStatus());
+        leitura.setCompleto(true);
+        leitura.setAtualizadoEm(agora);
+        leituraRepository.save(leitura);
+    }
+}
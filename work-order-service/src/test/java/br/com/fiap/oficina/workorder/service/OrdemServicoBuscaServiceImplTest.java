@@ -0,0 +1,89 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.shared.exception.BusinessException;
+import br.com.fiap.oficina.workorder.TesteJpa;
+import br.com.fiap.oficina.workorder.dto.response.BuscaOrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.OrdemServicoLeitura;
+import br.com.fiap.oficina.workorder.mapper.OrdemServicoLeituraMapperImpl;
+import br.com.fiap.oficina.workorder.service.impl.OrdemServicoBuscaServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TesteJpa
+@Import({OrdemServicoBuscaServiceImpl.class, OrdemServicoLeituraMapperImpl.class})
+class OrdemServicoBuscaServiceImplTest {
+
+    @Autowired
+    private OrdemServicoBuscaService buscaService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        projetar(1L, "ABC-1234", "João Silva", "Troca de óleo");
+        projetar(2L, "XYZ9876", "Maria Souza", "Barulho na suspensão, cliente João indicou");
+        projetar(3L, "DEF5678", "Pedro Santos", "Revisão de freios");
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Deve buscar por placa sem separador e por nome, ordenando pela relevância")
+    void deveBuscarOrdenandoPorRelevancia() {
+        // Act
+        BuscaOrdemServicoResponseDTO porPlaca = buscaService.buscar("abc1234", 0, 10);
+        BuscaOrdemServicoResponseDTO porNome = buscaService.buscar("joão", 0, 10);
+        BuscaOrdemServicoResponseDTO porPalavras = buscaService.buscar("maria suspensão", 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L), ids(porPlaca));
+        assertEquals("ABC-1234", porPlaca.getResultados().get(0).getVeiculo().getPlaca());
+        assertEquals(List.of(1L, 2L), ids(porNome));
+        assertEquals(List.of(2L), ids(porPalavras));
+    }
+
+    @Test
+    @DisplayName("Deve paginar os resultados indicando se há mais páginas")
+    void devePaginar() {
+        // Act
+        BuscaOrdemServicoResponseDTO pagina0 = buscaService.buscar("de", 0, 1);
+        BuscaOrdemServicoResponseDTO pagina1 = buscaService.buscar("de", 1, 1);
+
+        // Assert
+        assertThrows(BusinessException.class, () -> buscaService.buscar("o", 0, 10));
+        assertThrows(BusinessException.class, () -> buscaService.buscar("freios", 0, 500));
+        assertThrows(BusinessException.class, () -> buscaService.buscar("freios", Integer.MAX_VALUE / 10, 20));
+        assertTrue(pagina0.isTemMais());
+        assertFalse(pagina1.isTemMais());
+        assertNotEquals(ids(pagina0), ids(pagina1));
+    }
+
+    private void projetar(Long id, String placa, String clienteNome, String observacoes) {
+        OrdemServicoLeitura leitura = new OrdemServicoLeitura();
+        leitura.setOrdemServicoId(id);
+        leitura.setStatus(StatusOrdemServico.RECEBIDA);
+        leitura.setVeiculoId(id);
+        leitura.setVeiculoPlaca(placa);
+        leitura.setClienteId(id);
+        leitura.setClienteNome(clienteNome);
+        leitura.setObservacoes(observacoes);
+        leitura.setCompleto(true);
+        leitura.setAtualizadoEm(LocalDateTime.now());
+        entityManager.persist(leitura);
+    }
+
+    private static List<Long> ids(BuscaOrdemServicoResponseDTO busca) {
+        return busca.getResultados().stream().map(OrdemServicoResponseDTO::getId).toList();
+    }
+}
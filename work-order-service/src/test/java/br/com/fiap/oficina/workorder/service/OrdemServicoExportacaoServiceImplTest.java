@@ -0,0 +1,137 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.TesteJpa;
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.service.OrdemServicoExportacaoService.Formato;
+import br.com.fiap.oficina.workorder.service.impl.OrdemServicoExportacaoServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TesteJpa
+@Import(OrdemServicoExportacaoServiceImpl.class)
+class OrdemServicoExportacaoServiceImplTest {
+
+    @Autowired
+    private OrdemServicoExportacaoService exportacaoService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        OrdemServico emExecucao = novaOrdem(StatusOrdemServico.EM_EXECUCAO, LocalDateTime.of(2025, 3, 10, 9, 0), 7L);
+        emExecucao.setObservacoes("Troca de óleo, filtro e \"revisão\"");
+        emExecucao.addServico(1L);
+        emExecucao.addServico(2L);
+        ItemOrdemServico item = new ItemOrdemServico();
+        item.setProdutoCatalogoId(5L);
+        item.setQuantidade(2);
+        item.setPrecoUnitario(new BigDecimal("45.50"));
+        emExecucao.addProduto(item);
+        entityManager.persist(emExecucao);
+
+        entityManager.persist(novaOrdem(StatusOrdemServico.RECEBIDA, LocalDateTime.of(2025, 3, 12, 14, 0), null));
+        entityManager.persist(novaOrdem(StatusOrdemServico.EM_EXECUCAO, LocalDateTime.of(2025, 4, 1, 8, 0), 8L));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Deve exportar em NDJSON aplicando os filtros")
+    void deveExportarNdjsonComFiltros() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long total = exportacaoService.exportar(Formato.NDJSON, List.of(StatusOrdemServico.EM_EXECUCAO),
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), null, out);
+
+        // Assert
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, total);
+        assertEquals(1, linhas.length);
+        JsonNode linha = objectMapper.readTree(linhas[0]);
+        assertEquals("EM_EXECUCAO", linha.get("status").asText());
+        assertEquals(7L, linha.get("mecanicoId").asLong());
+        assertEquals(2, linha.get("quantidadeServicos").asInt());
+        assertEquals(0, new BigDecimal("91.00").compareTo(linha.get("valorProdutos").decimalValue()));
+    }
+
+    @Test
+    @DisplayName("Deve exportar em CSV com cabeçalho e filtro por mecânico")
+    void deveExportarCsvPorMecanico() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long total = exportacaoService.exportar(Formato.CSV, null, null, null, 7L, out);
+
+        // Assert
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, total);
+        assertEquals(2, linhas.length);
+        assertTrue(linhas[0].startsWith("id,status,dataCriacao"));
+        assertTrue(linhas[1].contains(",EM_EXECUCAO,2025-03-10T09:00,"));
+        assertTrue(linhas[1].endsWith(",\"Troca de óleo, filtro e \"\"revisão\"\"\""));
+    }
+
+    @Test
+    @DisplayName("Deve neutralizar em CSV textos que seriam interpretados como fórmula")
+    void deveNeutralizarFormulasNoCsv() throws Exception {
+        // Arrange
+        OrdemServico os = novaOrdem(StatusOrdemServico.RECEBIDA, LocalDateTime.of(2025, 5, 2, 10, 0), 9L);
+        os.setObservacoes("=HYPERLINK(\"http://exemplo\")");
+        entityManager.persistAndFlush(os);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportacaoService.exportar(Formato.CSV, null, null, null, 9L, out);
+
+        // Assert
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(linhas[1].endsWith(",\"'=HYPERLINK(\"\"http://exemplo\"\")\""));
+    }
+
+    @Test
+    @DisplayName("Deve exportar todas as ordens sem filtros")
+    void deveExportarTodasSemFiltros() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long total = exportacaoService.exportar(Formato.NDJSON, null, null, null, null, out);
+
+        // Assert
+        assertEquals(3, total);
+    }
+
+    private static OrdemServico novaOrdem(StatusOrdemServico status, LocalDateTime dataCriacao, Long mecanicoId) {
+        OrdemServico os = new OrdemServico();
+        os.setStatus(status);
+        os.setDataCriacao(dataCriacao);
+        os.setClienteId(1L);
+        os.setVeiculoId(1L);
+        os.setMecanicoId(mecanicoId);
+        return os;
+    }
+}
@@ -0,0 +1,195 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.TesteJpa;
+import br.com.fiap.oficina.workorder.cache.CatalogoCache;
+import br.com.fiap.oficina.workorder.client.ClienteClient;
+import br.com.fiap.oficina.workorder.client.VeiculoClient;
+import br.com.fiap.oficina.workorder.config.ErrosGraphQLResolver;
+import br.com.fiap.oficina.workorder.config.GraphQLConfig;
+import br.com.fiap.oficina.workorder.controller.OrdemServicoGraphQLController;
+import br.com.fiap.oficina.workorder.dto.response.ClienteResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.service.impl.OrdemServicoGraphQLServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.AutoConfigureGraphQl;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.GraphQlTester;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@TesteJpa(properties = {
+        "workorder.graphql.profundidade-maxima=5",
+        "workorder.graphql.complexidade-maxima=1000"
+})
+@AutoConfigureGraphQl
+@AutoConfigureGraphQlTester
+@Import({OrdemServicoGraphQLController.class, OrdemServicoGraphQLServiceImpl.class, GraphQLConfig.class,
+        ErrosGraphQLResolver.class, OrdemServicoGraphQLServiceImplTest.Executores.class})
+class OrdemServicoGraphQLServiceImplTest {
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Executores {
+
+        @Bean(destroyMethod = "shutdown")
+        ExecutorService enriquecimentoExecutor() {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+    }
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private ClienteClient clienteClient;
+
+    @MockBean
+    private VeiculoClient veiculoClient;
+
+    @MockBean
+    private CatalogoCache catalogoCache;
+
+    @MockBean
+    private OrdemServicoArquivamentoService arquivamentoService;
+
+    private OrdemServico primeira;
+
+    @BeforeEach
+    void setUp() {
+        primeira = salvar(StatusOrdemServico.RECEBIDA, 1L, 11L);
+        salvar(StatusOrdemServico.EM_EXECUCAO, 2L, 12L);
+        salvar(StatusOrdemServico.RECEBIDA, 1L, 13L);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Deve buscar clientes e veículos com uma chamada em lote para todas as ordens")
+    void deveAgruparChamadas() {
+        // Arrange
+        when(clienteClient.getClientes(anyList())).thenReturn(List.of(cliente(1L, "Ana"), cliente(2L, "Bruno")));
+        when(veiculoClient.getVeiculos(anyList())).thenReturn(List.of(veiculo(11L, "ABC1234"),
+                veiculo(12L, "DEF5678"), veiculo(13L, "GHI9012")));
+
+        // Act
+        GraphQlTester.Response resposta = graphQlTester.document("""
+                query Lista {
+                  ordensServico(limite: 10) { id cliente { nome } veiculo { placa } }
+                }""").execute();
+
+        // Assert
+        resposta.errors().verify();
+        resposta.path("ordensServico").entityList(Object.class).hasSize(3);
+        resposta.path("ordensServico[2].cliente.nome").entity(String.class).isEqualTo("Ana");
+        resposta.path("ordensServico[2].veiculo.placa").entity(String.class).isEqualTo("ABC1234");
+        verify(clienteClient, times(1)).getClientes(anyList());
+        verify(veiculoClient, times(1)).getVeiculos(anyList());
+        verifyNoInteractions(catalogoCache);
+    }
+
+    @Test
+    @DisplayName("Não deve consultar dependências de campos não selecionados e deve aplicar filtros, fragmentos e variáveis")
+    void naoDeveConsultarCamposNaoSelecionados() {
+        // Act
+        GraphQlTester.Response resposta = graphQlTester.document("""
+                query Fila($status: [StatusOrdemServico!], $comCliente: Boolean = false, $id: ID!) {
+                  fila: ordensServico(status: $status) { ...Basico cliente @include(if: $comCliente) { nome } }
+                  os: ordemServico(id: $id) { id __typename }
+                }
+                fragment Basico on OrdemServico { id situacao: status }""")
+                .variable("status", List.of("EM_EXECUCAO"))
+                .variable("id", primeira.getId())
+                .execute();
+
+        // Assert
+        resposta.errors().verify();
+        resposta.path("fila").entityList(Object.class).hasSize(1);
+        resposta.path("fila[0].situacao").entity(String.class).isEqualTo("EM_EXECUCAO");
+        resposta.path("fila[0].cliente").pathDoesNotExist();
+        resposta.path("os.id").entity(Long.class).isEqualTo(primeira.getId());
+        resposta.path("os.__typename").entity(String.class).isEqualTo("OrdemServico");
+        verifyNoInteractions(clienteClient, veiculoClient, catalogoCache);
+    }
+
+    @Test
+    @DisplayName("Deve devolver nulo com erro quando a dependência falha e recusar campos inexistentes")
+    void deveReportarDependenciaIndisponivel() {
+        // Arrange
+        when(clienteClient.getClientes(anyList())).thenThrow(new IllegalStateException("fora do ar"));
+
+        // Act
+        GraphQlTester.Response resposta = graphQlTester.document("{ ordensServico { id cliente { nome } } }")
+                .execute();
+
+        // Assert
+        resposta.errors()
+                .expect(erro -> erro.getMessage().equals("Dependência indisponível: cliente")
+                        && Map.of("dependencia", "cliente").equals(erro.getExtensions()))
+                .verify();
+        resposta.path("ordensServico[0].id").hasValue();
+        resposta.path("ordensServico[0].cliente").valueIsNull();
+        verify(clienteClient, times(1)).getClientes(anyList());
+
+        graphQlTester.document("{ ordensServico { id senha } }").execute()
+                .errors().expect(erro -> erro.getErrorType() == graphql.ErrorType.ValidationError).verify()
+                .path("ordensServico").pathDoesNotExist();
+    }
+
+    @Test
+    @DisplayName("Deve recusar limites inválidos e consultas aninhadas ou caras demais")
+    void deveRecusarConsultasCaras() {
+        // Arrange
+        String profunda = "{ __schema { types { fields { type { ofType { ofType { name } } } } } } }";
+        String cara = "{ ordensServico(limite: 300) { id status clienteId veiculoId } }";
+
+        // Act & Assert
+        graphQlTester.document("{ ordensServico(limite: 501) { id } }").execute()
+                .errors().expect(erro -> erro.getErrorType() == ErrorType.BAD_REQUEST).verify();
+        graphQlTester.document(profunda).execute()
+                .errors().expect(erro -> erro.getMessage().contains("depth")).verify();
+        graphQlTester.document(cara).execute()
+                .errors().expect(erro -> erro.getMessage().contains("complexity")).verify();
+        verifyNoInteractions(clienteClient, veiculoClient, catalogoCache);
+    }
+
+    private OrdemServico salvar(StatusOrdemServico status, Long clienteId, Long veiculoId) {
+        OrdemServico os = new OrdemServico();
+        os.setStatus(status);
+        os.setClienteId(clienteId);
+        os.setVeiculoId(veiculoId);
+        return entityManager.persist(os);
+    }
+
+    private static ClienteResponseDTO cliente(Long id, String nome) {
+        ClienteResponseDTO cliente = new ClienteResponseDTO();
+        cliente.setId(id);
+        cliente.setNome(nome);
+        return cliente;
+    }
+
+    private static VeiculoResponseDTO veiculo(Long id, String placa) {
+        VeiculoResponseDTO veiculo = new VeiculoResponseDTO();
+        veiculo.setId(id);
+        veiculo.setPlaca(placa);
+        return veiculo;
+    }
+}
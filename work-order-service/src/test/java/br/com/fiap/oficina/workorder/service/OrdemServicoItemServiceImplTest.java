@@ -0,0 +1,194 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.shared.exception.BusinessException;
+import br.com.fiap.oficina.shared.exception.RecursoNaoEncontradoException;
+import br.com.fiap.oficina.workorder.TesteJpa;
+import br.com.fiap.oficina.workorder.cache.CatalogoCache;
+import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoAtualizacaoDTO;
+import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoDTO;
+import br.com.fiap.oficina.workorder.dto.response.ItemOrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.event.AlteracaoSincronizacaoPublisher;
+import br.com.fiap.oficina.workorder.mapper.OrdemServicoMapperImpl;
+import br.com.fiap.oficina.workorder.service.impl.OrdemServicoItemServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@TesteJpa
+@Import({OrdemServicoItemServiceImpl.class, AlteracaoSincronizacaoPublisher.class, OrdemServicoMapperImpl.class})
+class OrdemServicoItemServiceImplTest {
+
+    @Autowired
+    private OrdemServicoItemService itemService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private CatalogoCache catalogoCache;
+
+    @MockBean
+    private OrdemServicoProjecaoService projecaoService;
+
+    @MockBean
+    private OrdemServicoArquivamentoService arquivamentoService;
+
+    @Test
+    @DisplayName("Deve incluir, alterar e remover itens e serviços sem alterar a versão da ordem")
+    void deveAlterarItensIndividualmente() {
+        // Arrange
+        OrdemServico os = salvar(StatusOrdemServico.EM_DIAGNOSTICO);
+        Long existenteId = os.getItensOrdemServico().get(0).getId();
+        Long versao = os.getVersao();
+        when(catalogoCache.getServico(5L)).thenReturn(servico(5L));
+        entityManager.clear();
+
+        // Act
+        ItemOrdemServicoResponseDTO incluido = itemService.adicionarProduto(os.getId(), produto(200L, 2, "15.00"));
+        ItemOrdemServicoAtualizacaoDTO alteracao = new ItemOrdemServicoAtualizacaoDTO();
+        alteracao.setQuantidade(3);
+        ItemOrdemServicoResponseDTO alterado = itemService.atualizarProduto(os.getId(), existenteId, alteracao);
+        itemService.removerProduto(os.getId(), incluido.getId());
+        itemService.adicionarServico(os.getId(), 5L);
+        itemService.adicionarServico(os.getId(), 5L);
+
+        // Assert
+        assertNotNull(incluido.getId());
+        assertEquals(os.getId(), incluido.getOrdemServicoId());
+        assertEquals(3, alterado.getQuantidade());
+        assertEquals(0, new BigDecimal("10.00").compareTo(alterado.getPrecoUnitario()));
+        assertEquals(List.of(existenteId), jdbcTemplate.queryForList(
+                "SELECT id FROM item_ordem_servico WHERE ordem_servico_id = ?", Long.class, os.getId()));
+        assertEquals(List.of(5L), servicos(os.getId()));
+        assertEquals(versao, jdbcTemplate.queryForObject(
+                "SELECT versao FROM ordem_servico WHERE id = ?", Long.class, os.getId()));
+        verify(projecaoService, times(4)).agendar(os.getId());
+
+        itemService.removerServico(os.getId(), 5L);
+        assertTrue(servicos(os.getId()).isEmpty());
+        assertThrows(RecursoNaoEncontradoException.class, () -> itemService.removerServico(os.getId(), 5L));
+    }
+
+    @Test
+    @DisplayName("Deve recusar alterações em ordem aguardando aprovação e itens de outra ordem")
+    void deveRecusarAlteracoesInvalidas() {
+        // Arrange
+        OrdemServico aguardando = salvar(StatusOrdemServico.AGUARDANDO_APROVACAO);
+        OrdemServico outra = salvar(StatusOrdemServico.EM_EXECUCAO);
+        Long itemId = aguardando.getItensOrdemServico().get(0).getId();
+        entityManager.clear();
+
+        // Act & Assert
+        assertThrows(BusinessException.class,
+                () -> itemService.adicionarProduto(aguardando.getId(), produto(200L, 1, "1.00")));
+        assertThrows(BusinessException.class, () -> itemService.removerProduto(aguardando.getId(), itemId));
+        assertThrows(RecursoNaoEncontradoException.class, () -> itemService.removerProduto(outra.getId(), itemId));
+        assertThrows(RecursoNaoEncontradoException.class,
+                () -> itemService.atualizarProduto(outra.getId(), itemId, new ItemOrdemServicoAtualizacaoDTO()));
+        assertThrows(RecursoNaoEncontradoException.class, () -> itemService.removerProduto(-1L, itemId));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item_ordem_servico WHERE ordem_servico_id = ?",
+                Integer.class, aguardando.getId()));
+        verifyNoInteractions(projecaoService);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Deve fazer a transição para aguardando aprovação esperar a alteração de item em andamento")
+    void deveSegurarTransicaoDuranteAlteracaoDeItem() throws Exception {
+        // Arrange
+        OrdemServico os = transactionTemplate.execute(status -> salvar(StatusOrdemServico.EM_DIAGNOSTICO));
+        Long itemId = os.getItensOrdemServico().get(0).getId();
+        CountDownLatch alterado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> alteracao = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                itemService.removerProduto(os.getId(), itemId);
+                alterado.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(alterado.await(5, TimeUnit.SECONDS));
+
+            // Act
+            Future<Integer> transicao = executor.submit(() -> jdbcTemplate.update(
+                    "UPDATE ordem_servico SET status = 'AGUARDANDO_APROVACAO' WHERE id = ?", os.getId()));
+
+            // Assert
+            assertThrows(TimeoutException.class, () -> transicao.get(200, TimeUnit.MILLISECONDS));
+            liberar.countDown();
+            alteracao.get(5, TimeUnit.SECONDS);
+            assertEquals(1, transicao.get(5, TimeUnit.SECONDS));
+            assertThrows(BusinessException.class,
+                    () -> itemService.adicionarProduto(os.getId(), produto(200L, 1, "1.00")));
+        } finally {
+            executor.shutdownNow();
+            jdbcTemplate.update("DELETE FROM item_ordem_servico WHERE ordem_servico_id = ?", os.getId());
+            jdbcTemplate.update("DELETE FROM ordem_servico WHERE id = ?", os.getId());
+        }
+    }
+
+    private OrdemServico salvar(StatusOrdemServico status) {
+        OrdemServico os = new OrdemServico();
+        os.setStatus(status);
+        os.setClienteId(1L);
+        os.setVeiculoId(2L);
+        ItemOrdemServico item = new ItemOrdemServico();
+        item.setProdutoCatalogoId(100L);
+        item.setQuantidade(1);
+        item.setPrecoUnitario(new BigDecimal("10.00"));
+        os.addProduto(item);
+        os = entityManager.persist(os);
+        entityManager.flush();
+        return os;
+    }
+
+    private List<Long> servicos(Long ordemServicoId) {
+        return jdbcTemplate.queryForList("SELECT servico_id FROM ordem_servico_servicos WHERE ordem_servico_id = ?",
+                Long.class, ordemServicoId);
+    }
+
+    private static ItemOrdemServicoDTO produto(Long produtoId, int quantidade, String preco) {
+        ItemOrdemServicoDTO produto = new ItemOrdemServicoDTO();
+        produto.setProdutoCatalogoId(produtoId);
+        produto.setQuantidade(quantidade);
+        produto.setPrecoUnitario(new BigDecimal(preco));
+        return produto;
+    }
+
+    private static ServicoResponseDTO servico(Long id) {
+        ServicoResponseDTO servico = new ServicoResponseDTO();
+        servico.setId(id);
+        servico.setNome("Alinhamento");
+        servico.setAtivo(true);
+        return servico;
+    }
+}
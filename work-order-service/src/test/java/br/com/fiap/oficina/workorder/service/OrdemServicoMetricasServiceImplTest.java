@@ -0,0 +1,112 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.CategoriaServico;
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.TesteJpa;
+import br.com.fiap.oficina.workorder.cache.CatalogoCache;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.TempoStatusPercentisDTO;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.metrica.SegmentoTempoStatus;
+import br.com.fiap.oficina.workorder.service.OrdemServicoMetricasService.Agrupamento;
+import br.com.fiap.oficina.workorder.service.impl.OrdemServicoMetricasServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@TesteJpa
+@Import(OrdemServicoMetricasServiceImpl.class)
+class OrdemServicoMetricasServiceImplTest {
+
+    private static final LocalDateTime BASE = LocalDate.now().minusDays(5).atTime(8, 0);
+
+    @Autowired
+    private OrdemServicoMetricasService metricasService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private CatalogoCache catalogoCache;
+
+    @BeforeEach
+    void setUp() {
+        // Execuções de 10, 20, ..., 100 minutos; as ímpares com o mecânico 1 e serviço de revisão
+        for (int i = 1; i <= 10; i++) {
+            OrdemServico os = new OrdemServico();
+            os.setStatus(StatusOrdemServico.FINALIZADA);
+            os.setClienteId(1L);
+            os.setVeiculoId(1L);
+            os.setMecanicoId(i % 2 == 1 ? 1L : 2L);
+            os.addServico(i % 2 == 1 ? 10L : 20L);
+            os.setDataCriacao(BASE);
+            os.setDataInicioDiagnostico(BASE.plusMinutes(30));
+            os.setDataInicioExecucao(BASE.plusHours(2));
+            os.setDataTerminoExecucao(BASE.plusHours(2).plusMinutes(10L * i));
+            entityManager.persist(os);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Deve calcular percentis por trecho no banco")
+    void deveCalcularPercentisPorSegmento() {
+        List<TempoStatusPercentisDTO> percentis = metricasService.calcularPercentis(null, null, Agrupamento.SEGMENTO);
+
+        assertEquals(List.of(SegmentoTempoStatus.DIAGNOSTICO, SegmentoTempoStatus.EXECUCAO, SegmentoTempoStatus.FILA),
+                percentis.stream().map(TempoStatusPercentisDTO::getSegmento).toList());
+
+        TempoStatusPercentisDTO execucao = percentis.get(1);
+        assertEquals(10, execucao.getQuantidade());
+        assertNull(execucao.getGrupo());
+        assertEquals(55 * 60, execucao.getP50Segundos(), 0.5);
+        assertEquals(91 * 60, execucao.getP90Segundos(), 0.5);
+        assertEquals(55 * 60, execucao.getMediaSegundos(), 0.5);
+
+        TempoStatusPercentisDTO fila = percentis.get(2);
+        assertEquals(30 * 60, fila.getP99Segundos(), 0.5);
+    }
+
+    @Test
+    @DisplayName("Deve agrupar percentis por mecânico e por categoria de serviço")
+    void deveAgruparPorMecanicoECategoria() {
+        ServicoResponseDTO revisao = new ServicoResponseDTO();
+        revisao.setId(10L);
+        revisao.setCategoria(CategoriaServico.values()[0]);
+        when(catalogoCache.getServicos(anyList())).thenReturn(List.of(revisao));
+
+        List<TempoStatusPercentisDTO> porMecanico = metricasService.calcularPercentis(null, null, Agrupamento.MECANICO)
+                .stream().filter(p -> p.getSegmento() == SegmentoTempoStatus.EXECUCAO).toList();
+        assertEquals(List.of("1", "2"), porMecanico.stream().map(TempoStatusPercentisDTO::getGrupo).toList());
+        assertEquals(50 * 60, porMecanico.get(0).getP50Segundos(), 0.5);
+        assertEquals(60 * 60, porMecanico.get(1).getP50Segundos(), 0.5);
+
+        List<TempoStatusPercentisDTO> porCategoria = metricasService.calcularPercentis(null, null, Agrupamento.CATEGORIA_SERVICO)
+                .stream().filter(p -> p.getSegmento() == SegmentoTempoStatus.EXECUCAO).toList();
+        assertEquals(2, porCategoria.size());
+        assertTrue(porCategoria.stream().anyMatch(p -> "DESCONHECIDA".equals(p.getGrupo()) && p.getQuantidade() == 5));
+        assertTrue(porCategoria.stream().anyMatch(p -> CategoriaServico.values()[0].name().equals(p.getGrupo())
+                && p.getQuantidade() == 5));
+    }
+
+    @Test
+    @DisplayName("Deve considerar apenas trechos encerrados no período")
+    void deveFiltrarPorPeriodo() {
+        LocalDate ontem = LocalDate.now().minusDays(1);
+        assertTrue(metricasService.calcularPercentis(ontem, ontem, Agrupamento.SEGMENTO).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> metricasService.calcularPercentis(ontem, ontem.minusDays(1), Agrupamento.SEGMENTO));
+    }
+}
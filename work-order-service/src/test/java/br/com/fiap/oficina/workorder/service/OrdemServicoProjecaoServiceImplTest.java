@@ -0,0 +1,262 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.TesteJpa;
+import br.com.fiap.oficina.workorder.dto.response.ClienteResumoDTO;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResumoDTO;
+import br.com.fiap.oficina.workorder.enricher.OrdemServicoEnricher;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServicoLeitura;
+import br.com.fiap.oficina.workorder.mapper.OrdemServicoLeituraMapperImpl;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoLeituraRepository;
+import br.com.fiap.oficina.workorder.security.ServicoTokenProvider;
+import br.com.fiap.oficina.workorder.service.impl.OrdemServicoProjecaoServiceImpl;
+import br.com.fiap.oficina.workorder.validator.MaquinaEstadosOrdemServico;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@TesteJpa
+@Import({OrdemServicoProjecaoServiceImpl.class, OrdemServicoLeituraMapperImpl.class})
+class OrdemServicoProjecaoServiceImplTest {
+
+    @Autowired
+    private OrdemServicoProjecaoService projecaoService;
+
+    @Autowired
+    private OrdemServicoLeituraRepository leituraRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private OrdemServicoEnricher enricher;
+
+    @MockBean
+    private ServicoTokenProvider servicoTokenProvider;
+
+    private OrdemServico ordemServico;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(servicoTokenProvider.executarComoServico(any()))
+                .thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(0)).get());
+
+        ordemServico = new OrdemServico();
+        ordemServico.setStatus(StatusOrdemServico.EM_EXECUCAO);
+        ordemServico.setClienteId(1L);
+        ordemServico.setVeiculoId(2L);
+        ordemServico.setMecanicoId(3L);
+        ordemServico.addServico(10L);
+        ordemServico = entityManager.persistAndFlush(ordemServico);
+    }
+
+    @Test
+    @DisplayName("Deve projetar ordem e listar a partir da tabela de leitura")
+    void deveProjetarEListar() {
+        // Arrange
+        when(enricher.enriquecer(anyList())).thenReturn(List.of(respostaCompleta()));
+
+        // Act
+        int projetadas = projecaoService.projetar(List.of(ordemServico.getId()));
+        List<OrdemServicoResponseDTO> porStatus = projecaoService.listarTodos(List.of(StatusOrdemServico.EM_EXECUCAO));
+        List<OrdemServicoResponseDTO> porMecanico = projecaoService.buscarPorMecanico(3L);
+
+        // Assert
+        assertEquals(1, projetadas);
+        assertEquals(1, porStatus.size());
+        OrdemServicoResponseDTO response = porStatus.get(0);
+        assertEquals(ordemServico.getId(), response.getId());
+        assertEquals("João Silva", response.getCliente().getNome());
+        assertEquals("ABC1234", response.getVeiculo().getPlaca());
+        assertEquals("Troca de óleo", response.getServicos().get(0).getNome());
+        assertFalse(response.isEnriquecimentoIncompleto());
+        assertEquals(1, porMecanico.size());
+        assertTrue(projecaoService.listarTodos(List.of(StatusOrdemServico.ENTREGUE)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve manter dados anteriores quando uma dependência estiver indisponível")
+    void deveManterDadosAnterioresQuandoDependenciaIndisponivel() {
+        // Arrange
+        OrdemServicoResponseDTO incompleta = respostaCompleta();
+        incompleta.setCliente(null);
+        incompleta.setEnriquecimentoIncompleto(true);
+        incompleta.setDependenciasIndisponiveis(List.of("cliente"));
+        when(enricher.enriquecer(anyList()))
+                .thenReturn(List.of(respostaCompleta()))
+                .thenReturn(List.of(incompleta));
+
+        // Act
+        projecaoService.projetar(List.of(ordemServico.getId()));
+        projecaoService.projetar(List.of(ordemServico.getId()));
+
+        // Assert
+        OrdemServicoLeitura leitura = leituraRepository.findById(ordemServico.getId()).orElseThrow();
+        assertEquals("João Silva", leitura.getClienteNome());
+        assertEquals("Troca de óleo", leitura.getServicos().get(0).getNome());
+        assertFalse(leitura.isCompleto());
+        assertTrue(projecaoService.buscarPorId(ordemServico.getId()).orElseThrow().isEnriquecimentoIncompleto());
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir projeção e remover projeções órfãs")
+    void deveReconstruirERemoverOrfas() throws Exception {
+        // Arrange
+        when(enricher.enriquecer(anyList())).thenReturn(List.of(respostaCompleta()));
+        OrdemServicoLeitura orfa = new OrdemServicoLeitura();
+        orfa.setOrdemServicoId(ordemServico.getId() + 100);
+        orfa.setStatus(StatusOrdemServico.RECEBIDA);
+        orfa.setAtualizadoEm(LocalDateTime.now());
+        entityManager.persistAndFlush(orfa);
+
+        // Act
+        long total = projecaoService.reconstruir().get();
+
+        // Assert
+        assertEquals(1, total);
+        assertTrue(leituraRepository.findById(ordemServico.getId()).isPresent());
+        assertFalse(leituraRepository.findById(orfa.getOrdemServicoId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Deve mudar o ETag quando a transição ou a reprojeção alterarem a ordem")
+    void deveMudarEtagAposTransicaoEReprojecao() {
+        // Arrange
+        when(enricher.enriquecer(anyList())).thenReturn(List.of(respostaCompleta()));
+        assertTrue(projecaoService.etag(ordemServico.getId()).isEmpty());
+        projecaoService.projetar(List.of(ordemServico.getId()));
+        String inicial = projecaoService.etag(ordemServico.getId()).orElseThrow();
+
+        // Act
+        String semAlteracao = projecaoService.etag(ordemServico.getId()).orElseThrow();
+        projecaoService.aplicarTransicao(ordemServico.getId(), ordemServico.getVersao() + 1,
+                StatusOrdemServico.FINALIZADA, null,
+                MaquinaEstadosOrdemServico.DatasTransicao.para(StatusOrdemServico.FINALIZADA, LocalDateTime.now()));
+        entityManager.clear();
+        String aposTransicao = projecaoService.etag(ordemServico.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(inicial, semAlteracao);
+        assertNotEquals(inicial, aposTransicao);
+        assertTrue(aposTransicao.startsWith("\"" + (ordemServico.getVersao() + 1) + "-"));
+    }
+
+    @Test
+    @DisplayName("Não deve sobrescrever uma transição aplicada enquanto a reprojeção consultava os demais serviços")
+    void naoDeveRegredirTransicaoAplicadaDuranteEnriquecimento() {
+        // Arrange
+        Long id = ordemServico.getId();
+        Long versao = ordemServico.getVersao();
+        when(enricher.enriquecer(anyList())).thenReturn(List.of(respostaCompleta()));
+        projecaoService.projetar(List.of(id));
+        when(enricher.enriquecer(anyList())).thenAnswer(invocation -> {
+            // A transição é confirmada antes de os demais microserviços responderem
+            projecaoService.aplicarTransicao(id, versao + 1, StatusOrdemServico.FINALIZADA, null,
+                    MaquinaEstadosOrdemServico.DatasTransicao.para(StatusOrdemServico.FINALIZADA, LocalDateTime.now()));
+            return List.of(respostaCompleta());
+        });
+
+        // Act
+        int projetadas = projecaoService.projetar(List.of(id));
+        boolean transicaoAntiga = projecaoService.aplicarTransicao(id, versao + 1, StatusOrdemServico.EM_EXECUCAO,
+                null, MaquinaEstadosOrdemServico.DatasTransicao.para(StatusOrdemServico.EM_EXECUCAO, LocalDateTime.now()));
+
+        // Assert
+        entityManager.clear();
+        OrdemServicoLeitura leitura = leituraRepository.findById(id).orElseThrow();
+        assertEquals(0, projetadas);
+        assertFalse(transicaoAntiga);
+        assertEquals(StatusOrdemServico.FINALIZADA, leitura.getStatus());
+        assertEquals(versao + 1, leitura.getVersao());
+        assertEquals("João Silva", leitura.getClienteNome());
+    }
+
+    @Test
+    @DisplayName("Deve reprojetar em lotes todas as projeções desatualizadas, passando uma vez pelas que seguem incompletas")
+    @SuppressWarnings("unchecked")
+    void deveReprojetarTodasAsDesatualizadas() {
+        // Arrange: mais ordens desatualizadas que um lote; a primeira continua incompleta
+        LocalDateTime antiga = LocalDateTime.now().minusHours(2);
+        List<Long> ids = new ArrayList<>(List.of(ordemServico.getId()));
+        for (int i = 0; i < 150; i++) {
+            OrdemServico os = new OrdemServico();
+            os.setStatus(StatusOrdemServico.RECEBIDA);
+            os.setClienteId(1L);
+            os.setVeiculoId(2L);
+            ids.add(entityManager.persist(os).getId());
+        }
+        ids.forEach(id -> {
+            OrdemServicoLeitura leitura = new OrdemServicoLeitura();
+            leitura.setOrdemServicoId(id);
+            leitura.setStatus(StatusOrdemServico.RECEBIDA);
+            leitura.setCompleto(true);
+            leitura.setAtualizadoEm(antiga);
+            entityManager.persist(leitura);
+        });
+        entityManager.flush();
+        entityManager.clear();
+        when(enricher.enriquecer(anyList())).thenAnswer(invocation -> ((List<OrdemServico>) invocation.getArgument(0))
+                .stream()
+                .map(os -> {
+                    OrdemServicoResponseDTO response = new OrdemServicoResponseDTO();
+                    response.setId(os.getId());
+                    response.setEnriquecimentoIncompleto(os.getId().equals(ordemServico.getId()));
+                    return response;
+                })
+                .toList());
+        LocalDateTime inicio = LocalDateTime.now();
+
+        // Act
+        ((OrdemServicoProjecaoServiceImpl) projecaoService).atualizarPendentes();
+
+        // Assert
+        entityManager.clear();
+        List<OrdemServicoLeitura> leituras = leituraRepository.findAllById(ids);
+        assertEquals(151, leituras.size());
+        leituras.forEach(leitura -> assertFalse(leitura.getAtualizadoEm().isBefore(inicio)));
+        assertFalse(leituraRepository.findById(ordemServico.getId()).orElseThrow().isCompleto());
+        verify(enricher, times(2)).enriquecer(anyList());
+    }
+
+    private OrdemServicoResponseDTO respostaCompleta() {
+        OrdemServicoResponseDTO response = new OrdemServicoResponseDTO();
+        response.setId(ordemServico.getId());
+
+        ClienteResumoDTO cliente = new ClienteResumoDTO();
+        cliente.setId(1L);
+        cliente.setNome("João Silva");
+        response.setCliente(cliente);
+
+        VeiculoResumoDTO veiculo = new VeiculoResumoDTO();
+        veiculo.setId(2L);
+        veiculo.setPlaca("ABC1234");
+        veiculo.setModelo("Civic");
+        response.setVeiculo(veiculo);
+
+        ServicoResponseDTO servico = new ServicoResponseDTO();
+        servico.setId(10L);
+        servico.setNome("Troca de óleo");
+        response.setServicos(new ArrayList<>(List.of(servico)));
+        return response;
+    }
+}
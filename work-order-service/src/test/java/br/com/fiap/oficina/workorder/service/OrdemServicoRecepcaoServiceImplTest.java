@@ -0,0 +1,262 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.exception.TempoEsgotadoException;
+import br.com.fiap.oficina.workorder.TesteJpa;
+import br.com.fiap.oficina.workorder.dto.request.ItemOrdemServicoDTO;
+import br.com.fiap.oficina.workorder.dto.request.RecepcaoLoteRequestDTO;
+import br.com.fiap.oficina.workorder.dto.request.VeiculoRecepcaoDTO;
+import br.com.fiap.oficina.workorder.dto.response.ClienteResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.RecepcaoLoteResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ResultadoRecepcaoDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResponseDTO;
+import br.com.fiap.oficina.workorder.event.EventoOutboxPublisher;
+import br.com.fiap.oficina.workorder.repository.EventoOutboxLoteRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoLoteRepository;
+import br.com.fiap.oficina.workorder.service.impl.OrdemServicoRecepcaoServiceImpl;
+import br.com.fiap.oficina.workorder.validator.ReferenciasOrdemServicoValidator;
+import br.com.fiap.oficina.workorder.validator.ReferenciasOrdemServicoValidator.ReferenciasLote;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@TesteJpa
+@Import({OrdemServicoRecepcaoServiceImpl.class, OrdemServicoLoteRepository.class, EventoOutboxPublisher.class,
+        EventoOutboxLoteRepository.class})
+class OrdemServicoRecepcaoServiceImplTest {
+
+    private static final long FROTA = 1L;
+
+    @Autowired
+    private OrdemServicoRecepcaoService recepcaoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ReferenciasOrdemServicoValidator referenciasValidator;
+
+    @MockBean
+    private OrdemServicoProjecaoService projecaoService;
+
+    @MockBean
+    private IdempotenciaService idempotenciaService;
+
+    @Test
+    @DisplayName("Deve abrir uma ordem por veículo com inserts em lote e uma única validação remota")
+    @SuppressWarnings("unchecked")
+    void deveAbrirUmaOrdemPorVeiculo() {
+        // Arrange: 100 veículos da frota
+        prepararReferencias(veiculosDaFrota());
+        RecepcaoLoteRequestDTO request = requisicao(LongStream.rangeClosed(101, 200).mapToObj(id -> veiculo(id)).toList());
+
+        // Act
+        RecepcaoLoteResponseDTO response = recepcaoService.receber(request);
+
+        // Assert
+        assertEquals(100, response.getTotal());
+        assertEquals(100, response.getCriadas());
+        assertEquals(0, response.getRejeitadas());
+        List<Long> ids = idsCriados(response);
+        assertEquals(100, new HashSet<>(ids).size());
+        assertEquals(101L, jdbcTemplate.queryForObject(
+                "SELECT veiculo_id FROM ordem_servico WHERE id = ?", Long.class, ids.get(0)));
+        assertEquals(100, contar("SELECT COUNT(*) FROM ordem_servico WHERE cliente_id = 1 AND status = 'RECEBIDA' "
+                + "AND versao = 0 AND observacoes = 'Revisão da frota'"));
+        assertEquals(100, contar("SELECT COUNT(*) FROM evento_outbox WHERE tipo = 'CALCULAR_ORCAMENTO'"));
+
+        verify(referenciasValidator, times(1)).validarEmLote(anyCollection(), anyCollection(), anyCollection());
+        verify(projecaoService, times(1)).agendar((Collection<Long>) argThat(agendadas ->
+                new HashSet<>((Collection<Long>) agendadas).equals(new HashSet<>(ids))));
+        verify(idempotenciaService).registrarResposta(response);
+    }
+
+    @Test
+    @DisplayName("Deve gravar apenas os serviços ativos e os produtos informados para o veículo")
+    void deveGravarServicosAtivosEProdutos() {
+        // Arrange
+        prepararReferencias(veiculosDaFrota());
+        VeiculoRecepcaoDTO comProduto = veiculo(101L);
+        comProduto.setProdutos(List.of(produto(50L)));
+        RecepcaoLoteRequestDTO request = requisicao(List.of(comProduto, veiculo(102L)));
+
+        // Act
+        RecepcaoLoteResponseDTO response = recepcaoService.receber(request);
+
+        // Assert
+        List<Long> ids = idsCriados(response);
+        assertEquals(2, contar("SELECT COUNT(*) FROM ordem_servico_servicos WHERE servico_id = 10"));
+        assertEquals(0, contar("SELECT COUNT(*) FROM ordem_servico_servicos WHERE servico_id = 11"));
+        assertEquals(1, contar("SELECT COUNT(*) FROM item_ordem_servico WHERE ordem_servico_id = " + ids.get(0)));
+        assertEquals(0, contar("SELECT COUNT(*) FROM item_ordem_servico WHERE ordem_servico_id = " + ids.get(1)));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o veículo repetido no lote e abrir a ordem da primeira ocorrência")
+    void deveRejeitarVeiculoRepetido() {
+        // Arrange
+        prepararReferencias(veiculosDaFrota());
+        RecepcaoLoteRequestDTO request = requisicao(List.of(veiculo(101L), veiculo(101L)));
+
+        // Act
+        RecepcaoLoteResponseDTO response = recepcaoService.receber(request);
+
+        // Assert
+        assertEquals(1, response.getCriadas());
+        assertRejeicao(response.getResultados().get(1), 101L, "Veículo repetido no lote");
+        assertEquals(1, contar("SELECT COUNT(*) FROM ordem_servico WHERE veiculo_id = 101"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o veículo que não está cadastrado sem afetar os demais")
+    void deveRejeitarVeiculoInexistente() {
+        // Arrange
+        prepararReferencias(veiculosDaFrota());
+        RecepcaoLoteRequestDTO request = requisicao(List.of(veiculo(101L), veiculo(999L)));
+
+        // Act
+        RecepcaoLoteResponseDTO response = recepcaoService.receber(request);
+
+        // Assert
+        assertEquals(1, response.getCriadas());
+        assertRejeicao(response.getResultados().get(1), 999L, "Veículo não encontrado");
+        assertEquals(0, contar("SELECT COUNT(*) FROM ordem_servico WHERE veiculo_id = 999"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o veículo cadastrado para outro cliente")
+    void deveRejeitarVeiculoDeOutroCliente() {
+        // Arrange
+        Map<Long, VeiculoResponseDTO> cadastrados = veiculosDaFrota();
+        cadastrados.put(300L, veiculoCadastrado(300L, 2L));
+        prepararReferencias(cadastrados);
+        RecepcaoLoteRequestDTO request = requisicao(List.of(veiculo(300L)));
+
+        // Act
+        RecepcaoLoteResponseDTO response = recepcaoService.receber(request);
+
+        // Assert
+        assertEquals(0, response.getCriadas());
+        assertRejeicao(response.getResultados().get(0), 300L, "Veículo não pertence ao cliente informado");
+        assertEquals(0, contar("SELECT COUNT(*) FROM ordem_servico"));
+        assertEquals(0, contar("SELECT COUNT(*) FROM evento_outbox"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar os veículos de um cliente que não está cadastrado")
+    void deveRejeitarClienteInexistente() {
+        // Arrange
+        prepararReferencias(veiculosDaFrota());
+        VeiculoRecepcaoDTO deOutroCliente = veiculo(101L);
+        deOutroCliente.setClienteId(5L);
+        RecepcaoLoteRequestDTO request = requisicao(List.of(deOutroCliente));
+
+        // Act
+        RecepcaoLoteResponseDTO response = recepcaoService.receber(request);
+
+        // Assert
+        assertRejeicao(response.getResultados().get(0), 101L, "Cliente não encontrado");
+        assertEquals(0, contar("SELECT COUNT(*) FROM ordem_servico"));
+    }
+
+    @Test
+    @DisplayName("Não deve gravar nem registrar a resposta quando a consulta remota das referências falha")
+    void naoDeveGravarQuandoConsultaRemotaFalha() {
+        // Arrange
+        when(referenciasValidator.validarEmLote(anyCollection(), anyCollection(), anyCollection()))
+                .thenThrow(new TempoEsgotadoException("Tempo esgotado ao validar veículos da ordem de serviço", null));
+        RecepcaoLoteRequestDTO request = requisicao(List.of(veiculo(101L), veiculo(102L)));
+
+        // Act & Assert
+        assertThrows(TempoEsgotadoException.class, () -> recepcaoService.receber(request));
+        assertEquals(0, contar("SELECT COUNT(*) FROM ordem_servico"));
+        assertEquals(0, contar("SELECT COUNT(*) FROM evento_outbox"));
+        verifyNoInteractions(projecaoService, idempotenciaService);
+    }
+
+    private void prepararReferencias(Map<Long, VeiculoResponseDTO> cadastrados) {
+        when(referenciasValidator.validarEmLote(anyCollection(), anyCollection(), anyCollection()))
+                .thenReturn(new ReferenciasLote(Map.of(FROTA, cliente(FROTA)), cadastrados,
+                        Map.of(10L, servico(10L, true), 11L, servico(11L, false))));
+    }
+
+    private static Map<Long, VeiculoResponseDTO> veiculosDaFrota() {
+        return LongStream.rangeClosed(101, 200)
+                .mapToObj(id -> veiculoCadastrado(id, FROTA))
+                .collect(Collectors.toMap(VeiculoResponseDTO::getId, Function.identity()));
+    }
+
+    private static RecepcaoLoteRequestDTO requisicao(List<VeiculoRecepcaoDTO> veiculos) {
+        RecepcaoLoteRequestDTO request = new RecepcaoLoteRequestDTO();
+        request.setClienteId(FROTA);
+        request.setObservacoes("Revisão da frota");
+        request.setServicosIds(List.of(10L, 11L));
+        request.setVeiculos(veiculos);
+        return request;
+    }
+
+    private static List<Long> idsCriados(RecepcaoLoteResponseDTO response) {
+        return response.getResultados().stream()
+                .map(ResultadoRecepcaoDTO::getOrdemServicoId)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static void assertRejeicao(ResultadoRecepcaoDTO resultado, Long veiculoId, String mensagem) {
+        assertEquals(veiculoId, resultado.getVeiculoId());
+        assertEquals(ResultadoRecepcaoDTO.Resultado.REJEITADA, resultado.getResultado());
+        assertEquals(mensagem, resultado.getMensagem());
+        assertNull(resultado.getOrdemServicoId());
+    }
+
+    private int contar(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+
+    private static VeiculoRecepcaoDTO veiculo(long id) {
+        VeiculoRecepcaoDTO veiculo = new VeiculoRecepcaoDTO();
+        veiculo.setVeiculoId(id);
+        return veiculo;
+    }
+
+    private static ItemOrdemServicoDTO produto(Long id) {
+        ItemOrdemServicoDTO produto = new ItemOrdemServicoDTO();
+        produto.setProdutoCatalogoId(id);
+        produto.setQuantidade(4);
+        produto.setPrecoUnitario(new BigDecimal("39.90"));
+        return produto;
+    }
+
+    private static VeiculoResponseDTO veiculoCadastrado(Long id, Long clienteId) {
+        VeiculoResponseDTO veiculo = new VeiculoResponseDTO();
+        veiculo.setId(id);
+        veiculo.setClienteId(clienteId);
+        return veiculo;
+    }
+
+    private static ClienteResponseDTO cliente(Long id) {
+        ClienteResponseDTO cliente = new ClienteResponseDTO();
+        cliente.setId(id);
+        return cliente;
+    }
+
+    private static ServicoResponseDTO servico(Long id, boolean ativo) {
+        ServicoResponseDTO servico = new ServicoResponseDTO();
+        servico.setId(id);
+        servico.setAtivo(ativo);
+        return servico;
+    }
+}
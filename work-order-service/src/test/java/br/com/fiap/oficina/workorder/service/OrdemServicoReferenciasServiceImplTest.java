@@ -0,0 +1,249 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.TesteJpa;
+import br.com.fiap.oficina.workorder.client.ClienteClient;
+import br.com.fiap.oficina.workorder.client.VeiculoClient;
+import br.com.fiap.oficina.workorder.dto.response.ClienteResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.security.ServicoTokenProvider;
+import br.com.fiap.oficina.workorder.service.impl.OrdemServicoReferenciasServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@TesteJpa(properties = "workorder.referencias.tamanho-lote=2")
+@Import(OrdemServicoReferenciasServiceImpl.class)
+class OrdemServicoReferenciasServiceImplTest {
+
+    @Autowired
+    private OrdemServicoReferenciasService referenciasService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private ClienteClient clienteClient;
+
+    @MockBean
+    private VeiculoClient veiculoClient;
+
+    @MockBean
+    private ServicoTokenProvider servicoTokenProvider;
+
+    @MockBean
+    private OrdemServicoProjecaoService projecaoService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(servicoTokenProvider.executarComoServico(any()))
+                .thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(0)).get());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o nome do cliente renomeado sem alterar a versão e reprojetar a ordem")
+    void deveAtualizarClienteRenomeado() {
+        // Arrange
+        Long renomeada = salvar(1L, 10L, "Maria", "ABC1D23", "Gol");
+        Long inalterada = salvar(2L, 11L, "João", "XYZ0000", "Onix");
+        entityManager.clear();
+        responderClientes(Map.of(1L, "Maria Souza", 2L, "João"));
+        double antes = atualizadas("cliente");
+
+        // Act
+        int atualizadas = referenciasService.reconciliar();
+
+        // Assert
+        assertEquals(1, atualizadas);
+        assertEquals("Maria Souza", coluna("cliente_nome", renomeada));
+        assertEquals("João", coluna("cliente_nome", inalterada));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT SUM(versao) FROM ordem_servico", Long.class));
+        assertEquals(1.0, atualizadas("cliente") - antes);
+        verify(projecaoService).agendar(List.of(renomeada));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar placa e modelo das ordens do veículo alterado")
+    void deveAtualizarVeiculoAlterado() {
+        // Arrange
+        Long emplacada = salvar(2L, 11L, "João", "XYZ0000", "Onix");
+        entityManager.clear();
+        responderVeiculos(Map.of(11L, veiculo(11L, "XYZ1E23", "Onix Plus")));
+
+        // Act
+        int atualizadas = referenciasService.reconciliar();
+
+        // Assert
+        assertEquals(1, atualizadas);
+        assertEquals("XYZ1E23", coluna("veiculo_placa", emplacada));
+        assertEquals("Onix Plus", coluna("veiculo_modelo", emplacada));
+        verify(projecaoService).agendar(List.of(emplacada));
+    }
+
+    @Test
+    @DisplayName("Deve preencher as cópias de ordens gravadas antes das colunas existirem")
+    void devePreencherCopiasAusentes() {
+        // Arrange
+        Long semCopia = salvar(2L, 12L, null, null, null);
+        entityManager.clear();
+        responderClientes(Map.of(2L, "João"));
+        responderVeiculos(Map.of(12L, veiculo(12L, "DEF4G56", "Polo")));
+
+        // Act
+        int atualizadas = referenciasService.reconciliar();
+
+        // Assert
+        assertEquals(2, atualizadas);
+        assertEquals("João", coluna("cliente_nome", semCopia));
+        assertEquals("DEF4G56", coluna("veiculo_placa", semCopia));
+        assertEquals("Polo", coluna("veiculo_modelo", semCopia));
+    }
+
+    @Test
+    @DisplayName("Deve manter a cópia anterior quando a referência não vem na resposta")
+    void deveManterCopiaDeReferenciaAusente() {
+        // Arrange
+        Long removida = salvar(3L, 10L, "Ana", "ABC1D23", "Gol");
+        entityManager.clear();
+        responderClientes(Map.of());
+
+        // Act
+        int atualizadas = referenciasService.reconciliar();
+
+        // Assert
+        assertEquals(0, atualizadas);
+        assertEquals("Ana", coluna("cliente_nome", removida));
+        verifyNoInteractions(projecaoService);
+    }
+
+    @Test
+    @DisplayName("Deve consultar os cadastros em lotes de tamanho-lote")
+    void deveConsultarEmLotes() {
+        // Arrange: 3 clientes e 3 veículos em lotes de 2
+        salvar(1L, 10L, "Maria", "ABC1D23", "Gol");
+        salvar(2L, 11L, "João", "XYZ0000", "Onix");
+        salvar(3L, 12L, "Ana", "DEF4G56", "Polo");
+        entityManager.clear();
+
+        // Act
+        referenciasService.reconciliar();
+
+        // Assert
+        verify(clienteClient, times(2)).getClientes(anyList());
+        verify(veiculoClient, times(2)).getVeiculos(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve interromper só a varredura cuja consulta remota falha, sem propagar o erro")
+    void deveInterromperVarreduraQuandoConsultaFalha() {
+        // Arrange
+        Long ordem = salvar(1L, 11L, "Maria", "XYZ0000", "Onix");
+        entityManager.clear();
+        when(clienteClient.getClientes(anyList())).thenThrow(new IllegalStateException("customer-service indisponível"));
+        responderVeiculos(Map.of(11L, veiculo(11L, "XYZ1E23", "Onix")));
+
+        // Act
+        int atualizadas = referenciasService.reconciliar();
+
+        // Assert
+        assertEquals(1, atualizadas);
+        assertEquals("Maria", coluna("cliente_nome", ordem));
+        assertEquals("XYZ1E23", coluna("veiculo_placa", ordem));
+        verify(clienteClient, times(1)).getClientes(anyList());
+    }
+
+    @Test
+    @DisplayName("Não deve encontrar divergências em uma segunda passada")
+    void naoDeveAtualizarNaSegundaPassada() {
+        // Arrange
+        salvar(1L, 10L, "Maria", "ABC1D23", "Gol");
+        entityManager.clear();
+        responderClientes(Map.of(1L, "Maria Souza"));
+        responderVeiculos(Map.of(10L, veiculo(10L, "ABC1D23", "Gol Special")));
+        assertEquals(2, referenciasService.reconciliar());
+        clearInvocations(projecaoService);
+
+        // Act
+        int atualizadas = referenciasService.reconciliar();
+
+        // Assert
+        assertEquals(0, atualizadas);
+        verify(projecaoService, never()).agendar(anyCollection());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void responderClientes(Map<Long, String> nomes) {
+        when(clienteClient.getClientes(anyList())).thenAnswer(invocation -> ((List<Long>) invocation.getArgument(0))
+                .stream()
+                .filter(nomes::containsKey)
+                .map(id -> cliente(id, nomes.get(id)))
+                .toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void responderVeiculos(Map<Long, VeiculoResponseDTO> veiculos) {
+        when(veiculoClient.getVeiculos(anyList())).thenAnswer(invocation -> ((List<Long>) invocation.getArgument(0))
+                .stream()
+                .filter(veiculos::containsKey)
+                .map(veiculos::get)
+                .toList());
+    }
+
+    private double atualizadas(String referencia) {
+        return meterRegistry.get("workorder.referencias.atualizadas").tag("referencia", referencia).counter().count();
+    }
+
+    private Long salvar(Long clienteId, Long veiculoId, String clienteNome, String placa, String modelo) {
+        OrdemServico os = new OrdemServico();
+        os.setStatus(StatusOrdemServico.RECEBIDA);
+        os.setClienteId(clienteId);
+        os.setVeiculoId(veiculoId);
+        os.setClienteNome(clienteNome);
+        os.setVeiculoPlaca(placa);
+        os.setVeiculoModelo(modelo);
+        return entityManager.persistAndFlush(os).getId();
+    }
+
+    private String coluna(String coluna, Long id) {
+        return jdbcTemplate.queryForObject("SELECT " + coluna + " FROM ordem_servico WHERE id = ?", String.class, id);
+    }
+
+    private static ClienteResponseDTO cliente(Long id, String nome) {
+        ClienteResponseDTO cliente = new ClienteResponseDTO();
+        cliente.setId(id);
+        cliente.setNome(nome);
+        return cliente;
+    }
+
+    private static VeiculoResponseDTO veiculo(Long id, String placa, String modelo) {
+        VeiculoResponseDTO veiculo = new VeiculoResponseDTO();
+        veiculo.setId(id);
+        veiculo.setPlaca(placa);
+        veiculo.setModelo(modelo);
+        return veiculo;
+    }
+}
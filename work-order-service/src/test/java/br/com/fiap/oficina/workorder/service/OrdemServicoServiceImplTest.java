@@ -0,0 +1,200 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.shared.exception.PrecondicaoFalhouException;
+import br.com.fiap.oficina.workorder.dto.request.OsRequestDTO;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoResponseDTO;
+import br.com.fiap.oficina.workorder.enricher.OrdemServicoEnricher;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.event.AlteracaoSincronizacaoPublisher;
+import br.com.fiap.oficina.workorder.event.EventoOutboxPublisher;
+import br.com.fiap.oficina.workorder.metrica.TempoEmStatusMetricas;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository.EstadoOrdemServico;
+import br.com.fiap.oficina.workorder.service.impl.OrdemServicoServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrdemServicoServiceImplTest {
+
+    @Mock
+    private OrdemServicoRepository repository;
+
+    @Mock
+    private OrdemServicoEnricher enricher;
+
+    @Mock
+    private OrdemServicoProjecaoService projecaoService;
+
+    @Mock
+    private AlteracaoSincronizacaoPublisher sincronizacao;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EventoOutboxPublisher eventoOutbox;
+
+    @Mock
+    private TempoEmStatusMetricas tempoEmStatusMetricas;
+
+    @InjectMocks
+    private OrdemServicoServiceImpl service;
+
+    private OrdemServico os;
+
+    @BeforeEach
+    void setUp() {
+        os = new OrdemServico();
+        os.setId(1L);
+        os.setStatus(StatusOrdemServico.EM_DIAGNOSTICO);
+        os.setVersao(3L);
+    }
+
+    @Test
+    @DisplayName("Deve montar resposta e projeção com a versão gravada após atualizar")
+    void deveUsarVersaoGravadaAoAtualizar() {
+        // Arrange
+        when(repository.findById(1L)).thenReturn(Optional.of(os));
+        prepararGravacao();
+        OsRequestDTO request = new OsRequestDTO();
+        request.setObservacoes("Barulho na suspensão");
+
+        // Act
+        OrdemServicoResponseDTO response = service.atualizar(1L, request, null);
+
+        // Assert
+        assertEquals(4L, response.getVersao());
+        verify(projecaoService).salvar(argThat(salva -> salva.getVersao() == 4L), eq(response));
+    }
+
+    @Test
+    @DisplayName("Deve montar resposta e projeção com a versão gravada após atribuir mecânico")
+    void deveUsarVersaoGravadaAoAtribuirMecanico() {
+        // Arrange
+        when(repository.findById(1L)).thenReturn(Optional.of(os));
+        prepararGravacao();
+
+        // Act
+        OrdemServicoResponseDTO response = service.atribuirMecanico(1L, 7L, null);
+
+        // Assert
+        assertEquals(4L, response.getVersao());
+        verify(sincronizacao).ordemAtribuida(1L, null, 7L);
+    }
+
+    @Test
+    @DisplayName("Deve alterar a ordem bloqueada na versão do If-Match")
+    void deveAlterarNaVersaoEsperada() {
+        // Arrange
+        prepararGravacao();
+        when(repository.bloquearNaVersao(1L, 3L)).thenReturn(Optional.of(os));
+        OsRequestDTO request = new OsRequestDTO();
+        request.setObservacoes("Barulho na suspensão");
+
+        // Act
+        OrdemServicoResponseDTO response = service.atualizar(1L, request, 3L);
+
+        // Assert
+        assertEquals(4L, response.getVersao());
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar com 412 a alteração de uma ordem que já mudou de versão")
+    void deveRejeitarAlteracaoEmVersaoDivergente() {
+        // Arrange
+        when(repository.bloquearNaVersao(1L, 3L)).thenReturn(Optional.empty());
+        EstadoOrdemServico estado = estado(StatusOrdemServico.EM_DIAGNOSTICO, 4L);
+        when(repository.findEstadoById(1L)).thenReturn(Optional.of(estado));
+
+        // Act & Assert
+        assertThrows(PrecondicaoFalhouException.class,
+                () -> service.atribuirMecanico(1L, 7L, 3L));
+        verify(repository, never()).save(any());
+        verifyNoInteractions(sincronizacao, projecaoService);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar com 412 a transição cujo UPDATE condicionado à versão não afeta linhas")
+    void deveRejeitarTransicaoQuandoUpdateNaoAfetaLinhas() {
+        // Arrange
+        EstadoOrdemServico estado = estado(StatusOrdemServico.RECEBIDA, 3L);
+        when(repository.findEstadoById(1L)).thenReturn(Optional.of(estado));
+        when(repository.transicionarStatus(eq(1L), eq(StatusOrdemServico.RECEBIDA), eq(3L),
+                eq(StatusOrdemServico.EM_DIAGNOSTICO), any(), any(), any(), any(), any())).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(PrecondicaoFalhouException.class, () -> service.diagnosticar(1L, null, 3L));
+        verifyNoInteractions(sincronizacao, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar com 412 a transição de uma ordem em outra versão sem tentar o UPDATE")
+    void deveRejeitarTransicaoEmVersaoDivergente() {
+        // Arrange
+        EstadoOrdemServico estado = estado(StatusOrdemServico.RECEBIDA, 4L);
+        when(repository.findEstadoById(1L)).thenReturn(Optional.of(estado));
+
+        // Act & Assert
+        assertThrows(PrecondicaoFalhouException.class, () -> service.diagnosticar(1L, null, 3L));
+        verify(repository, never()).transicionarStatus(any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve diagnosticar a ordem em qualquer status, como antes das transições condicionais")
+    void deveDiagnosticarEmQualquerStatus() {
+        // Arrange
+        EstadoOrdemServico estado = estado(StatusOrdemServico.EM_EXECUCAO, 3L);
+        when(repository.findEstadoById(1L)).thenReturn(Optional.of(estado));
+        when(repository.transicionarStatus(eq(1L), eq(StatusOrdemServico.EM_EXECUCAO), eq(3L),
+                eq(StatusOrdemServico.EM_DIAGNOSTICO), any(), any(), any(), any(), any())).thenReturn(1);
+        when(projecaoService.aplicarTransicao(eq(1L), eq(4L), eq(StatusOrdemServico.EM_DIAGNOSTICO), any(), any()))
+                .thenReturn(true);
+        when(projecaoService.buscarPorId(1L)).thenReturn(Optional.of(new OrdemServicoResponseDTO()));
+
+        // Act
+        service.diagnosticar(1L, null, null);
+
+        // Assert
+        verify(eventoOutbox).calcularOrcamento(1L);
+        verify(projecaoService, never()).agendar(1L);
+    }
+
+    private static EstadoOrdemServico estado(StatusOrdemServico status, Long versao) {
+        EstadoOrdemServico estado = mock(EstadoOrdemServico.class);
+        lenient().when(estado.getStatus()).thenReturn(status);
+        lenient().when(estado.getVersao()).thenReturn(versao);
+        return estado;
+    }
+
+    /**
+     * O flush incrementa a versão, como o Hibernate faria; a resposta copia a versão corrente.
+     */
+    private void prepararGravacao() {
+        when(repository.save(os)).thenReturn(os);
+        doAnswer(invocation -> {
+            os.setVersao(os.getVersao() + 1);
+            return null;
+        }).when(repository).flush();
+        when(enricher.enriquecer(any(OrdemServico.class))).thenAnswer(invocation -> {
+            OrdemServicoResponseDTO response = new OrdemServicoResponseDTO();
+            response.setId(os.getId());
+            response.setVersao(((OrdemServico) invocation.getArgument(0)).getVersao());
+            return response;
+        });
+    }
+}
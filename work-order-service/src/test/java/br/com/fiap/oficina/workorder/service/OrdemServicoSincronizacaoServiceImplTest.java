@@ -0,0 +1,251 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.shared.exception.ConflitoException;
+import br.com.fiap.oficina.workorder.TesteJpa;
+import br.com.fiap.oficina.workorder.dto.request.AlteracaoOfflineDTO;
+import br.com.fiap.oficina.workorder.dto.request.SincronizacaoEnvioRequestDTO;
+import br.com.fiap.oficina.workorder.dto.response.ItemSincronizacaoDTO;
+import br.com.fiap.oficina.workorder.dto.response.OrdemServicoSincronizacaoDTO;
+import br.com.fiap.oficina.workorder.dto.response.ResultadoAlteracaoOfflineDTO;
+import br.com.fiap.oficina.workorder.dto.response.SincronizacaoEnvioResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.SincronizacaoResponseDTO;
+import br.com.fiap.oficina.workorder.entity.ItemOrdemServico;
+import br.com.fiap.oficina.workorder.entity.OrdemServico;
+import br.com.fiap.oficina.workorder.event.AlteracaoSincronizacaoPublisher;
+import br.com.fiap.oficina.workorder.mapper.OrdemServicoMapperImpl;
+import br.com.fiap.oficina.workorder.repository.AlteracaoSincronizacaoRepository;
+import br.com.fiap.oficina.workorder.repository.OrdemServicoRepository;
+import br.com.fiap.oficina.workorder.service.impl.OrdemServicoSincronizacaoServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@TesteJpa
+@Import({OrdemServicoSincronizacaoServiceImpl.class, AlteracaoSincronizacaoPublisher.class,
+        OrdemServicoMapperImpl.class})
+class OrdemServicoSincronizacaoServiceImplTest {
+
+    @Autowired
+    private OrdemServicoSincronizacaoService sincronizacaoService;
+
+    @Autowired
+    private AlteracaoSincronizacaoPublisher publisher;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AlteracaoSincronizacaoRepository alteracaoRepository;
+
+    @Autowired
+    private OrdemServicoRepository ordemServicoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private OrdemServicoService ordemServicoService;
+
+    @AfterEach
+    void limpar() {
+        transactionTemplate.executeWithoutResult(status -> {
+            alteracaoRepository.deleteAllInBatch();
+            ordemServicoRepository.deleteAll();
+        });
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Deve devolver a fila completa sem cursor e depois apenas as diferenças, com tombstones")
+    void deveDevolverApenasDiferencas() {
+        // Arrange
+        OrdemServico alterada = emTransacao(() -> salvar(7L, 100L));
+        OrdemServico excluida = emTransacao(() -> salvar(7L, null));
+        OrdemServico reatribuida = emTransacao(() -> salvar(8L, 300L));
+        emTransacao(() -> salvar(8L, null));
+        emTransacao(() -> {
+            publisher.ordemAlterada(excluida.getId(), 7L);
+            return null;
+        });
+
+        SincronizacaoResponseDTO carga = sincronizacaoService.buscarAlteracoes(7L, null);
+
+        Long itemRemovidoId = alterada.getItensOrdemServico().get(0).getId();
+        emTransacao(() -> {
+            OrdemServico os = entityManager.find(OrdemServico.class, alterada.getId());
+            os.setObservacoes("Pastilhas trocadas");
+            os.getItensOrdemServico().clear();
+            publisher.ordemAlterada(alterada.getId(), 7L);
+            publisher.itensAlterados(alterada.getId(), 7L, List.of(), List.of(itemRemovidoId));
+            entityManager.find(OrdemServico.class, reatribuida.getId()).setMecanicoId(7L);
+            publisher.ordemAtribuida(reatribuida.getId(), 8L, 7L);
+            entityManager.remove(entityManager.find(OrdemServico.class, excluida.getId()));
+            publisher.ordemRemovida(excluida.getId(), 7L);
+            return null;
+        });
+
+        // Act
+        SincronizacaoResponseDTO diferencas = sincronizacaoService.buscarAlteracoes(7L, carga.getCursor());
+        SincronizacaoResponseDTO doOutroMecanico = sincronizacaoService.buscarAlteracoes(8L, carga.getCursor());
+
+        // Assert
+        assertTrue(carga.isCompleto());
+        assertEquals(List.of(alterada.getId(), excluida.getId()), ids(carga.getOrdens()));
+        assertEquals(1, carga.getItens().size());
+
+        assertFalse(diferencas.isCompleto());
+        assertTrue(diferencas.getCursor() > carga.getCursor());
+        assertEquals(List.of(alterada.getId(), reatribuida.getId()), ids(diferencas.getOrdens()));
+        assertEquals("Pastilhas trocadas", diferencas.getOrdens().get(0).getObservacoes());
+        assertEquals(List.of(reatribuida.getId()),
+                diferencas.getItens().stream().map(ItemSincronizacaoDTO::getOrdemServicoId).toList());
+        assertEquals(List.of(excluida.getId()), diferencas.getOrdensRemovidas());
+        assertEquals(List.of(itemRemovidoId), diferencas.getItensRemovidos());
+
+        assertEquals(List.of(reatribuida.getId()), doOutroMecanico.getOrdensRemovidas());
+        assertTrue(doOutroMecanico.getOrdens().isEmpty());
+
+        SincronizacaoResponseDTO semNovidades = sincronizacaoService.buscarAlteracoes(7L, diferencas.getCursor());
+        assertTrue(semNovidades.getOrdens().isEmpty());
+        assertEquals(diferencas.getCursor(), semNovidades.getCursor());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Não deve pular a alteração de uma transação iniciada antes, mas confirmada depois da leitura")
+    void naoDevePularAlteracaoConfirmadaForaDeOrdem() throws Exception {
+        // Arrange
+        OrdemServico lenta = emTransacao(() -> salvar(7L, null));
+        OrdemServico rapida = emTransacao(() -> salvar(7L, null));
+        emTransacao(() -> {
+            publisher.ordemAtribuida(rapida.getId(), null, 7L);
+            return null;
+        });
+        SincronizacaoResponseDTO carga = sincronizacaoService.buscarAlteracoes(7L, null);
+
+        CountDownLatch registrada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> transacaoLenta = executor.submit(() -> emTransacao(() -> {
+            publisher.ordemAlterada(lenta.getId(), 7L);
+            registrada.countDown();
+            aguardar(liberar);
+            return null;
+        }));
+        assertTrue(registrada.await(5, TimeUnit.SECONDS));
+        emTransacao(() -> {
+            publisher.ordemAlterada(rapida.getId(), 7L);
+            return null;
+        });
+
+        // Act
+        SincronizacaoResponseDTO antes = sincronizacaoService.buscarAlteracoes(7L, carga.getCursor());
+        liberar.countDown();
+        transacaoLenta.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        SincronizacaoResponseDTO depois = sincronizacaoService.buscarAlteracoes(7L, antes.getCursor());
+
+        // Assert
+        assertEquals(List.of(rapida.getId()), ids(antes.getOrdens()));
+        assertEquals(List.of(lenta.getId()), ids(depois.getOrdens()));
+        assertTrue(depois.getCursor() > antes.getCursor());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar cada alteração offline e reportar conflitos e rejeições individualmente")
+    void deveAplicarAlteracoesOffline() {
+        // Arrange
+        OrdemServico aplicavel = salvar(7L, null);
+        OrdemServico emConflito = salvar(7L, null);
+        OrdemServico deOutro = salvar(8L, null);
+        entityManager.flush();
+        doThrow(new ConflitoException("versão desatualizada")).when(ordemServicoService)
+                .transicionarNaVersao(eq(emConflito.getId()), any(), any(), any());
+
+        SincronizacaoEnvioRequestDTO request = new SincronizacaoEnvioRequestDTO();
+        request.setAlteracoes(List.of(
+                alteracao("a", aplicavel, StatusOrdemServico.EM_DIAGNOSTICO),
+                alteracao("b", emConflito, StatusOrdemServico.EM_DIAGNOSTICO),
+                alteracao("c", deOutro, StatusOrdemServico.EM_DIAGNOSTICO),
+                alteracao("d", aplicavel, StatusOrdemServico.ENTREGUE)));
+
+        // Act
+        SincronizacaoEnvioResponseDTO response = sincronizacaoService.aplicarAlteracoes(7L, request);
+
+        // Assert
+        assertEquals(List.of(ResultadoAlteracaoOfflineDTO.Resultado.APLICADA,
+                        ResultadoAlteracaoOfflineDTO.Resultado.CONFLITO,
+                        ResultadoAlteracaoOfflineDTO.Resultado.REJEITADA,
+                        ResultadoAlteracaoOfflineDTO.Resultado.REJEITADA),
+                response.getResultados().stream().map(ResultadoAlteracaoOfflineDTO::getResultado).toList());
+        assertEquals(1, response.getAplicadas());
+        assertEquals(1, response.getConflitos());
+        assertEquals(2, response.getRejeitadas());
+        assertEquals(emConflito.getId(), response.getResultados().get(1).getOrdemServico().getId());
+        verify(ordemServicoService).transicionarNaVersao(aplicavel.getId(), aplicavel.getVersao(),
+                StatusOrdemServico.EM_DIAGNOSTICO, "offline");
+        verify(ordemServicoService, never()).transicionarNaVersao(eq(deOutro.getId()), any(), any(), any());
+        verify(ordemServicoService, times(2)).transicionarNaVersao(any(), any(), any(), any());
+    }
+
+    private OrdemServico salvar(Long mecanicoId, Long produtoId) {
+        OrdemServico os = new OrdemServico();
+        os.setStatus(StatusOrdemServico.RECEBIDA);
+        os.setClienteId(1L);
+        os.setVeiculoId(2L);
+        os.setMecanicoId(mecanicoId);
+        if (produtoId != null) {
+            ItemOrdemServico item = new ItemOrdemServico();
+            item.setProdutoCatalogoId(produtoId);
+            item.setQuantidade(1);
+            item.setPrecoUnitario(BigDecimal.TEN);
+            os.addProduto(item);
+        }
+        return entityManager.persist(os);
+    }
+
+    private <T> T emTransacao(Supplier<T> acao) {
+        return transactionTemplate.execute(status -> acao.get());
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static AlteracaoOfflineDTO alteracao(String id, OrdemServico os, StatusOrdemServico status) {
+        AlteracaoOfflineDTO alteracao = new AlteracaoOfflineDTO();
+        alteracao.setId(id);
+        alteracao.setOrdemServicoId(os.getId());
+        alteracao.setVersao(os.getVersao());
+        alteracao.setStatus(status);
+        alteracao.setObservacoes("offline");
+        return alteracao;
+    }
+
+    private static List<Long> ids(List<OrdemServicoSincronizacaoDTO> ordens) {
+        return ordens.stream().map(OrdemServicoSincronizacaoDTO::getId).toList();
+    }
+}
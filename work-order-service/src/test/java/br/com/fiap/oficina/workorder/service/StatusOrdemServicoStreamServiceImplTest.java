@@ -0,0 +1,150 @@
+package br.com.fiap.oficina.workorder.service;
+
+import br.com.fiap.oficina.shared.enums.StatusOrdemServico;
+import br.com.fiap.oficina.workorder.dto.response.EventoStatusOrdemServicoDTO;
+import br.com.fiap.oficina.workorder.service.impl.StatusOrdemServicoStreamServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class StatusOrdemServicoStreamServiceImplTest {
+
+    private static final Pattern ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    private StatusOrdemServicoStreamServiceImpl streamService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+
+    @RestController
+    static class StreamController {
+
+        private final StatusOrdemServicoStreamService streamService;
+
+        StreamController(StatusOrdemServicoStreamService streamService) {
+            this.streamService = streamService;
+        }
+
+        @GetMapping("/eventos")
+        SseEmitter eventos(@RequestParam(required = false) Long mecanicoId,
+                           @RequestParam(required = false) Set<StatusOrdemServico> status,
+                           @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+            return streamService.assinar(mecanicoId, status, ultimoEventoId);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        streamService = new StatusOrdemServicoStreamServiceImpl(meterRegistry, 3, 16, Duration.ofMinutes(1));
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(streamService)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve enviar apenas os eventos que atendem ao filtro de mecânico ou status")
+    void deveFiltrarEventos() throws Exception {
+        // Arrange
+        MockHttpServletResponse doMecanico = conectar("/eventos?mecanicoId=7", null);
+        MockHttpServletResponse daFila = conectar("/eventos?status=RECEBIDA", null);
+
+        // Act
+        streamService.publicar(evento(1L, null, StatusOrdemServico.RECEBIDA, null));
+        streamService.publicar(evento(2L, StatusOrdemServico.RECEBIDA, StatusOrdemServico.EM_DIAGNOSTICO, 7L));
+        streamService.publicar(evento(3L, StatusOrdemServico.EM_EXECUCAO, StatusOrdemServico.FINALIZADA, 8L));
+
+        // Assert
+        aguardar(doMecanico, conteudo -> conteudo.contains("\"ordemServicoId\":2"));
+        aguardar(daFila, conteudo -> conteudo.contains("\"ordemServicoId\":2"));
+        assertFalse(doMecanico.getContentAsString().contains("\"ordemServicoId\":1"));
+        assertTrue(daFila.getContentAsString().contains("\"ordemServicoId\":1"));
+        assertFalse(daFila.getContentAsString().contains("\"ordemServicoId\":3"));
+        assertTrue(daFila.getContentAsString().contains("event:status"));
+        assertEquals(2.0, meterRegistry.get("workorder.sse.conexoes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve retomar pelo Last-Event-ID e pedir reinício quando o evento já saiu do buffer")
+    void deveRetomarPeloUltimoEventoId() throws Exception {
+        // Arrange
+        MockHttpServletResponse primeira = conectar("/eventos", null);
+        for (long id = 1; id <= 5; id++) {
+            streamService.publicar(evento(id, StatusOrdemServico.RECEBIDA, StatusOrdemServico.EM_DIAGNOSTICO, null));
+        }
+        aguardar(primeira, conteudo -> ids(conteudo).size() == 5);
+        List<String> ids = ids(primeira.getContentAsString());
+
+        // Act
+        MockHttpServletResponse retomada = conectar("/eventos", ids.get(2));
+        MockHttpServletResponse atrasada = conectar("/eventos", ids.get(0));
+
+        // Assert: o buffer guarda os 3 últimos eventos; o segundo, seguinte ao primeiro, já saiu
+        aguardar(retomada, conteudo -> ids(conteudo).size() == 2);
+        assertEquals(ids.subList(3, 5), ids(retomada.getContentAsString()));
+        aguardar(atrasada, conteudo -> conteudo.contains("event:" + StatusOrdemServicoStreamService.EVENTO_REINICIO));
+        assertTrue(ids(atrasada.getContentAsString()).isEmpty());
+        assertEquals(1.0, meterRegistry.get("workorder.sse.retomadas").counter().count());
+        assertEquals(1.0, meterRegistry.get("workorder.sse.reinicios").counter().count());
+    }
+
+    private MockHttpServletResponse conectar(String url, String ultimoEventoId) throws Exception {
+        var requisicao = get(url);
+        if (ultimoEventoId != null) {
+            requisicao.header("Last-Event-ID", ultimoEventoId);
+        }
+        return mockMvc.perform(requisicao)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private static void aguardar(MockHttpServletResponse resposta, Predicate<String> condicao) throws Exception {
+        long prazo = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condicao.test(resposta.getContentAsString())) {
+            assertTrue(System.nanoTime() < prazo, "evento não recebido: " + resposta.getContentAsString());
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<String> ids(String conteudo) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = ID.matcher(conteudo);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private static EventoStatusOrdemServicoDTO evento(Long id, StatusOrdemServico anterior,
+                                                      StatusOrdemServico status, Long mecanicoId) {
+        return new EventoStatusOrdemServicoDTO(id, anterior, status, mecanicoId, mecanicoId, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.fiap.oficina.workorder.validator;
+
+import br.com.fiap.oficina.shared.exception.RecursoNaoEncontradoException;
+import br.com.fiap.oficina.shared.exception.TempoEsgotadoException;
+import br.com.fiap.oficina.workorder.cache.CatalogoCache;
+import br.com.fiap.oficina.workorder.client.ClienteClient;
+import br.com.fiap.oficina.workorder.client.VeiculoClient;
+import br.com.fiap.oficina.workorder.dto.response.ClienteResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.ServicoResponseDTO;
+import br.com.fiap.oficina.workorder.dto.response.VeiculoResponseDTO;
+import br.com.fiap.oficina.workorder.validator.ReferenciasOrdemServicoValidator.ReferenciasValidadas;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReferenciasOrdemServicoValidatorTest {
+
+    @Mock
+    private ClienteClient clienteClient;
+
+    @Mock
+    private VeiculoClient veiculoClient;
+
+    @Mock
+    private CatalogoCache catalogoCache;
+
+    private ExecutorService executor;
+
+    private ReferenciasOrdemServicoValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        validator = new ReferenciasOrdemServicoValidator(clienteClient, veiculoClient, catalogoCache,
+                executor, Duration.ofMillis(500));
+
+        ClienteResponseDTO cliente = new ClienteResponseDTO();
+        cliente.setId(1L);
+        VeiculoResponseDTO veiculo = new VeiculoResponseDTO();
+        veiculo.setId(2L);
+        when(clienteClient.getCliente(1L)).thenReturn(cliente);
+        when(veiculoClient.getVeiculo(2L)).thenReturn(veiculo);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve validar referências buscando os serviços em uma única chamada")
+    void deveValidarReferenciasComServicosEmLote() {
+        // Arrange
+        when(catalogoCache.getServicos(List.of(10L, 11L, 12L)))
+                .thenReturn(List.of(servico(12L, true), servico(10L, true), servico(11L, false)));
+
+        // Act
+        ReferenciasValidadas referencias = validator.validar(1L, 2L, List.of(10L, 11L, 12L, 10L));
+
+        // Assert
+        assertEquals(1L, referencias.cliente().getId());
+        assertEquals(2L, referencias.veiculo().getId());
+        assertEquals(List.of(10L, 12L), referencias.servicos().stream().map(ServicoResponseDTO::getId).toList());
+        verify(catalogoCache, times(1)).getServicos(anyList());
+        verify(catalogoCache, never()).getServico(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando cliente não for encontrado")
+    void deveLancarExcecaoQuandoClienteNaoEncontrado() {
+        // Arrange
+        when(clienteClient.getCliente(1L)).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(RecursoNaoEncontradoException.class, () -> validator.validar(1L, 2L, null));
+    }
+
+    @Test
+    @DisplayName("Deve falhar quando uma dependência não responder dentro do prazo")
+    void deveFalharQuandoDependenciaExcedePrazo() {
+        // Arrange
+        when(veiculoClient.getVeiculo(2L)).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return new VeiculoResponseDTO();
+        });
+
+        // Act & Assert
+        long inicio = System.nanoTime();
+        assertThrows(TempoEsgotadoException.class, () -> validator.validar(1L, 2L, List.of()));
+        assertTrue(Duration.ofNanos(System.nanoTime() - inicio).toMillis() < 1_500);
+    }
+
+    private static ServicoResponseDTO servico(Long id, boolean ativo) {
+        ServicoResponseDTO servico = new ServicoResponseDTO();
+        servico.setId(id);
+        servico.setAtivo(ativo);
+        return servico;
+    }
+}